@@ -18,6 +18,9 @@ package io.github.bi.config;
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
 
+import java.time.Duration;
+import java.time.Period;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -31,12 +34,60 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Ingestion ingestion = new Ingestion();
+
+    private final FileStore fileStore = new FileStore();
+
+    private final Partitioning partitioning = new Partitioning();
+
+    private final Analytics analytics = new Analytics();
+
+    private final Export export = new Export();
+
+    private final Pagination pagination = new Pagination();
+
+    private final IndexAdvisor indexAdvisor = new IndexAdvisor();
+
+    private final QueryCache queryCache = new QueryCache();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Ingestion getIngestion() {
+        return ingestion;
+    }
+
+    public FileStore getFileStore() {
+        return fileStore;
+    }
+
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    public Analytics getAnalytics() {
+        return analytics;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public IndexAdvisor getIndexAdvisor() {
+        return indexAdvisor;
+    }
+
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -51,5 +102,378 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Ingestion {
+
+        private int batchSize = 5000;
+
+        private boolean indexDeals = true;
+
+        private Loader loader = Loader.COPY;
+
+        private int workers = 0;
+
+        private int chunkSize = 1024 * 1024;
+
+        private Duration heartbeatTimeout = Duration.ofMinutes(5);
+
+        private Duration reclaimInterval = Duration.ofMinutes(1);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public boolean isIndexDeals() {
+            return indexDeals;
+        }
+
+        public void setIndexDeals(boolean indexDeals) {
+            this.indexDeals = indexDeals;
+        }
+
+        public Loader getLoader() {
+            return loader;
+        }
+
+        public void setLoader(Loader loader) {
+            this.loader = loader;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getHeartbeatTimeout() {
+            return heartbeatTimeout;
+        }
+
+        public void setHeartbeatTimeout(Duration heartbeatTimeout) {
+            this.heartbeatTimeout = heartbeatTimeout;
+        }
+
+        public Duration getReclaimInterval() {
+            return reclaimInterval;
+        }
+
+        public void setReclaimInterval(Duration reclaimInterval) {
+            this.reclaimInterval = reclaimInterval;
+        }
+
+        /**
+         * How ingested deals are written to the database.
+         */
+        public enum Loader {
+            /**
+             * PostgreSQL {@code COPY FROM STDIN}.
+             */
+            COPY,
+            /**
+             * JDBC batch inserts.
+             */
+            JDBC,
+            /**
+             * Hibernate persist with insert batching, for databases other than PostgreSQL.
+             */
+            JPA,
+        }
+    }
+    public static class FileStore {
+
+        private String directory = "report-batch-files";
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    public static class Partitioning {
+
+        private boolean enabled = true;
+
+        private Alignment alignment = Alignment.CALENDAR_MONTH;
+
+        private int monthsAhead = 3;
+
+        private int retentionMonths = 0;
+
+        private String archiveSchema = "archive";
+
+        private Duration maintenanceInterval = Duration.ofHours(6);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Alignment getAlignment() {
+            return alignment;
+        }
+
+        public void setAlignment(Alignment alignment) {
+            this.alignment = alignment;
+        }
+
+        public int getMonthsAhead() {
+            return monthsAhead;
+        }
+
+        public void setMonthsAhead(int monthsAhead) {
+            this.monthsAhead = monthsAhead;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+
+        public String getArchiveSchema() {
+            return archiveSchema;
+        }
+
+        public void setArchiveSchema(String archiveSchema) {
+            this.archiveSchema = archiveSchema;
+        }
+
+        public Duration getMaintenanceInterval() {
+            return maintenanceInterval;
+        }
+
+        public void setMaintenanceInterval(Duration maintenanceInterval) {
+            this.maintenanceInterval = maintenanceInterval;
+        }
+
+        /**
+         * The boundaries of the partitions of {@code money_market_deal}.
+         */
+        public enum Alignment {
+            /**
+             * One partition per calendar month.
+             */
+            CALENDAR_MONTH,
+            /**
+             * One partition per {@link io.github.bi.domain.FiscalMonth}.
+             */
+            FISCAL_MONTH,
+        }
+    }
+
+    public static class Analytics {
+
+        private boolean snapshotsEnabled = true;
+
+        private int maxSnapshots = 4;
+
+        private int maxCubes = 64;
+
+        private List<Period> maturityBuckets = List.of(
+            Period.ofDays(1),
+            Period.ofWeeks(1),
+            Period.ofMonths(1),
+            Period.ofMonths(3),
+            Period.ofMonths(6),
+            Period.ofYears(1)
+        );
+
+        private int maxLadders = 64;
+
+        public boolean isSnapshotsEnabled() {
+            return snapshotsEnabled;
+        }
+
+        public void setSnapshotsEnabled(boolean snapshotsEnabled) {
+            this.snapshotsEnabled = snapshotsEnabled;
+        }
+
+        public int getMaxSnapshots() {
+            return maxSnapshots;
+        }
+
+        public void setMaxSnapshots(int maxSnapshots) {
+            this.maxSnapshots = maxSnapshots;
+        }
+
+        public int getMaxCubes() {
+            return maxCubes;
+        }
+
+        public void setMaxCubes(int maxCubes) {
+            this.maxCubes = maxCubes;
+        }
+
+        public List<Period> getMaturityBuckets() {
+            return maturityBuckets;
+        }
+
+        public void setMaturityBuckets(List<Period> maturityBuckets) {
+            this.maturityBuckets = maturityBuckets;
+        }
+
+        public int getMaxLadders() {
+            return maxLadders;
+        }
+
+        public void setMaxLadders(int maxLadders) {
+            this.maxLadders = maxLadders;
+        }
+    }
+
+    public static class Export {
+
+        private String directory = "deal-exports";
+
+        private boolean parquetEnabled = false;
+
+        private Duration parquetInterval = Duration.ofHours(1);
+
+        private String parquetCompression = "snappy";
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public boolean isParquetEnabled() {
+            return parquetEnabled;
+        }
+
+        public void setParquetEnabled(boolean parquetEnabled) {
+            this.parquetEnabled = parquetEnabled;
+        }
+
+        public Duration getParquetInterval() {
+            return parquetInterval;
+        }
+
+        public void setParquetInterval(Duration parquetInterval) {
+            this.parquetInterval = parquetInterval;
+        }
+
+        public String getParquetCompression() {
+            return parquetCompression;
+        }
+
+        public void setParquetCompression(String parquetCompression) {
+            this.parquetCompression = parquetCompression;
+        }
+    }
+
+    public static class Pagination {
+
+        private long exactCountBelow = 10_000;
+
+        public long getExactCountBelow() {
+            return exactCountBelow;
+        }
+
+        public void setExactCountBelow(long exactCountBelow) {
+            this.exactCountBelow = exactCountBelow;
+        }
+    }
+
+    public static class IndexAdvisor {
+
+        private boolean enabled = true;
+
+        private int maxShapes = 256;
+
+        private Duration slowQuery = Duration.ofMillis(100);
+
+        private long minSamples = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxShapes() {
+            return maxShapes;
+        }
+
+        public void setMaxShapes(int maxShapes) {
+            this.maxShapes = maxShapes;
+        }
+
+        public Duration getSlowQuery() {
+            return slowQuery;
+        }
+
+        public void setSlowQuery(Duration slowQuery) {
+            this.slowQuery = slowQuery;
+        }
+
+        public long getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(long minSamples) {
+            this.minSamples = minSamples;
+        }
+    }
+
+    public static class QueryCache {
+
+        private boolean enabled = true;
+
+        private int maxEntries = 10_000;
+
+        private int maxPinnedScopes = 32;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getMaxPinnedScopes() {
+            return maxPinnedScopes;
+        }
+
+        public void setMaxPinnedScopes(int maxPinnedScopes) {
+            this.maxPinnedScopes = maxPinnedScopes;
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
@@ -21,6 +21,8 @@ package io.github.bi.config;
 import com.hazelcast.config.*;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import io.github.bi.service.cache.MoneyMarketDealQueryCache;
+import io.github.bi.service.cache.MoneyMarketDealVersions;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -82,7 +84,7 @@ public class CacheConfiguration {
     }
 
     @Bean
-    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties) {
+    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         LOG.debug("Configuring Hazelcast");
         HazelcastInstance hazelCastInstance = Hazelcast.getHazelcastInstanceByName("moneyMarketBi");
         if (hazelCastInstance != null) {
@@ -125,6 +127,8 @@ public class CacheConfiguration {
         config.setManagementCenterConfig(new ManagementCenterConfig());
         config.addMapConfig(initializeDefaultMapConfig(jHipsterProperties));
         config.addMapConfig(initializeDomainMapConfig(jHipsterProperties));
+        config.addMapConfig(initializeQueryResultsMapConfig(jHipsterProperties, applicationProperties));
+        config.addMapConfig(initializeVersionsMapConfig(jHipsterProperties));
         return Hazelcast.newHazelcastInstance(config);
     }
 
@@ -164,6 +168,24 @@ public class CacheConfiguration {
         return mapConfig;
     }
 
+    private MapConfig initializeQueryResultsMapConfig(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        MapConfig mapConfig = new MapConfig(MoneyMarketDealQueryCache.RESULTS);
+        mapConfig.setBackupCount(jHipsterProperties.getCache().getHazelcast().getBackupCount());
+        // results are keyed by the versions of the deals they hold, stale ones are never read again and age out
+        mapConfig.getEvictionConfig().setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.getEvictionConfig().setMaxSizePolicy(MaxSizePolicy.PER_NODE);
+        mapConfig.getEvictionConfig().setSize(applicationProperties.getQueryCache().getMaxEntries());
+        return mapConfig;
+    }
+
+    private MapConfig initializeVersionsMapConfig(JHipsterProperties jHipsterProperties) {
+        MapConfig mapConfig = new MapConfig(MoneyMarketDealVersions.VERSIONS);
+        // a lost version would go back to a value stale results are still keyed by
+        mapConfig.setBackupCount(Math.max(1, jHipsterProperties.getCache().getHazelcast().getBackupCount()));
+        mapConfig.getEvictionConfig().setEvictionPolicy(EvictionPolicy.NONE);
+        return mapConfig;
+    }
+
     @Autowired(required = false)
     public void setGitProperties(GitProperties gitProperties) {
         this.gitProperties = gitProperties;
@@ -0,0 +1,201 @@
+package io.github.bi.config;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * Liquibase change creating an index of a partitioned table without blocking writes to it.
+ * <p>
+ * PostgreSQL cannot build the index of a partitioned table concurrently. The index is created on the partitioned
+ * table only, where it holds nothing and is invalid; it is then built concurrently on each partition and attached,
+ * and becomes valid once every partition has it. Partitions attached later are given the index by PostgreSQL. The
+ * index of a table that is not partitioned is built concurrently as is.
+ * <p>
+ * The change must run outside a transaction, with {@code runInTransaction="false"}. It may be run again after it
+ * failed part way: the partitions which have the index attached are skipped, and an index a failed build left
+ * invalid is built again.
+ */
+public class ConcurrentPartitionedIndexChange implements CustomTaskChange {
+
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+
+    private static final String RELKIND_SQL = "select relkind from pg_class where oid = to_regclass(?)";
+
+    private static final String PARTITIONS_SQL =
+        "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid where i.inhparent = to_regclass(?) order by c.relname";
+
+    private static final String ATTACHED_SQL =
+        "select count(*) from pg_inherits i join pg_index x on x.indexrelid = i.inhrelid " +
+        "where i.inhparent = to_regclass(?) and x.indrelid = to_regclass(?)";
+
+    private static final String INVALID_SQL = "select count(*) from pg_index where indexrelid = to_regclass(?) and not indisvalid";
+
+    private String tableName;
+
+    private String indexName;
+
+    private String columns;
+
+    private String using;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        String definition = (using == null || using.isBlank() ? "" : " using " + using) + " (" + columns + ")";
+        try {
+            if (!"p".equals(query(connection, RELKIND_SQL, tableName))) {
+                execute(connection, "create index concurrently if not exists " + indexName + " on " + tableName + definition);
+                return;
+            }
+            execute(connection, "create index if not exists " + indexName + " on only " + tableName + definition);
+            for (String partition : partitions(connection)) {
+                if (Long.parseLong(query(connection, ATTACHED_SQL, indexName, quote(partition))) > 0) {
+                    continue;
+                }
+                String partitionIndexName = partitionIndexName(indexName, tableName, partition);
+                if (Long.parseLong(query(connection, INVALID_SQL, partitionIndexName)) > 0) {
+                    execute(connection, "drop index concurrently " + partitionIndexName);
+                }
+                execute(
+                    connection,
+                    "create index concurrently if not exists " + partitionIndexName + " on " + quote(partition) + definition
+                );
+                execute(connection, "alter index " + indexName + " attach partition " + partitionIndexName);
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Could not create the index " + indexName + " of " + tableName, e);
+        }
+    }
+
+    /**
+     * The name of the index of a partition: the name of the index, cut to fit, followed by what tells the partition
+     * apart from the table.
+     */
+    static String partitionIndexName(String indexName, String tableName, String partition) {
+        String suffix = partition.startsWith(tableName + "_") ? partition.substring(tableName.length() + 1) : partition;
+        int length = Math.max(0, Math.min(indexName.length(), MAX_IDENTIFIER_LENGTH - suffix.length() - 1));
+        return indexName.substring(0, length) + "_" + suffix;
+    }
+
+    private List<String> partitions(Connection connection) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(PARTITIONS_SQL)) {
+            statement.setString(1, tableName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    partitions.add(resultSet.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * The first column of the first row of a query, as text; {@code null} if there is no row.
+     */
+    private static String query(Connection connection, String sql, String... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Index " + indexName + " created concurrently on the partitions of " + tableName;
+    }
+
+    @Override
+    public void setUp() {
+        // nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // no files are read
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        errors.checkRequiredField("tableName", tableName);
+        errors.checkRequiredField("indexName", indexName);
+        errors.checkRequiredField("columns", columns);
+        return errors;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public void setIndexName(String indexName) {
+        this.indexName = indexName;
+    }
+
+    public String getColumns() {
+        return columns;
+    }
+
+    public void setColumns(String columns) {
+        this.columns = columns;
+    }
+
+    public String getUsing() {
+        return using;
+    }
+
+    public void setUsing(String using) {
+        this.using = using;
+    }
+}
@@ -148,6 +148,10 @@ public class MoneyMarketDeal implements Serializable {
     @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Boolean)
     private Boolean active;
 
+    @Column(name = "row_hash")
+    @org.springframework.data.annotation.Transient
+    private Long rowHash;
+
     @ManyToOne(optional = false)
     @NotNull
     @JsonIgnoreProperties(value = { "placeholders", "moneyMarketDeals" }, allowSetters = true)
@@ -519,6 +523,19 @@ public class MoneyMarketDeal implements Serializable {
         this.active = active;
     }
 
+    public Long getRowHash() {
+        return this.rowHash;
+    }
+
+    public MoneyMarketDeal rowHash(Long rowHash) {
+        this.setRowHash(rowHash);
+        return this;
+    }
+
+    public void setRowHash(Long rowHash) {
+        this.rowHash = rowHash;
+    }
+
     public MoneyMarketList getMoneyMarketList() {
         return this.moneyMarketList;
     }
@@ -583,6 +600,7 @@ public class MoneyMarketDeal implements Serializable {
             ", transactionType='" + getTransactionType() + "'" +
             ", reportDate='" + getReportDate() + "'" +
             ", active='" + getActive() + "'" +
+            ", rowHash=" + getRowHash() +
             "}";
     }
 }
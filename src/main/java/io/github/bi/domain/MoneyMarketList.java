@@ -84,6 +84,25 @@ public class MoneyMarketList implements Serializable {
     )
     private Set<Placeholder> placeholders = new HashSet<>();
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @org.springframework.data.annotation.Transient
+    @JsonIgnoreProperties(
+        value = {
+            "organization", "department", "securityClearance", "dealerIdentity", "placeholders", "reportBatches", "moneyMarketLists",
+        },
+        allowSetters = true
+    )
+    private ApplicationUser uploadedBy;
+
+    @JsonIgnoreProperties(
+        value = { "uploadedBy", "placeholders", "moneyMarketList", "moneyMarketUploadNotifications" },
+        allowSetters = true
+    )
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(unique = true)
+    @org.springframework.data.annotation.Transient
+    private ReportBatch reportBatch;
+
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "moneyMarketList")
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @org.springframework.data.annotation.Transient
@@ -193,6 +212,32 @@ public class MoneyMarketList implements Serializable {
         return this;
     }
 
+    public ApplicationUser getUploadedBy() {
+        return this.uploadedBy;
+    }
+
+    public void setUploadedBy(ApplicationUser applicationUser) {
+        this.uploadedBy = applicationUser;
+    }
+
+    public MoneyMarketList uploadedBy(ApplicationUser applicationUser) {
+        this.setUploadedBy(applicationUser);
+        return this;
+    }
+
+    public ReportBatch getReportBatch() {
+        return this.reportBatch;
+    }
+
+    public void setReportBatch(ReportBatch reportBatch) {
+        this.reportBatch = reportBatch;
+    }
+
+    public MoneyMarketList reportBatch(ReportBatch reportBatch) {
+        this.setReportBatch(reportBatch);
+        return this;
+    }
+
     public Set<MoneyMarketDeal> getMoneyMarketDeals() {
         return this.moneyMarketDeals;
     }
@@ -83,14 +83,15 @@ public class ReportBatch implements Serializable {
     @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Keyword)
     private FileProcessFlag processFlag;
 
-    @Lob
-    @Column(name = "csv_file_attachment", nullable = false)
-    private byte[] csvFileAttachment;
-
     @NotNull
     @Column(name = "csv_file_attachment_content_type", nullable = false)
     private String csvFileAttachmentContentType;
 
+    @Size(max = 64)
+    @Column(name = "file_checksum", length = 64)
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Keyword)
+    private String fileChecksum;
+
     @ManyToOne(optional = false)
     @NotNull
     @JsonIgnoreProperties(
@@ -246,30 +247,30 @@ public class ReportBatch implements Serializable {
         this.processFlag = processFlag;
     }
 
-    public byte[] getCsvFileAttachment() {
-        return this.csvFileAttachment;
+    public String getCsvFileAttachmentContentType() {
+        return this.csvFileAttachmentContentType;
     }
 
-    public ReportBatch csvFileAttachment(byte[] csvFileAttachment) {
-        this.setCsvFileAttachment(csvFileAttachment);
+    public ReportBatch csvFileAttachmentContentType(String csvFileAttachmentContentType) {
+        this.csvFileAttachmentContentType = csvFileAttachmentContentType;
         return this;
     }
 
-    public void setCsvFileAttachment(byte[] csvFileAttachment) {
-        this.csvFileAttachment = csvFileAttachment;
+    public void setCsvFileAttachmentContentType(String csvFileAttachmentContentType) {
+        this.csvFileAttachmentContentType = csvFileAttachmentContentType;
     }
 
-    public String getCsvFileAttachmentContentType() {
-        return this.csvFileAttachmentContentType;
+    public String getFileChecksum() {
+        return this.fileChecksum;
     }
 
-    public ReportBatch csvFileAttachmentContentType(String csvFileAttachmentContentType) {
-        this.csvFileAttachmentContentType = csvFileAttachmentContentType;
+    public ReportBatch fileChecksum(String fileChecksum) {
+        this.setFileChecksum(fileChecksum);
         return this;
     }
 
-    public void setCsvFileAttachmentContentType(String csvFileAttachmentContentType) {
-        this.csvFileAttachmentContentType = csvFileAttachmentContentType;
+    public void setFileChecksum(String fileChecksum) {
+        this.fileChecksum = fileChecksum;
     }
 
     public ApplicationUser getUploadedBy() {
@@ -389,8 +390,8 @@ public class ReportBatch implements Serializable {
             ", description='" + getDescription() + "'" +
             ", fileIdentifier='" + getFileIdentifier() + "'" +
             ", processFlag='" + getProcessFlag() + "'" +
-            ", csvFileAttachment='" + getCsvFileAttachment() + "'" +
             ", csvFileAttachmentContentType='" + getCsvFileAttachmentContentType() + "'" +
+            ", fileChecksum='" + getFileChecksum() + "'" +
             "}";
     }
 }
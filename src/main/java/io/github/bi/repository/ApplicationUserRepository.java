@@ -63,4 +63,6 @@ public interface ApplicationUserRepository
         "select applicationUser from ApplicationUser applicationUser left join fetch applicationUser.organization left join fetch applicationUser.department left join fetch applicationUser.securityClearance left join fetch applicationUser.dealerIdentity where applicationUser.id =:id"
     )
     Optional<ApplicationUser> findOneWithToOneRelationships(@Param("id") Long id);
+
+    Optional<ApplicationUser> findOneByApplicationIdentity(String applicationIdentity);
 }
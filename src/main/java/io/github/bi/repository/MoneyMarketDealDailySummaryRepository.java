@@ -19,6 +19,9 @@ package io.github.bi.repository;
  */
 
 import io.github.bi.domain.MoneyMarketDealDailySummary;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -27,4 +30,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface MoneyMarketDealDailySummaryRepository extends JpaRepository<MoneyMarketDealDailySummary, Long> {}
+public interface MoneyMarketDealDailySummaryRepository extends JpaRepository<MoneyMarketDealDailySummary, Long> {
+    /**
+     * Find the summary of a report date and ledger, locking it until the end of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<MoneyMarketDealDailySummary> findOneForUpdateByReportDateAndLedger(LocalDate reportDate, String ledger);
+}
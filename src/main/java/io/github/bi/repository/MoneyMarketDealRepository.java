@@ -19,6 +19,8 @@ package io.github.bi.repository;
  */
 
 import io.github.bi.domain.MoneyMarketDeal;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -57,4 +59,82 @@ public interface MoneyMarketDealRepository extends JpaRepository<MoneyMarketDeal
         "select moneyMarketDeal from MoneyMarketDeal moneyMarketDeal left join fetch moneyMarketDeal.moneyMarketList where moneyMarketDeal.id =:id"
     )
     Optional<MoneyMarketDeal> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from MoneyMarketDeal moneyMarketDeal where moneyMarketDeal.moneyMarketList.id = :moneyMarketListId")
+    int deleteByMoneyMarketListId(@Param("moneyMarketListId") Long moneyMarketListId);
+
+    /**
+     * Flag every deal of a list active or inactive, leaving the deals that already are untouched.
+     *
+     * @return the number of deals updated.
+     */
+    @Modifying
+    @Query(
+        "update MoneyMarketDeal moneyMarketDeal set moneyMarketDeal.active = :active " +
+        "where moneyMarketDeal.moneyMarketList.id = :moneyMarketListId and moneyMarketDeal.active <> :active"
+    )
+    int updateActiveByMoneyMarketListId(
+        @Param("moneyMarketListId") Long moneyMarketListId,
+        @Param("active") boolean active
+    );
+
+    /**
+     * Move the deals an ingestion found unchanged in the list it replaces over to the list it ingested.
+     *
+     * @return the number of deals moved.
+     */
+    @Modifying
+    @Query(
+        value = "update money_market_deal set money_market_list_id = :moneyMarketListId where id in " +
+        "(select deal_id from report_batch_carried_deal where report_batch_id = :reportBatchId)",
+        nativeQuery = true
+    )
+    int carryOverToMoneyMarketList(
+        @Param("reportBatchId") Long reportBatchId,
+        @Param("moneyMarketListId") Long moneyMarketListId
+    );
+
+    /**
+     * The totals of the deals of a list per report date and treasury ledger, counting only the deals flagged {@code active}.
+     */
+    @Query(
+        "select moneyMarketDeal.reportDate as reportDate, moneyMarketDeal.treasuryLedger as ledger, count(moneyMarketDeal) as numberOfDeals, " +
+        "sum(moneyMarketDeal.shillingEquivalentPrincipal) as totalPrincipal, " +
+        "sum(moneyMarketDeal.shillingEquivalentInterestAccrued) as interestAccrued, " +
+        "sum(moneyMarketDeal.shillingEquivalentPVFull) as totalPVFull " +
+        "from MoneyMarketDeal moneyMarketDeal " +
+        "where moneyMarketDeal.moneyMarketList.id = :moneyMarketListId and moneyMarketDeal.active = :active " +
+        "group by moneyMarketDeal.reportDate, moneyMarketDeal.treasuryLedger"
+    )
+    List<DailyTotals> sumByMoneyMarketListIdAndActive(
+        @Param("moneyMarketListId") Long moneyMarketListId,
+        @Param("active") boolean active
+    );
+
+    /**
+     * The lists of the deals reported from {@code from} until {@code to}, exclusive.
+     */
+    @Query(
+        "select distinct moneyMarketDeal.moneyMarketList.id from MoneyMarketDeal moneyMarketDeal " +
+        "where moneyMarketDeal.reportDate >= :from and moneyMarketDeal.reportDate < :to and moneyMarketDeal.moneyMarketList is not null"
+    )
+    List<Long> findMoneyMarketListIdsByReportDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * The totals of a group of deals reported on the same date to the same treasury ledger.
+     */
+    interface DailyTotals {
+        LocalDate getReportDate();
+
+        String getLedger();
+
+        long getNumberOfDeals();
+
+        BigDecimal getTotalPrincipal();
+
+        BigDecimal getInterestAccrued();
+
+        BigDecimal getTotalPVFull();
+    }
 }
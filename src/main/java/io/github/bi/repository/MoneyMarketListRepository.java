@@ -19,6 +19,8 @@ package io.github.bi.repository;
  */
 
 import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.domain.enumeration.reportBatchStatus;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -46,4 +48,27 @@ public interface MoneyMarketListRepository
     default Page<MoneyMarketList> findAllWithEagerRelationships(Pageable pageable) {
         return this.fetchBagRelationships(this.findAll(pageable));
     }
+
+    Optional<MoneyMarketList> findByReportBatchId(Long reportBatchId);
+
+    /**
+     * The latest active list of a report date, other than the given one: the list a new upload for that date replaces.
+     */
+    Optional<MoneyMarketList> findFirstByReportDateAndStatusAndActiveTrueAndIdNotOrderByUploadTimeStampDesc(
+        LocalDate reportDate,
+        reportBatchStatus status,
+        Long id
+    );
+
+    /**
+     * The active lists of a report date; ordinarily there is one.
+     */
+    List<MoneyMarketList> findAllByReportDateAndStatusAndActiveTrue(LocalDate reportDate, reportBatchStatus status);
+
+    /**
+     * The active lists of the report dates from {@code from} to {@code to}, both included.
+     */
+    List<MoneyMarketList> findAllByReportDateBetweenAndStatusAndActiveTrue(LocalDate from, LocalDate to, reportBatchStatus status);
+
+    List<MoneyMarketList> findAllByStatusAndActiveTrue(reportBatchStatus status);
 }
@@ -19,6 +19,8 @@ package io.github.bi.repository;
  */
 
 import io.github.bi.domain.ReportBatch;
+import io.github.bi.domain.enumeration.FileProcessFlag;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -59,4 +61,36 @@ public interface ReportBatchRepository
 
     @Query("select reportBatch from ReportBatch reportBatch left join fetch reportBatch.uploadedBy where reportBatch.id =:id")
     Optional<ReportBatch> findOneWithToOneRelationships(@Param("id") Long id);
+
+    Optional<ReportBatch> findOneByFileChecksum(String fileChecksum);
+
+    /**
+     * Clear the fileChecksum of the reportBatch holding it, provided the reportBatch is in the given process flag.
+     * Used to let a new reportBatch take over the file of a failed one.
+     *
+     * @return the number of rows updated.
+     */
+    @Modifying
+    @Query(
+        "update ReportBatch reportBatch set reportBatch.fileChecksum = null where reportBatch.fileChecksum = :fileChecksum " +
+        "and reportBatch.processFlag = :processFlag"
+    )
+    int clearFileChecksum(@Param("fileChecksum") String fileChecksum, @Param("processFlag") FileProcessFlag processFlag);
+
+    /**
+     * Move the reportBatch to another process flag, provided it is currently unflagged or in one of the given flags.
+     * Used to claim a batch for ingestion so that only one caller in the cluster wins.
+     *
+     * @return the number of rows updated, {@code 1} if the transition happened.
+     */
+    @Modifying
+    @Query(
+        "update ReportBatch reportBatch set reportBatch.processFlag = :target where reportBatch.id = :id " +
+        "and (reportBatch.processFlag is null or reportBatch.processFlag in :expected)"
+    )
+    int transitionProcessFlag(
+        @Param("id") Long id,
+        @Param("expected") Collection<FileProcessFlag> expected,
+        @Param("target") FileProcessFlag target
+    );
 }
@@ -18,10 +18,16 @@ package io.github.bi.repository.search;
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
 
+import co.elastic.clients.elasticsearch._types.query_dsl.IdsQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.TermQuery;
 import io.github.bi.domain.MoneyMarketDeal;
 import io.github.bi.repository.MoneyMarketDealRepository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -29,7 +35,10 @@ import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.DeleteQuery;
 import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.elasticsearch.core.query.ScriptType;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.scheduling.annotation.Async;
 
@@ -49,6 +58,14 @@ interface MoneyMarketDealSearchRepositoryInternal {
 
     @Async
     void deleteFromIndexById(Long id);
+
+    void deleteFromIndexByMoneyMarketListId(Long moneyMarketListId);
+
+    void updateMoneyMarketListInIndex(Collection<Long> ids, Long moneyMarketListId, boolean active);
+
+    void updateActiveInIndexByMoneyMarketListId(Long moneyMarketListId, boolean active);
+
+    void deleteFromIndexByReportDateRange(LocalDate from, LocalDate to);
 }
 
 class MoneyMarketDealSearchRepositoryInternalImpl implements MoneyMarketDealSearchRepositoryInternal {
@@ -83,4 +100,46 @@ class MoneyMarketDealSearchRepositoryInternalImpl implements MoneyMarketDealSear
     public void deleteFromIndexById(Long id) {
         elasticsearchTemplate.delete(String.valueOf(id), MoneyMarketDeal.class);
     }
+
+    @Override
+    public void deleteFromIndexByMoneyMarketListId(Long moneyMarketListId) {
+        NativeQuery query = new NativeQuery(TermQuery.of(t -> t.field("moneyMarketList.id").value(moneyMarketListId))._toQuery());
+        elasticsearchTemplate.delete(DeleteQuery.builder(query).build(), MoneyMarketDeal.class);
+    }
+
+    @Override
+    public void updateMoneyMarketListInIndex(Collection<Long> ids, Long moneyMarketListId, boolean active) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<String> values = ids.stream().map(String::valueOf).toList();
+        NativeQuery query = new NativeQuery(IdsQuery.of(i -> i.values(values))._toQuery());
+        UpdateQuery updateQuery = UpdateQuery.builder(query)
+            .withScriptType(ScriptType.INLINE)
+            .withLang("painless")
+            .withScript("ctx._source.moneyMarketList.id = params.moneyMarketListId; ctx._source.active = params.active")
+            .withParams(Map.of("moneyMarketListId", moneyMarketListId, "active", active))
+            .build();
+        elasticsearchTemplate.updateByQuery(updateQuery, elasticsearchTemplate.getIndexCoordinatesFor(MoneyMarketDeal.class));
+    }
+
+    @Override
+    public void updateActiveInIndexByMoneyMarketListId(Long moneyMarketListId, boolean active) {
+        NativeQuery query = new NativeQuery(TermQuery.of(t -> t.field("moneyMarketList.id").value(moneyMarketListId))._toQuery());
+        UpdateQuery updateQuery = UpdateQuery.builder(query)
+            .withScriptType(ScriptType.INLINE)
+            .withLang("painless")
+            .withScript("ctx._source.active = params.active")
+            .withParams(Map.of("active", active))
+            .build();
+        elasticsearchTemplate.updateByQuery(updateQuery, elasticsearchTemplate.getIndexCoordinatesFor(MoneyMarketDeal.class));
+    }
+
+    @Override
+    public void deleteFromIndexByReportDateRange(LocalDate from, LocalDate to) {
+        NativeQuery query = new NativeQuery(
+            RangeQuery.of(r -> r.date(d -> d.field("reportDate").gte(from.toString()).lt(to.toString())))._toQuery()
+        );
+        elasticsearchTemplate.delete(DeleteQuery.builder(query).build(), MoneyMarketDeal.class);
+    }
 }
@@ -25,11 +25,14 @@ import io.github.bi.repository.search.ApplicationUserSearchRepository;
 import io.github.bi.service.criteria.ApplicationUserCriteria;
 import io.github.bi.service.dto.ApplicationUserDTO;
 import io.github.bi.service.mapper.ApplicationUserMapper;
+import io.github.bi.service.pagination.CriteriaPager;
+import io.github.bi.service.pagination.PaginationMode;
 import jakarta.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,14 +56,18 @@ public class ApplicationUserQueryService extends QueryService<ApplicationUser> {
 
     private final ApplicationUserSearchRepository applicationUserSearchRepository;
 
+    private final CriteriaPager criteriaPager;
+
     public ApplicationUserQueryService(
         ApplicationUserRepository applicationUserRepository,
         ApplicationUserMapper applicationUserMapper,
-        ApplicationUserSearchRepository applicationUserSearchRepository
+        ApplicationUserSearchRepository applicationUserSearchRepository,
+        CriteriaPager criteriaPager
     ) {
         this.applicationUserRepository = applicationUserRepository;
         this.applicationUserMapper = applicationUserMapper;
         this.applicationUserSearchRepository = applicationUserSearchRepository;
+        this.criteriaPager = criteriaPager;
     }
 
     /**
@@ -78,6 +85,26 @@ public class ApplicationUserQueryService extends QueryService<ApplicationUser> {
             .map(applicationUserMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link ApplicationUserDTO} which matches the criteria from the database,
+     * with as much of a total as the pagination mode asks for.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param mode Whether to count the matching entities exactly, to estimate their number, or not to count them.
+     * @return the matching entities, as a {@link Page} unless the mode is {@link PaginationMode#SLICE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ApplicationUserDTO> findByCriteria(ApplicationUserCriteria criteria, Pageable page, PaginationMode mode) {
+        if (mode == PaginationMode.EXACT) {
+            return findByCriteria(criteria, page);
+        }
+        LOG.debug("find by criteria : {}, page: {}, pagination: {}", criteria, page, mode);
+        final Specification<ApplicationUser> specification = createSpecification(criteria);
+        return criteriaPager.find(applicationUserRepository, ApplicationUser.class, specification, page, mode, applicationUsers ->
+            applicationUserMapper.toDto(applicationUserRepository.fetchBagRelationships(applicationUsers))
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -25,11 +25,14 @@ import io.github.bi.repository.search.DealerSearchRepository;
 import io.github.bi.service.criteria.DealerCriteria;
 import io.github.bi.service.dto.DealerDTO;
 import io.github.bi.service.mapper.DealerMapper;
+import io.github.bi.service.pagination.CriteriaPager;
+import io.github.bi.service.pagination.PaginationMode;
 import jakarta.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,10 +56,18 @@ public class DealerQueryService extends QueryService<Dealer> {
 
     private final DealerSearchRepository dealerSearchRepository;
 
-    public DealerQueryService(DealerRepository dealerRepository, DealerMapper dealerMapper, DealerSearchRepository dealerSearchRepository) {
+    private final CriteriaPager criteriaPager;
+
+    public DealerQueryService(
+        DealerRepository dealerRepository,
+        DealerMapper dealerMapper,
+        DealerSearchRepository dealerSearchRepository,
+        CriteriaPager criteriaPager
+    ) {
         this.dealerRepository = dealerRepository;
         this.dealerMapper = dealerMapper;
         this.dealerSearchRepository = dealerSearchRepository;
+        this.criteriaPager = criteriaPager;
     }
 
     /**
@@ -72,6 +83,26 @@ public class DealerQueryService extends QueryService<Dealer> {
         return dealerRepository.fetchBagRelationships(dealerRepository.findAll(specification, page)).map(dealerMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link DealerDTO} which matches the criteria from the database,
+     * with as much of a total as the pagination mode asks for.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param mode Whether to count the matching entities exactly, to estimate their number, or not to count them.
+     * @return the matching entities, as a {@link Page} unless the mode is {@link PaginationMode#SLICE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<DealerDTO> findByCriteria(DealerCriteria criteria, Pageable page, PaginationMode mode) {
+        if (mode == PaginationMode.EXACT) {
+            return findByCriteria(criteria, page);
+        }
+        LOG.debug("find by criteria : {}, page: {}, pagination: {}", criteria, page, mode);
+        final Specification<Dealer> specification = createSpecification(criteria);
+        return criteriaPager.find(dealerRepository, Dealer.class, specification, page, mode, dealers ->
+            dealerMapper.toDto(dealerRepository.fetchBagRelationships(dealers))
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
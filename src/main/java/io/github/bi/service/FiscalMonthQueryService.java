@@ -25,11 +25,14 @@ import io.github.bi.repository.search.FiscalMonthSearchRepository;
 import io.github.bi.service.criteria.FiscalMonthCriteria;
 import io.github.bi.service.dto.FiscalMonthDTO;
 import io.github.bi.service.mapper.FiscalMonthMapper;
+import io.github.bi.service.pagination.CriteriaPager;
+import io.github.bi.service.pagination.PaginationMode;
 import jakarta.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,14 +56,18 @@ public class FiscalMonthQueryService extends QueryService<FiscalMonth> {
 
     private final FiscalMonthSearchRepository fiscalMonthSearchRepository;
 
+    private final CriteriaPager criteriaPager;
+
     public FiscalMonthQueryService(
         FiscalMonthRepository fiscalMonthRepository,
         FiscalMonthMapper fiscalMonthMapper,
-        FiscalMonthSearchRepository fiscalMonthSearchRepository
+        FiscalMonthSearchRepository fiscalMonthSearchRepository,
+        CriteriaPager criteriaPager
     ) {
         this.fiscalMonthRepository = fiscalMonthRepository;
         this.fiscalMonthMapper = fiscalMonthMapper;
         this.fiscalMonthSearchRepository = fiscalMonthSearchRepository;
+        this.criteriaPager = criteriaPager;
     }
 
     /**
@@ -78,6 +85,26 @@ public class FiscalMonthQueryService extends QueryService<FiscalMonth> {
             .map(fiscalMonthMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link FiscalMonthDTO} which matches the criteria from the database,
+     * with as much of a total as the pagination mode asks for.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param mode Whether to count the matching entities exactly, to estimate their number, or not to count them.
+     * @return the matching entities, as a {@link Page} unless the mode is {@link PaginationMode#SLICE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<FiscalMonthDTO> findByCriteria(FiscalMonthCriteria criteria, Pageable page, PaginationMode mode) {
+        if (mode == PaginationMode.EXACT) {
+            return findByCriteria(criteria, page);
+        }
+        LOG.debug("find by criteria : {}, page: {}, pagination: {}", criteria, page, mode);
+        final Specification<FiscalMonth> specification = createSpecification(criteria);
+        return criteriaPager.find(fiscalMonthRepository, FiscalMonth.class, specification, page, mode, fiscalMonths ->
+            fiscalMonthMapper.toDto(fiscalMonthRepository.fetchBagRelationships(fiscalMonths))
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -25,11 +25,14 @@ import io.github.bi.repository.search.FiscalQuarterSearchRepository;
 import io.github.bi.service.criteria.FiscalQuarterCriteria;
 import io.github.bi.service.dto.FiscalQuarterDTO;
 import io.github.bi.service.mapper.FiscalQuarterMapper;
+import io.github.bi.service.pagination.CriteriaPager;
+import io.github.bi.service.pagination.PaginationMode;
 import jakarta.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,14 +56,18 @@ public class FiscalQuarterQueryService extends QueryService<FiscalQuarter> {
 
     private final FiscalQuarterSearchRepository fiscalQuarterSearchRepository;
 
+    private final CriteriaPager criteriaPager;
+
     public FiscalQuarterQueryService(
         FiscalQuarterRepository fiscalQuarterRepository,
         FiscalQuarterMapper fiscalQuarterMapper,
-        FiscalQuarterSearchRepository fiscalQuarterSearchRepository
+        FiscalQuarterSearchRepository fiscalQuarterSearchRepository,
+        CriteriaPager criteriaPager
     ) {
         this.fiscalQuarterRepository = fiscalQuarterRepository;
         this.fiscalQuarterMapper = fiscalQuarterMapper;
         this.fiscalQuarterSearchRepository = fiscalQuarterSearchRepository;
+        this.criteriaPager = criteriaPager;
     }
 
     /**
@@ -78,6 +85,26 @@ public class FiscalQuarterQueryService extends QueryService<FiscalQuarter> {
             .map(fiscalQuarterMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link FiscalQuarterDTO} which matches the criteria from the database,
+     * with as much of a total as the pagination mode asks for.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param mode Whether to count the matching entities exactly, to estimate their number, or not to count them.
+     * @return the matching entities, as a {@link Page} unless the mode is {@link PaginationMode#SLICE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<FiscalQuarterDTO> findByCriteria(FiscalQuarterCriteria criteria, Pageable page, PaginationMode mode) {
+        if (mode == PaginationMode.EXACT) {
+            return findByCriteria(criteria, page);
+        }
+        LOG.debug("find by criteria : {}, page: {}, pagination: {}", criteria, page, mode);
+        final Specification<FiscalQuarter> specification = createSpecification(criteria);
+        return criteriaPager.find(fiscalQuarterRepository, FiscalQuarter.class, specification, page, mode, fiscalQuarters ->
+            fiscalQuarterMapper.toDto(fiscalQuarterRepository.fetchBagRelationships(fiscalQuarters))
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -25,11 +25,14 @@ import io.github.bi.repository.search.FiscalYearSearchRepository;
 import io.github.bi.service.criteria.FiscalYearCriteria;
 import io.github.bi.service.dto.FiscalYearDTO;
 import io.github.bi.service.mapper.FiscalYearMapper;
+import io.github.bi.service.pagination.CriteriaPager;
+import io.github.bi.service.pagination.PaginationMode;
 import jakarta.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,14 +56,18 @@ public class FiscalYearQueryService extends QueryService<FiscalYear> {
 
     private final FiscalYearSearchRepository fiscalYearSearchRepository;
 
+    private final CriteriaPager criteriaPager;
+
     public FiscalYearQueryService(
         FiscalYearRepository fiscalYearRepository,
         FiscalYearMapper fiscalYearMapper,
-        FiscalYearSearchRepository fiscalYearSearchRepository
+        FiscalYearSearchRepository fiscalYearSearchRepository,
+        CriteriaPager criteriaPager
     ) {
         this.fiscalYearRepository = fiscalYearRepository;
         this.fiscalYearMapper = fiscalYearMapper;
         this.fiscalYearSearchRepository = fiscalYearSearchRepository;
+        this.criteriaPager = criteriaPager;
     }
 
     /**
@@ -76,6 +83,26 @@ public class FiscalYearQueryService extends QueryService<FiscalYear> {
         return fiscalYearRepository.fetchBagRelationships(fiscalYearRepository.findAll(specification, page)).map(fiscalYearMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link FiscalYearDTO} which matches the criteria from the database,
+     * with as much of a total as the pagination mode asks for.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param mode Whether to count the matching entities exactly, to estimate their number, or not to count them.
+     * @return the matching entities, as a {@link Page} unless the mode is {@link PaginationMode#SLICE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<FiscalYearDTO> findByCriteria(FiscalYearCriteria criteria, Pageable page, PaginationMode mode) {
+        if (mode == PaginationMode.EXACT) {
+            return findByCriteria(criteria, page);
+        }
+        LOG.debug("find by criteria : {}, page: {}, pagination: {}", criteria, page, mode);
+        final Specification<FiscalYear> specification = createSpecification(criteria);
+        return criteriaPager.find(fiscalYearRepository, FiscalYear.class, specification, page, mode, fiscalYears ->
+            fiscalYearMapper.toDto(fiscalYearRepository.fetchBagRelationships(fiscalYears))
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
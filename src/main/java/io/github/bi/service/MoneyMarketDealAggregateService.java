@@ -0,0 +1,138 @@
+package io.github.bi.service;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.service.analytics.MoneyMarketDealDimension;
+import io.github.bi.service.analytics.MoneyMarketDealMeasure;
+import io.github.bi.service.analytics.MoneyMarketDealSnapshotStore;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import io.github.bi.service.dto.MoneyMarketDealAggregateDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for aggregating {@link MoneyMarketDeal} entities in the database.
+ * The deals are filtered by a {@link MoneyMarketDealCriteria}, with the same {@link Specification} the
+ * {@link MoneyMarketDealQueryService} builds, and grouped by {@link MoneyMarketDealDimension}s; the
+ * {@link MoneyMarketDealMeasure}s are computed by one {@code GROUP BY} query, so no deal is loaded.
+ * <p>
+ * When the criteria select the deals of one list that the {@link MoneyMarketDealSnapshotStore} holds, and only filter
+ * attributes its columns hold, the aggregate is computed from the columns in memory instead.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MoneyMarketDealAggregateService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealAggregateService.class);
+
+    private final MoneyMarketDealQueryService moneyMarketDealQueryService;
+
+    private final EntityManager entityManager;
+
+    private final MoneyMarketDealSnapshotStore moneyMarketDealSnapshotStore;
+
+    public MoneyMarketDealAggregateService(
+        MoneyMarketDealQueryService moneyMarketDealQueryService,
+        EntityManager entityManager,
+        MoneyMarketDealSnapshotStore moneyMarketDealSnapshotStore
+    ) {
+        this.moneyMarketDealQueryService = moneyMarketDealQueryService;
+        this.entityManager = entityManager;
+        this.moneyMarketDealSnapshotStore = moneyMarketDealSnapshotStore;
+    }
+
+    /**
+     * Return the measures of the deals matching the criteria, per group of deals sharing the values of the dimensions.
+     * @param criteria The object which holds all the filters, which the deals should match.
+     * @param dimensions The dimensions to group by, in the order the groups are sorted by; none for a single group.
+     * @param measures The measures to compute; none for all of them.
+     * @return one row per group.
+     */
+    public List<MoneyMarketDealAggregateDTO> aggregateByCriteria(
+        MoneyMarketDealCriteria criteria,
+        List<MoneyMarketDealDimension> dimensions,
+        List<MoneyMarketDealMeasure> measures
+    ) {
+        LOG.debug("aggregate by criteria : {}, dimensions: {}, measures: {}", criteria, dimensions, measures);
+        if (criteria != null && criteria.getMoneyMarketListId() != null && criteria.getMoneyMarketListId().getEquals() != null) {
+            Optional<List<MoneyMarketDealAggregateDTO>> fromSnapshot = moneyMarketDealSnapshotStore
+                .find(criteria.getMoneyMarketListId().getEquals())
+                .flatMap(snapshot -> snapshot.aggregate(criteria, dimensions, measures));
+            if (fromSnapshot.isPresent()) {
+                return fromSnapshot.orElseThrow();
+            }
+        }
+        List<MoneyMarketDealMeasure> computed = measures.isEmpty() ? List.of(MoneyMarketDealMeasure.values()) : measures;
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<MoneyMarketDeal> root = query.from(MoneyMarketDeal.class);
+
+        List<Expression<?>> groups = new ArrayList<>(dimensions.size());
+        List<Selection<?>> selections = new ArrayList<>(dimensions.size() + computed.size());
+        for (MoneyMarketDealDimension dimension : dimensions) {
+            groups.add(dimension.path(root));
+            selections.add(dimension.path(root));
+        }
+        for (MoneyMarketDealMeasure measure : computed) {
+            selections.add(measure.expression(cb, root));
+        }
+        query.multiselect(selections);
+        Predicate predicate = moneyMarketDealQueryService.createSpecification(criteria).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // the distinct filter has no meaning for groups
+        query.distinct(false);
+        query.groupBy(groups);
+        query.orderBy(groups.stream().map(cb::asc).toList());
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<MoneyMarketDealAggregateDTO> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> dimensionValues = new LinkedHashMap<>();
+            int column = 0;
+            for (MoneyMarketDealDimension dimension : dimensions) {
+                dimensionValues.put(dimension.propertyName(), tuple.get(column++));
+            }
+            Map<String, Number> measureValues = new LinkedHashMap<>();
+            for (MoneyMarketDealMeasure measure : computed) {
+                measureValues.put(measure.propertyName(), measure.normalize((Number) tuple.get(column++)));
+            }
+            rows.add(new MoneyMarketDealAggregateDTO(dimensionValues, measureValues));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.bi.service;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.domain.enumeration.reportBatchStatus;
+import io.github.bi.repository.MoneyMarketListRepository;
+import io.github.bi.service.analytics.MoneyMarketDealColumns;
+import io.github.bi.service.analytics.MoneyMarketDealConcentration;
+import io.github.bi.service.analytics.MoneyMarketDealDimension;
+import io.github.bi.service.analytics.MoneyMarketDealMeasure;
+import io.github.bi.service.analytics.MoneyMarketDealSnapshotStore;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import io.github.bi.service.dto.MoneyMarketDealAggregateDTO;
+import io.github.bi.service.dto.MoneyMarketDealConcentrationDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for measuring how concentrated the active deals of a report date are on their counterparties.
+ * <p>
+ * A counterparty is a counterparty name, domicile and institution type. The principal of each counterparty comes
+ * from the deal snapshot of the active list of the date when the {@link MoneyMarketDealSnapshotStore} holds it, and
+ * from one {@code GROUP BY} query otherwise; the counterparties then go through a {@link MoneyMarketDealConcentration},
+ * so that none of them is sorted.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MoneyMarketDealConcentrationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealConcentrationService.class);
+
+    private static final List<MoneyMarketDealDimension> COUNTERPARTY = List.of(
+        MoneyMarketDealDimension.COUNTER_PARTY_NAME,
+        MoneyMarketDealDimension.COUNTERPARTY_DOMICILE,
+        MoneyMarketDealDimension.INSTITUTION_TYPE
+    );
+
+    private static final List<MoneyMarketDealMeasure> MEASURES = List.of(
+        MoneyMarketDealMeasure.COUNT,
+        MoneyMarketDealMeasure.SUM_SHILLING_EQUIVALENT_PRINCIPAL
+    );
+
+    private static final String SELECT_COUNTERPARTIES =
+        "select counter_party_name, counterparty_domicile, institution_type, count(*), sum(shilling_equivalent_principal) " +
+        "from money_market_deal where report_date = ? and active = true " +
+        "group by counter_party_name, counterparty_domicile, institution_type";
+
+    private final MoneyMarketListRepository moneyMarketListRepository;
+
+    private final MoneyMarketDealSnapshotStore moneyMarketDealSnapshotStore;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MoneyMarketDealConcentrationService(
+        MoneyMarketListRepository moneyMarketListRepository,
+        MoneyMarketDealSnapshotStore moneyMarketDealSnapshotStore,
+        JdbcTemplate jdbcTemplate
+    ) {
+        this.moneyMarketListRepository = moneyMarketListRepository;
+        this.moneyMarketDealSnapshotStore = moneyMarketDealSnapshotStore;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Measure the concentration of the active deals of a report date.
+     * @param reportDate the report date.
+     * @param top the number of largest counterparties to list.
+     * @return the concentration; without counterparties if no deal is active on the date.
+     * @throws IllegalArgumentException if {@code top} is not positive.
+     */
+    public MoneyMarketDealConcentrationDTO find(LocalDate reportDate, int top) {
+        LOG.debug("Request to get the {} largest counterparties of {}", top, reportDate);
+        MoneyMarketDealConcentration concentration = new MoneyMarketDealConcentration(reportDate, top);
+        Optional<List<MoneyMarketDealAggregateDTO>> fromSnapshot = fromSnapshot(reportDate);
+        if (fromSnapshot.isPresent()) {
+            for (MoneyMarketDealAggregateDTO group : fromSnapshot.orElseThrow()) {
+                concentration.add(
+                    (String) group.dimensions().get(MoneyMarketDealDimension.COUNTER_PARTY_NAME.propertyName()),
+                    (String) group.dimensions().get(MoneyMarketDealDimension.COUNTERPARTY_DOMICILE.propertyName()),
+                    (String) group.dimensions().get(MoneyMarketDealDimension.INSTITUTION_TYPE.propertyName()),
+                    group.measures().get(MoneyMarketDealMeasure.COUNT.propertyName()).longValue(),
+                    toBigDecimal(group.measures().get(MoneyMarketDealMeasure.SUM_SHILLING_EQUIVALENT_PRINCIPAL.propertyName()))
+                );
+            }
+        } else {
+            jdbcTemplate.query(
+                SELECT_COUNTERPARTIES,
+                resultSet -> {
+                    concentration.add(
+                        resultSet.getString(1),
+                        resultSet.getString(2),
+                        resultSet.getString(3),
+                        resultSet.getLong(4),
+                        resultSet.getBigDecimal(5)
+                    );
+                },
+                reportDate
+            );
+        }
+        return concentration.result();
+    }
+
+    /**
+     * The principal per counterparty from the snapshot of the only active list of the date, if it is held.
+     */
+    private Optional<List<MoneyMarketDealAggregateDTO>> fromSnapshot(LocalDate reportDate) {
+        List<MoneyMarketList> active = moneyMarketListRepository.findAllByReportDateAndStatusAndActiveTrue(
+            reportDate,
+            reportBatchStatus.ACTIVE
+        );
+        if (active.size() != 1) {
+            return Optional.empty();
+        }
+        MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+        criteria.moneyMarketListId().setEquals(active.get(0).getId());
+        criteria.active().setEquals(true);
+        Optional<MoneyMarketDealColumns> snapshot = moneyMarketDealSnapshotStore.find(active.get(0).getId());
+        return snapshot.flatMap(columns -> columns.aggregate(criteria, COUNTERPARTY, MEASURES));
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number == null || number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        return new BigDecimal(number.toString());
+    }
+}
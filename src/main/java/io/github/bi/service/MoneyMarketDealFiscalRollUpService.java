@@ -0,0 +1,105 @@
+package io.github.bi.service;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.dto.MoneyMarketDealFiscalRollUpDTO;
+import io.github.bi.service.fiscal.FiscalPeriodType;
+import io.github.bi.service.summary.MoneyMarketDealFiscalRollUpUpdater;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for reading the fiscal period roll-ups of the daily deal summaries that the
+ * {@link MoneyMarketDealFiscalRollUpUpdater} maintains.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MoneyMarketDealFiscalRollUpService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealFiscalRollUpService.class);
+
+    private static final String SELECT_SQL =
+        "select period_type, period_id, fiscal_year_id, period_code, start_date, end_date, ledger, days_reported, " +
+        "average_principal, average_interest_accrued, average_pv_full, closing_report_date, closing_number_of_deals, " +
+        "closing_principal, closing_interest_accrued, closing_pv_full, peak_principal, peak_report_date, frozen " +
+        "from money_market_deal_fiscal_roll_up where fiscal_year_id = ? and period_type = ? " +
+        "and (? or ledger is not distinct from cast(? as varchar)) " +
+        "order by start_date, ledger nulls last";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MoneyMarketDealFiscalRollUpService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Return the roll-ups of the periods of a fiscal year, in the order of the periods then of the ledgers.
+     * @param fiscalYearId the id of the fiscal year.
+     * @param periodType the periods to return.
+     * @param ledger the ledger to return the roll-ups of; all ledgers if {@code null}.
+     * @return the roll-ups; periods without deals reported have none.
+     */
+    public List<MoneyMarketDealFiscalRollUpDTO> findAll(Long fiscalYearId, FiscalPeriodType periodType, String ledger) {
+        LOG.debug("Request to get the {} deal roll-ups of FiscalYear {} for ledger {}", periodType, fiscalYearId, ledger);
+        return jdbcTemplate.query(
+            SELECT_SQL,
+            MoneyMarketDealFiscalRollUpService::read,
+            fiscalYearId,
+            periodType.name(),
+            ledger == null,
+            ledger
+        );
+    }
+
+    private static MoneyMarketDealFiscalRollUpDTO read(ResultSet resultSet, int rowNum) throws SQLException {
+        return new MoneyMarketDealFiscalRollUpDTO(
+            resultSet.getString("period_type"),
+            resultSet.getLong("period_id"),
+            resultSet.getLong("fiscal_year_id"),
+            resultSet.getString("period_code"),
+            toLocalDate(resultSet.getDate("start_date")),
+            toLocalDate(resultSet.getDate("end_date")),
+            resultSet.getString("ledger"),
+            resultSet.getInt("days_reported"),
+            resultSet.getBigDecimal("average_principal"),
+            resultSet.getBigDecimal("average_interest_accrued"),
+            resultSet.getBigDecimal("average_pv_full"),
+            toLocalDate(resultSet.getDate("closing_report_date")),
+            resultSet.getObject("closing_number_of_deals", Integer.class),
+            resultSet.getBigDecimal("closing_principal"),
+            resultSet.getBigDecimal("closing_interest_accrued"),
+            resultSet.getBigDecimal("closing_pv_full"),
+            resultSet.getBigDecimal("peak_principal"),
+            toLocalDate(resultSet.getDate("peak_report_date")),
+            resultSet.getBoolean("frozen")
+        );
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.bi.service;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.repository.MoneyMarketListRepository;
+import io.github.bi.service.analytics.MoneyMarketDealMovementMerge;
+import io.github.bi.service.analytics.MoneyMarketDealPosition;
+import io.github.bi.service.dto.MoneyMarketDealMovementDTO;
+import io.github.bi.service.dto.MoneyMarketDealMovementTotalDTO;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for comparing the deals of two {@link io.github.bi.domain.MoneyMarketList}s, typically of consecutive
+ * report dates.
+ * <p>
+ * The active deals of both lists are streamed from the database in deal number order, over two cursors of the same
+ * connection, into a {@link MoneyMarketDealMovementMerge}; no list is held in memory.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MoneyMarketDealMovementService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealMovementService.class);
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String SELECT_POSITIONS =
+        "select deal_number, settlement_date, maturity_date, currency_code, counter_party_name, principal_amount, interest_rate, " +
+        "shilling_equivalent_principal, shilling_equivalent_interest_accrued, shilling_equivalent_pv_full " +
+        "from money_market_deal where money_market_list_id = ? and active = true order by deal_number collate \"C\", id";
+
+    private final MoneyMarketListRepository moneyMarketListRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MoneyMarketDealMovementService(MoneyMarketListRepository moneyMarketListRepository, JdbcTemplate jdbcTemplate) {
+        this.moneyMarketListRepository = moneyMarketListRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Whether both lists exist.
+     */
+    public boolean exist(Long previousMoneyMarketListId, Long moneyMarketListId) {
+        return moneyMarketListRepository.existsById(previousMoneyMarketListId) && moneyMarketListRepository.existsById(moneyMarketListId);
+    }
+
+    /**
+     * Compare the active deals of a list with those of an earlier one.
+     * @param previousMoneyMarketListId the id of the earlier list.
+     * @param moneyMarketListId the id of the later list.
+     * @param movements takes the movement of every deal, in deal number order.
+     * @return the totals of each kind of movement, or nothing if a list does not exist.
+     */
+    public Optional<List<MoneyMarketDealMovementTotalDTO>> compare(
+        Long previousMoneyMarketListId,
+        Long moneyMarketListId,
+        Consumer<MoneyMarketDealMovementDTO> movements
+    ) {
+        LOG.debug(
+            "Request to compare the deals of MoneyMarketList {} with those of MoneyMarketList {}",
+            moneyMarketListId,
+            previousMoneyMarketListId
+        );
+        if (!exist(previousMoneyMarketListId, moneyMarketListId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(
+            jdbcTemplate.execute((ConnectionCallback<List<MoneyMarketDealMovementTotalDTO>>) connection -> {
+                try (
+                    PreparedStatement previousStatement = prepare(connection, previousMoneyMarketListId);
+                    PreparedStatement currentStatement = prepare(connection, moneyMarketListId);
+                    ResultSet previous = previousStatement.executeQuery();
+                    ResultSet current = currentStatement.executeQuery()
+                ) {
+                    return MoneyMarketDealMovementMerge.merge(new Positions(previous), new Positions(current), movements);
+                }
+            })
+        );
+    }
+
+    private static PreparedStatement prepare(Connection connection, Long moneyMarketListId) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(SELECT_POSITIONS);
+        statement.setFetchSize(FETCH_SIZE);
+        statement.setLong(1, moneyMarketListId);
+        return statement;
+    }
+
+    /**
+     * The deals of one list, read from its cursor as they are asked for.
+     */
+    private final class Positions implements Iterator<MoneyMarketDealPosition> {
+
+        private final ResultSet resultSet;
+
+        private Boolean hasNext;
+
+        private Positions(ResultSet resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                try {
+                    hasNext = resultSet.next();
+                } catch (SQLException e) {
+                    throw jdbcTemplate.getExceptionTranslator().translate("Reading deals", SELECT_POSITIONS, e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public MoneyMarketDealPosition next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            try {
+                return new MoneyMarketDealPosition(
+                    resultSet.getString(1),
+                    resultSet.getObject(2, LocalDate.class),
+                    resultSet.getObject(3, LocalDate.class),
+                    resultSet.getString(4),
+                    resultSet.getString(5),
+                    resultSet.getBigDecimal(6),
+                    resultSet.getBigDecimal(7),
+                    resultSet.getBigDecimal(8),
+                    resultSet.getBigDecimal(9),
+                    resultSet.getBigDecimal(10)
+                );
+            } catch (SQLException e) {
+                throw jdbcTemplate.getExceptionTranslator().translate("Reading deals", SELECT_POSITIONS, e);
+            }
+        }
+    }
+}
@@ -22,15 +22,33 @@ import io.github.bi.domain.*; // for static metamodels
 import io.github.bi.domain.MoneyMarketDeal;
 import io.github.bi.repository.MoneyMarketDealRepository;
 import io.github.bi.repository.search.MoneyMarketDealSearchRepository;
+import io.github.bi.service.advisor.MoneyMarketDealIndexAdvisor;
+import io.github.bi.service.cache.MoneyMarketDealQueryCache;
 import io.github.bi.service.criteria.MoneyMarketDealCriteria;
 import io.github.bi.service.dto.MoneyMarketDealDTO;
+import io.github.bi.service.dto.MoneyMarketDealRowDTO;
 import io.github.bi.service.mapper.MoneyMarketDealMapper;
+import io.github.bi.service.pagination.CriteriaPager;
+import io.github.bi.service.pagination.Keyset;
+import io.github.bi.service.pagination.KeysetSlice;
+import io.github.bi.service.pagination.PaginationMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.service.QueryService;
@@ -47,24 +65,50 @@ public class MoneyMarketDealQueryService extends QueryService<MoneyMarketDeal> {
 
     private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealQueryService.class);
 
+    private static final Keyset<MoneyMarketDeal> KEYSET = Keyset.builder(MoneyMarketDeal::getId)
+        .key("reportDate", LocalDate.class, MoneyMarketDeal::getReportDate)
+        .key("dealNumber", String.class, MoneyMarketDeal::getDealNumber)
+        .key("settlementDate", LocalDate.class, MoneyMarketDeal::getSettlementDate)
+        .key("maturityDate", LocalDate.class, MoneyMarketDeal::getMaturityDate)
+        .key("endDate", LocalDate.class, MoneyMarketDeal::getEndDate)
+        .key("finalInterestAccrualDate", LocalDate.class, MoneyMarketDeal::getFinalInterestAccrualDate)
+        .build();
+
     private final MoneyMarketDealRepository moneyMarketDealRepository;
 
     private final MoneyMarketDealMapper moneyMarketDealMapper;
 
     private final MoneyMarketDealSearchRepository moneyMarketDealSearchRepository;
 
+    private final CriteriaPager criteriaPager;
+
+    private final EntityManager entityManager;
+
+    private final MoneyMarketDealIndexAdvisor moneyMarketDealIndexAdvisor;
+
+    private final MoneyMarketDealQueryCache moneyMarketDealQueryCache;
+
     public MoneyMarketDealQueryService(
         MoneyMarketDealRepository moneyMarketDealRepository,
         MoneyMarketDealMapper moneyMarketDealMapper,
-        MoneyMarketDealSearchRepository moneyMarketDealSearchRepository
+        MoneyMarketDealSearchRepository moneyMarketDealSearchRepository,
+        CriteriaPager criteriaPager,
+        EntityManager entityManager,
+        MoneyMarketDealIndexAdvisor moneyMarketDealIndexAdvisor,
+        MoneyMarketDealQueryCache moneyMarketDealQueryCache
     ) {
         this.moneyMarketDealRepository = moneyMarketDealRepository;
         this.moneyMarketDealMapper = moneyMarketDealMapper;
         this.moneyMarketDealSearchRepository = moneyMarketDealSearchRepository;
+        this.criteriaPager = criteriaPager;
+        this.entityManager = entityManager;
+        this.moneyMarketDealIndexAdvisor = moneyMarketDealIndexAdvisor;
+        this.moneyMarketDealQueryCache = moneyMarketDealQueryCache;
     }
 
     /**
-     * Return a {@link Page} of {@link MoneyMarketDealDTO} which matches the criteria from the database.
+     * Return a {@link Page} of {@link MoneyMarketDealDTO} which matches the criteria from the database, or from the
+     * {@link MoneyMarketDealQueryCache} while none of the deals it may hold has been written since.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
@@ -73,11 +117,129 @@ public class MoneyMarketDealQueryService extends QueryService<MoneyMarketDeal> {
     public Page<MoneyMarketDealDTO> findByCriteria(MoneyMarketDealCriteria criteria, Pageable page) {
         LOG.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<MoneyMarketDeal> specification = createSpecification(criteria);
-        return moneyMarketDealRepository.findAll(specification, page).map(moneyMarketDealMapper::toDto);
+        return moneyMarketDealQueryCache.page(criteria, page, () ->
+            moneyMarketDealIndexAdvisor.timed(criteria, () ->
+                moneyMarketDealRepository.findAll(specification, page).map(moneyMarketDealMapper::toDto)
+            )
+        );
+    }
+
+    /**
+     * Return a {@link Slice} of {@link MoneyMarketDealDTO} which matches the criteria from the database,
+     * with as much of a total as the pagination mode asks for.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param mode Whether to count the matching entities exactly, to estimate their number, or not to count them.
+     * @return the matching entities, as a {@link Page} unless the mode is {@link PaginationMode#SLICE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<MoneyMarketDealDTO> findByCriteria(MoneyMarketDealCriteria criteria, Pageable page, PaginationMode mode) {
+        if (mode == PaginationMode.EXACT) {
+            return findByCriteria(criteria, page);
+        }
+        LOG.debug("find by criteria : {}, page: {}, pagination: {}", criteria, page, mode);
+        final Specification<MoneyMarketDeal> specification = createSpecification(criteria);
+        return moneyMarketDealIndexAdvisor.timed(criteria, () ->
+            criteriaPager.find(
+                moneyMarketDealRepository,
+                MoneyMarketDeal.class,
+                specification,
+                page,
+                mode,
+                moneyMarketDealMapper::toDto
+            )
+        );
+    }
+
+    /**
+     * Return a page of {@link MoneyMarketDealDTO} which matches the criteria from the database, by keyset pagination.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param cursor The token of the cursor to the page, empty for the first page.
+     * @param page The size of the page, and the order of the first page.
+     * @return the matching entities, with the cursor to the next page.
+     * @throws IllegalArgumentException if the cursor is malformed, or the order is not by one of the keys.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<MoneyMarketDealDTO> findByCriteria(MoneyMarketDealCriteria criteria, String cursor, Pageable page) {
+        LOG.debug("find by criteria : {}, cursor: {}, page: {}", criteria, cursor, page);
+        final Specification<MoneyMarketDeal> specification = createSpecification(criteria);
+        return moneyMarketDealIndexAdvisor.timed(criteria, () ->
+            KEYSET.find(moneyMarketDealRepository, specification, cursor, page, moneyMarketDealMapper::toDto)
+        );
+    }
+
+    /**
+     * Return a {@link Page} of {@link MoneyMarketDealRowDTO} which matches the criteria from the database.
+     * <p>
+     * The columns of the deals and of their lists are selected straight into the rows: no entity is loaded, so the
+     * persistence context stays empty, nothing is put in the second-level cache, and there is nothing to map. The
+     * total is only counted when the page does not tell it.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching deals.
+     */
+    @Transactional(readOnly = true)
+    public Page<MoneyMarketDealRowDTO> findRowsByCriteria(MoneyMarketDealCriteria criteria, Pageable page) {
+        LOG.debug("find rows by criteria : {}, page: {}", criteria, page);
+        final Specification<MoneyMarketDeal> specification = createSpecification(criteria);
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MoneyMarketDealRowDTO> query = builder.createQuery(MoneyMarketDealRowDTO.class);
+        Root<MoneyMarketDeal> root = query.from(MoneyMarketDeal.class);
+        Join<MoneyMarketDeal, MoneyMarketList> moneyMarketList = root.join(MoneyMarketDeal_.moneyMarketList, JoinType.LEFT);
+        query.select(
+            builder.construct(
+                MoneyMarketDealRowDTO.class,
+                root.get(MoneyMarketDeal_.id),
+                root.get(MoneyMarketDeal_.dealNumber),
+                root.get(MoneyMarketDeal_.tradingBook),
+                root.get(MoneyMarketDeal_.counterPartyName),
+                root.get(MoneyMarketDeal_.finalInterestAccrualDate),
+                root.get(MoneyMarketDeal_.counterPartySideType),
+                root.get(MoneyMarketDeal_.dateOfCollectionStatement),
+                root.get(MoneyMarketDeal_.currencyCode),
+                root.get(MoneyMarketDeal_.principalAmount),
+                root.get(MoneyMarketDeal_.interestRate),
+                root.get(MoneyMarketDeal_.interestAccruedAmount),
+                root.get(MoneyMarketDeal_.totalInterestAtMaturity),
+                root.get(MoneyMarketDeal_.counterpartyNationality),
+                root.get(MoneyMarketDeal_.endDate),
+                root.get(MoneyMarketDeal_.treasuryLedger),
+                root.get(MoneyMarketDeal_.dealSubtype),
+                root.get(MoneyMarketDeal_.shillingEquivalentPrincipal),
+                root.get(MoneyMarketDeal_.shillingEquivalentInterestAccrued),
+                root.get(MoneyMarketDeal_.shillingEquivalentPVFull),
+                root.get(MoneyMarketDeal_.counterpartyDomicile),
+                root.get(MoneyMarketDeal_.settlementDate),
+                root.get(MoneyMarketDeal_.transactionCollateral),
+                root.get(MoneyMarketDeal_.institutionType),
+                root.get(MoneyMarketDeal_.maturityDate),
+                root.get(MoneyMarketDeal_.institutionReportName),
+                root.get(MoneyMarketDeal_.transactionType),
+                root.get(MoneyMarketDeal_.reportDate),
+                root.get(MoneyMarketDeal_.active),
+                moneyMarketList.get(MoneyMarketList_.id),
+                moneyMarketList.get(MoneyMarketList_.description)
+            )
+        );
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (page.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(page.getSort(), root, builder));
+        }
+        TypedQuery<MoneyMarketDealRowDTO> rows = entityManager.createQuery(query);
+        if (page.isPaged()) {
+            rows.setFirstResult(Math.toIntExact(page.getOffset()));
+            rows.setMaxResults(page.getPageSize());
+        }
+        return moneyMarketDealIndexAdvisor.timed(criteria, () ->
+            PageableExecutionUtils.getPage(rows.getResultList(), page, () -> moneyMarketDealRepository.count(specification))
+        );
     }
 
     /**
-     * Return the number of matching entities in the database.
+     * Return the number of matching entities in the database, or in the {@link MoneyMarketDealQueryCache}.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
@@ -85,7 +247,9 @@ public class MoneyMarketDealQueryService extends QueryService<MoneyMarketDeal> {
     public long countByCriteria(MoneyMarketDealCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
         final Specification<MoneyMarketDeal> specification = createSpecification(criteria);
-        return moneyMarketDealRepository.count(specification);
+        return moneyMarketDealQueryCache.count(criteria, () ->
+            moneyMarketDealIndexAdvisor.timed(criteria, () -> moneyMarketDealRepository.count(specification))
+        );
     }
 
     /**
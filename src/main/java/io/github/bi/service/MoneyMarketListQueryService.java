@@ -25,11 +25,14 @@ import io.github.bi.repository.search.MoneyMarketListSearchRepository;
 import io.github.bi.service.criteria.MoneyMarketListCriteria;
 import io.github.bi.service.dto.MoneyMarketListDTO;
 import io.github.bi.service.mapper.MoneyMarketListMapper;
+import io.github.bi.service.pagination.CriteriaPager;
+import io.github.bi.service.pagination.PaginationMode;
 import jakarta.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,14 +56,18 @@ public class MoneyMarketListQueryService extends QueryService<MoneyMarketList> {
 
     private final MoneyMarketListSearchRepository moneyMarketListSearchRepository;
 
+    private final CriteriaPager criteriaPager;
+
     public MoneyMarketListQueryService(
         MoneyMarketListRepository moneyMarketListRepository,
         MoneyMarketListMapper moneyMarketListMapper,
-        MoneyMarketListSearchRepository moneyMarketListSearchRepository
+        MoneyMarketListSearchRepository moneyMarketListSearchRepository,
+        CriteriaPager criteriaPager
     ) {
         this.moneyMarketListRepository = moneyMarketListRepository;
         this.moneyMarketListMapper = moneyMarketListMapper;
         this.moneyMarketListSearchRepository = moneyMarketListSearchRepository;
+        this.criteriaPager = criteriaPager;
     }
 
     /**
@@ -78,6 +85,26 @@ public class MoneyMarketListQueryService extends QueryService<MoneyMarketList> {
             .map(moneyMarketListMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link MoneyMarketListDTO} which matches the criteria from the database,
+     * with as much of a total as the pagination mode asks for.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param mode Whether to count the matching entities exactly, to estimate their number, or not to count them.
+     * @return the matching entities, as a {@link Page} unless the mode is {@link PaginationMode#SLICE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<MoneyMarketListDTO> findByCriteria(MoneyMarketListCriteria criteria, Pageable page, PaginationMode mode) {
+        if (mode == PaginationMode.EXACT) {
+            return findByCriteria(criteria, page);
+        }
+        LOG.debug("find by criteria : {}, page: {}, pagination: {}", criteria, page, mode);
+        final Specification<MoneyMarketList> specification = createSpecification(criteria);
+        return criteriaPager.find(moneyMarketListRepository, MoneyMarketList.class, specification, page, mode, moneyMarketLists ->
+            moneyMarketListMapper.toDto(moneyMarketListRepository.fetchBagRelationships(moneyMarketLists))
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -0,0 +1,50 @@
+package io.github.bi.service;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.dto.MoneyMarketListDTO;
+
+/**
+ * Service Interface for replacing a {@link io.github.bi.domain.MoneyMarketList} with the list of a corrected file.
+ */
+public interface MoneyMarketListReplacementService {
+    /**
+     * Replace a moneyMarketList, in one transaction: the deals of the replacement become active and those of the
+     * replaced list inactive, the replaced list and its reportBatch are marked {@code REPLACED}, and the
+     * replacement becomes the active list.
+     *
+     * @param replacedId the id of the moneyMarketList being replaced.
+     * @param replacementId the id of the moneyMarketList replacing it.
+     * @return the replacement moneyMarketList.
+     * @throws IllegalArgumentException if either list does not exist, they are the same list, the replacement has
+     * itself been cancelled or replaced, the replaced list is not the active list, or the lists are of different
+     * report dates.
+     */
+    MoneyMarketListDTO replace(Long replacedId, Long replacementId);
+
+    /**
+     * Activate a moneyMarketList that replaces no other list, in one transaction: its deals and the list itself
+     * become active.
+     *
+     * @param moneyMarketListId the id of the moneyMarketList to activate.
+     * @return the activated moneyMarketList.
+     * @throws IllegalArgumentException if the list does not exist.
+     */
+    MoneyMarketListDTO activate(Long moneyMarketListId);
+}
@@ -25,11 +25,17 @@ import io.github.bi.repository.search.MoneyMarketUploadNotificationSearchReposit
 import io.github.bi.service.criteria.MoneyMarketUploadNotificationCriteria;
 import io.github.bi.service.dto.MoneyMarketUploadNotificationDTO;
 import io.github.bi.service.mapper.MoneyMarketUploadNotificationMapper;
+import io.github.bi.service.pagination.CriteriaPager;
+import io.github.bi.service.pagination.Keyset;
+import io.github.bi.service.pagination.KeysetSlice;
+import io.github.bi.service.pagination.PaginationMode;
 import jakarta.persistence.criteria.JoinType;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,20 +53,28 @@ public class MoneyMarketUploadNotificationQueryService extends QueryService<Mone
 
     private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketUploadNotificationQueryService.class);
 
+    private static final Keyset<MoneyMarketUploadNotification> KEYSET = Keyset.builder(MoneyMarketUploadNotification::getId)
+        .key("referenceNumber", UUID.class, MoneyMarketUploadNotification::getReferenceNumber)
+        .build();
+
     private final MoneyMarketUploadNotificationRepository moneyMarketUploadNotificationRepository;
 
     private final MoneyMarketUploadNotificationMapper moneyMarketUploadNotificationMapper;
 
     private final MoneyMarketUploadNotificationSearchRepository moneyMarketUploadNotificationSearchRepository;
 
+    private final CriteriaPager criteriaPager;
+
     public MoneyMarketUploadNotificationQueryService(
         MoneyMarketUploadNotificationRepository moneyMarketUploadNotificationRepository,
         MoneyMarketUploadNotificationMapper moneyMarketUploadNotificationMapper,
-        MoneyMarketUploadNotificationSearchRepository moneyMarketUploadNotificationSearchRepository
+        MoneyMarketUploadNotificationSearchRepository moneyMarketUploadNotificationSearchRepository,
+        CriteriaPager criteriaPager
     ) {
         this.moneyMarketUploadNotificationRepository = moneyMarketUploadNotificationRepository;
         this.moneyMarketUploadNotificationMapper = moneyMarketUploadNotificationMapper;
         this.moneyMarketUploadNotificationSearchRepository = moneyMarketUploadNotificationSearchRepository;
+        this.criteriaPager = criteriaPager;
     }
 
     /**
@@ -78,6 +92,58 @@ public class MoneyMarketUploadNotificationQueryService extends QueryService<Mone
             .map(moneyMarketUploadNotificationMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link MoneyMarketUploadNotificationDTO} which matches the criteria from the database,
+     * with as much of a total as the pagination mode asks for.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param mode Whether to count the matching entities exactly, to estimate their number, or not to count them.
+     * @return the matching entities, as a {@link Page} unless the mode is {@link PaginationMode#SLICE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<MoneyMarketUploadNotificationDTO> findByCriteria(
+        MoneyMarketUploadNotificationCriteria criteria,
+        Pageable page,
+        PaginationMode mode
+    ) {
+        if (mode == PaginationMode.EXACT) {
+            return findByCriteria(criteria, page);
+        }
+        LOG.debug("find by criteria : {}, page: {}, pagination: {}", criteria, page, mode);
+        final Specification<MoneyMarketUploadNotification> specification = createSpecification(criteria);
+        return criteriaPager.find(
+            moneyMarketUploadNotificationRepository,
+            MoneyMarketUploadNotification.class,
+            specification,
+            page,
+            mode,
+            notifications ->
+                moneyMarketUploadNotificationMapper.toDto(moneyMarketUploadNotificationRepository.fetchBagRelationships(notifications))
+        );
+    }
+
+    /**
+     * Return a page of {@link MoneyMarketUploadNotificationDTO} which matches the criteria from the database, by keyset
+     * pagination.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param cursor The token of the cursor to the page, empty for the first page.
+     * @param page The size of the page, and the order of the first page.
+     * @return the matching entities, with the cursor to the next page.
+     * @throws IllegalArgumentException if the cursor is malformed, or the order is not by one of the keys.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<MoneyMarketUploadNotificationDTO> findByCriteria(
+        MoneyMarketUploadNotificationCriteria criteria,
+        String cursor,
+        Pageable page
+    ) {
+        LOG.debug("find by criteria : {}, cursor: {}, page: {}", criteria, cursor, page);
+        final Specification<MoneyMarketUploadNotification> specification = createSpecification(criteria);
+        return KEYSET.find(moneyMarketUploadNotificationRepository, specification, cursor, page, notifications ->
+            moneyMarketUploadNotificationMapper.toDto(moneyMarketUploadNotificationRepository.fetchBagRelationships(notifications))
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -25,11 +25,14 @@ import io.github.bi.repository.search.PlaceholderSearchRepository;
 import io.github.bi.service.criteria.PlaceholderCriteria;
 import io.github.bi.service.dto.PlaceholderDTO;
 import io.github.bi.service.mapper.PlaceholderMapper;
+import io.github.bi.service.pagination.CriteriaPager;
+import io.github.bi.service.pagination.PaginationMode;
 import jakarta.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,14 +56,18 @@ public class PlaceholderQueryService extends QueryService<Placeholder> {
 
     private final PlaceholderSearchRepository placeholderSearchRepository;
 
+    private final CriteriaPager criteriaPager;
+
     public PlaceholderQueryService(
         PlaceholderRepository placeholderRepository,
         PlaceholderMapper placeholderMapper,
-        PlaceholderSearchRepository placeholderSearchRepository
+        PlaceholderSearchRepository placeholderSearchRepository,
+        CriteriaPager criteriaPager
     ) {
         this.placeholderRepository = placeholderRepository;
         this.placeholderMapper = placeholderMapper;
         this.placeholderSearchRepository = placeholderSearchRepository;
+        this.criteriaPager = criteriaPager;
     }
 
     /**
@@ -76,6 +83,24 @@ public class PlaceholderQueryService extends QueryService<Placeholder> {
         return placeholderRepository.findAll(specification, page).map(placeholderMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link PlaceholderDTO} which matches the criteria from the database,
+     * with as much of a total as the pagination mode asks for.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param mode Whether to count the matching entities exactly, to estimate their number, or not to count them.
+     * @return the matching entities, as a {@link Page} unless the mode is {@link PaginationMode#SLICE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PlaceholderDTO> findByCriteria(PlaceholderCriteria criteria, Pageable page, PaginationMode mode) {
+        if (mode == PaginationMode.EXACT) {
+            return findByCriteria(criteria, page);
+        }
+        LOG.debug("find by criteria : {}, page: {}, pagination: {}", criteria, page, mode);
+        final Specification<Placeholder> specification = createSpecification(criteria);
+        return criteriaPager.find(placeholderRepository, Placeholder.class, specification, page, mode, placeholderMapper::toDto);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
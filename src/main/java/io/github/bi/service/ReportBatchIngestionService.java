@@ -0,0 +1,54 @@
+package io.github.bi.service;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.dto.ReportBatchIngestionSummaryDTO;
+
+/**
+ * Service Interface for turning the deal file of a {@link io.github.bi.domain.ReportBatch} into
+ * {@link io.github.bi.domain.MoneyMarketDeal} rows of a new {@link io.github.bi.domain.MoneyMarketList}.
+ * <p>
+ * A batch moves from {@code PENDING} to {@code IN_PROGRESS} when it is claimed, and to {@code PROCESSED} or
+ * {@code FAILED} when ingestion ends; an ingestion interrupted in between resumes after the last deals it committed.
+ * Rows that cannot be mapped are skipped and reported as {@link io.github.bi.domain.MoneyMarketUploadNotification}s.
+ */
+public interface ReportBatchIngestionService {
+    /**
+     * Claim the reportBatch and ingest its file in the background.
+     *
+     * @param reportBatchId the id of the reportBatch.
+     * @return {@code false} if the reportBatch does not exist or is already being, or has been, ingested.
+     */
+    boolean submit(Long reportBatchId);
+
+    /**
+     * Claim the reportBatch and ingest its file in the calling thread.
+     *
+     * @param reportBatchId the id of the reportBatch.
+     * @return the outcome of the ingestion.
+     * @throws IllegalStateException if the reportBatch does not exist or is already being, or has been, ingested.
+     */
+    ReportBatchIngestionSummaryDTO ingest(Long reportBatchId);
+
+    /**
+     * Reclaim the reportBatches left {@code IN_PROGRESS} by a node that stopped ingesting them, and carry on
+     * ingesting each from its last checkpoint in the background.
+     */
+    void resumeOrphanedIngestions();
+}
@@ -25,11 +25,14 @@ import io.github.bi.repository.search.ReportBatchSearchRepository;
 import io.github.bi.service.criteria.ReportBatchCriteria;
 import io.github.bi.service.dto.ReportBatchDTO;
 import io.github.bi.service.mapper.ReportBatchMapper;
+import io.github.bi.service.pagination.CriteriaPager;
+import io.github.bi.service.pagination.PaginationMode;
 import jakarta.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,14 +56,18 @@ public class ReportBatchQueryService extends QueryService<ReportBatch> {
 
     private final ReportBatchSearchRepository reportBatchSearchRepository;
 
+    private final CriteriaPager criteriaPager;
+
     public ReportBatchQueryService(
         ReportBatchRepository reportBatchRepository,
         ReportBatchMapper reportBatchMapper,
-        ReportBatchSearchRepository reportBatchSearchRepository
+        ReportBatchSearchRepository reportBatchSearchRepository,
+        CriteriaPager criteriaPager
     ) {
         this.reportBatchRepository = reportBatchRepository;
         this.reportBatchMapper = reportBatchMapper;
         this.reportBatchSearchRepository = reportBatchSearchRepository;
+        this.criteriaPager = criteriaPager;
     }
 
     /**
@@ -78,6 +85,26 @@ public class ReportBatchQueryService extends QueryService<ReportBatch> {
             .map(reportBatchMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link ReportBatchDTO} which matches the criteria from the database,
+     * with as much of a total as the pagination mode asks for.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param mode Whether to count the matching entities exactly, to estimate their number, or not to count them.
+     * @return the matching entities, as a {@link Page} unless the mode is {@link PaginationMode#SLICE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ReportBatchDTO> findByCriteria(ReportBatchCriteria criteria, Pageable page, PaginationMode mode) {
+        if (mode == PaginationMode.EXACT) {
+            return findByCriteria(criteria, page);
+        }
+        LOG.debug("find by criteria : {}, page: {}, pagination: {}", criteria, page, mode);
+        final Specification<ReportBatch> specification = createSpecification(criteria);
+        return criteriaPager.find(reportBatchRepository, ReportBatch.class, specification, page, mode, reportBatches ->
+            reportBatchMapper.toDto(reportBatchRepository.fetchBagRelationships(reportBatches))
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -0,0 +1,56 @@
+package io.github.bi.service;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.dto.ReportBatchDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
+/**
+ * Service Interface for uploading the deal file of a new {@link io.github.bi.domain.ReportBatch}.
+ * <p>
+ * A file is uploaded once: uploading a file whose checksum matches that of an existing reportBatch returns that
+ * reportBatch instead of creating another. A file whose reportBatch failed ingestion can be uploaded again, as a
+ * new reportBatch that takes the checksum over; the failed reportBatch is left without one.
+ */
+public interface ReportBatchUploadService {
+    /**
+     * Stream a file into the report batch file store and create its reportBatch, uploaded by the current user.
+     * The SHA-256 checksum of the file is computed while it is written; when it identifies an existing reportBatch
+     * that did not fail ingestion, the file is removed from the store again.
+     *
+     * @param content the content of the file; it is read to the end but not closed.
+     * @param contentType the content type of the file.
+     * @param reportDate the report date of the reportBatch.
+     * @param description the description of the reportBatch.
+     * @return the persisted reportBatch, pending ingestion, or the existing reportBatch of the same file.
+     * @throws IOException if the file cannot be read or stored.
+     * @throws IllegalStateException if the current user has no application user.
+     */
+    Upload upload(InputStream content, String contentType, LocalDate reportDate, String description) throws IOException;
+
+    /**
+     * The outcome of an upload.
+     *
+     * @param reportBatch the reportBatch of the file.
+     * @param duplicate whether the file had been uploaded before, as {@code reportBatch}.
+     */
+    record Upload(ReportBatchDTO reportBatch, boolean duplicate) {}
+}
@@ -25,11 +25,14 @@ import io.github.bi.repository.search.SecurityClearanceSearchRepository;
 import io.github.bi.service.criteria.SecurityClearanceCriteria;
 import io.github.bi.service.dto.SecurityClearanceDTO;
 import io.github.bi.service.mapper.SecurityClearanceMapper;
+import io.github.bi.service.pagination.CriteriaPager;
+import io.github.bi.service.pagination.PaginationMode;
 import jakarta.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -53,14 +56,18 @@ public class SecurityClearanceQueryService extends QueryService<SecurityClearanc
 
     private final SecurityClearanceSearchRepository securityClearanceSearchRepository;
 
+    private final CriteriaPager criteriaPager;
+
     public SecurityClearanceQueryService(
         SecurityClearanceRepository securityClearanceRepository,
         SecurityClearanceMapper securityClearanceMapper,
-        SecurityClearanceSearchRepository securityClearanceSearchRepository
+        SecurityClearanceSearchRepository securityClearanceSearchRepository,
+        CriteriaPager criteriaPager
     ) {
         this.securityClearanceRepository = securityClearanceRepository;
         this.securityClearanceMapper = securityClearanceMapper;
         this.securityClearanceSearchRepository = securityClearanceSearchRepository;
+        this.criteriaPager = criteriaPager;
     }
 
     /**
@@ -78,6 +85,31 @@ public class SecurityClearanceQueryService extends QueryService<SecurityClearanc
             .map(securityClearanceMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link SecurityClearanceDTO} which matches the criteria from the database,
+     * with as much of a total as the pagination mode asks for.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param mode Whether to count the matching entities exactly, to estimate their number, or not to count them.
+     * @return the matching entities, as a {@link Page} unless the mode is {@link PaginationMode#SLICE}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<SecurityClearanceDTO> findByCriteria(SecurityClearanceCriteria criteria, Pageable page, PaginationMode mode) {
+        if (mode == PaginationMode.EXACT) {
+            return findByCriteria(criteria, page);
+        }
+        LOG.debug("find by criteria : {}, page: {}, pagination: {}", criteria, page, mode);
+        final Specification<SecurityClearance> specification = createSpecification(criteria);
+        return criteriaPager.find(
+            securityClearanceRepository,
+            SecurityClearance.class,
+            specification,
+            page,
+            mode,
+            securityClearances -> securityClearanceMapper.toDto(securityClearanceRepository.fetchBagRelationships(securityClearances))
+        );
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
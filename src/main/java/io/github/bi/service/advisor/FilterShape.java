@@ -0,0 +1,140 @@
+package io.github.bi.service.advisor;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * The properties a {@link Criteria} filters on, and how, regardless of the values filtered by.
+ * <p>
+ * Two queries with the same shape can use the same indexes. A property filtered on in more than one way counts
+ * as filtered in the way an index serves best.
+ *
+ * @param properties the filtered properties, by name.
+ */
+public record FilterShape(List<FilteredProperty> properties) {
+    private static final Map<Class<?>, List<Method>> FILTER_GETTERS = new ConcurrentHashMap<>();
+
+    /**
+     * How a property is filtered on, from the most to the least useful to a B-tree index.
+     */
+    public enum Use {
+        /**
+         * {@code equals}, {@code in}: an index can seek to the values, then on to its next column.
+         */
+        EQUALITY,
+        /**
+         * {@code greaterThan} and the like: an index can scan the range, but not use its next columns to seek.
+         */
+        RANGE,
+        /**
+         * {@code contains}: a B-tree index cannot help.
+         */
+        PATTERN,
+        /**
+         * {@code notEquals}, {@code notIn}, {@code specified}, {@code doesNotContain}: hardly selective.
+         */
+        NEGATION,
+    }
+
+    public record FilteredProperty(String property, Use use) {}
+
+    /**
+     * The shape of the filters of a criteria: its properties of a {@link Filter} type that are set.
+     */
+    public static FilterShape of(Criteria criteria) {
+        List<FilteredProperty> properties = new ArrayList<>();
+        for (Method getter : FILTER_GETTERS.computeIfAbsent(criteria.getClass(), FilterShape::filterGetters)) {
+            Filter<?> filter;
+            try {
+                filter = (Filter<?>) getter.invoke(criteria);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read " + getter.getName() + " of " + criteria.getClass().getSimpleName(), e);
+            }
+            if (filter != null) {
+                String name = getter.getName().substring(3);
+                properties.add(new FilteredProperty(Character.toLowerCase(name.charAt(0)) + name.substring(1), use(filter)));
+            }
+        }
+        properties.sort(Comparator.comparing(FilteredProperty::property));
+        return new FilterShape(List.copyOf(properties));
+    }
+
+    public boolean isEmpty() {
+        return properties.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (FilteredProperty property : properties) {
+            if (!text.isEmpty()) {
+                text.append(", ");
+            }
+            text.append(property.property()).append(' ').append(property.use().name().toLowerCase(Locale.ROOT));
+        }
+        return text.isEmpty() ? "(none)" : text.toString();
+    }
+
+    private static Use use(Filter<?> filter) {
+        if (filter.getEquals() != null || filter.getIn() != null) {
+            return Use.EQUALITY;
+        }
+        if (
+            filter instanceof RangeFilter<?> range &&
+            (range.getGreaterThan() != null ||
+                range.getGreaterThanOrEqual() != null ||
+                range.getLessThan() != null ||
+                range.getLessThanOrEqual() != null)
+        ) {
+            return Use.RANGE;
+        }
+        if (filter instanceof StringFilter string && string.getContains() != null) {
+            return Use.PATTERN;
+        }
+        return Use.NEGATION;
+    }
+
+    private static List<Method> filterGetters(Class<?> type) {
+        List<Method> getters = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            if (
+                method.getName().startsWith("get") &&
+                method.getParameterCount() == 0 &&
+                !Modifier.isStatic(method.getModifiers()) &&
+                Filter.class.isAssignableFrom(method.getReturnType())
+            ) {
+                getters.add(method);
+            }
+        }
+        return List.copyOf(getters);
+    }
+}
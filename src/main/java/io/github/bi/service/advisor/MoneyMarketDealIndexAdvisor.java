@@ -0,0 +1,285 @@
+package io.github.bi.service.advisor;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.service.dto.MoneyMarketDealIndexAdviceDTO;
+import io.github.bi.service.dto.MoneyMarketDealIndexAdviceDTO.FilterShapeAdvice;
+import io.github.bi.service.dto.MoneyMarketDealIndexAdviceDTO.IndexUsage;
+import jakarta.persistence.Column;
+import jakarta.persistence.ManyToOne;
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tech.jhipster.service.Criteria;
+
+/**
+ * Records the {@link FilterShape}s deals are queried by, with their latencies, and tells which indexes of
+ * {@code money_market_deal} serve them, which are missing and which are unused.
+ * <p>
+ * An index serves the filters of a shape matching its leading columns: any number of equalities, then one range.
+ * A BRIN index serves a filter on its column. When the queries of a shape are slow and no index serves all its
+ * equalities and a range, an index that would is suggested; {@code contains} filters are left to the table scan.
+ * Index usage comes from the statistics of PostgreSQL, summed over the partitions of the table.
+ */
+@Component
+public class MoneyMarketDealIndexAdvisor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealIndexAdvisor.class);
+
+    private static final String TABLE = "money_market_deal";
+
+    private static final String SELECT_INDEXES =
+        "select c.relname as name, am.amname as method, pg_get_indexdef(c.oid) as definition, " +
+        "x.indisunique or x.indisprimary as constraining, " +
+        "array_to_string(array(select coalesce(a.attname, '') from unnest(x.indkey) with ordinality k(attnum, position) " +
+        "left join pg_attribute a on a.attrelid = x.indrelid and a.attnum = k.attnum and k.attnum > 0 " +
+        "where k.position <= x.indnkeyatts order by k.position), ',') as columns, " +
+        "coalesce(s.idx_scan, 0) + coalesce((select sum(ps.idx_scan) from pg_inherits i " +
+        "join pg_stat_all_indexes ps on ps.indexrelid = i.inhrelid where i.inhparent = c.oid), 0) as scans, " +
+        "pg_relation_size(c.oid) + coalesce((select sum(pg_relation_size(i.inhrelid)) from pg_inherits i " +
+        "where i.inhparent = c.oid), 0) as size " +
+        "from pg_index x join pg_class c on c.oid = x.indexrelid join pg_am am on am.oid = c.relam " +
+        "left join pg_stat_all_indexes s on s.indexrelid = c.oid " +
+        "where x.indrelid = '" +
+        TABLE +
+        "'::regclass order by c.relname";
+
+    private static final Map<String, String> COLUMNS = columns();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationProperties.IndexAdvisor properties;
+
+    private final Map<FilterShape, Latencies> shapes = new ConcurrentHashMap<>();
+
+    private volatile Instant recordedSince = Instant.now();
+
+    private volatile Boolean postgresql;
+
+    public MoneyMarketDealIndexAdvisor(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getIndexAdvisor();
+    }
+
+    /**
+     * Run a query of deals by criteria, and record its latency under the shape of the criteria.
+     */
+    public <T> T timed(Criteria criteria, Supplier<T> query) {
+        if (!properties.isEnabled() || criteria == null) {
+            return query.get();
+        }
+        long started = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            record(FilterShape.of(criteria), System.nanoTime() - started);
+        }
+    }
+
+    void record(FilterShape shape, long nanos) {
+        Latencies latencies = shapes.get(shape);
+        if (latencies == null) {
+            if (shapes.size() >= properties.getMaxShapes()) {
+                return;
+            }
+            latencies = shapes.computeIfAbsent(shape, key -> new Latencies());
+        }
+        latencies.add(nanos);
+    }
+
+    /**
+     * Forget the shapes recorded so far.
+     */
+    public void reset() {
+        shapes.clear();
+        recordedSince = Instant.now();
+    }
+
+    public MoneyMarketDealIndexAdviceDTO report() {
+        List<IndexUsage> indexes = indexes();
+        List<FilterShapeAdvice> advice = new ArrayList<>(shapes.size());
+        shapes
+            .entrySet()
+            .stream()
+            .sorted(Comparator.comparingLong((Map.Entry<FilterShape, Latencies> shape) -> shape.getValue().totalNanos.sum()).reversed())
+            .forEach(shape -> advice.add(advise(shape.getKey(), shape.getValue(), indexes)));
+        return new MoneyMarketDealIndexAdviceDTO(recordedSince, advice, indexes);
+    }
+
+    FilterShapeAdvice advise(FilterShape shape, Latencies latencies, List<IndexUsage> indexes) {
+        List<String> equalities = new ArrayList<>();
+        String range = null;
+        for (FilterShape.FilteredProperty property : shape.properties()) {
+            String column = COLUMNS.get(property.property());
+            if (column == null) {
+                continue;
+            }
+            if (property.use() == FilterShape.Use.EQUALITY) {
+                equalities.add(column);
+            } else if (property.use() == FilterShape.Use.RANGE && range == null) {
+                range = column;
+            }
+        }
+        int indexable = equalities.size() + (range == null ? 0 : 1);
+
+        IndexUsage best = null;
+        int indexed = 0;
+        for (IndexUsage index : indexes) {
+            int served = served(index, equalities, range);
+            if (served > indexed) {
+                best = index;
+                indexed = served;
+            }
+        }
+
+        long queries = latencies.queries.sum();
+        double meanMillis = queries == 0 ? 0 : latencies.totalNanos.sum() / (queries * 1e6);
+        String suggested = null;
+        if (
+            indexed < indexable &&
+            queries >= properties.getMinSamples() &&
+            meanMillis * 1e6 >= properties.getSlowQuery().toNanos()
+        ) {
+            List<String> columns = new ArrayList<>(equalities);
+            if (range != null) {
+                columns.add(range);
+            }
+            suggested = "create index on " + TABLE + " (" + String.join(", ", columns) + ")";
+        }
+        return new FilterShapeAdvice(
+            shape.toString(),
+            queries,
+            meanMillis,
+            latencies.maxNanos.get() / 1e6,
+            best == null ? null : best.name(),
+            indexed,
+            indexable,
+            suggested
+        );
+    }
+
+    /**
+     * The number of filters an index serves: its leading columns filtered by equality, then one filtered by a range.
+     */
+    static int served(IndexUsage index, List<String> equalities, String range) {
+        if ("brin".equals(index.method())) {
+            String first = index.columns().isEmpty() ? null : index.columns().get(0);
+            return first != null && (equalities.contains(first) || first.equals(range)) ? 1 : 0;
+        }
+        if (!"btree".equals(index.method())) {
+            return 0;
+        }
+        int served = 0;
+        for (String column : index.columns()) {
+            if (equalities.contains(column)) {
+                served++;
+            } else {
+                if (column.equals(range)) {
+                    served++;
+                }
+                break;
+            }
+        }
+        return served;
+    }
+
+    private List<IndexUsage> indexes() {
+        try {
+            if (!isPostgresql()) {
+                return List.of();
+            }
+            return jdbcTemplate.query(SELECT_INDEXES, (resultSet, rowNum) -> {
+                long scans = resultSet.getLong("scans");
+                String columns = resultSet.getString("columns");
+                return new IndexUsage(
+                    resultSet.getString("name"),
+                    resultSet.getString("method"),
+                    columns == null || columns.isEmpty() ? List.of() : Arrays.asList(columns.split(",", -1)),
+                    resultSet.getString("definition"),
+                    scans,
+                    resultSet.getLong("size"),
+                    scans == 0 && !resultSet.getBoolean("constraining")
+                );
+            });
+        } catch (DataAccessException e) {
+            LOG.warn("Cannot read the indexes of {} : {}", TABLE, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private boolean isPostgresql() {
+        if (postgresql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()
+            );
+            postgresql = "PostgreSQL".equals(product);
+        }
+        return postgresql;
+    }
+
+    /**
+     * The column of each property a {@link io.github.bi.service.criteria.MoneyMarketDealCriteria} filters on.
+     */
+    private static Map<String, String> columns() {
+        Map<String, String> columns = new HashMap<>();
+        for (Field field : MoneyMarketDeal.class.getDeclaredFields()) {
+            Column column = field.getAnnotation(Column.class);
+            if (column != null && !column.name().isEmpty()) {
+                columns.put(field.getName(), column.name());
+            } else if (field.isAnnotationPresent(ManyToOne.class)) {
+                String joinColumn = field.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT) + "_id";
+                columns.put(field.getName() + "Id", joinColumn);
+            }
+        }
+        return Map.copyOf(columns);
+    }
+
+    static final class Latencies {
+
+        private final LongAdder queries = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(long nanos) {
+            queries.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.domain.enumeration.reportBatchStatus;
+import io.github.bi.repository.MoneyMarketListRepository;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Values computed from the deals of active {@link MoneyMarketList}s, held in memory per list.
+ * <p>
+ * A value is only handed out while its list is still active, and is dropped when {@link MoneyMarketDealChanges}
+ * tells that deals of the list were written. The least recently used value is dropped once more than the capacity
+ * are held. Values are loaded in a read-only transaction.
+ */
+abstract class ActiveListCache<T> implements MoneyMarketDealChanges.Listener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActiveListCache.class);
+
+    private final MoneyMarketListRepository moneyMarketListRepository;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Executor taskExecutor;
+
+    private final BooleanSupplier enabled;
+
+    private final IntSupplier capacity;
+
+    private final Map<Long, T> values = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Set<Long> loading = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Bumped on every change, so that a value read before a write is not stored after it.
+     */
+    private long generation;
+
+    ActiveListCache(
+        MoneyMarketListRepository moneyMarketListRepository,
+        PlatformTransactionManager transactionManager,
+        Executor taskExecutor,
+        MoneyMarketDealChanges moneyMarketDealChanges,
+        BooleanSupplier enabled,
+        IntSupplier capacity
+    ) {
+        this.moneyMarketListRepository = moneyMarketListRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        moneyMarketDealChanges.subscribe(this);
+    }
+
+    /**
+     * Compute the value of an active list.
+     */
+    protected abstract T load(MoneyMarketList moneyMarketList);
+
+    /**
+     * The value of a list if the list is active and the value is held; otherwise the value of an active list is
+     * loaded in the background, and nothing is returned.
+     */
+    protected Optional<T> findLoaded(Long moneyMarketListId) {
+        if (!enabled.getAsBoolean() || !isActive(moneyMarketListId)) {
+            return Optional.empty();
+        }
+        T value = get(moneyMarketListId);
+        if (value == null) {
+            loadLater(moneyMarketListId);
+        }
+        return Optional.ofNullable(value);
+    }
+
+    /**
+     * The value of a list if the list is active, loaded now if it is not held.
+     */
+    protected Optional<T> findOrLoad(Long moneyMarketListId) {
+        if (!enabled.getAsBoolean() || !isActive(moneyMarketListId)) {
+            return Optional.empty();
+        }
+        T value = get(moneyMarketListId);
+        return value != null ? Optional.of(value) : Optional.ofNullable(loadNow(moneyMarketListId));
+    }
+
+    @Override
+    public void activated(Long moneyMarketListId) {
+        if (enabled.getAsBoolean()) {
+            loadLater(moneyMarketListId);
+        }
+    }
+
+    @Override
+    public synchronized void changed(Long moneyMarketListId) {
+        generation++;
+        values.remove(moneyMarketListId);
+    }
+
+    private boolean isActive(Long moneyMarketListId) {
+        boolean active =
+            moneyMarketListId != null &&
+            moneyMarketListRepository.findById(moneyMarketListId).map(ActiveListCache::isActive).orElse(false);
+        if (!active) {
+            synchronized (this) {
+                values.remove(moneyMarketListId);
+            }
+        }
+        return active;
+    }
+
+    private synchronized T get(Long moneyMarketListId) {
+        return values.get(moneyMarketListId);
+    }
+
+    private void loadLater(Long moneyMarketListId) {
+        if (loading.add(moneyMarketListId)) {
+            taskExecutor.execute(() -> {
+                try {
+                    loadNow(moneyMarketListId);
+                } catch (RuntimeException e) {
+                    LOG.warn("{} could not load MoneyMarketList {} : {}", getClass().getSimpleName(), moneyMarketListId, e.getMessage());
+                } finally {
+                    loading.remove(moneyMarketListId);
+                }
+            });
+        }
+    }
+
+    private T loadNow(Long moneyMarketListId) {
+        long startedAt;
+        synchronized (this) {
+            startedAt = generation;
+        }
+        T value = readOnlyTransactionTemplate.execute(status ->
+            moneyMarketListRepository.findById(moneyMarketListId).filter(ActiveListCache::isActive).map(this::load).orElse(null)
+        );
+        if (value == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (generation == startedAt) {
+                values.put(moneyMarketListId, value);
+                while (values.size() > Math.max(0, capacity.getAsInt())) {
+                    values.remove(values.keySet().iterator().next());
+                }
+            }
+        }
+        return value;
+    }
+
+    private static boolean isActive(MoneyMarketList moneyMarketList) {
+        return moneyMarketList.getStatus() == reportBatchStatus.ACTIVE && Boolean.TRUE.equals(moneyMarketList.getActive());
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import io.github.bi.service.cache.MoneyMarketDealVersions;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tells the in-memory analytics of money market lists that a list became active, or that deals of a list were
+ * written, once the transaction doing so commits.
+ * <p>
+ * Activations are only told to this node, which builds what it needs; other nodes build on first use. Writes are
+ * published on a Hazelcast topic so that every node of the cluster drops what it holds for the list. Both bump the
+ * {@link MoneyMarketDealVersions} that cached query results are keyed by.
+ */
+@Component
+public class MoneyMarketDealChanges {
+
+    private static final String TOPIC = "moneyMarketDealChanges";
+
+    private final ITopic<Long> changes;
+
+    private final MoneyMarketDealVersions moneyMarketDealVersions;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public MoneyMarketDealChanges(HazelcastInstance hazelcastInstance, MoneyMarketDealVersions moneyMarketDealVersions) {
+        this.changes = hazelcastInstance.getTopic(TOPIC);
+        this.moneyMarketDealVersions = moneyMarketDealVersions;
+        this.changes.addMessageListener(message -> listeners.forEach(listener -> listener.changed(message.getMessageObject())));
+    }
+
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * A list becomes active in the current transaction.
+     */
+    public void activated(Long moneyMarketListId) {
+        if (moneyMarketListId != null) {
+            // its deals were written while it was not active
+            moneyMarketDealVersions.changed(moneyMarketListId);
+            afterCommit(() -> listeners.forEach(listener -> listener.activated(moneyMarketListId)));
+        }
+    }
+
+    /**
+     * Deals of a list are written, or the list stops being active, in the current transaction; deals without a list
+     * when the list is {@code null}.
+     */
+    public void changed(Long moneyMarketListId) {
+        changed(moneyMarketListId, null);
+    }
+
+    /**
+     * A deal of a list is written in the current transaction, with the report date it had or now has.
+     */
+    public void changed(Long moneyMarketListId, LocalDate reportDate) {
+        moneyMarketDealVersions.changed(moneyMarketListId, reportDate);
+        if (moneyMarketListId != null) {
+            afterCommit(() -> changes.publish(moneyMarketListId));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+
+    /**
+     * Something held per {@link io.github.bi.domain.MoneyMarketList}.
+     */
+    public interface Listener {
+        void activated(Long moneyMarketListId);
+
+        void changed(Long moneyMarketListId);
+    }
+}
@@ -0,0 +1,766 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import io.github.bi.service.dto.MoneyMarketDealAggregateDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * The deals of one {@link io.github.bi.domain.MoneyMarketList}, held in memory as one primitive array per attribute.
+ * <p>
+ * Amounts are kept as {@code long}s scaled by 100, the scale of the amount columns; the string dimensions as
+ * {@code int} codes into a dictionary of their distinct values; dates as {@code int} epoch days. Aggregates are
+ * computed by one pass over the arrays, with the same semantics as the {@code GROUP BY} query of the
+ * {@link io.github.bi.service.MoneyMarketDealAggregateService}: missing values are left out of sums and averages,
+ * and a filter applies the conditions its specification in the {@link io.github.bi.service.MoneyMarketDealQueryService}
+ * applies, so a filter with an {@code equals} ignores its other conditions.
+ * <p>
+ * Only the filters on the dimensions, the dates and the amounts held here can be answered; for any other filter,
+ * for a {@code contains} the database would find wildcards in, or when a sum overflows, {@link #aggregate} returns
+ * nothing and the database has to be asked. Instances are immutable and safe to share between threads.
+ */
+public final class MoneyMarketDealColumns {
+
+    private static final int SCALE = 2;
+
+    private static final long NULL_AMOUNT = Long.MIN_VALUE;
+
+    private static final int NULL_CODE = -1;
+
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+
+    private static final Pattern LIKE_WILDCARDS = Pattern.compile("[%_\\\\]");
+
+    /**
+     * Groups are accumulated in arrays indexed by the combination of codes, up to this many combinations.
+     */
+    private static final int MAX_GROUPS = 1 << 20;
+
+    private static final MoneyMarketDealDimension[] CODED = Arrays.stream(MoneyMarketDealDimension.values())
+        .filter(dimension -> dimension != MoneyMarketDealDimension.REPORT_DATE)
+        .toArray(MoneyMarketDealDimension[]::new);
+
+    private final Long moneyMarketListId;
+
+    private final LocalDate reportDate;
+
+    private final int size;
+
+    private final boolean[] active;
+
+    private final int[][] codes;
+
+    private final String[][] dictionaries;
+
+    private final long[][] amounts;
+
+    private final int[][] dates;
+
+    private MoneyMarketDealColumns(Builder builder) {
+        this.moneyMarketListId = builder.moneyMarketListId;
+        this.reportDate = builder.reportDate;
+        this.size = builder.size;
+        this.active = Arrays.copyOf(builder.active, size);
+        this.codes = new int[MoneyMarketDealDimension.values().length][];
+        this.dictionaries = new String[MoneyMarketDealDimension.values().length][];
+        for (MoneyMarketDealDimension dimension : CODED) {
+            codes[dimension.ordinal()] = Arrays.copyOf(builder.codes[dimension.ordinal()], size);
+            dictionaries[dimension.ordinal()] = builder.dictionaries.get(dimension.ordinal()).toArray(String[]::new);
+        }
+        this.amounts = new long[Amount.values().length][];
+        for (Amount amount : Amount.values()) {
+            amounts[amount.ordinal()] = Arrays.copyOf(builder.amounts[amount.ordinal()], size);
+        }
+        this.dates = new int[DateColumn.values().length][];
+        for (DateColumn date : DateColumn.values()) {
+            dates[date.ordinal()] = Arrays.copyOf(builder.dates[date.ordinal()], size);
+        }
+    }
+
+    public static Builder builder(Long moneyMarketListId, LocalDate reportDate) {
+        return new Builder(moneyMarketListId, reportDate);
+    }
+
+    public Long getMoneyMarketListId() {
+        return moneyMarketListId;
+    }
+
+    public LocalDate getReportDate() {
+        return reportDate;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * An estimate of the heap the arrays and the dictionaries take, in bytes.
+     */
+    public long estimatedBytes() {
+        long bytes = size;
+        for (MoneyMarketDealDimension dimension : CODED) {
+            bytes += 4L * size;
+            for (String value : dictionaries[dimension.ordinal()]) {
+                bytes += 56L + value.length();
+            }
+        }
+        bytes += 8L * size * Amount.values().length;
+        bytes += 4L * size * DateColumn.values().length;
+        return bytes;
+    }
+
+    /**
+     * Return the measures of the deals matching the criteria, per group of deals sharing the values of the dimensions,
+     * sorted by the values of the dimensions with missing values last.
+     * @param criteria The filters the deals should match.
+     * @param dimensions The dimensions to group by; none for a single group.
+     * @param measures The measures to compute; none for all of them.
+     * @return the rows, or nothing if the criteria cannot be answered from the columns.
+     */
+    public Optional<List<MoneyMarketDealAggregateDTO>> aggregate(
+        MoneyMarketDealCriteria criteria,
+        List<MoneyMarketDealDimension> dimensions,
+        List<MoneyMarketDealMeasure> measures
+    ) {
+        List<MoneyMarketDealMeasure> computed = measures.isEmpty() ? List.of(MoneyMarketDealMeasure.values()) : measures;
+        Optional<List<ColumnFilter>> filters = compile(criteria);
+        if (filters.isEmpty()) {
+            return Optional.empty();
+        }
+        int[] radix = new int[dimensions.size()];
+        int groups = 1;
+        for (int i = 0; i < radix.length; i++) {
+            MoneyMarketDealDimension dimension = dimensions.get(i);
+            radix[i] = dimension == MoneyMarketDealDimension.REPORT_DATE ? 1 : dictionaries[dimension.ordinal()].length + 1;
+            if ((long) groups * radix[i] > MAX_GROUPS) {
+                return Optional.empty();
+            }
+            groups *= radix[i];
+        }
+        boolean[] selected = new boolean[size];
+        Arrays.fill(selected, true);
+        for (ColumnFilter filter : filters.orElseThrow()) {
+            filter.retain(selected);
+        }
+        Accumulator accumulator = new Accumulator(groups, computed);
+        try {
+            accumulator.scan(selected, dimensions, radix);
+        } catch (ArithmeticException e) {
+            return Optional.empty();
+        }
+        return Optional.of(accumulator.rows(dimensions, radix, computed));
+    }
+
+    /**
+     * The filters of the criteria, one per column, or nothing if a filter is on an attribute that is not held.
+     */
+    private Optional<List<ColumnFilter>> compile(MoneyMarketDealCriteria criteria) {
+        if (criteria == null) {
+            return Optional.of(List.of());
+        }
+        MoneyMarketDealCriteria unanswered = criteria.copy();
+        unanswered.setDistinct(null);
+        List<ColumnFilter> filters = new ArrayList<>();
+        boolean none = false;
+
+        if (criteria.getMoneyMarketListId() != null) {
+            none |= !matches(criteria.getMoneyMarketListId(), moneyMarketListId);
+            unanswered.setMoneyMarketListId(null);
+        }
+        if (criteria.getReportDate() != null) {
+            none |= !matches(criteria.getReportDate(), reportDate);
+            unanswered.setReportDate(null);
+        }
+        if (criteria.getActive() != null) {
+            boolean whenActive = matches(criteria.getActive(), true);
+            boolean whenInactive = matches(criteria.getActive(), false);
+            if (!whenActive || !whenInactive) {
+                filters.add(selected -> {
+                    for (int row = 0; row < size; row++) {
+                        selected[row] &= active[row] ? whenActive : whenInactive;
+                    }
+                });
+            }
+            unanswered.setActive(null);
+        }
+
+        Map<MoneyMarketDealDimension, StringFilter> stringFilters = new LinkedHashMap<>();
+        stringFilters.put(MoneyMarketDealDimension.TREASURY_LEDGER, criteria.getTreasuryLedger());
+        stringFilters.put(MoneyMarketDealDimension.CURRENCY_CODE, criteria.getCurrencyCode());
+        stringFilters.put(MoneyMarketDealDimension.DEAL_SUBTYPE, criteria.getDealSubtype());
+        stringFilters.put(MoneyMarketDealDimension.INSTITUTION_TYPE, criteria.getInstitutionType());
+        stringFilters.put(MoneyMarketDealDimension.COUNTER_PARTY_NAME, criteria.getCounterPartyName());
+        stringFilters.put(MoneyMarketDealDimension.COUNTERPARTY_NATIONALITY, criteria.getCounterpartyNationality());
+        stringFilters.put(MoneyMarketDealDimension.COUNTERPARTY_DOMICILE, criteria.getCounterpartyDomicile());
+        unanswered.setTreasuryLedger(null);
+        unanswered.setCurrencyCode(null);
+        unanswered.setDealSubtype(null);
+        unanswered.setInstitutionType(null);
+        unanswered.setCounterPartyName(null);
+        unanswered.setCounterpartyNationality(null);
+        unanswered.setCounterpartyDomicile(null);
+        for (Map.Entry<MoneyMarketDealDimension, StringFilter> entry : stringFilters.entrySet()) {
+            if (entry.getValue() != null && hasLikeWildcard(entry.getValue())) {
+                return Optional.empty();
+            }
+            if (entry.getValue() != null) {
+                filters.add(codeFilter(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        try {
+            addDateFilter(filters, DateColumn.MATURITY_DATE, criteria.getMaturityDate());
+            addDateFilter(filters, DateColumn.SETTLEMENT_DATE, criteria.getSettlementDate());
+            addDateFilter(filters, DateColumn.END_DATE, criteria.getEndDate());
+            addAmountFilter(filters, Amount.PRINCIPAL_AMOUNT, criteria.getPrincipalAmount());
+            addAmountFilter(filters, Amount.INTEREST_RATE, criteria.getInterestRate());
+            addAmountFilter(filters, Amount.SHILLING_EQUIVALENT_PRINCIPAL, criteria.getShillingEquivalentPrincipal());
+            addAmountFilter(filters, Amount.SHILLING_EQUIVALENT_INTEREST_ACCRUED, criteria.getShillingEquivalentInterestAccrued());
+            addAmountFilter(filters, Amount.SHILLING_EQUIVALENT_PV_FULL, criteria.getShillingEquivalentPVFull());
+        } catch (ArithmeticException e) {
+            // a bound finer than the scale of the column
+            return Optional.empty();
+        }
+        unanswered.setMaturityDate(null);
+        unanswered.setSettlementDate(null);
+        unanswered.setEndDate(null);
+        unanswered.setPrincipalAmount(null);
+        unanswered.setInterestRate(null);
+        unanswered.setShillingEquivalentPrincipal(null);
+        unanswered.setShillingEquivalentInterestAccrued(null);
+        unanswered.setShillingEquivalentPVFull(null);
+
+        if (!unanswered.equals(new MoneyMarketDealCriteria())) {
+            return Optional.empty();
+        }
+        if (none) {
+            return Optional.of(List.of(selected -> Arrays.fill(selected, false)));
+        }
+        return Optional.of(filters);
+    }
+
+    /**
+     * The filter is evaluated once per entry of the dictionary, rows are then matched by their code.
+     */
+    private ColumnFilter codeFilter(MoneyMarketDealDimension dimension, StringFilter filter) {
+        String[] dictionary = dictionaries[dimension.ordinal()];
+        int[] column = codes[dimension.ordinal()];
+        // indexed by code + 1, a missing value first
+        boolean[] allowed = new boolean[dictionary.length + 1];
+        allowed[0] = matches(filter, null);
+        for (int code = 0; code < dictionary.length; code++) {
+            allowed[code + 1] = matches(filter, dictionary[code]);
+        }
+        return selected -> {
+            for (int row = 0; row < size; row++) {
+                selected[row] &= allowed[column[row] + 1];
+            }
+        };
+    }
+
+    private void addDateFilter(List<ColumnFilter> filters, DateColumn date, RangeFilter<LocalDate> filter) {
+        if (filter != null) {
+            int[] column = dates[date.ordinal()];
+            LongPredicate predicate = encoded(filter, LocalDate::toEpochDay);
+            filters.add(selected -> {
+                for (int row = 0; row < size; row++) {
+                    if (selected[row]) {
+                        selected[row] = predicate.test(column[row] == NULL_DATE ? NULL_AMOUNT : column[row]);
+                    }
+                }
+            });
+        }
+    }
+
+    private void addAmountFilter(List<ColumnFilter> filters, Amount amount, RangeFilter<BigDecimal> filter) {
+        if (filter != null) {
+            long[] column = amounts[amount.ordinal()];
+            LongPredicate predicate = encoded(filter, MoneyMarketDealColumns::scaled);
+            filters.add(selected -> {
+                for (int row = 0; row < size; row++) {
+                    if (selected[row]) {
+                        selected[row] = predicate.test(column[row]);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * The filter over the encoded values, {@code NULL_AMOUNT} standing for a missing value; the encoding preserves order.
+     */
+    private static <T extends Comparable<? super T>> LongPredicate encoded(RangeFilter<T> filter, ToLongFunction<T> encode) {
+        if (filter.getEquals() != null) {
+            long equals = encode.applyAsLong(filter.getEquals());
+            return value -> value == equals;
+        }
+        if (filter.getIn() != null) {
+            long[] in = filter.getIn().stream().mapToLong(encode).sorted().toArray();
+            return value -> value != NULL_AMOUNT && Arrays.binarySearch(in, value) >= 0;
+        }
+        Long notEquals = filter.getNotEquals() == null ? null : encode.applyAsLong(filter.getNotEquals());
+        long[] notIn = filter.getNotIn() == null ? null : filter.getNotIn().stream().mapToLong(encode).sorted().toArray();
+        boolean missingMatches = matches(filter, null);
+        boolean unspecified = Boolean.FALSE.equals(filter.getSpecified());
+        long lowest = Long.MIN_VALUE;
+        long highest = Long.MAX_VALUE;
+        if (filter.getGreaterThan() != null) {
+            lowest = Math.max(lowest, Math.addExact(encode.applyAsLong(filter.getGreaterThan()), 1));
+        }
+        if (filter.getGreaterThanOrEqual() != null) {
+            lowest = Math.max(lowest, encode.applyAsLong(filter.getGreaterThanOrEqual()));
+        }
+        if (filter.getLessThan() != null) {
+            highest = Math.min(highest, Math.subtractExact(encode.applyAsLong(filter.getLessThan()), 1));
+        }
+        if (filter.getLessThanOrEqual() != null) {
+            highest = Math.min(highest, encode.applyAsLong(filter.getLessThanOrEqual()));
+        }
+        long low = lowest;
+        long high = highest;
+        return value -> {
+            if (value == NULL_AMOUNT) {
+                return missingMatches;
+            }
+            if (unspecified) {
+                return false;
+            }
+            return (
+                (notEquals == null || value != notEquals) &&
+                (notIn == null || Arrays.binarySearch(notIn, value) < 0) &&
+                value >= low &&
+                value <= high
+            );
+        };
+    }
+
+    /**
+     * Whether a single value matches the filter, as the database evaluates the specification JHipster's
+     * {@code QueryService} builds for it. A set {@code equals}, else a set {@code in}, is the only condition applied.
+     * Otherwise every condition of a range filter applies, but only the first set one of any other filter, in the
+     * order {@code notIn}, {@code contains}, {@code doesNotContain}, {@code notEquals}, {@code specified}.
+     */
+    static <T> boolean matches(Filter<T> filter, T value) {
+        if (filter.getEquals() != null) {
+            return filter.getEquals().equals(value);
+        }
+        if (filter.getIn() != null) {
+            return value != null && filter.getIn().contains(value);
+        }
+        if (filter instanceof RangeFilter<?> rangeFilter) {
+            if (value == null) {
+                return !Boolean.TRUE.equals(filter.getSpecified()) && !constrainsValue(rangeFilter);
+            }
+            return (
+                !Boolean.FALSE.equals(filter.getSpecified()) &&
+                (filter.getNotEquals() == null || !filter.getNotEquals().equals(value)) &&
+                (filter.getNotIn() == null || !filter.getNotIn().contains(value)) &&
+                inRange(rangeFilter, value)
+            );
+        }
+        if (filter.getNotIn() != null) {
+            return value != null && !filter.getNotIn().contains(value);
+        }
+        if (filter instanceof StringFilter stringFilter) {
+            if (stringFilter.getContains() != null) {
+                return value != null && upper(value).contains(upper(stringFilter.getContains()));
+            }
+            if (stringFilter.getDoesNotContain() != null) {
+                return value != null && !upper(value).contains(upper(stringFilter.getDoesNotContain()));
+            }
+        }
+        if (filter.getNotEquals() != null) {
+            return value != null && !filter.getNotEquals().equals(value);
+        }
+        if (filter.getSpecified() != null) {
+            return filter.getSpecified() == (value != null);
+        }
+        return true;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static boolean inRange(RangeFilter filter, Object value) {
+        Comparable comparable = (Comparable) value;
+        return (
+            (filter.getGreaterThan() == null || comparable.compareTo(filter.getGreaterThan()) > 0) &&
+            (filter.getGreaterThanOrEqual() == null || comparable.compareTo(filter.getGreaterThanOrEqual()) >= 0) &&
+            (filter.getLessThan() == null || comparable.compareTo(filter.getLessThan()) < 0) &&
+            (filter.getLessThanOrEqual() == null || comparable.compareTo(filter.getLessThanOrEqual()) <= 0)
+        );
+    }
+
+    /**
+     * Whether a range filter, past {@code equals} and {@code in}, has a condition no missing value meets.
+     */
+    private static boolean constrainsValue(RangeFilter<?> filter) {
+        return (
+            filter.getNotEquals() != null ||
+            filter.getNotIn() != null ||
+            filter.getGreaterThan() != null ||
+            filter.getGreaterThanOrEqual() != null ||
+            filter.getLessThan() != null ||
+            filter.getLessThanOrEqual() != null
+        );
+    }
+
+    private static String upper(Object value) {
+        return ((String) value).toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Whether the filter has a pattern with a character {@code like} does not read literally.
+     */
+    private static boolean hasLikeWildcard(StringFilter filter) {
+        return Stream.of(filter.getContains(), filter.getDoesNotContain()).anyMatch(
+            pattern -> pattern != null && LIKE_WILDCARDS.matcher(pattern).find()
+        );
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more decimals than the columns, or does not fit a {@code long}.
+     */
+    private static long scaled(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    private static BigDecimal unscaled(long amount) {
+        return BigDecimal.valueOf(amount, SCALE);
+    }
+
+    /**
+     * Clears the rows of a selection that one filter does not match.
+     */
+    @FunctionalInterface
+    private interface ColumnFilter {
+        void retain(boolean[] selected);
+    }
+
+    /**
+     * The amounts held, with the measures they feed.
+     */
+    private enum Amount {
+        PRINCIPAL_AMOUNT(MoneyMarketDeal::getPrincipalAmount),
+        INTEREST_RATE(MoneyMarketDeal::getInterestRate),
+        SHILLING_EQUIVALENT_PRINCIPAL(MoneyMarketDeal::getShillingEquivalentPrincipal),
+        SHILLING_EQUIVALENT_INTEREST_ACCRUED(MoneyMarketDeal::getShillingEquivalentInterestAccrued),
+        SHILLING_EQUIVALENT_PV_FULL(MoneyMarketDeal::getShillingEquivalentPVFull);
+
+        private final Function<MoneyMarketDeal, BigDecimal> getter;
+
+        Amount(Function<MoneyMarketDeal, BigDecimal> getter) {
+            this.getter = getter;
+        }
+
+        static Amount summedBy(MoneyMarketDealMeasure measure) {
+            return switch (measure) {
+                case SUM_PRINCIPAL, AVG_PRINCIPAL -> PRINCIPAL_AMOUNT;
+                case SUM_SHILLING_EQUIVALENT_PRINCIPAL, AVG_SHILLING_EQUIVALENT_PRINCIPAL -> SHILLING_EQUIVALENT_PRINCIPAL;
+                case SUM_SHILLING_EQUIVALENT_INTEREST_ACCRUED -> SHILLING_EQUIVALENT_INTEREST_ACCRUED;
+                case SUM_SHILLING_EQUIVALENT_PV_FULL -> SHILLING_EQUIVALENT_PV_FULL;
+                case COUNT, WEIGHTED_INTEREST_RATE -> null;
+            };
+        }
+    }
+
+    private enum DateColumn {
+        MATURITY_DATE(MoneyMarketDeal::getMaturityDate),
+        SETTLEMENT_DATE(MoneyMarketDeal::getSettlementDate),
+        END_DATE(MoneyMarketDeal::getEndDate);
+
+        private final Function<MoneyMarketDeal, LocalDate> getter;
+
+        DateColumn(Function<MoneyMarketDeal, LocalDate> getter) {
+            this.getter = getter;
+        }
+    }
+
+    private static String value(MoneyMarketDeal deal, MoneyMarketDealDimension dimension) {
+        return switch (dimension) {
+            case TREASURY_LEDGER -> deal.getTreasuryLedger();
+            case CURRENCY_CODE -> deal.getCurrencyCode();
+            case DEAL_SUBTYPE -> deal.getDealSubtype();
+            case INSTITUTION_TYPE -> deal.getInstitutionType();
+            case COUNTER_PARTY_NAME -> deal.getCounterPartyName();
+            case COUNTERPARTY_NATIONALITY -> deal.getCounterpartyNationality();
+            case COUNTERPARTY_DOMICILE -> deal.getCounterpartyDomicile();
+            case REPORT_DATE -> throw new IllegalArgumentException("The report date is not coded");
+        };
+    }
+
+    /**
+     * The per group totals of one aggregate.
+     */
+    private final class Accumulator {
+
+        private final long[] counts;
+
+        private final long[][] sums = new long[Amount.values().length][];
+
+        private final long[][] summed = new long[Amount.values().length][];
+
+        private final double[] weightedRates;
+
+        private final double[] weights;
+
+        private Accumulator(int groups, List<MoneyMarketDealMeasure> measures) {
+            counts = new long[groups];
+            for (MoneyMarketDealMeasure measure : measures) {
+                Amount amount = Amount.summedBy(measure);
+                if (amount != null && sums[amount.ordinal()] == null) {
+                    sums[amount.ordinal()] = new long[groups];
+                    summed[amount.ordinal()] = new long[groups];
+                }
+            }
+            boolean weighted = measures.contains(MoneyMarketDealMeasure.WEIGHTED_INTEREST_RATE);
+            weightedRates = weighted ? new double[groups] : null;
+            weights = weighted ? new double[groups] : null;
+        }
+
+        /**
+         * Each column is scanned on its own, in a tight loop over its array.
+         */
+        private void scan(boolean[] selected, List<MoneyMarketDealDimension> dimensions, int[] radix) {
+            int[] groupOf = new int[size];
+            for (int i = 0; i < dimensions.size(); i++) {
+                int[] column = codes[dimensions.get(i).ordinal()];
+                if (column == null) {
+                    continue;
+                }
+                int base = radix[i];
+                for (int row = 0; row < size; row++) {
+                    groupOf[row] = groupOf[row] * base + column[row] + 1;
+                }
+            }
+            for (int row = 0; row < size; row++) {
+                if (selected[row]) {
+                    counts[groupOf[row]]++;
+                }
+            }
+            for (int a = 0; a < sums.length; a++) {
+                if (sums[a] == null) {
+                    continue;
+                }
+                long[] column = amounts[a];
+                long[] sum = sums[a];
+                long[] count = summed[a];
+                for (int row = 0; row < size; row++) {
+                    long amount = column[row];
+                    if (selected[row] && amount != NULL_AMOUNT) {
+                        int group = groupOf[row];
+                        sum[group] = Math.addExact(sum[group], amount);
+                        count[group]++;
+                    }
+                }
+            }
+            if (weights != null) {
+                long[] rates = amounts[Amount.INTEREST_RATE.ordinal()];
+                long[] principals = amounts[Amount.SHILLING_EQUIVALENT_PRINCIPAL.ordinal()];
+                for (int row = 0; row < size; row++) {
+                    if (selected[row] && rates[row] != NULL_AMOUNT && principals[row] != NULL_AMOUNT) {
+                        weightedRates[groupOf[row]] += (double) rates[row] * principals[row];
+                        weights[groupOf[row]] += principals[row];
+                    }
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<MoneyMarketDealAggregateDTO> rows(
+            List<MoneyMarketDealDimension> dimensions,
+            int[] radix,
+            List<MoneyMarketDealMeasure> measures
+        ) {
+            List<MoneyMarketDealAggregateDTO> rows = new ArrayList<>();
+            for (int group = 0; group < counts.length; group++) {
+                // without dimensions, like a query without GROUP BY, the single group is returned even when empty
+                if (counts[group] == 0 && !dimensions.isEmpty()) {
+                    continue;
+                }
+                Map<String, Object> dimensionValues = new LinkedHashMap<>();
+                int rest = group;
+                Object[] decoded = new Object[dimensions.size()];
+                for (int i = dimensions.size() - 1; i >= 0; i--) {
+                    int code = rest % radix[i] - 1;
+                    rest /= radix[i];
+                    MoneyMarketDealDimension dimension = dimensions.get(i);
+                    decoded[i] = dimension == MoneyMarketDealDimension.REPORT_DATE
+                        ? reportDate
+                        : code == NULL_CODE ? null : dictionaries[dimension.ordinal()][code];
+                }
+                for (int i = 0; i < decoded.length; i++) {
+                    dimensionValues.put(dimensions.get(i).propertyName(), decoded[i]);
+                }
+                Map<String, Number> measureValues = new LinkedHashMap<>();
+                for (MoneyMarketDealMeasure measure : measures) {
+                    measureValues.put(measure.propertyName(), measure.normalize(value(measure, group)));
+                }
+                rows.add(new MoneyMarketDealAggregateDTO(dimensionValues, measureValues));
+            }
+            Comparator<MoneyMarketDealAggregateDTO> order = (left, right) -> 0;
+            for (MoneyMarketDealDimension dimension : dimensions) {
+                order = order.thenComparing(
+                    row -> (Comparable<Object>) row.dimensions().get(dimension.propertyName()),
+                    Comparator.nullsLast(Comparator.naturalOrder())
+                );
+            }
+            rows.sort(order);
+            return rows;
+        }
+
+        private Number value(MoneyMarketDealMeasure measure, int group) {
+            if (measure == MoneyMarketDealMeasure.COUNT) {
+                return counts[group];
+            }
+            if (measure == MoneyMarketDealMeasure.WEIGHTED_INTEREST_RATE) {
+                // both the rates and the weights are scaled, the quotient carries the scale of the rates
+                return weights[group] == 0 ? null : BigDecimal.valueOf(weightedRates[group] / weights[group]).movePointLeft(SCALE);
+            }
+            int a = Amount.summedBy(measure).ordinal();
+            if (summed[a][group] == 0) {
+                return null;
+            }
+            BigDecimal sum = unscaled(sums[a][group]);
+            return switch (measure) {
+                case AVG_PRINCIPAL, AVG_SHILLING_EQUIVALENT_PRINCIPAL -> sum.divide(
+                    BigDecimal.valueOf(summed[a][group]),
+                    SCALE,
+                    RoundingMode.HALF_EVEN
+                );
+                default -> sum;
+            };
+        }
+    }
+
+    /**
+     * Collects the deals of a list, one at a time, into growing arrays.
+     */
+    public static final class Builder {
+
+        private final Long moneyMarketListId;
+
+        private final LocalDate reportDate;
+
+        private int size;
+
+        private boolean[] active = new boolean[1024];
+
+        private final int[][] codes = new int[MoneyMarketDealDimension.values().length][];
+
+        private final List<List<String>> dictionaries = new ArrayList<>();
+
+        private final List<Map<String, Integer>> dictionaryCodes = new ArrayList<>();
+
+        private final long[][] amounts = new long[Amount.values().length][1024];
+
+        private final int[][] dates = new int[DateColumn.values().length][1024];
+
+        private Builder(Long moneyMarketListId, LocalDate reportDate) {
+            this.moneyMarketListId = moneyMarketListId;
+            this.reportDate = reportDate;
+            for (MoneyMarketDealDimension dimension : MoneyMarketDealDimension.values()) {
+                dictionaries.add(new ArrayList<>());
+                dictionaryCodes.add(new HashMap<>());
+                if (dimension != MoneyMarketDealDimension.REPORT_DATE) {
+                    codes[dimension.ordinal()] = new int[1024];
+                }
+            }
+        }
+
+        /**
+         * Append a deal of the list; only the attributes held in columns are read.
+         * @throws ArithmeticException if an amount has more decimals than the columns, or does not fit a {@code long}.
+         */
+        public Builder add(MoneyMarketDeal deal) {
+            if (size == active.length) {
+                grow();
+            }
+            active[size] = Boolean.TRUE.equals(deal.getActive());
+            for (MoneyMarketDealDimension dimension : CODED) {
+                codes[dimension.ordinal()][size] = code(dimension, value(deal, dimension));
+            }
+            for (Amount amount : Amount.values()) {
+                BigDecimal value = amount.getter.apply(deal);
+                amounts[amount.ordinal()][size] = value == null ? NULL_AMOUNT : scaled(value);
+            }
+            for (DateColumn date : DateColumn.values()) {
+                LocalDate value = date.getter.apply(deal);
+                dates[date.ordinal()][size] = value == null ? NULL_DATE : Math.toIntExact(value.toEpochDay());
+            }
+            size++;
+            return this;
+        }
+
+        public MoneyMarketDealColumns build() {
+            return new MoneyMarketDealColumns(this);
+        }
+
+        private int code(MoneyMarketDealDimension dimension, String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            return dictionaryCodes
+                .get(dimension.ordinal())
+                .computeIfAbsent(value, added -> {
+                    List<String> dictionary = dictionaries.get(dimension.ordinal());
+                    dictionary.add(added);
+                    return dictionary.size() - 1;
+                });
+        }
+
+        private void grow() {
+            int capacity = Math.multiplyExact(active.length, 2);
+            active = Arrays.copyOf(active, capacity);
+            for (MoneyMarketDealDimension dimension : CODED) {
+                codes[dimension.ordinal()] = Arrays.copyOf(codes[dimension.ordinal()], capacity);
+            }
+            for (int a = 0; a < amounts.length; a++) {
+                amounts[a] = Arrays.copyOf(amounts[a], capacity);
+            }
+            for (int d = 0; d < dates.length; d++) {
+                dates[d] = Arrays.copyOf(dates[d], capacity);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MoneyMarketDealColumns{moneyMarketListId=" + moneyMarketListId + ", reportDate=" + reportDate + ", size=" + size + "}";
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.dto.MoneyMarketDealConcentrationDTO;
+import io.github.bi.service.dto.MoneyMarketDealCounterpartyExposureDTO;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Measures the concentration of deals on counterparties, one counterparty at a time.
+ * <p>
+ * Only the largest counterparties are kept, in a min-heap bounded to the number asked for (at least ten, for the
+ * share of the top ten), so taking {@code n} of {@code m} counterparties costs {@code O(m log n)} and no sort of
+ * them all. The total and the sum of squares the Herfindahl index needs are accumulated on the way. Counterparties
+ * without a positive principal have no exposure and are left out.
+ */
+public final class MoneyMarketDealConcentration {
+
+    public static final int TOP_TEN = 10;
+
+    private static final int SHARE_SCALE = 6;
+
+    private static final Comparator<Exposure> SMALLEST_FIRST = Comparator.comparing(Exposure::totalPrincipal)
+        .thenComparing(Exposure::key, Comparator.reverseOrder());
+
+    private final LocalDate reportDate;
+
+    private final int top;
+
+    private final PriorityQueue<Exposure> largest;
+
+    private int numberOfCounterparties;
+
+    private BigDecimal totalPrincipal = BigDecimal.ZERO;
+
+    private BigDecimal sumOfSquares = BigDecimal.ZERO;
+
+    /**
+     * @param top The number of largest counterparties to list.
+     * @throws IllegalArgumentException if the number is not positive.
+     */
+    public MoneyMarketDealConcentration(LocalDate reportDate, int top) {
+        if (top < 1) {
+            throw new IllegalArgumentException("At least one counterparty has to be listed");
+        }
+        this.reportDate = reportDate;
+        this.top = top;
+        this.largest = new PriorityQueue<>(Math.max(top, TOP_TEN) + 1, SMALLEST_FIRST);
+    }
+
+    /**
+     * Add a counterparty; each is added once, with the totals of all its deals.
+     */
+    public MoneyMarketDealConcentration add(
+        String counterPartyName,
+        String counterpartyDomicile,
+        String institutionType,
+        long numberOfDeals,
+        BigDecimal principal
+    ) {
+        if (principal == null || principal.signum() <= 0) {
+            return this;
+        }
+        numberOfCounterparties++;
+        totalPrincipal = totalPrincipal.add(principal);
+        sumOfSquares = sumOfSquares.add(principal.multiply(principal));
+        Exposure exposure = new Exposure(counterPartyName, counterpartyDomicile, institutionType, numberOfDeals, principal);
+        if (largest.size() < Math.max(top, TOP_TEN)) {
+            largest.add(exposure);
+        } else if (SMALLEST_FIRST.compare(exposure, largest.peek()) > 0) {
+            largest.poll();
+            largest.add(exposure);
+        }
+        return this;
+    }
+
+    public MoneyMarketDealConcentrationDTO result() {
+        List<Exposure> descending = new ArrayList<>(largest);
+        descending.sort(SMALLEST_FIRST.reversed());
+        BigDecimal topTen = descending.stream().limit(TOP_TEN).map(Exposure::totalPrincipal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal herfindahlIndex = totalPrincipal.signum() == 0
+            ? BigDecimal.ZERO
+            : sumOfSquares
+                .multiply(BigDecimal.valueOf(10_000))
+                .divide(totalPrincipal.multiply(totalPrincipal), MathContext.DECIMAL64)
+                .setScale(2, RoundingMode.HALF_EVEN);
+        return new MoneyMarketDealConcentrationDTO(
+            reportDate,
+            numberOfCounterparties,
+            totalPrincipal,
+            share(topTen),
+            herfindahlIndex,
+            descending
+                .stream()
+                .limit(top)
+                .map(exposure ->
+                    new MoneyMarketDealCounterpartyExposureDTO(
+                        exposure.counterPartyName(),
+                        exposure.counterpartyDomicile(),
+                        exposure.institutionType(),
+                        exposure.numberOfDeals(),
+                        exposure.totalPrincipal(),
+                        share(exposure.totalPrincipal())
+                    )
+                )
+                .toList()
+        );
+    }
+
+    private BigDecimal share(BigDecimal principal) {
+        return totalPrincipal.signum() == 0 ? BigDecimal.ZERO : principal.divide(totalPrincipal, SHARE_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private record Exposure(
+        String counterPartyName,
+        String counterpartyDomicile,
+        String institutionType,
+        long numberOfDeals,
+        BigDecimal totalPrincipal
+    ) {
+        /**
+         * Orders counterparties with the same principal, so that the same ones are listed every time.
+         */
+        String key() {
+            return String.valueOf(counterPartyName) + '\u0000' + counterpartyDomicile + '\u0000' + institutionType;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.dto.MoneyMarketDealCubeCellDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The deals of one {@link io.github.bi.domain.MoneyMarketList} pre-aggregated over the {@link #DIMENSIONS}.
+ * <p>
+ * The cube holds one cell per combination of dimension values that occurs in the deals, with the number of deals and
+ * the totals of their shilling equivalent principal, interest accrued and PV full; as for the daily summaries, only
+ * deals flagged {@code active} are counted and missing amounts count as zero. Values are dictionary coded and totals
+ * are {@code long}s scaled by 100, so a cube takes a few bytes per cell. Slices and roll-ups to any subset of the
+ * dimensions are computed from the cells alone. Instances are immutable.
+ */
+public final class MoneyMarketDealCube {
+
+    public static final List<MoneyMarketDealDimension> DIMENSIONS = List.of(
+        MoneyMarketDealDimension.TREASURY_LEDGER,
+        MoneyMarketDealDimension.CURRENCY_CODE,
+        MoneyMarketDealDimension.DEAL_SUBTYPE,
+        MoneyMarketDealDimension.INSTITUTION_TYPE,
+        MoneyMarketDealDimension.COUNTERPARTY_DOMICILE
+    );
+
+    private static final int SCALE = 2;
+
+    private static final int PRINCIPAL = 0;
+
+    private static final int INTEREST_ACCRUED = 1;
+
+    private static final int PV_FULL = 2;
+
+    private final Long moneyMarketListId;
+
+    private final LocalDate reportDate;
+
+    private final String[][] dictionaries;
+
+    /**
+     * The code of the value of each dimension per cell, {@code -1} for a missing value.
+     */
+    private final int[][] coordinates;
+
+    private final long[] numberOfDeals;
+
+    private final long[][] totals;
+
+    private MoneyMarketDealCube(Builder builder) {
+        int cells = builder.numberOfDeals.size();
+        this.moneyMarketListId = builder.moneyMarketListId;
+        this.reportDate = builder.reportDate;
+        this.dictionaries = new String[DIMENSIONS.size()][];
+        this.coordinates = new int[DIMENSIONS.size()][cells];
+        for (int d = 0; d < DIMENSIONS.size(); d++) {
+            dictionaries[d] = builder.dictionaries.get(d).toArray(String[]::new);
+        }
+        this.numberOfDeals = new long[cells];
+        this.totals = new long[3][cells];
+        for (int cell = 0; cell < cells; cell++) {
+            for (int d = 0; d < DIMENSIONS.size(); d++) {
+                coordinates[d][cell] = builder.coordinates.get(cell)[d];
+            }
+            numberOfDeals[cell] = builder.numberOfDeals.get(cell);
+            for (int t = 0; t < totals.length; t++) {
+                totals[t][cell] = builder.totals.get(cell)[t];
+            }
+        }
+    }
+
+    public static Builder builder(Long moneyMarketListId, LocalDate reportDate) {
+        return new Builder(moneyMarketListId, reportDate);
+    }
+
+    public Long getMoneyMarketListId() {
+        return moneyMarketListId;
+    }
+
+    public LocalDate getReportDate() {
+        return reportDate;
+    }
+
+    public int size() {
+        return numberOfDeals.length;
+    }
+
+    /**
+     * Roll the cube up to some of its dimensions, over the cells of a slice.
+     * @param groupBy The dimensions to keep, in the order the cells are sorted by; none for a single grand total.
+     * @param slice The values each dimension is restricted to; a dimension without values is not restricted.
+     * @return one cell per combination of values of the kept dimensions, sorted with missing values last.
+     * @throws IllegalArgumentException if a dimension is not one of the {@link #DIMENSIONS} of the cube.
+     */
+    public List<MoneyMarketDealCubeCellDTO> rollUp(
+        List<MoneyMarketDealDimension> groupBy,
+        Map<MoneyMarketDealDimension, ? extends Collection<String>> slice
+    ) {
+        int[] kept = groupBy.stream().mapToInt(MoneyMarketDealCube::indexOf).toArray();
+        boolean[][] allowed = new boolean[DIMENSIONS.size()][];
+        slice.forEach((dimension, values) -> {
+            int d = indexOf(dimension);
+            if (values != null && !values.isEmpty()) {
+                allowed[d] = new boolean[dictionaries[d].length];
+                for (int code = 0; code < dictionaries[d].length; code++) {
+                    allowed[d][code] = values.contains(dictionaries[d][code]);
+                }
+            }
+        });
+
+        Map<List<Integer>, long[]> groups = new HashMap<>();
+        for (int cell = 0; cell < numberOfDeals.length; cell++) {
+            if (!inSlice(cell, allowed)) {
+                continue;
+            }
+            List<Integer> key = new ArrayList<>(kept.length);
+            for (int d : kept) {
+                key.add(coordinates[d][cell]);
+            }
+            long[] sums = groups.computeIfAbsent(key, k -> new long[1 + totals.length]);
+            sums[0] += numberOfDeals[cell];
+            for (int t = 0; t < totals.length; t++) {
+                sums[1 + t] = Math.addExact(sums[1 + t], totals[t][cell]);
+            }
+        }
+        if (groupBy.isEmpty() && groups.isEmpty()) {
+            groups.put(List.of(), new long[1 + totals.length]);
+        }
+
+        List<MoneyMarketDealCubeCellDTO> cells = new ArrayList<>(groups.size());
+        groups.forEach((key, sums) -> {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < kept.length; i++) {
+                int code = key.get(i);
+                values.put(DIMENSIONS.get(kept[i]).propertyName(), code < 0 ? null : dictionaries[kept[i]][code]);
+            }
+            cells.add(
+                new MoneyMarketDealCubeCellDTO(
+                    values,
+                    sums[0],
+                    BigDecimal.valueOf(sums[1 + PRINCIPAL], SCALE),
+                    BigDecimal.valueOf(sums[1 + INTEREST_ACCRUED], SCALE),
+                    BigDecimal.valueOf(sums[1 + PV_FULL], SCALE)
+                )
+            );
+        });
+        Comparator<MoneyMarketDealCubeCellDTO> order = (left, right) -> 0;
+        for (MoneyMarketDealDimension dimension : groupBy) {
+            order = order.thenComparing(
+                cell -> cell.dimensions().get(dimension.propertyName()),
+                Comparator.nullsLast(Comparator.naturalOrder())
+            );
+        }
+        cells.sort(order);
+        return cells;
+    }
+
+    private boolean inSlice(int cell, boolean[][] allowed) {
+        for (int d = 0; d < allowed.length; d++) {
+            if (allowed[d] != null) {
+                int code = coordinates[d][cell];
+                if (code < 0 || !allowed[d][code]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(MoneyMarketDealDimension dimension) {
+        int index = DIMENSIONS.indexOf(dimension);
+        if (index < 0) {
+            throw new IllegalArgumentException("The deal cube has no dimension " + dimension.propertyName());
+        }
+        return index;
+    }
+
+    /**
+     * Collects the cells of a cube, one combination of dimension values at a time.
+     */
+    public static final class Builder {
+
+        private final Long moneyMarketListId;
+
+        private final LocalDate reportDate;
+
+        private final List<List<String>> dictionaries = new ArrayList<>();
+
+        private final List<Map<String, Integer>> dictionaryCodes = new ArrayList<>();
+
+        private final Map<List<Integer>, Integer> cells = new HashMap<>();
+
+        private final List<int[]> coordinates = new ArrayList<>();
+
+        private final List<Long> numberOfDeals = new ArrayList<>();
+
+        private final List<long[]> totals = new ArrayList<>();
+
+        private Builder(Long moneyMarketListId, LocalDate reportDate) {
+            this.moneyMarketListId = moneyMarketListId;
+            this.reportDate = reportDate;
+            for (int d = 0; d < DIMENSIONS.size(); d++) {
+                dictionaries.add(new ArrayList<>());
+                dictionaryCodes.add(new HashMap<>());
+            }
+        }
+
+        /**
+         * Add deals sharing the same dimension values; deals added for the same values again are merged in.
+         * @param values The value of each of the {@link #DIMENSIONS}, in that order.
+         * @throws ArithmeticException if an amount has more decimals than the columns, or does not fit a {@code long}.
+         */
+        public Builder add(
+            List<String> values,
+            long numberOfDeals,
+            BigDecimal totalPrincipal,
+            BigDecimal interestAccrued,
+            BigDecimal totalPVFull
+        ) {
+            if (values.size() != DIMENSIONS.size()) {
+                throw new IllegalArgumentException("A deal cube cell has " + DIMENSIONS.size() + " dimensions");
+            }
+            int[] codes = new int[values.size()];
+            for (int d = 0; d < codes.length; d++) {
+                codes[d] = code(d, values.get(d));
+            }
+            Integer cell = cells.computeIfAbsent(Arrays.stream(codes).boxed().toList(), key -> {
+                coordinates.add(codes);
+                this.numberOfDeals.add(0L);
+                totals.add(new long[3]);
+                return coordinates.size() - 1;
+            });
+            this.numberOfDeals.set(cell, this.numberOfDeals.get(cell) + numberOfDeals);
+            long[] sums = totals.get(cell);
+            sums[PRINCIPAL] = Math.addExact(sums[PRINCIPAL], scaled(totalPrincipal));
+            sums[INTEREST_ACCRUED] = Math.addExact(sums[INTEREST_ACCRUED], scaled(interestAccrued));
+            sums[PV_FULL] = Math.addExact(sums[PV_FULL], scaled(totalPVFull));
+            return this;
+        }
+
+        public MoneyMarketDealCube build() {
+            return new MoneyMarketDealCube(this);
+        }
+
+        private int code(int dimension, String value) {
+            if (value == null) {
+                return -1;
+            }
+            return dictionaryCodes
+                .get(dimension)
+                .computeIfAbsent(value, added -> {
+                    List<String> dictionary = dictionaries.get(dimension);
+                    dictionary.add(added);
+                    return dictionary.size() - 1;
+                });
+        }
+
+        private static long scaled(BigDecimal amount) {
+            return amount == null ? 0 : amount.movePointRight(SCALE).longValueExact();
+        }
+    }
+}
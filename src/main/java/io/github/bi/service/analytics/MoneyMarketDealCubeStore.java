@@ -0,0 +1,115 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.repository.MoneyMarketListRepository;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Keeps the {@link MoneyMarketDealCube} of the active {@link MoneyMarketList}s in memory.
+ * <p>
+ * A cube is built in the background once a list becomes active, or when it is first asked for, by one
+ * {@code GROUP BY} query over the deals of the list; every slice and roll-up is then answered without the database.
+ * At most {@code application.analytics.max-cubes} lists are held.
+ */
+@Component
+public class MoneyMarketDealCubeStore extends ActiveListCache<MoneyMarketDealCube> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealCubeStore.class);
+
+    private static final String COLUMNS = "treasury_ledger, currency_code, deal_subtype, institution_type, counterparty_domicile";
+
+    private static final String SELECT_CELLS =
+        "select " +
+        COLUMNS +
+        ", count(*) as number_of_deals, sum(shilling_equivalent_principal) as total_principal, " +
+        "sum(shilling_equivalent_interest_accrued) as interest_accrued, sum(shilling_equivalent_pv_full) as total_pv_full " +
+        "from money_market_deal where money_market_list_id = ? and active = true group by " +
+        COLUMNS;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MoneyMarketDealCubeStore(
+        MoneyMarketListRepository moneyMarketListRepository,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MoneyMarketDealChanges moneyMarketDealChanges,
+        ApplicationProperties applicationProperties
+    ) {
+        super(
+            moneyMarketListRepository,
+            transactionManager,
+            taskExecutor,
+            moneyMarketDealChanges,
+            () -> true,
+            () -> applicationProperties.getAnalytics().getMaxCubes()
+        );
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The cube of a list, if the list is active.
+     */
+    public Optional<MoneyMarketDealCube> find(Long moneyMarketListId) {
+        return findOrLoad(moneyMarketListId);
+    }
+
+    @Override
+    protected MoneyMarketDealCube load(MoneyMarketList moneyMarketList) {
+        long started = System.nanoTime();
+        String[] columns = COLUMNS.split(", ");
+        MoneyMarketDealCube.Builder builder = MoneyMarketDealCube.builder(moneyMarketList.getId(), moneyMarketList.getReportDate());
+        jdbcTemplate.query(
+            SELECT_CELLS,
+            resultSet -> {
+                String[] values = new String[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    values[i] = resultSet.getString(columns[i]);
+                }
+                builder.add(
+                    Arrays.asList(values),
+                    resultSet.getLong("number_of_deals"),
+                    resultSet.getBigDecimal("total_principal"),
+                    resultSet.getBigDecimal("interest_accrued"),
+                    resultSet.getBigDecimal("total_pv_full")
+                );
+            },
+            moneyMarketList.getId()
+        );
+        MoneyMarketDealCube cube = builder.build();
+        LOG.info(
+            "Deal cube of MoneyMarketList {} built : {} cells in {} ms",
+            moneyMarketList.getId(),
+            cube.size(),
+            (System.nanoTime() - started) / 1_000_000
+        );
+        return cube;
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketDeal_;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import java.util.Arrays;
+
+/**
+ * An attribute of {@link MoneyMarketDeal} that deal aggregates can be grouped by.
+ */
+public enum MoneyMarketDealDimension {
+    TREASURY_LEDGER(MoneyMarketDeal_.TREASURY_LEDGER),
+    CURRENCY_CODE(MoneyMarketDeal_.CURRENCY_CODE),
+    DEAL_SUBTYPE(MoneyMarketDeal_.DEAL_SUBTYPE),
+    INSTITUTION_TYPE(MoneyMarketDeal_.INSTITUTION_TYPE),
+    COUNTER_PARTY_NAME(MoneyMarketDeal_.COUNTER_PARTY_NAME),
+    COUNTERPARTY_NATIONALITY(MoneyMarketDeal_.COUNTERPARTY_NATIONALITY),
+    COUNTERPARTY_DOMICILE(MoneyMarketDeal_.COUNTERPARTY_DOMICILE),
+    REPORT_DATE(MoneyMarketDeal_.REPORT_DATE);
+
+    private final String propertyName;
+
+    MoneyMarketDealDimension(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * The name of the dimension in the API: the name of the attribute, e.g. {@code treasuryLedger}.
+     */
+    public String propertyName() {
+        return propertyName;
+    }
+
+    public Path<?> path(Root<MoneyMarketDeal> root) {
+        return root.get(propertyName);
+    }
+
+    /**
+     * @throws IllegalArgumentException if no dimension has that name.
+     */
+    public static MoneyMarketDealDimension fromPropertyName(String name) {
+        return Arrays.stream(values())
+            .filter(dimension -> dimension.propertyName().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Deals cannot be grouped by " + name));
+    }
+}
@@ -0,0 +1,232 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.dto.MoneyMarketDealMaturityBucketDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The maturity ladder of the deals of one {@link io.github.bi.domain.MoneyMarketList}: the number of deals and the
+ * totals of their shilling equivalent principal and PV full per currency, ledger and maturity bucket.
+ * <p>
+ * The buckets run up to periods from the report date, e.g. overnight, a week and a month; a deal falls in the first
+ * bucket its maturity date is within, so overdue deals fall in the first one. Deals maturing past the last period
+ * share one more bucket. The ladder is built in a single pass over the deals, accumulating into {@code long} arrays
+ * scaled by 100; missing amounts count as zero. Instances are immutable.
+ * <p>
+ * The ladder is one of maturities only, not a repricing gap: the deals do not tell a rate-sensitive asset from a
+ * liability.
+ */
+public final class MoneyMarketDealMaturityLadder {
+
+    private static final int SCALE = 2;
+
+    private final Long moneyMarketListId;
+
+    private final LocalDate reportDate;
+
+    private final List<Period> boundaries;
+
+    private final int[] limits;
+
+    private final int buckets;
+
+    private final String[][] groups;
+
+    private final long[] numberOfDeals;
+
+    private final long[] totalPrincipal;
+
+    private final long[] totalPVFull;
+
+    private MoneyMarketDealMaturityLadder(Builder builder) {
+        this.moneyMarketListId = builder.moneyMarketListId;
+        this.reportDate = builder.reportDate;
+        this.boundaries = builder.boundaries;
+        this.limits = builder.limits;
+        this.buckets = builder.buckets;
+        this.groups = builder.groups.toArray(String[][]::new);
+        int cells = groups.length * buckets;
+        this.numberOfDeals = Arrays.copyOf(builder.numberOfDeals, cells);
+        this.totalPrincipal = Arrays.copyOf(builder.totalPrincipal, cells);
+        this.totalPVFull = Arrays.copyOf(builder.totalPVFull, cells);
+    }
+
+    /**
+     * @param boundaries The periods from the report date each bucket runs up to, increasing.
+     * @throws IllegalArgumentException if the periods do not end on increasing days after the report date.
+     */
+    public static Builder builder(Long moneyMarketListId, LocalDate reportDate, List<Period> boundaries) {
+        return new Builder(moneyMarketListId, reportDate, boundaries);
+    }
+
+    public Long getMoneyMarketListId() {
+        return moneyMarketListId;
+    }
+
+    public LocalDate getReportDate() {
+        return reportDate;
+    }
+
+    public List<Period> getBoundaries() {
+        return boundaries;
+    }
+
+    /**
+     * The buckets of the ladder, for every currency and ledger with deals, sorted by currency, ledger then maturity.
+     * @param currencyCode The currency to keep; all currencies if {@code null}.
+     * @param treasuryLedger The ledger to keep; all ledgers if {@code null}.
+     */
+    public List<MoneyMarketDealMaturityBucketDTO> buckets(String currencyCode, String treasuryLedger) {
+        Integer[] order = new Integer[groups.length];
+        Arrays.setAll(order, group -> group);
+        Comparator<String> nullsLast = Comparator.nullsLast(Comparator.naturalOrder());
+        Arrays.sort(order, Comparator.<Integer, String>comparing(group -> groups[group][0], nullsLast).thenComparing(
+            group -> groups[group][1],
+            nullsLast
+        ));
+        List<MoneyMarketDealMaturityBucketDTO> rows = new ArrayList<>();
+        for (int group : order) {
+            if (
+                (currencyCode != null && !currencyCode.equals(groups[group][0])) ||
+                (treasuryLedger != null && !treasuryLedger.equals(groups[group][1]))
+            ) {
+                continue;
+            }
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                int cell = group * buckets + bucket;
+                rows.add(
+                    new MoneyMarketDealMaturityBucketDTO(
+                        groups[group][0],
+                        groups[group][1],
+                        name(bucket),
+                        bucket == 0 ? null : LocalDate.ofEpochDay(limits[bucket - 1] + 1L),
+                        bucket < limits.length ? LocalDate.ofEpochDay(limits[bucket]) : null,
+                        numberOfDeals[cell],
+                        BigDecimal.valueOf(totalPrincipal[cell], SCALE),
+                        BigDecimal.valueOf(totalPVFull[cell], SCALE)
+                    )
+                );
+            }
+        }
+        return rows;
+    }
+
+    private String name(int bucket) {
+        return bucket < boundaries.size() ? boundaries.get(bucket).toString() : ">" + boundaries.get(boundaries.size() - 1);
+    }
+
+    /**
+     * Collects the deals of a ladder, one at a time.
+     */
+    public static final class Builder {
+
+        private final Long moneyMarketListId;
+
+        private final LocalDate reportDate;
+
+        private final List<Period> boundaries;
+
+        /**
+         * The last maturity date of each bucket, in epoch days.
+         */
+        private final int[] limits;
+
+        private final int buckets;
+
+        private final List<String[]> groups = new ArrayList<>();
+
+        private final Map<String, Map<String, Integer>> groupIndex = new HashMap<>();
+
+        private long[] numberOfDeals;
+
+        private long[] totalPrincipal;
+
+        private long[] totalPVFull;
+
+        private Builder(Long moneyMarketListId, LocalDate reportDate, List<Period> boundaries) {
+            this.moneyMarketListId = moneyMarketListId;
+            this.reportDate = Objects.requireNonNull(reportDate, "A maturity ladder needs a report date");
+            if (boundaries.isEmpty()) {
+                throw new IllegalArgumentException("A maturity ladder needs at least one bucket");
+            }
+            this.boundaries = List.copyOf(boundaries);
+            this.limits = new int[boundaries.size()];
+            for (int i = 0; i < limits.length; i++) {
+                limits[i] = Math.toIntExact(reportDate.plus(boundaries.get(i)).toEpochDay());
+                if (limits[i] <= (i == 0 ? reportDate.toEpochDay() : limits[i - 1])) {
+                    throw new IllegalArgumentException("The maturity buckets do not increase at " + boundaries.get(i));
+                }
+            }
+            this.buckets = limits.length + 1;
+            this.numberOfDeals = new long[16 * buckets];
+            this.totalPrincipal = new long[16 * buckets];
+            this.totalPVFull = new long[16 * buckets];
+        }
+
+        /**
+         * Add an active deal.
+         * @throws ArithmeticException if an amount has more decimals than the ladder, or does not fit a {@code long}.
+         */
+        public Builder add(String currencyCode, String treasuryLedger, LocalDate maturityDate, BigDecimal principal, BigDecimal pvFull) {
+            int cell = group(currencyCode, treasuryLedger) * buckets + bucket(maturityDate);
+            numberOfDeals[cell]++;
+            totalPrincipal[cell] = Math.addExact(totalPrincipal[cell], scaled(principal));
+            totalPVFull[cell] = Math.addExact(totalPVFull[cell], scaled(pvFull));
+            return this;
+        }
+
+        public MoneyMarketDealMaturityLadder build() {
+            return new MoneyMarketDealMaturityLadder(this);
+        }
+
+        private int bucket(LocalDate maturityDate) {
+            int found = Arrays.binarySearch(limits, Math.toIntExact(maturityDate.toEpochDay()));
+            return found >= 0 ? found : -found - 1;
+        }
+
+        private int group(String currencyCode, String treasuryLedger) {
+            return groupIndex
+                .computeIfAbsent(currencyCode, currency -> new HashMap<>())
+                .computeIfAbsent(treasuryLedger, ledger -> {
+                    groups.add(new String[] { currencyCode, treasuryLedger });
+                    int cells = groups.size() * buckets;
+                    if (cells > numberOfDeals.length) {
+                        numberOfDeals = Arrays.copyOf(numberOfDeals, 2 * cells);
+                        totalPrincipal = Arrays.copyOf(totalPrincipal, 2 * cells);
+                        totalPVFull = Arrays.copyOf(totalPVFull, 2 * cells);
+                    }
+                    return groups.size() - 1;
+                });
+        }
+
+        private static long scaled(BigDecimal amount) {
+            return amount == null ? 0 : amount.movePointRight(SCALE).longValueExact();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.repository.MoneyMarketListRepository;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Keeps the {@link MoneyMarketDealMaturityLadder}s of the active {@link MoneyMarketList}s in memory.
+ * <p>
+ * A ladder is built in the background once a list becomes active, or when it is first asked for, in one pass over
+ * the active deals of the list streamed from the database, with the buckets of
+ * {@code application.analytics.maturity-buckets}. An active list does not change, so its ladder is held until the
+ * list stops being active, its deals are written, or it is the least recently used of more than
+ * {@code application.analytics.max-ladders}.
+ */
+@Component
+public class MoneyMarketDealMaturityLadderStore extends ActiveListCache<MoneyMarketDealMaturityLadder> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealMaturityLadderStore.class);
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String SELECT_DEALS =
+        "select currency_code, treasury_ledger, maturity_date, shilling_equivalent_principal, shilling_equivalent_pv_full " +
+        "from money_market_deal where money_market_list_id = ? and active = true";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationProperties.Analytics properties;
+
+    public MoneyMarketDealMaturityLadderStore(
+        MoneyMarketListRepository moneyMarketListRepository,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MoneyMarketDealChanges moneyMarketDealChanges,
+        ApplicationProperties applicationProperties
+    ) {
+        super(
+            moneyMarketListRepository,
+            transactionManager,
+            taskExecutor,
+            moneyMarketDealChanges,
+            () -> true,
+            () -> applicationProperties.getAnalytics().getMaxLadders()
+        );
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getAnalytics();
+    }
+
+    /**
+     * The maturity ladder of a list, if the list is active.
+     */
+    public Optional<MoneyMarketDealMaturityLadder> find(Long moneyMarketListId) {
+        return findOrLoad(moneyMarketListId);
+    }
+
+    @Override
+    protected MoneyMarketDealMaturityLadder load(MoneyMarketList moneyMarketList) {
+        long started = System.nanoTime();
+        MoneyMarketDealMaturityLadder.Builder builder = MoneyMarketDealMaturityLadder.builder(
+            moneyMarketList.getId(),
+            moneyMarketList.getReportDate(),
+            properties.getMaturityBuckets()
+        );
+        long[] deals = new long[1];
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_DEALS);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setLong(1, moneyMarketList.getId());
+                return statement;
+            },
+            resultSet -> {
+                builder.add(
+                    resultSet.getString(1),
+                    resultSet.getString(2),
+                    resultSet.getObject(3, LocalDate.class),
+                    resultSet.getBigDecimal(4),
+                    resultSet.getBigDecimal(5)
+                );
+                deals[0]++;
+            }
+        );
+        MoneyMarketDealMaturityLadder ladder = builder.build();
+        LOG.info(
+            "Maturity ladder of MoneyMarketList {} built : {} deals in {} ms",
+            moneyMarketList.getId(),
+            deals[0],
+            (System.nanoTime() - started) / 1_000_000
+        );
+        return ladder;
+    }
+}
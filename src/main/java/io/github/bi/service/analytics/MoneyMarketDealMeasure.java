@@ -0,0 +1,130 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketDeal_;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * A figure computed over a group of {@link MoneyMarketDeal}s by a deal aggregate.
+ * <p>
+ * The weighted interest rate weighs the rate of each deal by its shilling equivalent principal, so that deals in
+ * different currencies are comparable; deals without a rate are left out of both sides of the average.
+ */
+public enum MoneyMarketDealMeasure {
+    COUNT("count", 0) {
+        @Override
+        public Expression<? extends Number> expression(CriteriaBuilder cb, Root<MoneyMarketDeal> root) {
+            return cb.count(root);
+        }
+    },
+    SUM_PRINCIPAL("sumPrincipal", 2) {
+        @Override
+        public Expression<? extends Number> expression(CriteriaBuilder cb, Root<MoneyMarketDeal> root) {
+            return cb.sum(root.<BigDecimal>get(MoneyMarketDeal_.PRINCIPAL_AMOUNT));
+        }
+    },
+    AVG_PRINCIPAL("avgPrincipal", 2) {
+        @Override
+        public Expression<? extends Number> expression(CriteriaBuilder cb, Root<MoneyMarketDeal> root) {
+            return cb.avg(root.<BigDecimal>get(MoneyMarketDeal_.PRINCIPAL_AMOUNT));
+        }
+    },
+    SUM_SHILLING_EQUIVALENT_PRINCIPAL("sumShillingEquivalentPrincipal", 2) {
+        @Override
+        public Expression<? extends Number> expression(CriteriaBuilder cb, Root<MoneyMarketDeal> root) {
+            return cb.sum(root.<BigDecimal>get(MoneyMarketDeal_.SHILLING_EQUIVALENT_PRINCIPAL));
+        }
+    },
+    AVG_SHILLING_EQUIVALENT_PRINCIPAL("avgShillingEquivalentPrincipal", 2) {
+        @Override
+        public Expression<? extends Number> expression(CriteriaBuilder cb, Root<MoneyMarketDeal> root) {
+            return cb.avg(root.<BigDecimal>get(MoneyMarketDeal_.SHILLING_EQUIVALENT_PRINCIPAL));
+        }
+    },
+    SUM_SHILLING_EQUIVALENT_INTEREST_ACCRUED("sumShillingEquivalentInterestAccrued", 2) {
+        @Override
+        public Expression<? extends Number> expression(CriteriaBuilder cb, Root<MoneyMarketDeal> root) {
+            return cb.sum(root.<BigDecimal>get(MoneyMarketDeal_.SHILLING_EQUIVALENT_INTEREST_ACCRUED));
+        }
+    },
+    SUM_SHILLING_EQUIVALENT_PV_FULL("sumShillingEquivalentPVFull", 2) {
+        @Override
+        public Expression<? extends Number> expression(CriteriaBuilder cb, Root<MoneyMarketDeal> root) {
+            return cb.sum(root.<BigDecimal>get(MoneyMarketDeal_.SHILLING_EQUIVALENT_PVFULL));
+        }
+    },
+    WEIGHTED_INTEREST_RATE("weightedInterestRate", 6) {
+        @Override
+        public Expression<? extends Number> expression(CriteriaBuilder cb, Root<MoneyMarketDeal> root) {
+            Expression<BigDecimal> rate = root.get(MoneyMarketDeal_.INTEREST_RATE);
+            Expression<BigDecimal> principal = root.get(MoneyMarketDeal_.SHILLING_EQUIVALENT_PRINCIPAL);
+            Expression<BigDecimal> weight = cb
+                .<BigDecimal>selectCase()
+                .when(cb.isNotNull(rate), principal)
+                .otherwise(cb.nullLiteral(BigDecimal.class));
+            return cb.quot(cb.sum(cb.prod(rate, principal)), cb.nullif(cb.sum(weight), BigDecimal.ZERO));
+        }
+    };
+
+    private final String propertyName;
+
+    private final int scale;
+
+    MoneyMarketDealMeasure(String propertyName, int scale) {
+        this.propertyName = propertyName;
+        this.scale = scale;
+    }
+
+    /**
+     * The name of the measure in the API, e.g. {@code sumPrincipal}.
+     */
+    public String propertyName() {
+        return propertyName;
+    }
+
+    public abstract Expression<? extends Number> expression(CriteriaBuilder cb, Root<MoneyMarketDeal> root);
+
+    /**
+     * The value the database computed, as a count or as a decimal rounded to the scale of the measure.
+     */
+    public Number normalize(Number value) {
+        if (value == null || this == COUNT) {
+            return value;
+        }
+        BigDecimal decimal = value instanceof BigDecimal bigDecimal ? bigDecimal : new BigDecimal(value.toString());
+        return decimal.setScale(scale, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * @throws IllegalArgumentException if no measure has that name.
+     */
+    public static MoneyMarketDealMeasure fromPropertyName(String name) {
+        return Arrays.stream(values())
+            .filter(measure -> measure.propertyName().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown deal measure " + name));
+    }
+}
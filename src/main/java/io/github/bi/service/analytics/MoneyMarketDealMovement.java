@@ -0,0 +1,45 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * How a deal, known by its deal number, moved from one list to a later one.
+ */
+public enum MoneyMarketDealMovement {
+    /**
+     * The deal is only in the later list.
+     */
+    NEW,
+    /**
+     * The deal is only in the earlier list.
+     */
+    MATURED,
+    /**
+     * The deal settles or matures on another date in the later list.
+     */
+    ROLLED,
+    /**
+     * The principal, interest rate, currency or counterparty of the deal changed, but not its dates.
+     */
+    AMENDED,
+    /**
+     * Only the amounts that accrue from day to day changed, if anything.
+     */
+    UNCHANGED,
+}
@@ -0,0 +1,173 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.dto.MoneyMarketDealMovementDTO;
+import io.github.bi.service.dto.MoneyMarketDealMovementTotalDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Classifies the deals of two lists by deal number with a sorted-merge join.
+ * <p>
+ * Both lists are read once, in increasing deal number order, one deal of each at a time, so the memory taken does
+ * not depend on the size of the lists. A deal number found more than once in a list is paired with its occurrences in
+ * the other list in the order they come. Missing amounts count as zero.
+ */
+public final class MoneyMarketDealMovementMerge {
+
+    private final Map<MoneyMarketDealMovement, long[]> counts = new EnumMap<>(MoneyMarketDealMovement.class);
+
+    private final Map<MoneyMarketDealMovement, BigDecimal[]> deltas = new EnumMap<>(MoneyMarketDealMovement.class);
+
+    private MoneyMarketDealMovementMerge() {
+        for (MoneyMarketDealMovement movement : MoneyMarketDealMovement.values()) {
+            counts.put(movement, new long[1]);
+            deltas.put(movement, new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO });
+        }
+    }
+
+    /**
+     * Merge the deals of two lists, both sorted by deal number.
+     * @param previous The deals of the earlier list.
+     * @param current The deals of the later list.
+     * @param movements Takes the movement of every deal, in deal number order.
+     * @return the totals of each kind of movement, in the order of {@link MoneyMarketDealMovement}.
+     * @throws IllegalStateException if the deals of a list are not sorted by deal number.
+     */
+    public static List<MoneyMarketDealMovementTotalDTO> merge(
+        Iterator<MoneyMarketDealPosition> previous,
+        Iterator<MoneyMarketDealPosition> current,
+        Consumer<MoneyMarketDealMovementDTO> movements
+    ) {
+        MoneyMarketDealMovementMerge merge = new MoneyMarketDealMovementMerge();
+        Cursor before = new Cursor(previous);
+        Cursor after = new Cursor(current);
+        while (before.head != null || after.head != null) {
+            int order = before.head == null
+                ? 1
+                : after.head == null ? -1 : before.head.dealNumber().compareTo(after.head.dealNumber());
+            MoneyMarketDealPosition earlier = order <= 0 ? before.next() : null;
+            MoneyMarketDealPosition later = order >= 0 ? after.next() : null;
+            movements.accept(merge.movement(earlier, later));
+        }
+        return merge.totals();
+    }
+
+    private MoneyMarketDealMovementDTO movement(MoneyMarketDealPosition earlier, MoneyMarketDealPosition later) {
+        MoneyMarketDealMovement movement = classify(earlier, later);
+        BigDecimal principalDelta = delta(earlier, later, MoneyMarketDealPosition::shillingEquivalentPrincipal);
+        BigDecimal interestAccruedDelta = delta(earlier, later, MoneyMarketDealPosition::shillingEquivalentInterestAccrued);
+        BigDecimal pvFullDelta = delta(earlier, later, MoneyMarketDealPosition::shillingEquivalentPVFull);
+        counts.get(movement)[0]++;
+        BigDecimal[] sums = deltas.get(movement);
+        sums[0] = sums[0].add(principalDelta);
+        sums[1] = sums[1].add(interestAccruedDelta);
+        sums[2] = sums[2].add(pvFullDelta);
+        return new MoneyMarketDealMovementDTO(
+            (earlier != null ? earlier : later).dealNumber(),
+            movement.name(),
+            earlier == null ? null : earlier.maturityDate(),
+            later == null ? null : later.maturityDate(),
+            principalDelta,
+            interestAccruedDelta,
+            pvFullDelta
+        );
+    }
+
+    static MoneyMarketDealMovement classify(MoneyMarketDealPosition earlier, MoneyMarketDealPosition later) {
+        if (earlier == null) {
+            return MoneyMarketDealMovement.NEW;
+        }
+        if (later == null) {
+            return MoneyMarketDealMovement.MATURED;
+        }
+        if (
+            !Objects.equals(earlier.settlementDate(), later.settlementDate()) ||
+            !Objects.equals(earlier.maturityDate(), later.maturityDate())
+        ) {
+            return MoneyMarketDealMovement.ROLLED;
+        }
+        if (
+            !sameAmount(earlier.principalAmount(), later.principalAmount()) ||
+            !sameAmount(earlier.interestRate(), later.interestRate()) ||
+            !Objects.equals(earlier.currencyCode(), later.currencyCode()) ||
+            !Objects.equals(earlier.counterPartyName(), later.counterPartyName())
+        ) {
+            return MoneyMarketDealMovement.AMENDED;
+        }
+        return MoneyMarketDealMovement.UNCHANGED;
+    }
+
+    private List<MoneyMarketDealMovementTotalDTO> totals() {
+        List<MoneyMarketDealMovementTotalDTO> totals = new ArrayList<>();
+        for (MoneyMarketDealMovement movement : MoneyMarketDealMovement.values()) {
+            BigDecimal[] sums = deltas.get(movement);
+            totals.add(new MoneyMarketDealMovementTotalDTO(movement.name(), counts.get(movement)[0], sums[0], sums[1], sums[2]));
+        }
+        return totals;
+    }
+
+    private static BigDecimal delta(
+        MoneyMarketDealPosition earlier,
+        MoneyMarketDealPosition later,
+        Function<MoneyMarketDealPosition, BigDecimal> amount
+    ) {
+        return valueOf(later == null ? null : amount.apply(later)).subtract(valueOf(earlier == null ? null : amount.apply(earlier)));
+    }
+
+    private static boolean sameAmount(BigDecimal left, BigDecimal right) {
+        return left == null ? right == null : right != null && left.compareTo(right) == 0;
+    }
+
+    private static BigDecimal valueOf(BigDecimal amount) {
+        return amount == null ? BigDecimal.ZERO : amount;
+    }
+
+    /**
+     * The deals of one list, one ahead.
+     */
+    private static final class Cursor {
+
+        private final Iterator<MoneyMarketDealPosition> deals;
+
+        private MoneyMarketDealPosition head;
+
+        private Cursor(Iterator<MoneyMarketDealPosition> deals) {
+            this.deals = deals;
+            this.head = deals.hasNext() ? deals.next() : null;
+        }
+
+        private MoneyMarketDealPosition next() {
+            MoneyMarketDealPosition taken = head;
+            head = deals.hasNext() ? deals.next() : null;
+            if (head != null && head.dealNumber().compareTo(taken.dealNumber()) < 0) {
+                throw new IllegalStateException("Deals are not sorted by deal number at " + head.dealNumber());
+            }
+            return taken;
+        }
+    }
+}
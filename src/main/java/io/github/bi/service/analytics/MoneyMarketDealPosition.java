@@ -0,0 +1,38 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The values of a deal that two lists are compared on.
+ */
+public record MoneyMarketDealPosition(
+    String dealNumber,
+    LocalDate settlementDate,
+    LocalDate maturityDate,
+    String currencyCode,
+    String counterPartyName,
+    BigDecimal principalAmount,
+    BigDecimal interestRate,
+    BigDecimal shillingEquivalentPrincipal,
+    BigDecimal shillingEquivalentInterestAccrued,
+    BigDecimal shillingEquivalentPVFull
+) {}
@@ -0,0 +1,138 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.repository.MoneyMarketListRepository;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Keeps the deals of the active {@link MoneyMarketList}s in memory as {@link MoneyMarketDealColumns}.
+ * <p>
+ * A snapshot is built in the background once a list becomes active, or the first time a list that is already
+ * active is asked for, by streaming its deals from the database without loading entities. Until it is ready,
+ * callers have to ask the database. At most {@code application.analytics.max-snapshots} lists are held.
+ */
+@Component
+public class MoneyMarketDealSnapshotStore extends ActiveListCache<MoneyMarketDealColumns> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealSnapshotStore.class);
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String SELECT_DEALS =
+        "select active, treasury_ledger, currency_code, deal_subtype, institution_type, counter_party_name, counterparty_nationality, " +
+        "counterparty_domicile, principal_amount, interest_rate, shilling_equivalent_principal, " +
+        "shilling_equivalent_interest_accrued, shilling_equivalent_pv_full, maturity_date, settlement_date, end_date " +
+        "from money_market_deal where money_market_list_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MoneyMarketDealSnapshotStore(
+        MoneyMarketListRepository moneyMarketListRepository,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MoneyMarketDealChanges moneyMarketDealChanges,
+        ApplicationProperties applicationProperties
+    ) {
+        super(
+            moneyMarketListRepository,
+            transactionManager,
+            taskExecutor,
+            moneyMarketDealChanges,
+            () -> applicationProperties.getAnalytics().isSnapshotsEnabled(),
+            () -> applicationProperties.getAnalytics().getMaxSnapshots()
+        );
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The snapshot of a list, if the list is active and its snapshot is ready.
+     */
+    public Optional<MoneyMarketDealColumns> find(Long moneyMarketListId) {
+        return findLoaded(moneyMarketListId);
+    }
+
+    @Override
+    protected MoneyMarketDealColumns load(MoneyMarketList moneyMarketList) {
+        long started = System.nanoTime();
+        MoneyMarketDealColumns.Builder builder = MoneyMarketDealColumns.builder(moneyMarketList.getId(), moneyMarketList.getReportDate());
+        // one deal is reused for every row, it only carries the values to the builder
+        MoneyMarketDeal deal = new MoneyMarketDeal();
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_DEALS);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setLong(1, moneyMarketList.getId());
+                return statement;
+            },
+            (ResultSet resultSet) -> {
+                builder.add(read(resultSet, deal));
+            }
+        );
+        MoneyMarketDealColumns snapshot = builder.build();
+        LOG.info(
+            "Deal snapshot of MoneyMarketList {} built : {} deals, about {} KB, in {} ms",
+            moneyMarketList.getId(),
+            snapshot.size(),
+            snapshot.estimatedBytes() / 1024,
+            (System.nanoTime() - started) / 1_000_000
+        );
+        return snapshot;
+    }
+
+    private static MoneyMarketDeal read(ResultSet resultSet, MoneyMarketDeal deal) throws SQLException {
+        deal.setActive(resultSet.getBoolean("active"));
+        deal.setTreasuryLedger(resultSet.getString("treasury_ledger"));
+        deal.setCurrencyCode(resultSet.getString("currency_code"));
+        deal.setDealSubtype(resultSet.getString("deal_subtype"));
+        deal.setInstitutionType(resultSet.getString("institution_type"));
+        deal.setCounterPartyName(resultSet.getString("counter_party_name"));
+        deal.setCounterpartyNationality(resultSet.getString("counterparty_nationality"));
+        deal.setCounterpartyDomicile(resultSet.getString("counterparty_domicile"));
+        deal.setPrincipalAmount(resultSet.getBigDecimal("principal_amount"));
+        deal.setInterestRate(resultSet.getBigDecimal("interest_rate"));
+        deal.setShillingEquivalentPrincipal(resultSet.getBigDecimal("shilling_equivalent_principal"));
+        deal.setShillingEquivalentInterestAccrued(resultSet.getBigDecimal("shilling_equivalent_interest_accrued"));
+        deal.setShillingEquivalentPVFull(resultSet.getBigDecimal("shilling_equivalent_pv_full"));
+        deal.setMaturityDate(toLocalDate(resultSet.getDate("maturity_date")));
+        deal.setSettlementDate(toLocalDate(resultSet.getDate("settlement_date")));
+        deal.setEndDate(toLocalDate(resultSet.getDate("end_date")));
+        return deal;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.bi.service.cache;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import io.github.bi.service.dto.MoneyMarketDealDTO;
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Results of deal listings and counts, shared by the nodes of the cluster in a Hazelcast map.
+ * <p>
+ * A result is keyed by a canonical form of its {@link MoneyMarketDealCriteria}, its {@link Pageable}, and the
+ * {@link MoneyMarketDealVersions} of the deals it may hold: those of the lists it filters on by {@code equals} or
+ * {@code in}, else those of the report dates it filters on so, else all deals. Results are never found again once
+ * deals they may hold are written, and are evicted when the least recently used, rather than after a time to live.
+ * Results are only cached by read-only transactions, which cannot see writes still to commit.
+ */
+@Component
+public class MoneyMarketDealQueryCache {
+
+    public static final String RESULTS = "moneyMarketDealQueryResults";
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealQueryCache.class);
+
+    private static final List<Method> FILTER_GETTERS = filterGetters();
+
+    private final IMap<String, Serializable> results;
+
+    private final MoneyMarketDealVersions moneyMarketDealVersions;
+
+    private final ApplicationProperties.QueryCache properties;
+
+    public MoneyMarketDealQueryCache(
+        HazelcastInstance hazelcastInstance,
+        MoneyMarketDealVersions moneyMarketDealVersions,
+        ApplicationProperties applicationProperties
+    ) {
+        this.results = hazelcastInstance.getMap(RESULTS);
+        this.moneyMarketDealVersions = moneyMarketDealVersions;
+        this.properties = applicationProperties.getQueryCache();
+    }
+
+    /**
+     * The page of deals matching the criteria, as cached, or as queried and then cached.
+     */
+    public Page<MoneyMarketDealDTO> page(MoneyMarketDealCriteria criteria, Pageable page, Supplier<Page<MoneyMarketDealDTO>> query) {
+        String key = key("page", criteria, page);
+        if (key == null) {
+            return query.get();
+        }
+        if (results.get(key) instanceof CachedPage cached) {
+            LOG.debug("Cached page of deals : {}", key);
+            return new PageImpl<>(cached.content(), page, cached.total());
+        }
+        Page<MoneyMarketDealDTO> result = query.get();
+        results.set(key, new CachedPage(new ArrayList<>(result.getContent()), result.getTotalElements()));
+        return result;
+    }
+
+    /**
+     * The number of deals matching the criteria, as cached, or as counted and then cached.
+     */
+    public long count(MoneyMarketDealCriteria criteria, LongSupplier query) {
+        String key = key("count", criteria, Pageable.unpaged());
+        if (key == null) {
+            return query.getAsLong();
+        }
+        if (results.get(key) instanceof Long cached) {
+            LOG.debug("Cached count of deals : {}", key);
+            return cached;
+        }
+        long result = query.getAsLong();
+        results.set(key, result);
+        return result;
+    }
+
+    private String key(String kind, MoneyMarketDealCriteria criteria, Pageable page) {
+        if (!properties.isEnabled() || !isReadOnly()) {
+            return null;
+        }
+        MoneyMarketDealCriteria filters = criteria == null ? new MoneyMarketDealCriteria() : criteria;
+        String versions = moneyMarketDealVersions.of(scopes(filters, properties.getMaxPinnedScopes()));
+        return kind + '|' + canonical(filters) + '|' + canonical(page) + '|' + versions;
+    }
+
+    private static boolean isReadOnly() {
+        return (
+            !TransactionSynchronizationManager.isActualTransactionActive() ||
+            TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        );
+    }
+
+    /**
+     * The scopes of the versions the deals matching the criteria depend on.
+     */
+    static List<String> scopes(MoneyMarketDealCriteria criteria, int maxPinnedScopes) {
+        List<Long> moneyMarketListIds = pinned(criteria.getMoneyMarketListId(), maxPinnedScopes);
+        if (moneyMarketListIds != null) {
+            return moneyMarketListIds.stream().map(MoneyMarketDealVersions::listScope).toList();
+        }
+        List<LocalDate> reportDates = pinned(criteria.getReportDate(), maxPinnedScopes);
+        if (reportDates != null) {
+            return reportDates.stream().map(MoneyMarketDealVersions::reportDateScope).toList();
+        }
+        return List.of(MoneyMarketDealVersions.ALL_DEALS);
+    }
+
+    private static <T> List<T> pinned(Filter<T> filter, int maxPinnedScopes) {
+        if (filter == null) {
+            return null;
+        }
+        if (filter.getEquals() != null) {
+            return List.of(filter.getEquals());
+        }
+        if (filter.getIn() != null && !filter.getIn().isEmpty() && filter.getIn().size() <= maxPinnedScopes) {
+            return filter.getIn().stream().distinct().toList();
+        }
+        return null;
+    }
+
+    /**
+     * The conditions of the criteria, by property, with the values of {@code in} and {@code notIn} sorted and distinct,
+     * so that criteria matching the same deals the same way have the same form. Values are prefixed by their length.
+     */
+    static String canonical(MoneyMarketDealCriteria criteria) {
+        StringBuilder canonical = new StringBuilder();
+        for (Method getter : FILTER_GETTERS) {
+            Filter<?> filter;
+            try {
+                filter = (Filter<?>) getter.invoke(criteria);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read " + getter.getName() + " of MoneyMarketDealCriteria", e);
+            }
+            if (filter == null) {
+                continue;
+            }
+            StringBuilder conditions = new StringBuilder();
+            condition(conditions, "equals", filter.getEquals());
+            condition(conditions, "notEquals", filter.getNotEquals());
+            condition(conditions, "specified", filter.getSpecified());
+            condition(conditions, "in", values(filter.getIn()));
+            condition(conditions, "notIn", values(filter.getNotIn()));
+            if (filter instanceof RangeFilter<?> range) {
+                condition(conditions, "greaterThan", range.getGreaterThan());
+                condition(conditions, "greaterThanOrEqual", range.getGreaterThanOrEqual());
+                condition(conditions, "lessThan", range.getLessThan());
+                condition(conditions, "lessThanOrEqual", range.getLessThanOrEqual());
+            }
+            if (filter instanceof StringFilter string) {
+                condition(conditions, "contains", string.getContains());
+                condition(conditions, "doesNotContain", string.getDoesNotContain());
+            }
+            if (!conditions.isEmpty()) {
+                canonical.append(getter.getName().substring(3)).append('(').append(conditions).append(')');
+            }
+        }
+        if (Boolean.TRUE.equals(criteria.getDistinct())) {
+            canonical.append("distinct");
+        }
+        return canonical.toString();
+    }
+
+    private static String canonical(Pageable page) {
+        return (page.isPaged() ? page.getPageNumber() + "x" + page.getPageSize() : "unpaged") + ' ' + page.getSort();
+    }
+
+    private static void condition(StringBuilder conditions, String name, Object value) {
+        if (value != null) {
+            String text = value.toString();
+            conditions.append(name).append('=').append(text.length()).append(':').append(text).append(';');
+        }
+    }
+
+    private static String values(List<?> values) {
+        if (values == null) {
+            return null;
+        }
+        return values
+            .stream()
+            .map(String::valueOf)
+            .distinct()
+            .sorted()
+            .map(value -> value.length() + ":" + value)
+            .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static List<Method> filterGetters() {
+        List<Method> getters = new ArrayList<>();
+        for (Method method : MoneyMarketDealCriteria.class.getMethods()) {
+            if (
+                method.getName().startsWith("get") &&
+                method.getParameterCount() == 0 &&
+                !Modifier.isStatic(method.getModifiers()) &&
+                Filter.class.isAssignableFrom(method.getReturnType())
+            ) {
+                getters.add(method);
+            }
+        }
+        getters.sort(Comparator.comparing(Method::getName));
+        return List.copyOf(getters);
+    }
+
+    /**
+     * The content and total of a page, without its {@link Pageable}, which is part of the key.
+     */
+    record CachedPage(ArrayList<MoneyMarketDealDTO> content, long total) implements Serializable {}
+}
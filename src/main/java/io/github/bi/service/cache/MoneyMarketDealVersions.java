@@ -0,0 +1,139 @@
+package io.github.bi.service.cache;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.repository.MoneyMarketListRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Version counters of the deals of each {@link MoneyMarketList}, of each report date, and of all deals, shared by
+ * the nodes of the cluster in a Hazelcast map.
+ * <p>
+ * A result computed from the deals of some scopes is cached under the versions of these scopes, read before it is
+ * computed: once a write bumps one of them, the result is not found again. The counters of a list, of its report
+ * date and of all deals are bumped once the transaction writing deals of the list commits; a deal written with a
+ * report date of its own also bumps that date. The epoch is bumped when deals go in bulk, and changes every version.
+ */
+@Component
+public class MoneyMarketDealVersions {
+
+    public static final String VERSIONS = "moneyMarketDealVersions";
+
+    static final String ALL_DEALS = "all";
+
+    private static final String EPOCH = "epoch";
+
+    private final IMap<String, Long> versions;
+
+    private final MoneyMarketListRepository moneyMarketListRepository;
+
+    public MoneyMarketDealVersions(HazelcastInstance hazelcastInstance, MoneyMarketListRepository moneyMarketListRepository) {
+        this.versions = hazelcastInstance.getMap(VERSIONS);
+        this.moneyMarketListRepository = moneyMarketListRepository;
+    }
+
+    static String listScope(Long moneyMarketListId) {
+        return "list:" + moneyMarketListId;
+    }
+
+    static String reportDateScope(LocalDate reportDate) {
+        return "reportDate:" + reportDate;
+    }
+
+    /**
+     * Deals of a list, or the list itself, are written in the current transaction; deals without a list when the
+     * list is {@code null}. The report date of the list is the one it has now.
+     */
+    public void changed(Long moneyMarketListId) {
+        changed(moneyMarketListId, null);
+    }
+
+    /**
+     * A deal of a list is written in the current transaction, with the report date it had or now has, which need not
+     * be the one of its list.
+     */
+    public void changed(Long moneyMarketListId, LocalDate reportDate) {
+        List<String> scopes = new ArrayList<>(List.of(ALL_DEALS));
+        if (reportDate != null) {
+            scopes.add(reportDateScope(reportDate));
+        }
+        if (moneyMarketListId != null) {
+            scopes.add(listScope(moneyMarketListId));
+            moneyMarketListRepository
+                .findById(moneyMarketListId)
+                .map(MoneyMarketList::getReportDate)
+                .map(MoneyMarketDealVersions::reportDateScope)
+                .ifPresent(scopes::add);
+        }
+        afterCommit(() -> scopes.forEach(this::bump));
+    }
+
+    /**
+     * Deals of any list are removed, or written without telling which, in the current transaction.
+     */
+    public void changedAll() {
+        afterCommit(() -> bump(EPOCH));
+    }
+
+    /**
+     * The current versions of some scopes and the epoch, as a part of the key of a result computed from their deals.
+     */
+    String of(Collection<String> scopes) {
+        Set<String> keys = new LinkedHashSet<>(scopes);
+        keys.add(EPOCH);
+        Map<String, Long> current = versions.getAll(keys);
+        StringBuilder tag = new StringBuilder();
+        for (String key : keys) {
+            tag.append(key).append('=').append(current.getOrDefault(key, 0L)).append(';');
+        }
+        return tag.toString();
+    }
+
+    private void bump(String scope) {
+        // not serializable, so Hazelcast merges locally, by compare and set
+        versions.merge(scope, 1L, Long::sum);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+}
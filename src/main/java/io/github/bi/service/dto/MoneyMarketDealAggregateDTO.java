@@ -0,0 +1,31 @@
+package io.github.bi.service.dto;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * One group of a deal aggregate: the values of the dimensions the deals were grouped by, and the measures computed
+ * over the deals of the group, each keyed by its name in the API.
+ *
+ * @param dimensions the value of each dimension, in the order requested.
+ * @param measures the value of each measure, in the order requested.
+ */
+public record MoneyMarketDealAggregateDTO(Map<String, Object> dimensions, Map<String, Number> measures) implements Serializable {}
@@ -0,0 +1,45 @@
+package io.github.bi.service.dto;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The concentration of the active deals of a report date on their counterparties.
+ *
+ * @param reportDate the report date.
+ * @param numberOfCounterparties the number of counterparties with a positive principal.
+ * @param totalPrincipal the total shilling equivalent principal of those counterparties.
+ * @param topTenShare the share of the ten largest counterparties in the total, as a fraction.
+ * @param herfindahlIndex the sum of the squared shares of all counterparties, in percent squared: from near 0 when
+ * spread over many counterparties up to 10000 for a single one.
+ * @param topCounterparties the largest counterparties, largest first.
+ */
+public record MoneyMarketDealConcentrationDTO(
+    LocalDate reportDate,
+    int numberOfCounterparties,
+    BigDecimal totalPrincipal,
+    BigDecimal topTenShare,
+    BigDecimal herfindahlIndex,
+    List<MoneyMarketDealCounterpartyExposureDTO> topCounterparties
+)
+    implements Serializable {}
@@ -0,0 +1,42 @@
+package io.github.bi.service.dto;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * The active deals of one counterparty on a report date.
+ *
+ * @param counterPartyName the name of the counterparty.
+ * @param counterpartyDomicile the domicile of the counterparty.
+ * @param institutionType the type of institution of the counterparty.
+ * @param numberOfDeals the number of deals with the counterparty.
+ * @param totalPrincipal the total shilling equivalent principal of the deals.
+ * @param share the share of the counterparty in the principal of all counterparties, as a fraction.
+ */
+public record MoneyMarketDealCounterpartyExposureDTO(
+    String counterPartyName,
+    String counterpartyDomicile,
+    String institutionType,
+    long numberOfDeals,
+    BigDecimal totalPrincipal,
+    BigDecimal share
+)
+    implements Serializable {}
@@ -0,0 +1,42 @@
+package io.github.bi.service.dto;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * One cell of a deal cube rolled up to some of its dimensions: the values of those dimensions, keyed by their name in
+ * the API, and the totals of the active deals of the cell.
+ *
+ * @param dimensions the value of each kept dimension, in the order requested.
+ * @param numberOfDeals the number of deals of the cell.
+ * @param totalPrincipal the total shilling equivalent principal.
+ * @param interestAccrued the total shilling equivalent interest accrued.
+ * @param totalPVFull the total shilling equivalent PV full.
+ */
+public record MoneyMarketDealCubeCellDTO(
+    Map<String, String> dimensions,
+    long numberOfDeals,
+    BigDecimal totalPrincipal,
+    BigDecimal interestAccrued,
+    BigDecimal totalPVFull
+)
+    implements Serializable {}
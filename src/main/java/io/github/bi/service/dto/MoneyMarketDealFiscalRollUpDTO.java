@@ -0,0 +1,69 @@
+package io.github.bi.service.dto;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The daily deal summaries of one ledger rolled up over a fiscal month, quarter or year.
+ *
+ * @param periodType {@code MONTH}, {@code QUARTER} or {@code YEAR}.
+ * @param periodId the id of the fiscal month, quarter or year.
+ * @param fiscalYearId the id of the fiscal year the period belongs to.
+ * @param periodCode the code of the period.
+ * @param startDate the first day of the period.
+ * @param endDate the last day of the period.
+ * @param ledger the ledger summarised.
+ * @param daysReported the number of days of the period with deals reported.
+ * @param averagePrincipal the total principal averaged over the days reported.
+ * @param averageInterestAccrued the interest accrued averaged over the days reported.
+ * @param averagePVFull the total PV full averaged over the days reported.
+ * @param closingReportDate the last day reported.
+ * @param closingNumberOfDeals the number of deals on the last day reported.
+ * @param closingPrincipal the total principal on the last day reported.
+ * @param closingInterestAccrued the interest accrued on the last day reported.
+ * @param closingPVFull the total PV full on the last day reported.
+ * @param peakPrincipal the highest total principal of a day.
+ * @param peakReportDate the last day the total principal peaked.
+ * @param frozen whether the fiscal year is closed, and the roll-up final.
+ */
+public record MoneyMarketDealFiscalRollUpDTO(
+    String periodType,
+    Long periodId,
+    Long fiscalYearId,
+    String periodCode,
+    LocalDate startDate,
+    LocalDate endDate,
+    String ledger,
+    int daysReported,
+    BigDecimal averagePrincipal,
+    BigDecimal averageInterestAccrued,
+    BigDecimal averagePVFull,
+    LocalDate closingReportDate,
+    Integer closingNumberOfDeals,
+    BigDecimal closingPrincipal,
+    BigDecimal closingInterestAccrued,
+    BigDecimal closingPVFull,
+    BigDecimal peakPrincipal,
+    LocalDate peakReportDate,
+    boolean frozen
+)
+    implements Serializable {}
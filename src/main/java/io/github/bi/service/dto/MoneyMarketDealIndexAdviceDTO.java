@@ -0,0 +1,75 @@
+package io.github.bi.service.dto;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The filters deal listings were queried by, how long they took, and how the indexes of the deals serve them.
+ *
+ * @param recordedSince when the advisor started recording, at startup or when it was last reset.
+ * @param filterShapes the combinations of filters queried by, the most time taken first.
+ * @param indexes the indexes of the deals, with how often the database used them since its statistics were reset.
+ */
+public record MoneyMarketDealIndexAdviceDTO(Instant recordedSince, List<FilterShapeAdvice> filterShapes, List<IndexUsage> indexes)
+    implements Serializable {
+    /**
+     * @param filters the filtered properties and how they are filtered, e.g. {@code reportDate equality, maturityDate range}.
+     * @param queries the number of queries recorded.
+     * @param meanMillis the mean latency of the queries, in milliseconds.
+     * @param maxMillis the highest latency of the queries, in milliseconds.
+     * @param bestIndex the index serving the most filters of the shape, if any serves one.
+     * @param indexedFilters the number of filters the best index serves.
+     * @param indexableFilters the number of filters an index could serve: every equality, and one range.
+     * @param suggestedIndex an index serving them all, if the queries are slow and the best index serves fewer.
+     */
+    public record FilterShapeAdvice(
+        String filters,
+        long queries,
+        double meanMillis,
+        double maxMillis,
+        String bestIndex,
+        int indexedFilters,
+        int indexableFilters,
+        String suggestedIndex
+    )
+        implements Serializable {}
+
+    /**
+     * @param name the name of the index.
+     * @param method the access method of the index, e.g. {@code btree} or {@code brin}.
+     * @param columns the indexed columns, in order; an empty name stands for an expression.
+     * @param definition the statement creating the index.
+     * @param scans the number of scans of the index, over all partitions.
+     * @param size the size of the index, over all partitions, in bytes.
+     * @param unused whether the index was never scanned, and enforces no unique constraint.
+     */
+    public record IndexUsage(
+        String name,
+        String method,
+        List<String> columns,
+        String definition,
+        long scans,
+        long size,
+        boolean unused
+    )
+        implements Serializable {}
+}
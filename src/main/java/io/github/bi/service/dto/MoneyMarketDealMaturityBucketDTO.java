@@ -0,0 +1,48 @@
+package io.github.bi.service.dto;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The active deals of one currency and ledger maturing within one bucket of a maturity ladder.
+ *
+ * @param currencyCode the currency of the deals.
+ * @param treasuryLedger the ledger of the deals.
+ * @param bucket the name of the bucket: the period it runs up to from the report date, e.g. {@code P1M},
+ * or {@code >P1Y} past the last one.
+ * @param maturingFrom the first maturity date of the bucket; none for the first bucket, which takes overdue deals.
+ * @param maturingUntil the last maturity date of the bucket; none for the last bucket.
+ * @param numberOfDeals the number of deals in the bucket.
+ * @param totalPrincipal the total shilling equivalent principal.
+ * @param totalPVFull the total shilling equivalent PV full.
+ */
+public record MoneyMarketDealMaturityBucketDTO(
+    String currencyCode,
+    String treasuryLedger,
+    String bucket,
+    LocalDate maturingFrom,
+    LocalDate maturingUntil,
+    long numberOfDeals,
+    BigDecimal totalPrincipal,
+    BigDecimal totalPVFull
+)
+    implements Serializable {}
@@ -0,0 +1,40 @@
+package io.github.bi.service.dto;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * The deals that moved alike from one {@link io.github.bi.domain.MoneyMarketList} to a later one.
+ *
+ * @param movement {@code NEW}, {@code MATURED}, {@code ROLLED}, {@code AMENDED} or {@code UNCHANGED}.
+ * @param numberOfDeals the number of deals that moved so.
+ * @param principalDelta the total change in shilling equivalent principal.
+ * @param interestAccruedDelta the total change in shilling equivalent interest accrued.
+ * @param pvFullDelta the total change in shilling equivalent PV full.
+ */
+public record MoneyMarketDealMovementTotalDTO(
+    String movement,
+    long numberOfDeals,
+    BigDecimal principalDelta,
+    BigDecimal interestAccruedDelta,
+    BigDecimal pvFullDelta
+)
+    implements Serializable {}
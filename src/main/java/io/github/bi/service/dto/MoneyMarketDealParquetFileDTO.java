@@ -0,0 +1,42 @@
+package io.github.bi.service.dto;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * The Parquet file of the deals of one {@link io.github.bi.domain.MoneyMarketList}.
+ *
+ * @param moneyMarketListId the id of the list.
+ * @param reportDate the report date of the list.
+ * @param file the path of the file, relative to the export directory.
+ * @param written whether the file was written now, rather than found already written.
+ * @param numberOfDeals the number of deals in the file.
+ * @param size the size of the file, in bytes.
+ */
+public record MoneyMarketDealParquetFileDTO(
+    Long moneyMarketListId,
+    LocalDate reportDate,
+    String file,
+    boolean written,
+    long numberOfDeals,
+    long size
+)
+    implements Serializable {}
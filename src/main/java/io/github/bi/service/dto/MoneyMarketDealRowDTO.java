@@ -0,0 +1,138 @@
+package io.github.bi.service.dto;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A {@link io.github.bi.domain.MoneyMarketDeal} as read for a listing, straight from the columns of the deal and of
+ * its list rather than from entities.
+ * <p>
+ * It has the properties of {@link MoneyMarketDealDTO}, so a listing reads the same as one of {@link MoneyMarketDealDTO}s;
+ * the {@code moneyMarketList} only has its id and description, as the {@link MoneyMarketDealDTO} of a listing does.
+ */
+public record MoneyMarketDealRowDTO(
+    Long id,
+    String dealNumber,
+    String tradingBook,
+    String counterPartyName,
+    LocalDate finalInterestAccrualDate,
+    String counterPartySideType,
+    String dateOfCollectionStatement,
+    String currencyCode,
+    BigDecimal principalAmount,
+    BigDecimal interestRate,
+    BigDecimal interestAccruedAmount,
+    BigDecimal totalInterestAtMaturity,
+    String counterpartyNationality,
+    LocalDate endDate,
+    String treasuryLedger,
+    String dealSubtype,
+    BigDecimal shillingEquivalentPrincipal,
+    BigDecimal shillingEquivalentInterestAccrued,
+    BigDecimal shillingEquivalentPVFull,
+    String counterpartyDomicile,
+    LocalDate settlementDate,
+    String transactionCollateral,
+    String institutionType,
+    LocalDate maturityDate,
+    String institutionReportName,
+    String transactionType,
+    LocalDate reportDate,
+    Boolean active,
+    MoneyMarketListReference moneyMarketList
+)
+    implements Serializable {
+    /**
+     * The columns of a deal, in the order of the properties, then the id and the description of its list; this is
+     * the constructor a JPA constructor expression selects into.
+     */
+    @SuppressWarnings("java:S107") // Methods should not have too many parameters
+    public MoneyMarketDealRowDTO(
+        Long id,
+        String dealNumber,
+        String tradingBook,
+        String counterPartyName,
+        LocalDate finalInterestAccrualDate,
+        String counterPartySideType,
+        String dateOfCollectionStatement,
+        String currencyCode,
+        BigDecimal principalAmount,
+        BigDecimal interestRate,
+        BigDecimal interestAccruedAmount,
+        BigDecimal totalInterestAtMaturity,
+        String counterpartyNationality,
+        LocalDate endDate,
+        String treasuryLedger,
+        String dealSubtype,
+        BigDecimal shillingEquivalentPrincipal,
+        BigDecimal shillingEquivalentInterestAccrued,
+        BigDecimal shillingEquivalentPVFull,
+        String counterpartyDomicile,
+        LocalDate settlementDate,
+        String transactionCollateral,
+        String institutionType,
+        LocalDate maturityDate,
+        String institutionReportName,
+        String transactionType,
+        LocalDate reportDate,
+        Boolean active,
+        Long moneyMarketListId,
+        String moneyMarketListDescription
+    ) {
+        this(
+            id,
+            dealNumber,
+            tradingBook,
+            counterPartyName,
+            finalInterestAccrualDate,
+            counterPartySideType,
+            dateOfCollectionStatement,
+            currencyCode,
+            principalAmount,
+            interestRate,
+            interestAccruedAmount,
+            totalInterestAtMaturity,
+            counterpartyNationality,
+            endDate,
+            treasuryLedger,
+            dealSubtype,
+            shillingEquivalentPrincipal,
+            shillingEquivalentInterestAccrued,
+            shillingEquivalentPVFull,
+            counterpartyDomicile,
+            settlementDate,
+            transactionCollateral,
+            institutionType,
+            maturityDate,
+            institutionReportName,
+            transactionType,
+            reportDate,
+            active,
+            moneyMarketListId == null ? null : new MoneyMarketListReference(moneyMarketListId, moneyMarketListDescription)
+        );
+    }
+
+    /**
+     * The list of a deal, as a listing of deals shows it.
+     */
+    public record MoneyMarketListReference(Long id, String description) implements Serializable {}
+}
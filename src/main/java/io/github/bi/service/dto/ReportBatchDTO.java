@@ -58,11 +58,18 @@ public class ReportBatchDTO implements Serializable {
 
     private FileProcessFlag processFlag;
 
+    /**
+     * The file, accepted from clients that upload it in the JSON body. It is moved to the report batch file store
+     * when the reportBatch is saved and is never returned; the file is downloaded from {@code /api/report-batches/:id/file}.
+     */
     @Lob
     private byte[] csvFileAttachment;
 
     private String csvFileAttachmentContentType;
 
+    @Size(max = 64)
+    private String fileChecksum;
+
     @NotNull
     private ApplicationUserDTO uploadedBy;
 
@@ -148,6 +155,14 @@ public class ReportBatchDTO implements Serializable {
         this.csvFileAttachmentContentType = csvFileAttachmentContentType;
     }
 
+    public String getFileChecksum() {
+        return fileChecksum;
+    }
+
+    public void setFileChecksum(String fileChecksum) {
+        this.fileChecksum = fileChecksum;
+    }
+
     public ApplicationUserDTO getUploadedBy() {
         return uploadedBy;
     }
@@ -198,6 +213,7 @@ public class ReportBatchDTO implements Serializable {
             ", fileIdentifier='" + getFileIdentifier() + "'" +
             ", processFlag='" + getProcessFlag() + "'" +
             ", csvFileAttachment='" + getCsvFileAttachment() + "'" +
+            ", fileChecksum='" + getFileChecksum() + "'" +
             ", uploadedBy=" + getUploadedBy() +
             ", placeholders=" + getPlaceholders() +
             "}";
@@ -0,0 +1,146 @@
+package io.github.bi.service.dto;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.enumeration.FileProcessFlag;
+import java.io.Serializable;
+
+/**
+ * The outcome of ingesting the deal file of a {@link io.github.bi.domain.ReportBatch}.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ReportBatchIngestionSummaryDTO implements Serializable {
+
+    private Long reportBatchId;
+
+    private Long moneyMarketListId;
+
+    private FileProcessFlag processFlag;
+
+    private long rowsRead;
+
+    private long dealsWritten;
+
+    private long dealsCarried;
+
+    private long rowsRejected;
+
+    private long elapsedMillis;
+
+    private int chunks;
+
+    private long parseMillis;
+
+    public Long getReportBatchId() {
+        return reportBatchId;
+    }
+
+    public void setReportBatchId(Long reportBatchId) {
+        this.reportBatchId = reportBatchId;
+    }
+
+    public Long getMoneyMarketListId() {
+        return moneyMarketListId;
+    }
+
+    public void setMoneyMarketListId(Long moneyMarketListId) {
+        this.moneyMarketListId = moneyMarketListId;
+    }
+
+    public FileProcessFlag getProcessFlag() {
+        return processFlag;
+    }
+
+    public void setProcessFlag(FileProcessFlag processFlag) {
+        this.processFlag = processFlag;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getDealsWritten() {
+        return dealsWritten;
+    }
+
+    public void setDealsWritten(long dealsWritten) {
+        this.dealsWritten = dealsWritten;
+    }
+
+    public long getDealsCarried() {
+        return dealsCarried;
+    }
+
+    public void setDealsCarried(long dealsCarried) {
+        this.dealsCarried = dealsCarried;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public long getParseMillis() {
+        return parseMillis;
+    }
+
+    public void setParseMillis(long parseMillis) {
+        this.parseMillis = parseMillis;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReportBatchIngestionSummaryDTO{" +
+            "reportBatchId=" + getReportBatchId() +
+            ", moneyMarketListId=" + getMoneyMarketListId() +
+            ", processFlag='" + getProcessFlag() + "'" +
+            ", rowsRead=" + getRowsRead() +
+            ", dealsWritten=" + getDealsWritten() +
+            ", dealsCarried=" + getDealsCarried() +
+            ", rowsRejected=" + getRowsRejected() +
+            ", elapsedMillis=" + getElapsedMillis() +
+            ", chunks=" + getChunks() +
+            ", parseMillis=" + getParseMillis() +
+            "}";
+    }
+}
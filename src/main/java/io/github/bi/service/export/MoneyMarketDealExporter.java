@@ -0,0 +1,246 @@
+package io.github.bi.service.export;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bi.service.ingestion.MoneyMarketDealColumn;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes deals straight from a forward-only JDBC cursor to an output stream, as CSV or NDJSON.
+ * <p>
+ * The cursor fetches {@value #FETCH_SIZE} rows at a time and each row is written as it is read, cell by cell,
+ * without building an entity or a DTO: the memory taken is the same for a thousand deals or millions. The fields
+ * are those of a deal file, named as in its header, in the order of {@link MoneyMarketDealColumn}.
+ */
+@Service
+public class MoneyMarketDealExporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealExporter.class);
+
+    static final int FETCH_SIZE = 5_000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final MoneyMarketDealColumn[] FIELDS = MoneyMarketDealColumn.values();
+
+    private static final String SELECT =
+        "select " + Arrays.stream(FIELDS).map(field -> columnName(field.getFieldName())).collect(Collectors.joining(", ")) +
+        " from money_market_deal where ";
+
+    private static final String BY_LIST = SELECT + "money_market_list_id = ?";
+
+    private static final String BY_REPORT_DATE = SELECT + "report_date = ? and active = true";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    public MoneyMarketDealExporter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Export every deal of a list.
+     * @return the number of deals written.
+     */
+    @Transactional(readOnly = true)
+    public long exportMoneyMarketList(Long moneyMarketListId, MoneyMarketDealExportFormat format, OutputStream out) {
+        return export(BY_LIST, moneyMarketListId, format, out);
+    }
+
+    /**
+     * Export the active deals of a report date.
+     * @return the number of deals written.
+     */
+    @Transactional(readOnly = true)
+    public long exportReportDate(LocalDate reportDate, MoneyMarketDealExportFormat format, OutputStream out) {
+        return export(BY_REPORT_DATE, reportDate, format, out);
+    }
+
+    private long export(String sql, Object parameter, MoneyMarketDealExportFormat format, OutputStream out) {
+        long started = System.nanoTime();
+        // the cursor needs the connection of a transaction, else the driver reads every row at once
+        Long rows = jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setObject(1, parameter);
+                return statement;
+            },
+            resultSet -> {
+                try {
+                    return format == MoneyMarketDealExportFormat.CSV ? writeCsv(resultSet, out) : writeNdjson(resultSet, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        );
+        LOG.info("Exported {} deals of {} as {} in {} ms", rows, parameter, format, (System.nanoTime() - started) / 1_000_000);
+        return rows == null ? 0 : rows;
+    }
+
+    private static long writeCsv(ResultSet resultSet, OutputStream out) throws SQLException, IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(FIELDS[i].getFieldName());
+        }
+        writer.write("\r\n");
+        int[] types = types(resultSet.getMetaData());
+        long rows = 0;
+        while (resultSet.next()) {
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvCell(writer, text(resultSet, i + 1, types[i]));
+            }
+            writer.write("\r\n");
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private long writeNdjson(ResultSet resultSet, OutputStream out) throws SQLException, IOException {
+        int[] types = types(resultSet.getMetaData());
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            while (resultSet.next()) {
+                generator.writeStartObject();
+                for (int i = 0; i < FIELDS.length; i++) {
+                    generator.writeFieldName(FIELDS[i].getFieldName());
+                    if (types[i] == Types.NUMERIC || types[i] == Types.DECIMAL) {
+                        BigDecimal value = resultSet.getBigDecimal(i + 1);
+                        if (value == null) {
+                            generator.writeNull();
+                        } else {
+                            generator.writeNumber(value);
+                        }
+                    } else {
+                        String value = text(resultSet, i + 1, types[i]);
+                        if (value == null) {
+                            generator.writeNull();
+                        } else {
+                            generator.writeString(value);
+                        }
+                    }
+                }
+                generator.writeEndObject();
+                rows++;
+            }
+            generator.writeRaw('\n');
+        }
+        return rows;
+    }
+
+    private static int[] types(ResultSetMetaData metaData) throws SQLException {
+        int[] types = new int[metaData.getColumnCount()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = metaData.getColumnType(i + 1);
+        }
+        return types;
+    }
+
+    /**
+     * A cell as text: dates in ISO format and amounts in plain notation, as a deal file has them.
+     */
+    private static String text(ResultSet resultSet, int column, int type) throws SQLException {
+        return switch (type) {
+            case Types.DATE -> {
+                LocalDate date = resultSet.getObject(column, LocalDate.class);
+                yield date == null ? null : date.toString();
+            }
+            case Types.NUMERIC, Types.DECIMAL -> {
+                BigDecimal amount = resultSet.getBigDecimal(column);
+                yield amount == null ? null : amount.toPlainString();
+            }
+            default -> resultSet.getString(column);
+        };
+    }
+
+    /**
+     * Write a cell quoted only when it has to be, doubling its quotes; a missing value is an empty cell.
+     */
+    static void writeCsvCell(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * The column of a field, as Hibernate names it: {@code shillingEquivalentPVFull} is {@code shilling_equivalent_pv_full}.
+     */
+    static String columnName(String fieldName) {
+        StringBuilder column = new StringBuilder(fieldName.length() + 8);
+        for (int i = 0; i < fieldName.length(); i++) {
+            char c = fieldName.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                char previous = fieldName.charAt(i - 1);
+                boolean startsWord = !Character.isUpperCase(previous) ||
+                    (i + 1 < fieldName.length() && Character.isLowerCase(fieldName.charAt(i + 1)));
+                if (startsWord) {
+                    column.append('_');
+                }
+            }
+            column.append(Character.toLowerCase(c));
+        }
+        return column.toString();
+    }
+}
@@ -0,0 +1,392 @@
+package io.github.bi.service.export;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.domain.enumeration.reportBatchStatus;
+import io.github.bi.repository.MoneyMarketListRepository;
+import io.github.bi.service.analytics.MoneyMarketDealChanges;
+import io.github.bi.service.dto.MoneyMarketDealParquetFileDTO;
+import io.github.bi.service.fiscal.FiscalCalendarService;
+import io.github.bi.service.fiscal.FiscalPeriodType;
+import io.github.bi.service.ingestion.MoneyMarketDealColumn;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the deals of the active {@link MoneyMarketList}s as Parquet files in the export directory, for data lake
+ * readers.
+ * <p>
+ * Files are laid out by report date, as {@code money_market_deal/report_date=<date>/money_market_list_<id>.parquet},
+ * so that a reader prunes whole report dates from the path alone; the report date is therefore not a column of the
+ * files, it is in their key-value metadata. Files are written incrementally: a list whose file exists is skipped,
+ * and the file of a list is removed once its deals are written again, so that the next run writes it anew. A file is
+ * written under a hidden name and moved in place once complete, so that readers never see half a file; it is
+ * discarded instead if deals changed while it was written, as the file removed for the change would be put back.
+ * <p>
+ * The export directory is shared by the nodes of the cluster, so the scheduled export runs on one node at a time: a
+ * node that finds the advisory lock taken skips its run, as another node is writing the same files. The lock is held
+ * by the session of one connection, rather than by a transaction, so that each file is read in a short transaction
+ * of its own.
+ */
+@Service
+public class MoneyMarketDealParquetExporter implements MoneyMarketDealChanges.Listener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealParquetExporter.class);
+
+    static final String TABLE_DIRECTORY = "money_market_deal";
+
+    private static final String REPORT_DATE_DIRECTORY = "report_date=";
+
+    private static final String FILE_PREFIX = "money_market_list_";
+
+    private static final String FILE_SUFFIX = ".parquet";
+
+    private static final long LOCK_KEY = 0x6d6d645f70617271L;
+
+    private static final String TRY_LOCK_SQL = "select pg_try_advisory_lock(?)";
+
+    private static final String UNLOCK_SQL = "select pg_advisory_unlock(?)";
+
+    private static final String SELECT_DEALS =
+        "select id, money_market_list_id, " +
+        Arrays.stream(MoneyMarketDealColumn.values())
+            .filter(field -> field != MoneyMarketDealColumn.REPORT_DATE)
+            .map(field -> MoneyMarketDealExporter.columnName(field.getFieldName()))
+            .collect(Collectors.joining(", ")) +
+        ", active from money_market_deal where money_market_list_id = ? and report_date = ?";
+
+    private final MoneyMarketListRepository moneyMarketListRepository;
+
+    private final FiscalCalendarService fiscalCalendarService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ApplicationProperties.Export properties;
+
+    /**
+     * Bumped on every change, so that a file read before a change is not moved in place after it.
+     */
+    private long generation;
+
+    public MoneyMarketDealParquetExporter(
+        MoneyMarketListRepository moneyMarketListRepository,
+        FiscalCalendarService fiscalCalendarService,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        MoneyMarketDealChanges moneyMarketDealChanges,
+        ApplicationProperties applicationProperties
+    ) {
+        this.moneyMarketListRepository = moneyMarketListRepository;
+        this.fiscalCalendarService = fiscalCalendarService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getExport();
+        moneyMarketDealChanges.subscribe(this);
+    }
+
+    /**
+     * Write the file of an active list.
+     * @param overwrite whether to write the file again if it exists.
+     * @return the file, or nothing if the list does not exist or is not active.
+     */
+    public Optional<MoneyMarketDealParquetFileDTO> exportMoneyMarketList(Long moneyMarketListId, boolean overwrite) {
+        return moneyMarketListRepository
+            .findById(moneyMarketListId)
+            .filter(MoneyMarketDealParquetExporter::isActive)
+            .map(moneyMarketList -> export(moneyMarketList, overwrite));
+    }
+
+    /**
+     * Write the files of the active lists of the report dates of a fiscal period.
+     * @param overwrite whether to write the files that exist again.
+     * @return the files, sorted by report date, or nothing if the period does not exist.
+     */
+    public Optional<List<MoneyMarketDealParquetFileDTO>> exportFiscalPeriod(
+        FiscalPeriodType type,
+        Long fiscalPeriodId,
+        boolean overwrite
+    ) {
+        return fiscalCalendarService
+            .findById(type, fiscalPeriodId)
+            .map(period ->
+                moneyMarketListRepository
+                    .findAllByReportDateBetweenAndStatusAndActiveTrue(period.startDate(), period.endDate(), reportBatchStatus.ACTIVE)
+                    .stream()
+                    .sorted(Comparator.comparing(MoneyMarketList::getReportDate))
+                    .map(moneyMarketList -> export(moneyMarketList, overwrite))
+                    .toList()
+            );
+    }
+
+    /**
+     * Write the files missing for active lists, and remove those of lists no longer active, unless another node is
+     * doing so.
+     */
+    @Scheduled(
+        initialDelayString = "${application.export.parquet-interval:PT1H}",
+        fixedDelayString = "${application.export.parquet-interval:PT1H}"
+    )
+    public void exportActiveLists() {
+        if (!properties.isParquetEnabled()) {
+            return;
+        }
+        // the lock belongs to the session of this connection, the files are read through others
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!advisoryLock(connection, TRY_LOCK_SQL)) {
+                LOG.debug("Skipping the export of the active MoneyMarketLists, another node is running it");
+                return null;
+            }
+            try {
+                exportActiveListsLocked();
+            } finally {
+                advisoryLock(connection, UNLOCK_SQL);
+            }
+            return null;
+        });
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void exportActiveListsLocked() {
+        List<MoneyMarketList> active = moneyMarketListRepository.findAllByStatusAndActiveTrue(reportBatchStatus.ACTIVE);
+        int written = 0;
+        for (MoneyMarketList moneyMarketList : active) {
+            try {
+                written += export(moneyMarketList, false).written() ? 1 : 0;
+            } catch (RuntimeException e) {
+                LOG.warn("Could not write the Parquet file of MoneyMarketList {}", moneyMarketList.getId(), e);
+            }
+        }
+        Set<Long> activeIds = active.stream().map(MoneyMarketList::getId).collect(Collectors.toSet());
+        int removed = removeFiles(moneyMarketListId -> !activeIds.contains(moneyMarketListId));
+        if (written > 0 || removed > 0) {
+            LOG.info("Parquet files of active MoneyMarketLists : {} written, {} removed", written, removed);
+        }
+    }
+
+    @Override
+    public void activated(Long moneyMarketListId) {
+        // the next run of the job writes the file of the list
+    }
+
+    @Override
+    public void changed(Long moneyMarketListId) {
+        synchronized (this) {
+            generation++;
+        }
+        removeFiles(moneyMarketListId::equals);
+    }
+
+    private MoneyMarketDealParquetFileDTO export(MoneyMarketList moneyMarketList, boolean overwrite) {
+        Path root = root();
+        Path file = file(root, moneyMarketList.getReportDate(), moneyMarketList.getId());
+        try {
+            if (!overwrite && Files.exists(file)) {
+                long numberOfDeals;
+                try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file))) {
+                    numberOfDeals = reader.getRecordCount();
+                }
+                return toDto(moneyMarketList, root, file, false, numberOfDeals);
+            }
+            long numberOfDeals = write(moneyMarketList, file);
+            return toDto(moneyMarketList, root, file, true, numberOfDeals);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the Parquet file " + file, e);
+        }
+    }
+
+    private long write(MoneyMarketList moneyMarketList, Path file) throws IOException {
+        long started = System.nanoTime();
+        Files.createDirectories(file.getParent());
+        Path temporary = Files.createTempFile(file.getParent(), "." + FILE_PREFIX + moneyMarketList.getId() + "-", FILE_SUFFIX);
+        long startedAt;
+        synchronized (this) {
+            startedAt = generation;
+        }
+        try {
+            CompressionCodecName compression = CompressionCodecName.fromConf(properties.getParquetCompression());
+            Map<String, String> metadata = Map.of(
+                "money_market_list_id",
+                moneyMarketList.getId().toString(),
+                "report_date",
+                moneyMarketList.getReportDate().toString()
+            );
+            // the cursor needs the connection of a transaction, else the driver reads every row at once
+            Long rows = readOnlyTransactionTemplate.execute(status ->
+                jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement statement = connection.prepareStatement(
+                            SELECT_DEALS,
+                            ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY
+                        );
+                        statement.setFetchSize(MoneyMarketDealExporter.FETCH_SIZE);
+                        statement.setLong(1, moneyMarketList.getId());
+                        statement.setObject(2, moneyMarketList.getReportDate());
+                        return statement;
+                    },
+                    resultSet -> {
+                        try {
+                            return MoneyMarketDealParquetFile.write(resultSet, new LocalOutputFile(temporary), compression, metadata);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                )
+            );
+            synchronized (this) {
+                if (generation != startedAt) {
+                    throw new ConcurrencyFailureException(
+                        "Deals changed while the Parquet file of MoneyMarketList " + moneyMarketList.getId() + " was written"
+                    );
+                }
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            LOG.info(
+                "Wrote {} deals of MoneyMarketList {} to {} ({} KB) in {} ms",
+                rows,
+                moneyMarketList.getId(),
+                file,
+                Files.size(file) / 1024,
+                (System.nanoTime() - started) / 1_000_000
+            );
+            return rows == null ? 0 : rows;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Remove the files of the lists matching a condition.
+     * @return the number of files removed.
+     */
+    private int removeFiles(LongPredicate moneyMarketListIds) {
+        Path table = root().resolve(TABLE_DIRECTORY);
+        if (!Files.isDirectory(table)) {
+            return 0;
+        }
+        int removed = 0;
+        try (Stream<Path> reportDates = Files.list(table)) {
+            for (Path reportDate : reportDates.filter(Files::isDirectory).toList()) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(reportDate, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+                    for (Path file : files) {
+                        Long moneyMarketListId = moneyMarketListId(file);
+                        if (moneyMarketListId != null && moneyMarketListIds.test(moneyMarketListId) && Files.deleteIfExists(file)) {
+                            removed++;
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not remove Parquet files from {} : {}", table, e.getMessage());
+        }
+        return removed;
+    }
+
+    private Path root() {
+        return Paths.get(properties.getDirectory());
+    }
+
+    static Path file(Path root, LocalDate reportDate, Long moneyMarketListId) {
+        return root
+            .resolve(TABLE_DIRECTORY)
+            .resolve(REPORT_DATE_DIRECTORY + reportDate)
+            .resolve(FILE_PREFIX + moneyMarketListId + FILE_SUFFIX);
+    }
+
+    /**
+     * The list a file holds the deals of, from its name; {@code null} for a file not named as a list's.
+     */
+    static Long moneyMarketListId(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static MoneyMarketDealParquetFileDTO toDto(
+        MoneyMarketList moneyMarketList,
+        Path root,
+        Path file,
+        boolean written,
+        long numberOfDeals
+    ) throws IOException {
+        return new MoneyMarketDealParquetFileDTO(
+            moneyMarketList.getId(),
+            moneyMarketList.getReportDate(),
+            root.relativize(file).toString().replace('\\', '/'),
+            written,
+            numberOfDeals,
+            Files.size(file)
+        );
+    }
+
+    private static boolean isActive(MoneyMarketList moneyMarketList) {
+        return moneyMarketList.getStatus() == reportBatchStatus.ACTIVE && Boolean.TRUE.equals(moneyMarketList.getActive());
+    }
+}
@@ -0,0 +1,370 @@
+package io.github.bi.service.export;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Map;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Types.MessageTypeBuilder;
+
+/**
+ * Writes the rows of a JDBC cursor to a Parquet file, each row as it is read.
+ * <p>
+ * The schema follows the columns of the result set: text as {@code STRING}s, dates as
+ * {@code DATE}s and numerics of a known precision as {@code DECIMAL}s of that precision and scale, stored in an
+ * {@code INT32}, an {@code INT64} or the smallest fixed length byte array that holds them. A numeric of no declared
+ * precision is written as its plain text. Columns the database declares {@code NOT NULL} are {@code REQUIRED}.
+ * Every column is dictionary encoded for as long as its dictionary makes it smaller, which holds for the codes and
+ * names a deal repeats; a column of mostly distinct values, such as the deal number, falls back to plain encoding.
+ */
+final class MoneyMarketDealParquetFile {
+
+    static final String SCHEMA_NAME = "money_market_deal";
+
+    private static final int MAX_INT32_PRECISION = 9;
+
+    private static final int MAX_INT64_PRECISION = 18;
+
+    private static final int MAX_DECIMAL_PRECISION = 38;
+
+    private MoneyMarketDealParquetFile() {}
+
+    /**
+     * Write the remaining rows of a result set.
+     * @param metadata key-value metadata of the file, for what holds for every row.
+     * @return the number of rows written.
+     */
+    static long write(ResultSet resultSet, OutputFile file, CompressionCodecName compression, Map<String, String> metadata)
+        throws SQLException, IOException {
+        Column[] columns = columns(resultSet.getMetaData());
+        long rows = 0;
+        try (
+            ParquetWriter<ResultSet> writer = new Builder(file, columns)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .withCompressionCodec(compression)
+                .withDictionaryEncoding(true)
+                .withExtraMetaData(metadata)
+                .build()
+        ) {
+            while (resultSet.next()) {
+                writer.write(resultSet);
+                rows++;
+            }
+        } catch (RowReadException e) {
+            throw e.getCause();
+        }
+        return rows;
+    }
+
+    static MessageType schema(ResultSetMetaData metaData) throws SQLException {
+        return schema(columns(metaData));
+    }
+
+    private static MessageType schema(Column[] columns) {
+        MessageTypeBuilder schema = org.apache.parquet.schema.Types.buildMessage();
+        for (Column column : columns) {
+            schema.addField(column.type());
+        }
+        return schema.named(SCHEMA_NAME);
+    }
+
+    private static Column[] columns(ResultSetMetaData metaData) throws SQLException {
+        Column[] columns = new Column[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            int index = i + 1;
+            Type.Repetition repetition = metaData.isNullable(index) == ResultSetMetaData.columnNoNulls
+                ? Type.Repetition.REQUIRED
+                : Type.Repetition.OPTIONAL;
+            columns[i] = column(metaData.getColumnLabel(index), index, repetition, metaData.getColumnType(index), metaData);
+        }
+        return columns;
+    }
+
+    private static Column column(String name, int index, Type.Repetition repetition, int sqlType, ResultSetMetaData metaData)
+        throws SQLException {
+        return switch (sqlType) {
+            case Types.BOOLEAN, Types.BIT -> new Column(
+                name,
+                index,
+                Kind.BOOLEAN,
+                0,
+                type(PrimitiveTypeName.BOOLEAN, repetition, null, name)
+            );
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> new Column(
+                name,
+                index,
+                Kind.INT32,
+                0,
+                type(PrimitiveTypeName.INT32, repetition, null, name)
+            );
+            case Types.BIGINT -> new Column(name, index, Kind.INT64, 0, type(PrimitiveTypeName.INT64, repetition, null, name));
+            case Types.DATE -> new Column(
+                name,
+                index,
+                Kind.DATE,
+                0,
+                type(PrimitiveTypeName.INT32, repetition, LogicalTypeAnnotation.dateType(), name)
+            );
+            case Types.NUMERIC, Types.DECIMAL -> decimal(
+                name,
+                index,
+                repetition,
+                metaData.getPrecision(index),
+                metaData.getScale(index)
+            );
+            default -> new Column(
+                name,
+                index,
+                Kind.STRING,
+                0,
+                type(PrimitiveTypeName.BINARY, repetition, LogicalTypeAnnotation.stringType(), name)
+            );
+        };
+    }
+
+    private static Column decimal(String name, int index, Type.Repetition repetition, int precision, int scale) {
+        if (precision <= 0 || precision > MAX_DECIMAL_PRECISION || scale < 0 || scale > precision) {
+            return new Column(
+                name,
+                index,
+                Kind.PLAIN_NUMBER,
+                0,
+                type(PrimitiveTypeName.BINARY, repetition, LogicalTypeAnnotation.stringType(), name)
+            );
+        }
+        LogicalTypeAnnotation decimal = LogicalTypeAnnotation.decimalType(scale, precision);
+        if (precision <= MAX_INT32_PRECISION) {
+            return new Column(name, index, Kind.DECIMAL_INT32, scale, type(PrimitiveTypeName.INT32, repetition, decimal, name));
+        }
+        if (precision <= MAX_INT64_PRECISION) {
+            return new Column(name, index, Kind.DECIMAL_INT64, scale, type(PrimitiveTypeName.INT64, repetition, decimal, name));
+        }
+        Type fixed = org.apache.parquet.schema.Types.primitive(PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY, repetition)
+            .length(bytesFor(precision))
+            .as(decimal)
+            .named(name);
+        return new Column(name, index, Kind.DECIMAL_FIXED, scale, fixed);
+    }
+
+    private static Type type(PrimitiveTypeName primitive, Type.Repetition repetition, LogicalTypeAnnotation logicalType, String name) {
+        return org.apache.parquet.schema.Types.primitive(primitive, repetition).as(logicalType).named(name);
+    }
+
+    /**
+     * The fewest bytes holding every unscaled value of a precision in two's complement.
+     */
+    static int bytesFor(int precision) {
+        BigInteger largest = BigInteger.TEN.pow(precision).subtract(BigInteger.ONE);
+        return largest.bitLength() / 8 + 1;
+    }
+
+    /**
+     * The unscaled value of an amount in big-endian two's complement, sign extended to a length.
+     * @throws ArithmeticException if the amount has more decimals than the scale, or does not fit the length.
+     */
+    static byte[] fixedLength(BigDecimal amount, int scale, int length) {
+        byte[] unscaled = amount.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().toByteArray();
+        if (unscaled.length > length) {
+            throw new ArithmeticException(amount + " does not fit " + length + " bytes");
+        }
+        byte[] fixed = new byte[length];
+        byte sign = unscaled[0] < 0 ? (byte) -1 : 0;
+        int padding = length - unscaled.length;
+        for (int i = 0; i < padding; i++) {
+            fixed[i] = sign;
+        }
+        System.arraycopy(unscaled, 0, fixed, padding, unscaled.length);
+        return fixed;
+    }
+
+    private enum Kind {
+        STRING,
+        PLAIN_NUMBER,
+        BOOLEAN,
+        INT32,
+        INT64,
+        DATE,
+        DECIMAL_INT32,
+        DECIMAL_INT64,
+        DECIMAL_FIXED,
+    }
+
+    private record Column(String name, int index, Kind kind, int scale, Type type) {}
+
+    /**
+     * Carries a {@link SQLException} out of {@link WriteSupport#write}, which cannot throw it.
+     */
+    private static final class RowReadException extends RuntimeException {
+
+        private RowReadException(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
+    private static final class Builder extends ParquetWriter.Builder<ResultSet, Builder> {
+
+        private final Column[] columns;
+
+        private Builder(OutputFile file, Column[] columns) {
+            super(file);
+            this.columns = columns;
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        @Override
+        protected WriteSupport<ResultSet> getWriteSupport(Configuration conf) {
+            return new ResultSetWriteSupport(columns);
+        }
+    }
+
+    /**
+     * Hands the current row of the result set to Parquet, column by column, without building a record.
+     */
+    private static final class ResultSetWriteSupport extends WriteSupport<ResultSet> {
+
+        private final Column[] columns;
+
+        private RecordConsumer consumer;
+
+        private ResultSetWriteSupport(Column[] columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public WriteContext init(Configuration configuration) {
+            return new WriteContext(schema(columns), Map.of());
+        }
+
+        @Override
+        public void prepareForWrite(RecordConsumer recordConsumer) {
+            this.consumer = recordConsumer;
+        }
+
+        @Override
+        public void write(ResultSet resultSet) {
+            consumer.startMessage();
+            for (int field = 0; field < columns.length; field++) {
+                try {
+                    writeValue(resultSet, columns[field], field);
+                } catch (SQLException e) {
+                    throw new RowReadException(e);
+                }
+            }
+            consumer.endMessage();
+        }
+
+        private void writeValue(ResultSet resultSet, Column column, int field) throws SQLException {
+            int index = column.index();
+            switch (column.kind()) {
+                case BOOLEAN -> {
+                    boolean value = resultSet.getBoolean(index);
+                    if (!resultSet.wasNull()) {
+                        consumer.startField(column.name(), field);
+                        consumer.addBoolean(value);
+                        consumer.endField(column.name(), field);
+                    }
+                }
+                case INT32 -> {
+                    int value = resultSet.getInt(index);
+                    if (!resultSet.wasNull()) {
+                        consumer.startField(column.name(), field);
+                        consumer.addInteger(value);
+                        consumer.endField(column.name(), field);
+                    }
+                }
+                case INT64 -> {
+                    long value = resultSet.getLong(index);
+                    if (!resultSet.wasNull()) {
+                        consumer.startField(column.name(), field);
+                        consumer.addLong(value);
+                        consumer.endField(column.name(), field);
+                    }
+                }
+                case DATE -> {
+                    LocalDate value = resultSet.getObject(index, LocalDate.class);
+                    if (value != null) {
+                        consumer.startField(column.name(), field);
+                        consumer.addInteger(Math.toIntExact(value.toEpochDay()));
+                        consumer.endField(column.name(), field);
+                    }
+                }
+                case DECIMAL_INT32, DECIMAL_INT64, DECIMAL_FIXED, PLAIN_NUMBER -> {
+                    BigDecimal value = resultSet.getBigDecimal(index);
+                    if (value != null) {
+                        consumer.startField(column.name(), field);
+                        addDecimal(column, value);
+                        consumer.endField(column.name(), field);
+                    }
+                }
+                default -> {
+                    String value = resultSet.getString(index);
+                    if (value != null) {
+                        consumer.startField(column.name(), field);
+                        consumer.addBinary(Binary.fromString(value));
+                        consumer.endField(column.name(), field);
+                    }
+                }
+            }
+        }
+
+        private void addDecimal(Column column, BigDecimal value) {
+            switch (column.kind()) {
+                case DECIMAL_INT32 -> consumer.addInteger(
+                    value.setScale(column.scale(), RoundingMode.UNNECESSARY).unscaledValue().intValueExact()
+                );
+                case DECIMAL_INT64 -> consumer.addLong(
+                    value.setScale(column.scale(), RoundingMode.UNNECESSARY).unscaledValue().longValueExact()
+                );
+                case DECIMAL_FIXED -> {
+                    int length = column.type().asPrimitiveType().getTypeLength();
+                    consumer.addBinary(Binary.fromConstantByteArray(fixedLength(value, column.scale(), length)));
+                }
+                default -> consumer.addBinary(Binary.fromString(value.toPlainString()));
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.github.bi.service.fiscal;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The fiscal months, quarters and years, indexed to find the periods containing a date without asking the database.
+ * <p>
+ * The periods of each type are sorted by their first day, held as epoch days in primitive arrays along with the
+ * latest last day of the periods up to each index. A lookup finds the last period starting on or before the date by
+ * binary search, then walks back only while an earlier period may still reach the date: periods of a type do not
+ * overlap in a sane calendar, so a lookup is {@code O(log n)}, and overlapping periods are still all found.
+ * Instances are immutable.
+ */
+public final class FiscalCalendar {
+
+    private final Map<FiscalPeriodType, Index> indexes = new EnumMap<>(FiscalPeriodType.class);
+
+    private FiscalCalendar(Builder builder) {
+        for (FiscalPeriodType type : FiscalPeriodType.values()) {
+            indexes.put(type, new Index(builder.periods.get(type)));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size(FiscalPeriodType type) {
+        return indexes.get(type).periods.length;
+    }
+
+    /**
+     * The period of a type with an id.
+     */
+    public Optional<FiscalPeriod> findById(FiscalPeriodType type, Long id) {
+        return Arrays.stream(indexes.get(type).periods).filter(period -> period.id().equals(id)).findFirst();
+    }
+
+    /**
+     * The period of a type containing a date; the one starting last if periods overlap.
+     */
+    public Optional<FiscalPeriod> find(FiscalPeriodType type, LocalDate date) {
+        Index index = indexes.get(type);
+        int day = Math.toIntExact(date.toEpochDay());
+        for (int i = index.lastStartingOnOrBefore(day); i >= 0 && index.maxEnds[i] >= day; i--) {
+            if (index.ends[i] >= day) {
+                return Optional.of(index.periods[i]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The periods of a type containing a date, sorted by their first day.
+     */
+    public List<FiscalPeriod> containing(FiscalPeriodType type, LocalDate date) {
+        return overlapping(type, date, date.plusDays(1));
+    }
+
+    /**
+     * The periods of a type having a day from {@code from} and before {@code to}, sorted by their first day.
+     */
+    public List<FiscalPeriod> overlapping(FiscalPeriodType type, LocalDate from, LocalDate to) {
+        Index index = indexes.get(type);
+        int first = Math.toIntExact(from.toEpochDay());
+        List<FiscalPeriod> found = new ArrayList<>();
+        for (int i = index.lastStartingOnOrBefore(Math.toIntExact(to.toEpochDay()) - 1); i >= 0 && index.maxEnds[i] >= first; i--) {
+            if (index.ends[i] >= first) {
+                found.add(index.periods[i]);
+            }
+        }
+        Collections.reverse(found);
+        return found;
+    }
+
+    /**
+     * The periods of one type, as sorted arrays.
+     */
+    private static final class Index {
+
+        private final FiscalPeriod[] periods;
+
+        private final int[] starts;
+
+        private final int[] ends;
+
+        /**
+         * The latest last day of the periods up to each index.
+         */
+        private final int[] maxEnds;
+
+        private Index(List<FiscalPeriod> unsorted) {
+            this.periods = unsorted
+                .stream()
+                .sorted(Comparator.comparing(FiscalPeriod::startDate).thenComparing(FiscalPeriod::endDate))
+                .toArray(FiscalPeriod[]::new);
+            this.starts = new int[periods.length];
+            this.ends = new int[periods.length];
+            this.maxEnds = new int[periods.length];
+            for (int i = 0; i < periods.length; i++) {
+                starts[i] = Math.toIntExact(periods[i].startDate().toEpochDay());
+                ends[i] = Math.toIntExact(periods[i].endDate().toEpochDay());
+                maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+            }
+        }
+
+        /**
+         * The index of the last period starting on or before a day, {@code -1} if none does.
+         */
+        private int lastStartingOnOrBefore(int day) {
+            int found = Arrays.binarySearch(starts, day);
+            if (found < 0) {
+                return -found - 2;
+            }
+            // periods starting on the same day are next to each other
+            while (found + 1 < starts.length && starts[found + 1] == day) {
+                found++;
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Collects the periods of a calendar, in any order.
+     */
+    public static final class Builder {
+
+        private final Map<FiscalPeriodType, List<FiscalPeriod>> periods = new EnumMap<>(FiscalPeriodType.class);
+
+        private Builder() {
+            for (FiscalPeriodType type : FiscalPeriodType.values()) {
+                periods.put(type, new ArrayList<>());
+            }
+        }
+
+        /**
+         * Add a period; a period without both dates, or ending before it starts, contains no date and is left out.
+         */
+        public Builder add(FiscalPeriod period) {
+            if (period.startDate() != null && period.endDate() != null && !period.endDate().isBefore(period.startDate())) {
+                periods.get(period.type()).add(period);
+            }
+            return this;
+        }
+
+        public FiscalCalendar build() {
+            return new FiscalCalendar(this);
+        }
+    }
+}
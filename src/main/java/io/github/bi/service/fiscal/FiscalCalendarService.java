@@ -0,0 +1,147 @@
+package io.github.bi.service.fiscal;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Holds the {@link FiscalCalendar} of the fiscal months, quarters and years in the database.
+ * <p>
+ * The calendar is loaded on first use, and replaced as a whole: a lookup either sees the calendar before a change or
+ * the one after it. Changes to fiscal periods are published on a Hazelcast topic once their transaction commits, so
+ * that every node of the cluster drops its calendar and loads the new one on next use.
+ */
+@Component
+public class FiscalCalendarService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FiscalCalendarService.class);
+
+    private static final String TOPIC = "fiscalCalendarChanges";
+
+    private static final String PERIODS_SQL =
+        "select p.id, p.%s, p.start_date, p.end_date, p.%s from %s p where p.start_date is not null and p.end_date is not null";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ITopic<Boolean> changes;
+
+    private volatile FiscalCalendar calendar;
+
+    /**
+     * Bumped on every change, so that a calendar read before a change is not kept after it.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public FiscalCalendarService(JdbcTemplate jdbcTemplate, HazelcastInstance hazelcastInstance) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changes = hazelcastInstance.getTopic(TOPIC);
+        this.changes.addMessageListener(message -> {
+            generation.incrementAndGet();
+            calendar = null;
+        });
+    }
+
+    /**
+     * The current calendar, loaded now if a change dropped it.
+     */
+    public FiscalCalendar calendar() {
+        FiscalCalendar current = calendar;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = calendar;
+            if (current == null) {
+                long startedAt = generation.get();
+                current = load();
+                if (generation.get() == startedAt) {
+                    calendar = current;
+                }
+            }
+            return current;
+        }
+    }
+
+    public Optional<FiscalPeriod> find(FiscalPeriodType type, LocalDate date) {
+        return calendar().find(type, date);
+    }
+
+    public Optional<FiscalPeriod> findById(FiscalPeriodType type, Long id) {
+        return calendar().findById(type, id);
+    }
+
+    /**
+     * Fiscal periods are written in the current transaction.
+     */
+    public void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changes.publish(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changes.publish(true);
+                }
+            }
+        );
+    }
+
+    private FiscalCalendar load() {
+        long started = System.nanoTime();
+        FiscalCalendar.Builder builder = FiscalCalendar.builder();
+        for (FiscalPeriodType type : FiscalPeriodType.values()) {
+            jdbcTemplate.query(
+                String.format(PERIODS_SQL, type.codeColumn(), type.fiscalYearColumn(), type.table()),
+                resultSet -> {
+                    builder.add(
+                        new FiscalPeriod(
+                            type,
+                            resultSet.getLong(1),
+                            resultSet.getString(2),
+                            resultSet.getObject(3, LocalDate.class),
+                            resultSet.getObject(4, LocalDate.class),
+                            resultSet.getObject(5, Long.class)
+                        )
+                    );
+                }
+            );
+        }
+        FiscalCalendar loaded = builder.build();
+        LOG.info(
+            "Fiscal calendar loaded : {} months, {} quarters and {} years, in {} ms",
+            loaded.size(FiscalPeriodType.MONTH),
+            loaded.size(FiscalPeriodType.QUARTER),
+            loaded.size(FiscalPeriodType.YEAR),
+            (System.nanoTime() - started) / 1_000_000
+        );
+        return loaded;
+    }
+}
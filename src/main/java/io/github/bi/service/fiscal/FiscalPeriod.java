@@ -0,0 +1,38 @@
+package io.github.bi.service.fiscal;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.time.LocalDate;
+
+/**
+ * A {@link io.github.bi.domain.FiscalMonth}, {@link io.github.bi.domain.FiscalQuarter} or
+ * {@link io.github.bi.domain.FiscalYear} as held by a {@link FiscalCalendar}.
+ *
+ * @param type the kind of period.
+ * @param id the id of the period in its table.
+ * @param code the code of the period.
+ * @param startDate the first day of the period.
+ * @param endDate the last day of the period.
+ * @param fiscalYearId the id of the fiscal year of the period; its own id for a year.
+ */
+public record FiscalPeriod(FiscalPeriodType type, Long id, String code, LocalDate startDate, LocalDate endDate, Long fiscalYearId) {
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+}
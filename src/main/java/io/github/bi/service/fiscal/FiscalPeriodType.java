@@ -0,0 +1,52 @@
+package io.github.bi.service.fiscal;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * The kinds of fiscal period, with the table each is defined in.
+ */
+public enum FiscalPeriodType {
+    MONTH("fiscal_month", "fiscal_month_code", "fiscal_year_id"),
+    QUARTER("fiscal_quarter", "fiscal_quarter_code", "fiscal_year_id"),
+    YEAR("fiscal_year", "fiscal_year_code", "id");
+
+    private final String table;
+
+    private final String codeColumn;
+
+    private final String fiscalYearColumn;
+
+    FiscalPeriodType(String table, String codeColumn, String fiscalYearColumn) {
+        this.table = table;
+        this.codeColumn = codeColumn;
+        this.fiscalYearColumn = fiscalYearColumn;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public String codeColumn() {
+        return codeColumn;
+    }
+
+    public String fiscalYearColumn() {
+        return fiscalYearColumn;
+    }
+}
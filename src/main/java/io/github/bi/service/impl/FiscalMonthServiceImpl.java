@@ -23,7 +23,10 @@ import io.github.bi.repository.FiscalMonthRepository;
 import io.github.bi.repository.search.FiscalMonthSearchRepository;
 import io.github.bi.service.FiscalMonthService;
 import io.github.bi.service.dto.FiscalMonthDTO;
+import io.github.bi.service.fiscal.FiscalCalendarService;
+import io.github.bi.service.fiscal.FiscalPeriodType;
 import io.github.bi.service.mapper.FiscalMonthMapper;
+import io.github.bi.service.summary.MoneyMarketDealFiscalRollUpUpdater;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,14 +50,22 @@ public class FiscalMonthServiceImpl implements FiscalMonthService {
 
     private final FiscalMonthSearchRepository fiscalMonthSearchRepository;
 
+    private final FiscalCalendarService fiscalCalendarService;
+
+    private final MoneyMarketDealFiscalRollUpUpdater moneyMarketDealFiscalRollUpUpdater;
+
     public FiscalMonthServiceImpl(
         FiscalMonthRepository fiscalMonthRepository,
         FiscalMonthMapper fiscalMonthMapper,
-        FiscalMonthSearchRepository fiscalMonthSearchRepository
+        FiscalMonthSearchRepository fiscalMonthSearchRepository,
+        FiscalCalendarService fiscalCalendarService,
+        MoneyMarketDealFiscalRollUpUpdater moneyMarketDealFiscalRollUpUpdater
     ) {
         this.fiscalMonthRepository = fiscalMonthRepository;
         this.fiscalMonthMapper = fiscalMonthMapper;
         this.fiscalMonthSearchRepository = fiscalMonthSearchRepository;
+        this.fiscalCalendarService = fiscalCalendarService;
+        this.moneyMarketDealFiscalRollUpUpdater = moneyMarketDealFiscalRollUpUpdater;
     }
 
     @Override
@@ -62,6 +73,8 @@ public class FiscalMonthServiceImpl implements FiscalMonthService {
         LOG.debug("Request to save FiscalMonth : {}", fiscalMonthDTO);
         FiscalMonth fiscalMonth = fiscalMonthMapper.toEntity(fiscalMonthDTO);
         fiscalMonth = fiscalMonthRepository.save(fiscalMonth);
+        fiscalCalendarService.changed();
+        moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.MONTH, fiscalMonth.getId());
         fiscalMonthSearchRepository.index(fiscalMonth);
         return fiscalMonthMapper.toDto(fiscalMonth);
     }
@@ -71,6 +84,8 @@ public class FiscalMonthServiceImpl implements FiscalMonthService {
         LOG.debug("Request to update FiscalMonth : {}", fiscalMonthDTO);
         FiscalMonth fiscalMonth = fiscalMonthMapper.toEntity(fiscalMonthDTO);
         fiscalMonth = fiscalMonthRepository.save(fiscalMonth);
+        fiscalCalendarService.changed();
+        moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.MONTH, fiscalMonth.getId());
         fiscalMonthSearchRepository.index(fiscalMonth);
         return fiscalMonthMapper.toDto(fiscalMonth);
     }
@@ -88,6 +103,8 @@ public class FiscalMonthServiceImpl implements FiscalMonthService {
             })
             .map(fiscalMonthRepository::save)
             .map(savedFiscalMonth -> {
+                fiscalCalendarService.changed();
+                moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.MONTH, savedFiscalMonth.getId());
                 fiscalMonthSearchRepository.index(savedFiscalMonth);
                 return savedFiscalMonth;
             })
@@ -109,6 +126,8 @@ public class FiscalMonthServiceImpl implements FiscalMonthService {
     public void delete(Long id) {
         LOG.debug("Request to delete FiscalMonth : {}", id);
         fiscalMonthRepository.deleteById(id);
+        fiscalCalendarService.changed();
+        moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.MONTH, id);
         fiscalMonthSearchRepository.deleteFromIndexById(id);
     }
 
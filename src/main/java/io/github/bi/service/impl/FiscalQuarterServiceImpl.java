@@ -23,7 +23,10 @@ import io.github.bi.repository.FiscalQuarterRepository;
 import io.github.bi.repository.search.FiscalQuarterSearchRepository;
 import io.github.bi.service.FiscalQuarterService;
 import io.github.bi.service.dto.FiscalQuarterDTO;
+import io.github.bi.service.fiscal.FiscalCalendarService;
+import io.github.bi.service.fiscal.FiscalPeriodType;
 import io.github.bi.service.mapper.FiscalQuarterMapper;
+import io.github.bi.service.summary.MoneyMarketDealFiscalRollUpUpdater;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,14 +50,22 @@ public class FiscalQuarterServiceImpl implements FiscalQuarterService {
 
     private final FiscalQuarterSearchRepository fiscalQuarterSearchRepository;
 
+    private final FiscalCalendarService fiscalCalendarService;
+
+    private final MoneyMarketDealFiscalRollUpUpdater moneyMarketDealFiscalRollUpUpdater;
+
     public FiscalQuarterServiceImpl(
         FiscalQuarterRepository fiscalQuarterRepository,
         FiscalQuarterMapper fiscalQuarterMapper,
-        FiscalQuarterSearchRepository fiscalQuarterSearchRepository
+        FiscalQuarterSearchRepository fiscalQuarterSearchRepository,
+        FiscalCalendarService fiscalCalendarService,
+        MoneyMarketDealFiscalRollUpUpdater moneyMarketDealFiscalRollUpUpdater
     ) {
         this.fiscalQuarterRepository = fiscalQuarterRepository;
         this.fiscalQuarterMapper = fiscalQuarterMapper;
         this.fiscalQuarterSearchRepository = fiscalQuarterSearchRepository;
+        this.fiscalCalendarService = fiscalCalendarService;
+        this.moneyMarketDealFiscalRollUpUpdater = moneyMarketDealFiscalRollUpUpdater;
     }
 
     @Override
@@ -62,6 +73,8 @@ public class FiscalQuarterServiceImpl implements FiscalQuarterService {
         LOG.debug("Request to save FiscalQuarter : {}", fiscalQuarterDTO);
         FiscalQuarter fiscalQuarter = fiscalQuarterMapper.toEntity(fiscalQuarterDTO);
         fiscalQuarter = fiscalQuarterRepository.save(fiscalQuarter);
+        fiscalCalendarService.changed();
+        moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.QUARTER, fiscalQuarter.getId());
         fiscalQuarterSearchRepository.index(fiscalQuarter);
         return fiscalQuarterMapper.toDto(fiscalQuarter);
     }
@@ -71,6 +84,8 @@ public class FiscalQuarterServiceImpl implements FiscalQuarterService {
         LOG.debug("Request to update FiscalQuarter : {}", fiscalQuarterDTO);
         FiscalQuarter fiscalQuarter = fiscalQuarterMapper.toEntity(fiscalQuarterDTO);
         fiscalQuarter = fiscalQuarterRepository.save(fiscalQuarter);
+        fiscalCalendarService.changed();
+        moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.QUARTER, fiscalQuarter.getId());
         fiscalQuarterSearchRepository.index(fiscalQuarter);
         return fiscalQuarterMapper.toDto(fiscalQuarter);
     }
@@ -88,6 +103,8 @@ public class FiscalQuarterServiceImpl implements FiscalQuarterService {
             })
             .map(fiscalQuarterRepository::save)
             .map(savedFiscalQuarter -> {
+                fiscalCalendarService.changed();
+                moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.QUARTER, savedFiscalQuarter.getId());
                 fiscalQuarterSearchRepository.index(savedFiscalQuarter);
                 return savedFiscalQuarter;
             })
@@ -109,6 +126,8 @@ public class FiscalQuarterServiceImpl implements FiscalQuarterService {
     public void delete(Long id) {
         LOG.debug("Request to delete FiscalQuarter : {}", id);
         fiscalQuarterRepository.deleteById(id);
+        fiscalCalendarService.changed();
+        moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.QUARTER, id);
         fiscalQuarterSearchRepository.deleteFromIndexById(id);
     }
 
@@ -19,11 +19,15 @@ package io.github.bi.service.impl;
  */
 
 import io.github.bi.domain.FiscalYear;
+import io.github.bi.domain.enumeration.FiscalYearStatusType;
 import io.github.bi.repository.FiscalYearRepository;
 import io.github.bi.repository.search.FiscalYearSearchRepository;
 import io.github.bi.service.FiscalYearService;
 import io.github.bi.service.dto.FiscalYearDTO;
+import io.github.bi.service.fiscal.FiscalCalendarService;
+import io.github.bi.service.fiscal.FiscalPeriodType;
 import io.github.bi.service.mapper.FiscalYearMapper;
+import io.github.bi.service.summary.MoneyMarketDealFiscalRollUpUpdater;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,14 +51,22 @@ public class FiscalYearServiceImpl implements FiscalYearService {
 
     private final FiscalYearSearchRepository fiscalYearSearchRepository;
 
+    private final FiscalCalendarService fiscalCalendarService;
+
+    private final MoneyMarketDealFiscalRollUpUpdater moneyMarketDealFiscalRollUpUpdater;
+
     public FiscalYearServiceImpl(
         FiscalYearRepository fiscalYearRepository,
         FiscalYearMapper fiscalYearMapper,
-        FiscalYearSearchRepository fiscalYearSearchRepository
+        FiscalYearSearchRepository fiscalYearSearchRepository,
+        FiscalCalendarService fiscalCalendarService,
+        MoneyMarketDealFiscalRollUpUpdater moneyMarketDealFiscalRollUpUpdater
     ) {
         this.fiscalYearRepository = fiscalYearRepository;
         this.fiscalYearMapper = fiscalYearMapper;
         this.fiscalYearSearchRepository = fiscalYearSearchRepository;
+        this.fiscalCalendarService = fiscalCalendarService;
+        this.moneyMarketDealFiscalRollUpUpdater = moneyMarketDealFiscalRollUpUpdater;
     }
 
     @Override
@@ -62,6 +74,9 @@ public class FiscalYearServiceImpl implements FiscalYearService {
         LOG.debug("Request to save FiscalYear : {}", fiscalYearDTO);
         FiscalYear fiscalYear = fiscalYearMapper.toEntity(fiscalYearDTO);
         fiscalYear = fiscalYearRepository.save(fiscalYear);
+        fiscalCalendarService.changed();
+        moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.YEAR, fiscalYear.getId());
+        freezeRollUpsOnClosing(null, fiscalYear);
         fiscalYearSearchRepository.index(fiscalYear);
         return fiscalYearMapper.toDto(fiscalYear);
     }
@@ -69,8 +84,12 @@ public class FiscalYearServiceImpl implements FiscalYearService {
     @Override
     public FiscalYearDTO update(FiscalYearDTO fiscalYearDTO) {
         LOG.debug("Request to update FiscalYear : {}", fiscalYearDTO);
+        FiscalYearStatusType previousStatus = statusOf(fiscalYearDTO.getId());
         FiscalYear fiscalYear = fiscalYearMapper.toEntity(fiscalYearDTO);
         fiscalYear = fiscalYearRepository.save(fiscalYear);
+        fiscalCalendarService.changed();
+        moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.YEAR, fiscalYear.getId());
+        freezeRollUpsOnClosing(previousStatus, fiscalYear);
         fiscalYearSearchRepository.index(fiscalYear);
         return fiscalYearMapper.toDto(fiscalYear);
     }
@@ -78,6 +97,7 @@ public class FiscalYearServiceImpl implements FiscalYearService {
     @Override
     public Optional<FiscalYearDTO> partialUpdate(FiscalYearDTO fiscalYearDTO) {
         LOG.debug("Request to partially update FiscalYear : {}", fiscalYearDTO);
+        FiscalYearStatusType previousStatus = statusOf(fiscalYearDTO.getId());
 
         return fiscalYearRepository
             .findById(fiscalYearDTO.getId())
@@ -88,6 +108,9 @@ public class FiscalYearServiceImpl implements FiscalYearService {
             })
             .map(fiscalYearRepository::save)
             .map(savedFiscalYear -> {
+                freezeRollUpsOnClosing(previousStatus, savedFiscalYear);
+                fiscalCalendarService.changed();
+                moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.YEAR, savedFiscalYear.getId());
                 fiscalYearSearchRepository.index(savedFiscalYear);
                 return savedFiscalYear;
             })
@@ -109,6 +132,8 @@ public class FiscalYearServiceImpl implements FiscalYearService {
     public void delete(Long id) {
         LOG.debug("Request to delete FiscalYear : {}", id);
         fiscalYearRepository.deleteById(id);
+        fiscalCalendarService.changed();
+        moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.YEAR, id);
         fiscalYearSearchRepository.deleteFromIndexById(id);
     }
 
@@ -118,4 +143,18 @@ public class FiscalYearServiceImpl implements FiscalYearService {
         LOG.debug("Request to search for a page of FiscalYears for query {}", query);
         return fiscalYearSearchRepository.search(query, pageable).map(fiscalYearMapper::toDto);
     }
+
+    private FiscalYearStatusType statusOf(Long id) {
+        return id == null ? null : fiscalYearRepository.findById(id).map(FiscalYear::getFiscalYearStatus).orElse(null);
+    }
+
+    /**
+     * The deal roll-ups of a year are final once the year is closed.
+     */
+    private void freezeRollUpsOnClosing(FiscalYearStatusType previousStatus, FiscalYear fiscalYear) {
+        if (fiscalYear.getFiscalYearStatus() == FiscalYearStatusType.CLOSED && previousStatus != FiscalYearStatusType.CLOSED) {
+            fiscalYearRepository.flush();
+            moneyMarketDealFiscalRollUpUpdater.freeze(fiscalYear.getId());
+        }
+    }
 }
@@ -22,8 +22,12 @@ import io.github.bi.domain.MoneyMarketDeal;
 import io.github.bi.repository.MoneyMarketDealRepository;
 import io.github.bi.repository.search.MoneyMarketDealSearchRepository;
 import io.github.bi.service.MoneyMarketDealService;
+import io.github.bi.service.analytics.MoneyMarketDealChanges;
 import io.github.bi.service.dto.MoneyMarketDealDTO;
+import io.github.bi.service.ingestion.MoneyMarketDealRowHash;
 import io.github.bi.service.mapper.MoneyMarketDealMapper;
+import io.github.bi.service.summary.DailySummaryDelta;
+import io.github.bi.service.summary.MoneyMarketDealDailySummaryUpdater;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,21 +51,32 @@ public class MoneyMarketDealServiceImpl implements MoneyMarketDealService {
 
     private final MoneyMarketDealSearchRepository moneyMarketDealSearchRepository;
 
+    private final MoneyMarketDealDailySummaryUpdater moneyMarketDealDailySummaryUpdater;
+
+    private final MoneyMarketDealChanges moneyMarketDealChanges;
+
     public MoneyMarketDealServiceImpl(
         MoneyMarketDealRepository moneyMarketDealRepository,
         MoneyMarketDealMapper moneyMarketDealMapper,
-        MoneyMarketDealSearchRepository moneyMarketDealSearchRepository
+        MoneyMarketDealSearchRepository moneyMarketDealSearchRepository,
+        MoneyMarketDealDailySummaryUpdater moneyMarketDealDailySummaryUpdater,
+        MoneyMarketDealChanges moneyMarketDealChanges
     ) {
         this.moneyMarketDealRepository = moneyMarketDealRepository;
         this.moneyMarketDealMapper = moneyMarketDealMapper;
         this.moneyMarketDealSearchRepository = moneyMarketDealSearchRepository;
+        this.moneyMarketDealDailySummaryUpdater = moneyMarketDealDailySummaryUpdater;
+        this.moneyMarketDealChanges = moneyMarketDealChanges;
     }
 
     @Override
     public MoneyMarketDealDTO save(MoneyMarketDealDTO moneyMarketDealDTO) {
         LOG.debug("Request to save MoneyMarketDeal : {}", moneyMarketDealDTO);
         MoneyMarketDeal moneyMarketDeal = moneyMarketDealMapper.toEntity(moneyMarketDealDTO);
+        moneyMarketDeal.setRowHash(MoneyMarketDealRowHash.of(moneyMarketDeal));
         moneyMarketDeal = moneyMarketDealRepository.save(moneyMarketDeal);
+        moneyMarketDealDailySummaryUpdater.apply(new DailySummaryDelta().add(moneyMarketDeal));
+        moneyMarketDealChanges.changed(moneyMarketListIdOf(moneyMarketDeal), moneyMarketDeal.getReportDate());
         moneyMarketDealSearchRepository.index(moneyMarketDeal);
         return moneyMarketDealMapper.toDto(moneyMarketDeal);
     }
@@ -69,8 +84,19 @@ public class MoneyMarketDealServiceImpl implements MoneyMarketDealService {
     @Override
     public MoneyMarketDealDTO update(MoneyMarketDealDTO moneyMarketDealDTO) {
         LOG.debug("Request to update MoneyMarketDeal : {}", moneyMarketDealDTO);
+        DailySummaryDelta delta = new DailySummaryDelta();
+        // taken before the merge overwrites the managed deal
+        moneyMarketDealRepository
+            .findById(moneyMarketDealDTO.getId())
+            .ifPresent(existing -> {
+                delta.subtract(existing);
+                moneyMarketDealChanges.changed(moneyMarketListIdOf(existing), existing.getReportDate());
+            });
         MoneyMarketDeal moneyMarketDeal = moneyMarketDealMapper.toEntity(moneyMarketDealDTO);
+        moneyMarketDeal.setRowHash(MoneyMarketDealRowHash.of(moneyMarketDeal));
         moneyMarketDeal = moneyMarketDealRepository.save(moneyMarketDeal);
+        moneyMarketDealDailySummaryUpdater.apply(delta.add(moneyMarketDeal));
+        moneyMarketDealChanges.changed(moneyMarketListIdOf(moneyMarketDeal), moneyMarketDeal.getReportDate());
         moneyMarketDealSearchRepository.index(moneyMarketDeal);
         return moneyMarketDealMapper.toDto(moneyMarketDeal);
     }
@@ -82,7 +108,12 @@ public class MoneyMarketDealServiceImpl implements MoneyMarketDealService {
         return moneyMarketDealRepository
             .findById(moneyMarketDealDTO.getId())
             .map(existingMoneyMarketDeal -> {
+                DailySummaryDelta delta = new DailySummaryDelta().subtract(existingMoneyMarketDeal);
+                moneyMarketDealChanges.changed(moneyMarketListIdOf(existingMoneyMarketDeal), existingMoneyMarketDeal.getReportDate());
                 moneyMarketDealMapper.partialUpdate(existingMoneyMarketDeal, moneyMarketDealDTO);
+                existingMoneyMarketDeal.setRowHash(MoneyMarketDealRowHash.of(existingMoneyMarketDeal));
+                moneyMarketDealDailySummaryUpdater.apply(delta.add(existingMoneyMarketDeal));
+                moneyMarketDealChanges.changed(moneyMarketListIdOf(existingMoneyMarketDeal), existingMoneyMarketDeal.getReportDate());
 
                 return existingMoneyMarketDeal;
             })
@@ -108,6 +139,12 @@ public class MoneyMarketDealServiceImpl implements MoneyMarketDealService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete MoneyMarketDeal : {}", id);
+        moneyMarketDealRepository
+            .findById(id)
+            .ifPresent(moneyMarketDeal -> {
+                moneyMarketDealDailySummaryUpdater.apply(new DailySummaryDelta().subtract(moneyMarketDeal));
+                moneyMarketDealChanges.changed(moneyMarketListIdOf(moneyMarketDeal), moneyMarketDeal.getReportDate());
+            });
         moneyMarketDealRepository.deleteById(id);
         moneyMarketDealSearchRepository.deleteFromIndexById(id);
     }
@@ -118,4 +155,8 @@ public class MoneyMarketDealServiceImpl implements MoneyMarketDealService {
         LOG.debug("Request to search for a page of MoneyMarketDeals for query {}", query);
         return moneyMarketDealSearchRepository.search(query, pageable).map(moneyMarketDealMapper::toDto);
     }
+
+    private static Long moneyMarketListIdOf(MoneyMarketDeal moneyMarketDeal) {
+        return moneyMarketDeal.getMoneyMarketList() == null ? null : moneyMarketDeal.getMoneyMarketList().getId();
+    }
 }
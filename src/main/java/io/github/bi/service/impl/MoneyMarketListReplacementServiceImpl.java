@@ -0,0 +1,210 @@
+package io.github.bi.service.impl;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.domain.ReportBatch;
+import io.github.bi.domain.enumeration.reportBatchStatus;
+import io.github.bi.repository.MoneyMarketDealRepository;
+import io.github.bi.repository.MoneyMarketListRepository;
+import io.github.bi.repository.search.MoneyMarketDealSearchRepository;
+import io.github.bi.repository.search.MoneyMarketListSearchRepository;
+import io.github.bi.repository.search.ReportBatchSearchRepository;
+import io.github.bi.service.MoneyMarketListReplacementService;
+import io.github.bi.service.analytics.MoneyMarketDealChanges;
+import io.github.bi.service.dto.MoneyMarketListDTO;
+import io.github.bi.service.mapper.MoneyMarketListMapper;
+import io.github.bi.service.summary.MoneyMarketDealDailySummaryUpdater;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Objects;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service Implementation for replacing a {@link MoneyMarketList}.
+ * <p>
+ * The {@code active} flag of the deals is flipped with one set-based update per list rather than deal by deal,
+ * so the cost does not grow with round trips per deal. As those updates bypass the persistence context, the
+ * deal cache region and the cached deal collections of both lists are evicted in bulk, and the search index is
+ * brought in line with one update-by-query per list, once the transaction commits. The daily summaries change by
+ * the totals of the deals whose flag flips, summed per report date and ledger before the updates.
+ * <p>
+ * Only the active list of a report date can be replaced, and only by a list of the same date.
+ */
+@Service
+@Transactional
+public class MoneyMarketListReplacementServiceImpl implements MoneyMarketListReplacementService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketListReplacementServiceImpl.class);
+
+    private static final String DEALS_COLLECTION_ROLE = MoneyMarketList.class.getName() + ".moneyMarketDeals";
+
+    private final MoneyMarketListRepository moneyMarketListRepository;
+
+    private final MoneyMarketDealRepository moneyMarketDealRepository;
+
+    private final MoneyMarketListMapper moneyMarketListMapper;
+
+    private final MoneyMarketListSearchRepository moneyMarketListSearchRepository;
+
+    private final MoneyMarketDealSearchRepository moneyMarketDealSearchRepository;
+
+    private final ReportBatchSearchRepository reportBatchSearchRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final MoneyMarketDealDailySummaryUpdater moneyMarketDealDailySummaryUpdater;
+
+    private final MoneyMarketDealChanges moneyMarketDealChanges;
+
+    public MoneyMarketListReplacementServiceImpl(
+        MoneyMarketListRepository moneyMarketListRepository,
+        MoneyMarketDealRepository moneyMarketDealRepository,
+        MoneyMarketListMapper moneyMarketListMapper,
+        MoneyMarketListSearchRepository moneyMarketListSearchRepository,
+        MoneyMarketDealSearchRepository moneyMarketDealSearchRepository,
+        ReportBatchSearchRepository reportBatchSearchRepository,
+        EntityManagerFactory entityManagerFactory,
+        MoneyMarketDealDailySummaryUpdater moneyMarketDealDailySummaryUpdater,
+        MoneyMarketDealChanges moneyMarketDealChanges
+    ) {
+        this.moneyMarketListRepository = moneyMarketListRepository;
+        this.moneyMarketDealRepository = moneyMarketDealRepository;
+        this.moneyMarketListMapper = moneyMarketListMapper;
+        this.moneyMarketListSearchRepository = moneyMarketListSearchRepository;
+        this.moneyMarketDealSearchRepository = moneyMarketDealSearchRepository;
+        this.reportBatchSearchRepository = reportBatchSearchRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.moneyMarketDealDailySummaryUpdater = moneyMarketDealDailySummaryUpdater;
+        this.moneyMarketDealChanges = moneyMarketDealChanges;
+    }
+
+    @Override
+    public MoneyMarketListDTO replace(Long replacedId, Long replacementId) {
+        LOG.debug("Request to replace MoneyMarketList : {} with MoneyMarketList : {}", replacedId, replacementId);
+        if (replacedId.equals(replacementId)) {
+            throw new IllegalArgumentException("A MoneyMarketList cannot replace itself");
+        }
+        MoneyMarketList replaced = moneyMarketListRepository
+            .findById(replacedId)
+            .orElseThrow(() -> new IllegalArgumentException("MoneyMarketList " + replacedId + " not found"));
+        MoneyMarketList replacement = moneyMarketListRepository
+            .findById(replacementId)
+            .orElseThrow(() -> new IllegalArgumentException("MoneyMarketList " + replacementId + " not found"));
+        if (replacement.getStatus() != null && replacement.getStatus() != reportBatchStatus.ACTIVE) {
+            throw new IllegalArgumentException("MoneyMarketList " + replacementId + " is " + replacement.getStatus());
+        }
+        if (replaced.getStatus() != reportBatchStatus.ACTIVE || !Boolean.TRUE.equals(replaced.getActive())) {
+            throw new IllegalArgumentException("MoneyMarketList " + replacedId + " is not the active list of its report date");
+        }
+        if (!Objects.equals(replaced.getReportDate(), replacement.getReportDate())) {
+            throw new IllegalArgumentException(
+                "MoneyMarketList " + replacementId + " is of " + replacement.getReportDate() + ", not of " + replaced.getReportDate()
+            );
+        }
+
+        moneyMarketDealDailySummaryUpdater.changeActiveOf(replacedId, false);
+        moneyMarketDealDailySummaryUpdater.changeActiveOf(replacementId, true);
+        int deactivated = moneyMarketDealRepository.updateActiveByMoneyMarketListId(replacedId, false);
+        int activated = moneyMarketDealRepository.updateActiveByMoneyMarketListId(replacementId, true);
+        LOG.info(
+            "MoneyMarketList {} replaced by {} : {} deals deactivated, {} activated",
+            replacedId,
+            replacementId,
+            deactivated,
+            activated
+        );
+
+        replaced.setStatus(reportBatchStatus.REPLACED);
+        replaced.setActive(false);
+        replacement.setStatus(reportBatchStatus.ACTIVE);
+        replacement.setActive(true);
+        ReportBatch replacedBatch = replaced.getReportBatch();
+        if (replacedBatch != null) {
+            replacedBatch.setStatus(reportBatchStatus.REPLACED);
+            replacedBatch.setActive(false);
+        }
+        moneyMarketListRepository.save(replaced);
+        replacement = moneyMarketListRepository.save(replacement);
+
+        evictAndReindexDealsAfterCommit(replacedId, replacementId);
+        moneyMarketListSearchRepository.index(replaced);
+        moneyMarketListSearchRepository.index(replacement);
+        if (replacedBatch != null) {
+            reportBatchSearchRepository.index(replacedBatch);
+        }
+        moneyMarketDealChanges.changed(replacedId);
+        moneyMarketDealChanges.activated(replacementId);
+        return moneyMarketListMapper.toDto(replacement);
+    }
+
+    @Override
+    public MoneyMarketListDTO activate(Long moneyMarketListId) {
+        LOG.debug("Request to activate MoneyMarketList : {}", moneyMarketListId);
+        MoneyMarketList moneyMarketList = moneyMarketListRepository
+            .findById(moneyMarketListId)
+            .orElseThrow(() -> new IllegalArgumentException("MoneyMarketList " + moneyMarketListId + " not found"));
+
+        moneyMarketDealDailySummaryUpdater.changeActiveOf(moneyMarketListId, true);
+        int activated = moneyMarketDealRepository.updateActiveByMoneyMarketListId(moneyMarketListId, true);
+        LOG.info("MoneyMarketList {} activated : {} deals activated", moneyMarketListId, activated);
+
+        moneyMarketList.setActive(true);
+        moneyMarketList = moneyMarketListRepository.save(moneyMarketList);
+
+        evictAndReindexDealsAfterCommit(null, moneyMarketListId);
+        moneyMarketListSearchRepository.index(moneyMarketList);
+        moneyMarketDealChanges.activated(moneyMarketListId);
+        return moneyMarketListMapper.toDto(moneyMarketList);
+    }
+
+    /**
+     * Evicting before the commit would let another transaction cache the deals again as they were, and the index
+     * must not show flags that may still be rolled back. There is no replaced list when a list is activated alone.
+     */
+    private void evictAndReindexDealsAfterCommit(Long replacedId, Long replacementId) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+                    cache.evictEntityData(MoneyMarketDeal.class);
+                    if (replacedId != null) {
+                        cache.evictCollectionData(DEALS_COLLECTION_ROLE, replacedId);
+                    }
+                    cache.evictCollectionData(DEALS_COLLECTION_ROLE, replacementId);
+                    try {
+                        if (replacedId != null) {
+                            moneyMarketDealSearchRepository.updateActiveInIndexByMoneyMarketListId(replacedId, false);
+                        }
+                        moneyMarketDealSearchRepository.updateActiveInIndexByMoneyMarketListId(replacementId, true);
+                    } catch (RuntimeException e) {
+                        LOG.warn("Could not update the indexed deals of MoneyMarketLists {} and {}", replacedId, replacementId, e);
+                    }
+                }
+            }
+        );
+    }
+}
@@ -22,6 +22,7 @@ import io.github.bi.domain.MoneyMarketList;
 import io.github.bi.repository.MoneyMarketListRepository;
 import io.github.bi.repository.search.MoneyMarketListSearchRepository;
 import io.github.bi.service.MoneyMarketListService;
+import io.github.bi.service.cache.MoneyMarketDealVersions;
 import io.github.bi.service.dto.MoneyMarketListDTO;
 import io.github.bi.service.mapper.MoneyMarketListMapper;
 import java.util.Optional;
@@ -47,14 +48,18 @@ public class MoneyMarketListServiceImpl implements MoneyMarketListService {
 
     private final MoneyMarketListSearchRepository moneyMarketListSearchRepository;
 
+    private final MoneyMarketDealVersions moneyMarketDealVersions;
+
     public MoneyMarketListServiceImpl(
         MoneyMarketListRepository moneyMarketListRepository,
         MoneyMarketListMapper moneyMarketListMapper,
-        MoneyMarketListSearchRepository moneyMarketListSearchRepository
+        MoneyMarketListSearchRepository moneyMarketListSearchRepository,
+        MoneyMarketDealVersions moneyMarketDealVersions
     ) {
         this.moneyMarketListRepository = moneyMarketListRepository;
         this.moneyMarketListMapper = moneyMarketListMapper;
         this.moneyMarketListSearchRepository = moneyMarketListSearchRepository;
+        this.moneyMarketDealVersions = moneyMarketDealVersions;
     }
 
     @Override
@@ -69,8 +74,11 @@ public class MoneyMarketListServiceImpl implements MoneyMarketListService {
     @Override
     public MoneyMarketListDTO update(MoneyMarketListDTO moneyMarketListDTO) {
         LOG.debug("Request to update MoneyMarketList : {}", moneyMarketListDTO);
+        // deals show the description of their list, and are versioned by its report date before and after
+        moneyMarketDealVersions.changed(moneyMarketListDTO.getId());
         MoneyMarketList moneyMarketList = moneyMarketListMapper.toEntity(moneyMarketListDTO);
         moneyMarketList = moneyMarketListRepository.save(moneyMarketList);
+        moneyMarketDealVersions.changed(moneyMarketList.getId());
         moneyMarketListSearchRepository.index(moneyMarketList);
         return moneyMarketListMapper.toDto(moneyMarketList);
     }
@@ -82,12 +90,14 @@ public class MoneyMarketListServiceImpl implements MoneyMarketListService {
         return moneyMarketListRepository
             .findById(moneyMarketListDTO.getId())
             .map(existingMoneyMarketList -> {
+                moneyMarketDealVersions.changed(existingMoneyMarketList.getId());
                 moneyMarketListMapper.partialUpdate(existingMoneyMarketList, moneyMarketListDTO);
 
                 return existingMoneyMarketList;
             })
             .map(moneyMarketListRepository::save)
             .map(savedMoneyMarketList -> {
+                moneyMarketDealVersions.changed(savedMoneyMarketList.getId());
                 moneyMarketListSearchRepository.index(savedMoneyMarketList);
                 return savedMoneyMarketList;
             })
@@ -108,6 +118,7 @@ public class MoneyMarketListServiceImpl implements MoneyMarketListService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete MoneyMarketList : {}", id);
+        moneyMarketDealVersions.changed(id);
         moneyMarketListRepository.deleteById(id);
         moneyMarketListSearchRepository.deleteFromIndexById(id);
     }
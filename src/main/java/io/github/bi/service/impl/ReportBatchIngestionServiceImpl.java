@@ -0,0 +1,530 @@
+package io.github.bi.service.impl;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.domain.MoneyMarketUploadNotification;
+import io.github.bi.domain.ReportBatch;
+import io.github.bi.domain.enumeration.FileProcessFlag;
+import io.github.bi.domain.enumeration.reportBatchStatus;
+import io.github.bi.repository.MoneyMarketDealRepository;
+import io.github.bi.repository.MoneyMarketListRepository;
+import io.github.bi.repository.MoneyMarketUploadNotificationRepository;
+import io.github.bi.repository.ReportBatchRepository;
+import io.github.bi.repository.search.MoneyMarketDealSearchRepository;
+import io.github.bi.repository.search.ReportBatchSearchRepository;
+import io.github.bi.service.MoneyMarketListReplacementService;
+import io.github.bi.service.ReportBatchIngestionService;
+import io.github.bi.service.analytics.MoneyMarketDealChanges;
+import io.github.bi.service.dto.ReportBatchIngestionSummaryDTO;
+import io.github.bi.service.ingestion.CsvFormatException;
+import io.github.bi.service.ingestion.DealFileParser;
+import io.github.bi.service.ingestion.IngestionCheckpoint;
+import io.github.bi.service.ingestion.IngestionCheckpointLostException;
+import io.github.bi.service.ingestion.IngestionCheckpointStore;
+import io.github.bi.service.ingestion.MoneyMarketDealRowHash;
+import io.github.bi.service.ingestion.MoneyMarketDealRowHashIndex;
+import io.github.bi.service.ingestion.MoneyMarketDealBulkLoader;
+import io.github.bi.service.ingestion.RowMappingException;
+import io.github.bi.service.storage.ReportBatchFileStore;
+import io.github.bi.service.summary.MoneyMarketDealDailySummaryUpdater;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service Implementation for ingesting the deal file of a {@link ReportBatch}.
+ * <p>
+ * The file is parsed in parallel chunks by the {@link DealFileParser} and handed, in file order, to the
+ * {@link MoneyMarketDealBulkLoader} in batches of {@code application.ingestion.batch-size} deals, each batch in its
+ * own transaction, so neither the parsed deals nor the persistence context grow with the size of the file.
+ * If ingestion fails, the deals written so far are removed and the new list is cancelled.
+ * <p>
+ * Every batch advances the {@link IngestionCheckpoint} of the reportBatch in the same transaction, to the end of
+ * the last chunk it holds. When the node running an ingestion dies, its checkpoint stops moving; once the heartbeat
+ * has been stale for {@code application.ingestion.heartbeat-timeout}, any node reclaims the reportBatch and carries
+ * on from the checkpoint, skipping the part of the file whose deals have already been committed. A reportBatch left
+ * {@code IN_PROGRESS} without a checkpoint, or whose failure could not be recorded, is resumed the same way.
+ * <p>
+ * A new upload replaces the active list of the same report date. Deals whose {@link MoneyMarketDealRowHash} matches
+ * a deal of that list are not written again: they are recorded with the checkpoint and moved over to the new list
+ * when it is activated, in the transaction in which the {@link MoneyMarketListReplacementService} marks the old
+ * list {@code REPLACED}.
+ * <p>
+ * The deals are written inactive, and left out of the {@link io.github.bi.domain.MoneyMarketDealDailySummary}s, so
+ * readers go on seeing only the list being replaced until the ingestion completes. The deals then become active and
+ * are counted in the summaries in the one transaction that activates the new list.
+ */
+@Service
+public class ReportBatchIngestionServiceImpl implements ReportBatchIngestionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportBatchIngestionServiceImpl.class);
+
+    private static final Set<FileProcessFlag> CLAIMABLE_FLAGS = EnumSet.of(FileProcessFlag.PENDING, FileProcessFlag.FAILED);
+
+    private final ReportBatchRepository reportBatchRepository;
+
+    private final MoneyMarketListRepository moneyMarketListRepository;
+
+    private final MoneyMarketDealRepository moneyMarketDealRepository;
+
+    private final MoneyMarketUploadNotificationRepository moneyMarketUploadNotificationRepository;
+
+    private final MoneyMarketDealBulkLoader moneyMarketDealBulkLoader;
+
+    private final DealFileParser dealFileParser;
+
+    private final MoneyMarketDealSearchRepository moneyMarketDealSearchRepository;
+
+    private final ReportBatchSearchRepository reportBatchSearchRepository;
+
+    private final ReportBatchFileStore reportBatchFileStore;
+
+    private final MoneyMarketListReplacementService moneyMarketListReplacementService;
+
+    private final IngestionCheckpointStore ingestionCheckpointStore;
+
+    private final MoneyMarketDealDailySummaryUpdater moneyMarketDealDailySummaryUpdater;
+
+    private final MoneyMarketDealChanges moneyMarketDealChanges;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor taskExecutor;
+
+    public ReportBatchIngestionServiceImpl(
+        ReportBatchRepository reportBatchRepository,
+        MoneyMarketListRepository moneyMarketListRepository,
+        MoneyMarketDealRepository moneyMarketDealRepository,
+        MoneyMarketUploadNotificationRepository moneyMarketUploadNotificationRepository,
+        MoneyMarketDealBulkLoader moneyMarketDealBulkLoader,
+        DealFileParser dealFileParser,
+        MoneyMarketDealSearchRepository moneyMarketDealSearchRepository,
+        ReportBatchSearchRepository reportBatchSearchRepository,
+        ReportBatchFileStore reportBatchFileStore,
+        MoneyMarketListReplacementService moneyMarketListReplacementService,
+        IngestionCheckpointStore ingestionCheckpointStore,
+        MoneyMarketDealDailySummaryUpdater moneyMarketDealDailySummaryUpdater,
+        MoneyMarketDealChanges moneyMarketDealChanges,
+        ApplicationProperties applicationProperties,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        this.reportBatchRepository = reportBatchRepository;
+        this.moneyMarketListRepository = moneyMarketListRepository;
+        this.moneyMarketDealRepository = moneyMarketDealRepository;
+        this.moneyMarketUploadNotificationRepository = moneyMarketUploadNotificationRepository;
+        this.moneyMarketDealBulkLoader = moneyMarketDealBulkLoader;
+        this.dealFileParser = dealFileParser;
+        this.moneyMarketDealSearchRepository = moneyMarketDealSearchRepository;
+        this.reportBatchSearchRepository = reportBatchSearchRepository;
+        this.reportBatchFileStore = reportBatchFileStore;
+        this.moneyMarketListReplacementService = moneyMarketListReplacementService;
+        this.ingestionCheckpointStore = ingestionCheckpointStore;
+        this.moneyMarketDealDailySummaryUpdater = moneyMarketDealDailySummaryUpdater;
+        this.moneyMarketDealChanges = moneyMarketDealChanges;
+        this.applicationProperties = applicationProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public boolean submit(Long reportBatchId) {
+        LOG.debug("Request to submit ReportBatch : {} for ingestion", reportBatchId);
+        if (!claim(reportBatchId)) {
+            return false;
+        }
+        taskExecutor.execute(() -> process(reportBatchId));
+        return true;
+    }
+
+    @Override
+    public ReportBatchIngestionSummaryDTO ingest(Long reportBatchId) {
+        LOG.debug("Request to ingest ReportBatch : {}", reportBatchId);
+        if (!claim(reportBatchId)) {
+            throw new IllegalStateException("ReportBatch " + reportBatchId + " cannot be claimed for ingestion");
+        }
+        return process(reportBatchId);
+    }
+
+    @Override
+    @Scheduled(
+        initialDelayString = "${application.ingestion.reclaim-interval:PT1M}",
+        fixedDelayString = "${application.ingestion.reclaim-interval:PT1M}"
+    )
+    public void resumeOrphanedIngestions() {
+        Instant heartbeatBefore = Instant.now().minus(applicationProperties.getIngestion().getHeartbeatTimeout());
+        List<Long> orphaned = transactionTemplate.execute(status -> ingestionCheckpointStore.findStale(heartbeatBefore));
+        for (Long reportBatchId : orphaned) {
+            Boolean reclaimed;
+            try {
+                reclaimed = transactionTemplate.execute(status -> ingestionCheckpointStore.reclaim(reportBatchId, heartbeatBefore));
+            } catch (DuplicateKeyException e) {
+                // another node started a checkpoint for it first
+                continue;
+            }
+            if (Boolean.TRUE.equals(reclaimed)) {
+                LOG.warn("Resuming the orphaned ingestion of ReportBatch {}", reportBatchId);
+                taskExecutor.execute(() -> process(reportBatchId));
+            }
+        }
+    }
+
+    private boolean claim(Long reportBatchId) {
+        Boolean claimed = transactionTemplate.execute(status -> {
+            if (reportBatchRepository.transitionProcessFlag(reportBatchId, CLAIMABLE_FLAGS, FileProcessFlag.IN_PROGRESS) != 1) {
+                return false;
+            }
+            ingestionCheckpointStore.start(reportBatchId);
+            return true;
+        });
+        return Boolean.TRUE.equals(claimed);
+    }
+
+    private ReportBatchIngestionSummaryDTO process(Long reportBatchId) {
+        long started = System.nanoTime();
+        ReportBatchIngestionSummaryDTO summary = new ReportBatchIngestionSummaryDTO();
+        summary.setReportBatchId(reportBatchId);
+        try {
+            IngestionTarget target = transactionTemplate.execute(status -> openList(reportBatchId));
+            IngestionCheckpoint checkpoint = target.checkpoint();
+            summary.setMoneyMarketListId(target.moneyMarketList().getId());
+            summary.setRowsRead(checkpoint.rowsRead());
+            summary.setDealsWritten(checkpoint.dealsWritten());
+            summary.setDealsCarried(checkpoint.dealsCarried());
+            summary.setRowsRejected(checkpoint.rowsRejected());
+            MoneyMarketDealRowHashIndex replacedDeals = null;
+            if (target.replacedListId() != null) {
+                replacedDeals = MoneyMarketDealRowHashIndex.load(
+                    jdbcTemplate,
+                    target.replacedListId(),
+                    checkpoint.dealsCarried() == 0 ? List.of() : ingestionCheckpointStore.findCarried(reportBatchId)
+                );
+                LOG.debug(
+                    "Matching the deals of ReportBatch {} against {} deals of MoneyMarketList {}",
+                    reportBatchId,
+                    replacedDeals.size(),
+                    target.replacedListId()
+                );
+            }
+            try (InputStream file = reportBatchFileStore.open(target.fileIdentifier())) {
+                readDeals(file, reportBatchId, target.moneyMarketList(), replacedDeals, checkpoint, summary);
+            }
+            List<Long> carried = transactionTemplate.execute(status ->
+                complete(reportBatchId, summary.getMoneyMarketListId(), target.replacedListId())
+            );
+            updateIndexedDeals(carried, summary.getMoneyMarketListId());
+            summary.setProcessFlag(FileProcessFlag.PROCESSED);
+        } catch (IngestionCheckpointLostException e) {
+            // the batch being flushed was rolled back, and the node that reclaimed the ingestion carries it on
+            LOG.warn("Abandoning the ingestion of ReportBatch {} : {}", reportBatchId, e.getMessage());
+            summary.setProcessFlag(FileProcessFlag.IN_PROGRESS);
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Ingestion of ReportBatch {} failed after {} rows", reportBatchId, summary.getRowsRead(), e);
+            try {
+                transactionTemplate.executeWithoutResult(status -> fail(reportBatchId, summary.getMoneyMarketListId(), e));
+                removeIndexedDeals(summary.getMoneyMarketListId());
+                summary.setProcessFlag(FileProcessFlag.FAILED);
+            } catch (IngestionCheckpointLostException lost) {
+                // the deals belong to the node that reclaimed the ingestion, which decides how it ends
+                LOG.warn("Abandoning the ingestion of ReportBatch {} : {}", reportBatchId, lost.getMessage());
+                summary.setProcessFlag(FileProcessFlag.IN_PROGRESS);
+            } catch (RuntimeException failure) {
+                // the checkpoint is left to go stale, and the ingestion is then resumed like that of a node that died
+                LOG.error("Could not record the failed ingestion of ReportBatch {}, it will be resumed", reportBatchId, failure);
+                summary.setProcessFlag(FileProcessFlag.IN_PROGRESS);
+            }
+        }
+        summary.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        LOG.info("Ingestion of ReportBatch {} ended : {}", reportBatchId, summary);
+        return summary;
+    }
+
+    private IngestionTarget openList(Long reportBatchId) {
+        ReportBatch reportBatch = reportBatchRepository
+            .findById(reportBatchId)
+            .orElseThrow(() -> new IllegalStateException("ReportBatch " + reportBatchId + " not found"));
+        IngestionCheckpoint checkpoint = ingestionCheckpointStore
+            .find(reportBatchId)
+            .orElseThrow(() -> new IllegalStateException("ReportBatch " + reportBatchId + " has no ingestion checkpoint"));
+        ingestionCheckpointStore.hold(reportBatchId);
+        MoneyMarketList moneyMarketList = moneyMarketListRepository.findByReportBatchId(reportBatchId).orElseGet(MoneyMarketList::new);
+        if (checkpoint.isStarted() && Objects.equals(checkpoint.moneyMarketListId(), moneyMarketList.getId())) {
+            LOG.info("Resuming ingestion of ReportBatch {} at record {}", reportBatchId, checkpoint.recordNumber());
+        } else {
+            if (moneyMarketList.getId() != null) {
+                // left behind by an earlier failed attempt
+                moneyMarketDealDailySummaryUpdater.removeDealsOf(moneyMarketList.getId());
+                moneyMarketDealRepository.deleteByMoneyMarketListId(moneyMarketList.getId());
+                moneyMarketDealChanges.changed(moneyMarketList.getId());
+            }
+            moneyMarketList
+                .reportDate(reportBatch.getReportDate())
+                .uploadTimeStamp(ZonedDateTime.now())
+                .status(reportBatchStatus.ACTIVE)
+                .description(reportBatch.getDescription())
+                .active(false)
+                .uploadedBy(reportBatch.getUploadedBy())
+                .reportBatch(reportBatch);
+            moneyMarketList = moneyMarketListRepository.save(moneyMarketList);
+            checkpoint = new IngestionCheckpoint(moneyMarketList.getId(), 0, 0, 0, 0, 0, 0);
+            ingestionCheckpointStore.advance(reportBatchId, checkpoint);
+        }
+        Long replacedListId = moneyMarketListRepository
+            .findFirstByReportDateAndStatusAndActiveTrueAndIdNotOrderByUploadTimeStampDesc(
+                reportBatch.getReportDate(),
+                reportBatchStatus.ACTIVE,
+                moneyMarketList.getId()
+            )
+            .map(MoneyMarketList::getId)
+            .orElse(null);
+
+        // a detached copy without lazy associations, shared by every deal of the file
+        MoneyMarketList reference = new MoneyMarketList()
+            .id(moneyMarketList.getId())
+            .reportDate(moneyMarketList.getReportDate())
+            .uploadTimeStamp(moneyMarketList.getUploadTimeStamp())
+            .status(moneyMarketList.getStatus())
+            .description(moneyMarketList.getDescription())
+            .active(false);
+        return new IngestionTarget(reference, reportBatch.getFileIdentifier(), checkpoint, replacedListId);
+    }
+
+    private void readDeals(
+        InputStream file,
+        Long reportBatchId,
+        MoneyMarketList moneyMarketList,
+        MoneyMarketDealRowHashIndex replacedDeals,
+        IngestionCheckpoint from,
+        ReportBatchIngestionSummaryDTO summary
+    ) throws IOException {
+        int batchSize = applicationProperties.getIngestion().getBatchSize();
+        PendingBatch batch = new PendingBatch(batchSize, from);
+        long[] parseNanos = { 0 };
+        int chunks = dealFileParser.parse(
+            file,
+            from.offset(),
+            from.recordNumber(),
+            moneyMarketList,
+            moneyMarketList.getReportDate(),
+            chunk -> {
+                summary.setRowsRead(summary.getRowsRead() + chunk.rows());
+                parseNanos[0] += chunk.parseNanos();
+                for (MoneyMarketDeal deal : chunk.deals()) {
+                    long unchanged = replacedDeals == null ? -1 : replacedDeals.take(deal.getRowHash());
+                    if (unchanged < 0) {
+                        batch.deals.add(deal);
+                    } else {
+                        batch.carried.add(unchanged);
+                    }
+                }
+                batch.rejections.addAll(chunk.rejections());
+                batch.offset = chunk.endOffset();
+                batch.recordNumber = chunk.nextRecordNumber();
+                if (batch.deals.size() + batch.carried.size() >= batchSize) {
+                    flush(batch, reportBatchId, moneyMarketList.getId(), summary);
+                }
+            }
+        );
+        flush(batch, reportBatchId, moneyMarketList.getId(), summary);
+        summary.setChunks(chunks);
+        summary.setParseMillis(parseNanos[0] / 1_000_000);
+    }
+
+    private void flush(PendingBatch batch, Long reportBatchId, Long moneyMarketListId, ReportBatchIngestionSummaryDTO summary) {
+        List<MoneyMarketDeal> deals = batch.deals;
+        List<RowMappingException> rejections = batch.rejections;
+        IngestionCheckpoint checkpoint = new IngestionCheckpoint(
+            moneyMarketListId,
+            batch.offset,
+            batch.recordNumber,
+            summary.getRowsRead(),
+            summary.getDealsWritten() + deals.size(),
+            summary.getDealsCarried() + batch.carried.size(),
+            summary.getRowsRejected() + rejections.size()
+        );
+        transactionTemplate.executeWithoutResult(status -> {
+            moneyMarketDealBulkLoader.load(deals);
+            ingestionCheckpointStore.carry(reportBatchId, batch.carried);
+            if (!rejections.isEmpty()) {
+                ReportBatch reportBatch = reportBatchRepository.getReferenceById(reportBatchId);
+                MoneyMarketList moneyMarketList = moneyMarketListRepository.getReferenceById(moneyMarketListId);
+                moneyMarketUploadNotificationRepository.saveAll(
+                    rejections
+                        .stream()
+                        .map(rejection -> notification(rejection.getMessage(), rejection.getRecordNumber(), reportBatch, moneyMarketList))
+                        .toList()
+                );
+            }
+            ingestionCheckpointStore.advance(reportBatchId, checkpoint);
+        });
+        if (applicationProperties.getIngestion().isIndexDeals() && !deals.isEmpty()) {
+            try {
+                moneyMarketDealSearchRepository.saveAll(deals);
+            } catch (RuntimeException e) {
+                LOG.warn("Could not index {} deals of MoneyMarketList {}", deals.size(), moneyMarketListId, e);
+            }
+        }
+        summary.setDealsWritten(checkpoint.dealsWritten());
+        summary.setDealsCarried(checkpoint.dealsCarried());
+        summary.setRowsRejected(checkpoint.rowsRejected());
+        deals.clear();
+        batch.carried.clear();
+        rejections.clear();
+    }
+
+    private List<Long> complete(Long reportBatchId, Long moneyMarketListId, Long replacedListId) {
+        // before anything is written, so that a node which lost the ingestion cannot complete it
+        ingestionCheckpointStore.hold(reportBatchId);
+        List<Long> carried = List.of();
+        if (replacedListId != null) {
+            carried = ingestionCheckpointStore.findCarried(reportBatchId);
+            moneyMarketDealRepository.carryOverToMoneyMarketList(reportBatchId, moneyMarketListId);
+            // also activates the new list and its deals
+            moneyMarketListReplacementService.replace(replacedListId, moneyMarketListId);
+        } else {
+            moneyMarketListReplacementService.activate(moneyMarketListId);
+        }
+        reportBatchRepository.transitionProcessFlag(reportBatchId, EnumSet.of(FileProcessFlag.IN_PROGRESS), FileProcessFlag.PROCESSED);
+        ingestionCheckpointStore.remove(reportBatchId);
+        reportBatchSearchRepository.index(reportBatchRepository.getReferenceById(reportBatchId));
+        return carried;
+    }
+
+    private void fail(Long reportBatchId, Long moneyMarketListId, Exception cause) {
+        // before anything is deleted, so that a node which lost the ingestion cannot fail it
+        ingestionCheckpointStore.hold(reportBatchId);
+        MoneyMarketList moneyMarketList = null;
+        if (moneyMarketListId != null) {
+            moneyMarketDealDailySummaryUpdater.removeDealsOf(moneyMarketListId);
+            moneyMarketDealRepository.deleteByMoneyMarketListId(moneyMarketListId);
+            moneyMarketDealChanges.changed(moneyMarketListId);
+            moneyMarketList = moneyMarketListRepository.findById(moneyMarketListId).orElse(null);
+            if (moneyMarketList != null) {
+                moneyMarketList.setStatus(reportBatchStatus.CANCELLED);
+                moneyMarketList.setActive(false);
+            }
+        }
+        reportBatchRepository.transitionProcessFlag(reportBatchId, EnumSet.of(FileProcessFlag.IN_PROGRESS), FileProcessFlag.FAILED);
+        ingestionCheckpointStore.remove(reportBatchId);
+        if (reportBatchRepository.existsById(reportBatchId)) {
+            Long recordNumber = cause instanceof CsvFormatException csvFormatException ? csvFormatException.getRecordNumber() : null;
+            moneyMarketUploadNotificationRepository.save(
+                notification(cause.getMessage(), recordNumber, reportBatchRepository.getReferenceById(reportBatchId), moneyMarketList)
+            );
+        }
+    }
+
+    private void updateIndexedDeals(List<Long> carried, Long moneyMarketListId) {
+        if (carried.isEmpty() || !applicationProperties.getIngestion().isIndexDeals()) {
+            return;
+        }
+        int batchSize = applicationProperties.getIngestion().getBatchSize();
+        try {
+            for (int from = 0; from < carried.size(); from += batchSize) {
+                moneyMarketDealSearchRepository.updateMoneyMarketListInIndex(
+                    carried.subList(from, Math.min(from + batchSize, carried.size())),
+                    moneyMarketListId,
+                    true
+                );
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Could not move the indexed deals carried over to MoneyMarketList {}", moneyMarketListId, e);
+        }
+    }
+
+    private void removeIndexedDeals(Long moneyMarketListId) {
+        if (moneyMarketListId == null || !applicationProperties.getIngestion().isIndexDeals()) {
+            return;
+        }
+        try {
+            moneyMarketDealSearchRepository.deleteFromIndexByMoneyMarketListId(moneyMarketListId);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not remove the indexed deals of MoneyMarketList {}", moneyMarketListId, e);
+        }
+    }
+
+    private static MoneyMarketUploadNotification notification(
+        String message,
+        Long recordNumber,
+        ReportBatch reportBatch,
+        MoneyMarketList moneyMarketList
+    ) {
+        return new MoneyMarketUploadNotification()
+            .errorMessage(message)
+            .rowNumber(recordNumber == null ? null : Math.toIntExact(recordNumber))
+            .referenceNumber(UUID.randomUUID())
+            .reportBatch(reportBatch)
+            .moneyMarketList(moneyMarketList);
+    }
+
+    private record IngestionTarget(
+        MoneyMarketList moneyMarketList,
+        UUID fileIdentifier,
+        IngestionCheckpoint checkpoint,
+        Long replacedListId
+    ) {}
+
+    /**
+     * The deals, carried deals and rejections read since the last flush, and the position in the file they end at.
+     */
+    private static final class PendingBatch {
+
+        private final List<MoneyMarketDeal> deals;
+
+        private final List<Long> carried = new ArrayList<>();
+
+        private final List<RowMappingException> rejections = new ArrayList<>();
+
+        private long offset;
+
+        private long recordNumber;
+
+        private PendingBatch(int batchSize, IngestionCheckpoint from) {
+            this.deals = new ArrayList<>(batchSize);
+            this.offset = from.offset();
+            this.recordNumber = from.recordNumber();
+        }
+    }
+}
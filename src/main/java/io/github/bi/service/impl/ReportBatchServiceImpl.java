@@ -24,9 +24,14 @@ import io.github.bi.repository.search.ReportBatchSearchRepository;
 import io.github.bi.service.ReportBatchService;
 import io.github.bi.service.dto.ReportBatchDTO;
 import io.github.bi.service.mapper.ReportBatchMapper;
+import io.github.bi.service.storage.ReportBatchFileStore;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
@@ -35,6 +40,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service Implementation for managing {@link io.github.bi.domain.ReportBatch}.
@@ -51,19 +58,24 @@ public class ReportBatchServiceImpl implements ReportBatchService {
 
     private final ReportBatchSearchRepository reportBatchSearchRepository;
 
+    private final ReportBatchFileStore reportBatchFileStore;
+
     public ReportBatchServiceImpl(
         ReportBatchRepository reportBatchRepository,
         ReportBatchMapper reportBatchMapper,
-        ReportBatchSearchRepository reportBatchSearchRepository
+        ReportBatchSearchRepository reportBatchSearchRepository,
+        ReportBatchFileStore reportBatchFileStore
     ) {
         this.reportBatchRepository = reportBatchRepository;
         this.reportBatchMapper = reportBatchMapper;
         this.reportBatchSearchRepository = reportBatchSearchRepository;
+        this.reportBatchFileStore = reportBatchFileStore;
     }
 
     @Override
     public ReportBatchDTO save(ReportBatchDTO reportBatchDTO) {
         LOG.debug("Request to save ReportBatch : {}", reportBatchDTO);
+        storeFile(reportBatchDTO).ifPresent(reportBatchDTO::setFileIdentifier);
         ReportBatch reportBatch = reportBatchMapper.toEntity(reportBatchDTO);
         reportBatch = reportBatchRepository.save(reportBatch);
         reportBatchSearchRepository.index(reportBatch);
@@ -73,8 +85,14 @@ public class ReportBatchServiceImpl implements ReportBatchService {
     @Override
     public ReportBatchDTO update(ReportBatchDTO reportBatchDTO) {
         LOG.debug("Request to update ReportBatch : {}", reportBatchDTO);
+        UUID previousFileIdentifier = reportBatchRepository
+            .findById(reportBatchDTO.getId())
+            .map(ReportBatch::getFileIdentifier)
+            .orElse(null);
+        storeFile(reportBatchDTO).ifPresent(reportBatchDTO::setFileIdentifier);
         ReportBatch reportBatch = reportBatchMapper.toEntity(reportBatchDTO);
         reportBatch = reportBatchRepository.save(reportBatch);
+        deleteSupersededFileAfterCommit(previousFileIdentifier, reportBatch.getFileIdentifier());
         reportBatchSearchRepository.index(reportBatch);
         return reportBatchMapper.toDto(reportBatch);
     }
@@ -86,7 +104,10 @@ public class ReportBatchServiceImpl implements ReportBatchService {
         return reportBatchRepository
             .findById(reportBatchDTO.getId())
             .map(existingReportBatch -> {
+                UUID previousFileIdentifier = existingReportBatch.getFileIdentifier();
                 reportBatchMapper.partialUpdate(existingReportBatch, reportBatchDTO);
+                storeFile(reportBatchDTO).ifPresent(existingReportBatch::setFileIdentifier);
+                deleteSupersededFileAfterCommit(previousFileIdentifier, existingReportBatch.getFileIdentifier());
 
                 return existingReportBatch;
             })
@@ -125,8 +146,10 @@ public class ReportBatchServiceImpl implements ReportBatchService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete ReportBatch : {}", id);
+        Optional<UUID> fileIdentifier = reportBatchRepository.findById(id).map(ReportBatch::getFileIdentifier);
         reportBatchRepository.deleteById(id);
         reportBatchSearchRepository.deleteFromIndexById(id);
+        fileIdentifier.ifPresent(this::deleteFileAfterCommit);
     }
 
     @Override
@@ -135,4 +158,65 @@ public class ReportBatchServiceImpl implements ReportBatchService {
         LOG.debug("Request to search for a page of ReportBatches for query {}", query);
         return reportBatchSearchRepository.search(query, pageable).map(reportBatchMapper::toDto);
     }
+
+    /**
+     * Move a file uploaded in the JSON body to the file store, under a fresh identifier, so that the file a committed
+     * batch points to is never overwritten. The file is removed again if the transaction rolls back.
+     * @return the identifier the file is stored under, if the body has a file.
+     */
+    private Optional<UUID> storeFile(ReportBatchDTO reportBatchDTO) {
+        if (reportBatchDTO.getCsvFileAttachment() == null) {
+            return Optional.empty();
+        }
+        UUID fileIdentifier = UUID.randomUUID();
+        try {
+            reportBatchFileStore.write(fileIdentifier, new ByteArrayInputStream(reportBatchDTO.getCsvFileAttachment()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the file of ReportBatch " + reportBatchDTO.getId(), e);
+        }
+        deleteFileAfterRollback(fileIdentifier);
+        reportBatchDTO.setCsvFileAttachment(null);
+        return Optional.of(fileIdentifier);
+    }
+
+    /**
+     * Remove the file a batch pointed to once it no longer does, when the transaction commits.
+     */
+    private void deleteSupersededFileAfterCommit(UUID previousFileIdentifier, UUID fileIdentifier) {
+        if (previousFileIdentifier != null && !previousFileIdentifier.equals(fileIdentifier)) {
+            deleteFileAfterCommit(previousFileIdentifier);
+        }
+    }
+
+    private void deleteFileAfterCommit(UUID fileIdentifier) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteFile(fileIdentifier);
+                }
+            }
+        );
+    }
+
+    private void deleteFileAfterRollback(UUID fileIdentifier) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        deleteFile(fileIdentifier);
+                    }
+                }
+            }
+        );
+    }
+
+    private void deleteFile(UUID fileIdentifier) {
+        try {
+            reportBatchFileStore.delete(fileIdentifier);
+        } catch (IOException e) {
+            LOG.warn("Could not delete report batch file {}", fileIdentifier, e);
+        }
+    }
 }
@@ -0,0 +1,167 @@
+package io.github.bi.service.impl;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.ApplicationUser;
+import io.github.bi.domain.ReportBatch;
+import io.github.bi.domain.enumeration.FileProcessFlag;
+import io.github.bi.domain.enumeration.reportBatchStatus;
+import io.github.bi.repository.ApplicationUserRepository;
+import io.github.bi.repository.ReportBatchRepository;
+import io.github.bi.repository.search.ReportBatchSearchRepository;
+import io.github.bi.security.SecurityUtils;
+import io.github.bi.service.ReportBatchUploadService;
+import io.github.bi.service.dto.ReportBatchDTO;
+import io.github.bi.service.mapper.ReportBatchMapper;
+import io.github.bi.service.storage.ReportBatchFileStore;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service Implementation for uploading the deal file of a new {@link ReportBatch}.
+ * <p>
+ * The file goes straight from the request to the {@link ReportBatchFileStore}; only the metadata of the batch
+ * is written to the database. If the batch cannot be saved, or the file turns out to be a duplicate, the stored
+ * file is removed again. The unique index on the checksum settles concurrent uploads of the same file.
+ * <p>
+ * A batch whose ingestion failed does not make its file a duplicate: it gives its checksum up to the batch of the
+ * new upload, in the transaction that saves the new batch, and stays as it is otherwise.
+ */
+@Service
+public class ReportBatchUploadServiceImpl implements ReportBatchUploadService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportBatchUploadServiceImpl.class);
+
+    private static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    private final ReportBatchRepository reportBatchRepository;
+
+    private final ApplicationUserRepository applicationUserRepository;
+
+    private final ReportBatchSearchRepository reportBatchSearchRepository;
+
+    private final ReportBatchMapper reportBatchMapper;
+
+    private final ReportBatchFileStore reportBatchFileStore;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ReportBatchUploadServiceImpl(
+        ReportBatchRepository reportBatchRepository,
+        ApplicationUserRepository applicationUserRepository,
+        ReportBatchSearchRepository reportBatchSearchRepository,
+        ReportBatchMapper reportBatchMapper,
+        ReportBatchFileStore reportBatchFileStore,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.reportBatchRepository = reportBatchRepository;
+        this.applicationUserRepository = applicationUserRepository;
+        this.reportBatchSearchRepository = reportBatchSearchRepository;
+        this.reportBatchMapper = reportBatchMapper;
+        this.reportBatchFileStore = reportBatchFileStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Upload upload(InputStream content, String contentType, LocalDate reportDate, String description) throws IOException {
+        LOG.debug("Request to upload a ReportBatch file for {} : {}", reportDate, description);
+        ApplicationUser uploadedBy = SecurityUtils.getCurrentUserLogin()
+            .flatMap(applicationUserRepository::findOneByApplicationIdentity)
+            .orElseThrow(() -> new IllegalStateException("The current user is not an application user"));
+
+        UUID fileIdentifier = UUID.randomUUID();
+        MessageDigest digest = newDigest();
+        long size = reportBatchFileStore.write(fileIdentifier, new DigestInputStream(content, digest));
+        String checksum = HexFormat.of().formatHex(digest.digest());
+        LOG.debug("Stored file {} of {} bytes with checksum {}", fileIdentifier, size, checksum);
+        Optional<ReportBatchDTO> existing = findByChecksum(checksum);
+        if (existing.isPresent() && existing.orElseThrow().getProcessFlag() != FileProcessFlag.FAILED) {
+            return duplicate(existing.orElseThrow(), fileIdentifier);
+        }
+
+        ReportBatch newReportBatch = new ReportBatch()
+            .reportDate(reportDate)
+            .uploadTimeStamp(ZonedDateTime.now())
+            .status(reportBatchStatus.ACTIVE)
+            .active(true)
+            .description(description)
+            .fileIdentifier(fileIdentifier)
+            .processFlag(FileProcessFlag.PENDING)
+            .csvFileAttachmentContentType(contentType)
+            .fileChecksum(checksum)
+            .uploadedBy(uploadedBy);
+        ReportBatch reportBatch;
+        try {
+            reportBatch = transactionTemplate.execute(status -> {
+                reportBatchRepository.clearFileChecksum(checksum, FileProcessFlag.FAILED);
+                return reportBatchRepository.save(newReportBatch);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // the same file was uploaded concurrently
+            existing = findByChecksum(checksum);
+            if (existing.isPresent()) {
+                return duplicate(existing.orElseThrow(), fileIdentifier);
+            }
+            reportBatchFileStore.delete(fileIdentifier);
+            throw e;
+        } catch (RuntimeException e) {
+            reportBatchFileStore.delete(fileIdentifier);
+            throw e;
+        }
+        reportBatchSearchRepository.index(reportBatch);
+        if (existing.isPresent()) {
+            ReportBatchDTO failed = existing.orElseThrow();
+            LOG.info("ReportBatch {} takes the file of the failed ReportBatch {} over", reportBatch.getId(), failed.getId());
+            reportBatchSearchRepository.index(reportBatchMapper.toEntity(failed));
+        }
+        return new Upload(reportBatchMapper.toDto(reportBatch), false);
+    }
+
+    private Optional<ReportBatchDTO> findByChecksum(String checksum) {
+        return transactionTemplate.execute(status -> reportBatchRepository.findOneByFileChecksum(checksum).map(reportBatchMapper::toDto));
+    }
+
+    private Upload duplicate(ReportBatchDTO existing, UUID fileIdentifier) throws IOException {
+        LOG.info("The file {} is a copy of the file of ReportBatch {}", fileIdentifier, existing.getId());
+        reportBatchFileStore.delete(fileIdentifier);
+        return new Upload(existing, true);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(CHECKSUM_ALGORITHM + " is not available", e);
+        }
+    }
+}
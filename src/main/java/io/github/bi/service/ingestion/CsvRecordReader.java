@@ -0,0 +1,182 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of RFC 4180 comma separated records.
+ * <p>
+ * Records are pulled one at a time from the underlying {@link Reader} through a fixed size buffer, so the
+ * memory used does not depend on the size of the file. Quoted fields may contain delimiters, doubled quotes
+ * and line breaks; blank lines are skipped but still counted in the record number.
+ */
+public class CsvRecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final char QUOTE = '"';
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+
+    private final char delimiter;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private final StringBuilder field = new StringBuilder(64);
+
+    private final List<String> fields = new ArrayList<>(32);
+
+    private int position;
+
+    private int limit;
+
+    private long recordNumber;
+
+    public CsvRecordReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CsvRecordReader(Reader reader, char delimiter) {
+        this(reader, delimiter, 0);
+    }
+
+    /**
+     * @param reader the records to read.
+     * @param delimiter the field delimiter.
+     * @param recordsBefore the number of records preceding this input in the file, when reading one chunk of a larger file.
+     */
+    public CsvRecordReader(Reader reader, char delimiter, long recordsBefore) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.recordNumber = recordsBefore;
+    }
+
+    public static CsvRecordReader of(InputStream inputStream) {
+        return new CsvRecordReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return the fields of the record, or {@code null} once the input is exhausted.
+     * @throws IOException if the input cannot be read or a quoted field is not terminated.
+     */
+    public String[] readRecord() throws IOException {
+        int c = read();
+        if (c == BYTE_ORDER_MARK && recordNumber == 0) {
+            c = read();
+        }
+        while (c == '\n' || c == '\r') {
+            // blank line
+            recordNumber++;
+            if (c == '\r' && peek() == '\n') {
+                read();
+            }
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        fields.clear();
+        field.setLength(0);
+        boolean inQuotes = false;
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    throw new CsvFormatException("Unterminated quoted field", recordNumber + 1);
+                }
+                if (c == QUOTE) {
+                    if (peek() == QUOTE) {
+                        read();
+                        field.append(QUOTE);
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    read();
+                }
+                break;
+            } else if (c == QUOTE && field.length() == 0) {
+                inQuotes = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        recordNumber++;
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * @return the 1-based number of the record last returned by {@link #readRecord()}, the header being record 1.
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        while (read == 0) {
+            read = reader.read(buffer, 0, buffer.length);
+        }
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A run of whole records cut from a deal file by the {@link DealFileChunker}.
+ *
+ * @param index the 0-based position of the chunk in the file.
+ * @param offset the offset of the chunk's first byte in the file.
+ * @param firstRecordNumber the record number of the chunk's first line, the header being record 1.
+ * @param data the bytes of the chunk, of which the first {@code length} are used.
+ * @param length the size of the chunk in bytes.
+ */
+public record DealFileChunk(int index, long offset, long firstRecordNumber, byte[] data, int length) {
+    /**
+     * @return a reader of the chunk's records that numbers them as they are numbered in the file.
+     */
+    public CsvRecordReader reader() {
+        return new CsvRecordReader(
+            new InputStreamReader(new ByteArrayInputStream(data, 0, length), StandardCharsets.UTF_8),
+            ',',
+            firstRecordNumber - 1
+        );
+    }
+}
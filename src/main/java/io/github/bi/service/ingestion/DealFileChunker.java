@@ -0,0 +1,202 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Cuts a deal file into chunks of roughly {@code chunkSize} bytes that each end on a record boundary.
+ * <p>
+ * The file is scanned byte by byte for quotes, delimiters and line breaks only, which is much cheaper than parsing
+ * it, so that the chunks can be parsed in parallel. The scan follows the rules of the {@link CsvRecordReader}: a
+ * quote opens a quoted field only at the start of a field, and a record ends at a line feed, a carriage return or
+ * both, outside a quoted field. A chunk ends at the first record end once it holds {@code chunkSize} bytes, and the
+ * record ends counted on the way give each chunk its first record number. Cutting on these bytes is safe in UTF-8,
+ * where they never occur inside a multi-byte character.
+ * <p>
+ * Ingestion that resumes from a checkpoint {@linkplain #skipTo skips} the records already loaded without
+ * scanning them.
+ */
+public class DealFileChunker {
+
+    private static final byte QUOTE = '"';
+
+    /** The delimiter of the {@linkplain DealFileChunk#reader() readers} of the chunks. */
+    private static final byte DELIMITER = ',';
+
+    private static final byte LINE_FEED = '\n';
+
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private static final byte[] BYTE_ORDER_MARK = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+    private static final int FIELD_START = 0;
+
+    private static final int UNQUOTED = 1;
+
+    private static final int QUOTED = 2;
+
+    /** A quote seen in a quoted field, which either closes it or is doubled. */
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private final InputStream inputStream;
+
+    private final int chunkSize;
+
+    private byte[] buffer;
+
+    private int filled;
+
+    private boolean endOfInput;
+
+    private int index;
+
+    private long offset;
+
+    private long recordNumber = 1;
+
+    public DealFileChunker(InputStream inputStream, int chunkSize) {
+        this.inputStream = inputStream;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.buffer = new byte[this.chunkSize + 8192];
+    }
+
+    /**
+     * Cut the next chunk.
+     *
+     * @return the chunk, or {@code null} once the input is exhausted.
+     * @throws IOException if the input cannot be read.
+     */
+    public DealFileChunk next() throws IOException {
+        return next(chunkSize);
+    }
+
+    /**
+     * Cut the next chunk, ending it on the first record boundary after {@code minimumSize} bytes.
+     *
+     * @param minimumSize the size from which the chunk may end; {@code 1} cuts a single record.
+     * @return the chunk, or {@code null} once the input is exhausted.
+     * @throws IOException if the input cannot be read.
+     */
+    public DealFileChunk next(int minimumSize) throws IOException {
+        int scanned = offset == 0 ? byteOrderMarkLength() : 0;
+        int recordEnds = 0;
+        int state = FIELD_START;
+        int end = -1;
+        while (end < 0) {
+            if (scanned == filled) {
+                if (endOfInput || !fill()) {
+                    end = filled;
+                    break;
+                }
+            }
+            for (; scanned < filled; scanned++) {
+                byte b = buffer[scanned];
+                if (state == QUOTED) {
+                    if (b == QUOTE) {
+                        state = QUOTE_IN_QUOTED;
+                    }
+                } else if (state == QUOTE_IN_QUOTED && b == QUOTE) {
+                    state = QUOTED;
+                } else if (b == DELIMITER) {
+                    state = FIELD_START;
+                } else if (b == QUOTE && state == FIELD_START) {
+                    state = QUOTED;
+                } else if (b == LINE_FEED || b == CARRIAGE_RETURN) {
+                    int recordEnd = scanned + 1;
+                    if (b == CARRIAGE_RETURN) {
+                        if (recordEnd == filled && !endOfInput) {
+                            // the line feed of a CRLF may not have been read yet
+                            fill();
+                        }
+                        if (recordEnd < filled && buffer[recordEnd] == LINE_FEED) {
+                            recordEnd++;
+                        }
+                    }
+                    recordEnds++;
+                    state = FIELD_START;
+                    if (recordEnd >= minimumSize) {
+                        end = recordEnd;
+                        break;
+                    }
+                    scanned = recordEnd - 1;
+                } else {
+                    state = UNQUOTED;
+                }
+            }
+        }
+        if (end == 0) {
+            return null;
+        }
+        DealFileChunk chunk = new DealFileChunk(index++, offset, recordNumber, Arrays.copyOf(buffer, end), end);
+        offset += end;
+        recordNumber += recordEnds;
+        System.arraycopy(buffer, end, buffer, 0, filled - end);
+        filled -= end;
+        return chunk;
+    }
+
+    /**
+     * Skip ahead to a record boundary found while cutting an earlier read of the same file.
+     *
+     * @param offset the offset of the record to continue from, not before the offset of the next chunk.
+     * @param recordNumber the record number of that record.
+     * @throws IOException if the input cannot be read or ends before {@code offset}.
+     */
+    public void skipTo(long offset, long recordNumber) throws IOException {
+        if (offset < this.offset) {
+            throw new IllegalArgumentException("Cannot skip back from offset " + this.offset + " to " + offset);
+        }
+        long remaining = offset - this.offset;
+        int buffered = (int) Math.min(remaining, filled);
+        System.arraycopy(buffer, buffered, buffer, 0, filled - buffered);
+        filled -= buffered;
+        inputStream.skipNBytes(remaining - buffered);
+        this.offset = offset;
+        this.recordNumber = recordNumber;
+    }
+
+    /**
+     * The length of the byte order mark the file starts with, which the {@link CsvRecordReader} skips.
+     */
+    private int byteOrderMarkLength() throws IOException {
+        while (filled < BYTE_ORDER_MARK.length && !endOfInput) {
+            fill();
+        }
+        return filled >= BYTE_ORDER_MARK.length &&
+            Arrays.equals(buffer, 0, BYTE_ORDER_MARK.length, BYTE_ORDER_MARK, 0, BYTE_ORDER_MARK.length)
+            ? BYTE_ORDER_MARK.length
+            : 0;
+    }
+
+    private boolean fill() throws IOException {
+        if (filled == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = inputStream.read(buffer, filled, buffer.length - filled);
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        filled += read;
+        return true;
+    }
+}
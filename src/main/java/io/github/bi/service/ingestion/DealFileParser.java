@@ -0,0 +1,213 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parses and maps deal files on a dedicated {@link ForkJoinPool}.
+ * <p>
+ * The file is cut into line aligned chunks by a {@link DealFileChunker} on the calling thread, while the
+ * workers parse the chunks. Parsed chunks are handed back to the caller strictly in file order, so rejected rows
+ * are reported in the order, and with the record numbers, they have in the file. At most two chunks per worker
+ * are in flight, which bounds the memory used whatever the size of the file.
+ * <p>
+ * The parse time and row count of every chunk are recorded as the {@code ingestion.chunk.parse} timer and the
+ * {@code ingestion.chunk.rows} summary.
+ */
+@Component
+public class DealFileParser implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DealFileParser.class);
+
+    private final ForkJoinPool pool;
+
+    private final int workers;
+
+    private final int chunkSize;
+
+    private final Timer chunkParseTimer;
+
+    private final DistributionSummary chunkRows;
+
+    @Autowired
+    public DealFileParser(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this(applicationProperties.getIngestion().getWorkers(), applicationProperties.getIngestion().getChunkSize(), meterRegistry);
+    }
+
+    DealFileParser(int workers, int chunkSize, MeterRegistry meterRegistry) {
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+        this.pool = new ForkJoinPool(this.workers);
+        this.chunkParseTimer = Timer.builder("ingestion.chunk.parse")
+            .description("Time spent parsing and mapping one chunk of a deal file")
+            .register(meterRegistry);
+        this.chunkRows = DistributionSummary.builder("ingestion.chunk.rows")
+            .description("Rows in one chunk of a deal file")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Parse a deal file.
+     *
+     * @param file the deal file, starting with its header.
+     * @param moneyMarketList the list the deals belong to.
+     * @param defaultReportDate the report date of deals whose row does not carry one.
+     * @param consumer receives the parsed chunks in file order, on the calling thread.
+     * @return the number of chunks parsed.
+     * @throws IOException if the file cannot be read or is not well formed.
+     * @throws IllegalArgumentException if the header lacks a required column.
+     */
+    public int parse(InputStream file, MoneyMarketList moneyMarketList, LocalDate defaultReportDate, Consumer<ParsedDealChunk> consumer)
+        throws IOException {
+        return parse(file, 0, 0, moneyMarketList, defaultReportDate, consumer);
+    }
+
+    /**
+     * Parse the records of a deal file from a record boundary reported by an earlier parse, as the
+     * {@link ParsedDealChunk#endOffset()} and {@link ParsedDealChunk#nextRecordNumber()} of one of its chunks.
+     *
+     * @param file the deal file, starting with its header.
+     * @param offset the offset of the first record to parse, or {@code 0} to parse every record after the header.
+     * @param recordNumber the record number of the first record to parse, ignored when {@code offset} is {@code 0}.
+     * @param moneyMarketList the list the deals belong to.
+     * @param defaultReportDate the report date of deals whose row does not carry one.
+     * @param consumer receives the parsed chunks in file order, on the calling thread.
+     * @return the number of chunks parsed.
+     * @throws IOException if the file cannot be read, is not well formed or ends before {@code offset}.
+     * @throws IllegalArgumentException if the header lacks a required column.
+     */
+    public int parse(
+        InputStream file,
+        long offset,
+        long recordNumber,
+        MoneyMarketList moneyMarketList,
+        LocalDate defaultReportDate,
+        Consumer<ParsedDealChunk> consumer
+    ) throws IOException {
+        DealFileChunker chunker = new DealFileChunker(file, chunkSize);
+        String[] header = null;
+        DealFileChunk line;
+        while (header == null && (line = chunker.next(1)) != null) {
+            // blank lines before the header are skipped
+            header = line.reader().readRecord();
+        }
+        if (header == null) {
+            throw new CsvFormatException("The deal file is empty", 1);
+        }
+        MoneyMarketDealRowMapper mapper = new MoneyMarketDealRowMapper(header, moneyMarketList, defaultReportDate);
+        if (offset > 0) {
+            chunker.skipTo(offset, recordNumber);
+        }
+
+        Deque<Future<ParsedDealChunk>> inFlight = new ArrayDeque<>();
+        int chunks = 0;
+        try {
+            DealFileChunk chunk;
+            while ((chunk = chunker.next()) != null) {
+                DealFileChunk next = chunk;
+                inFlight.add(pool.submit(() -> parse(next, mapper)));
+                if (inFlight.size() >= 2 * workers) {
+                    consumer.accept(await(inFlight.poll()));
+                    chunks++;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                consumer.accept(await(inFlight.poll()));
+                chunks++;
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        return chunks;
+    }
+
+    private ParsedDealChunk parse(DealFileChunk chunk, MoneyMarketDealRowMapper mapper) throws IOException {
+        long started = System.nanoTime();
+        List<MoneyMarketDeal> deals = new ArrayList<>();
+        List<RowMappingException> rejections = new ArrayList<>();
+        long rows = 0;
+        long nextRecordNumber;
+        try (CsvRecordReader reader = chunk.reader()) {
+            String[] record;
+            while ((record = reader.readRecord()) != null) {
+                rows++;
+                try {
+                    deals.add(mapper.map(record, reader.getRecordNumber()));
+                } catch (RowMappingException e) {
+                    rejections.add(e);
+                }
+            }
+            nextRecordNumber = reader.getRecordNumber() + 1;
+        }
+        long elapsed = System.nanoTime() - started;
+        chunkParseTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        chunkRows.record(rows);
+        LOG.debug("Parsed chunk {} at offset {} : {} rows in {} µs", chunk.index(), chunk.offset(), rows, elapsed / 1000);
+        return new ParsedDealChunk(chunk.index(), chunk.offset() + chunk.length(), nextRecordNumber, rows, deals, rejections, elapsed);
+    }
+
+    private static ParsedDealChunk await(Future<ParsedDealChunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing the deal file");
+        } catch (ExecutionException e) {
+            // the pool wraps checked exceptions, possibly more than once
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * How far the ingestion of a {@link io.github.bi.domain.ReportBatch} had got when its last batch of deals was
+ * committed.
+ *
+ * @param moneyMarketListId the list the deals are written to, or {@code null} until it has been created.
+ * @param offset the offset in the deal file of the first record not yet ingested, or {@code 0} if none has been.
+ * @param recordNumber the record number of that record.
+ * @param rowsRead the number of data rows ingested.
+ * @param dealsWritten the number of deals written.
+ * @param dealsCarried the number of unchanged deals to carry over from the list being replaced.
+ * @param rowsRejected the number of rows rejected.
+ */
+public record IngestionCheckpoint(
+    Long moneyMarketListId,
+    long offset,
+    long recordNumber,
+    long rowsRead,
+    long dealsWritten,
+    long dealsCarried,
+    long rowsRejected
+) {
+    /**
+     * @return whether any deal file record has been ingested.
+     */
+    public boolean isStarted() {
+        return moneyMarketListId != null && offset > 0;
+    }
+}
@@ -0,0 +1,232 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link IngestionCheckpoint}s of running ingestions in the {@code report_batch_checkpoint} table.
+ * <p>
+ * Each checkpoint is owned by the node running the ingestion, which refreshes its heartbeat every time it
+ * {@linkplain #advance advances} it. A checkpoint whose heartbeat has gone stale belongs to a node that died, and
+ * can be {@linkplain #reclaim reclaimed} by any node; the conditional updates make sure only one of them wins, and
+ * that the node which lost it can no longer advance, {@linkplain #hold hold} or {@linkplain #remove remove} it, so it
+ * can neither complete nor fail an ingestion another node carries on.
+ * <p>
+ * The unchanged deals of the list being replaced that the ingestion will carry over are recorded with the
+ * checkpoint, in {@code report_batch_carried_deal}.
+ * <p>
+ * All methods must be called within a transaction, so that a checkpoint only moves together with the deals it
+ * accounts for.
+ */
+@Component
+public class IngestionCheckpointStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IngestionCheckpointStore.class);
+
+    private static final String DISCARD_SQL = "delete from report_batch_checkpoint where report_batch_id = ?";
+
+    private static final String DELETE_SQL = "delete from report_batch_checkpoint where report_batch_id = ? and owner = ?";
+
+    private static final String HOLD_SQL = "update report_batch_checkpoint set heartbeat = ? where report_batch_id = ? and owner = ?";
+
+    private static final String DELETE_CARRIED_SQL = "delete from report_batch_carried_deal where report_batch_id = ?";
+
+    private static final String CARRY_SQL = "insert into report_batch_carried_deal (report_batch_id, deal_id) values (?, ?)";
+
+    private static final String FIND_CARRIED_SQL = "select deal_id from report_batch_carried_deal where report_batch_id = ?";
+
+    private static final String START_SQL = "insert into report_batch_checkpoint (report_batch_id, owner, heartbeat) values (?, ?, ?)";
+
+    private static final String FIND_SQL =
+        "select money_market_list_id, byte_offset, record_number, rows_read, deals_written, deals_carried, rows_rejected" +
+        " from report_batch_checkpoint where report_batch_id = ?";
+
+    private static final String ADVANCE_SQL =
+        "update report_batch_checkpoint set money_market_list_id = ?, byte_offset = ?, record_number = ?, rows_read = ?," +
+        " deals_written = ?, deals_carried = ?, rows_rejected = ?, heartbeat = ? where report_batch_id = ? and owner = ?";
+
+    private static final String FIND_STALE_SQL =
+        "select b.id from report_batch b left join report_batch_checkpoint c on c.report_batch_id = b.id" +
+        " where b.process_flag = 'IN_PROGRESS' and (c.report_batch_id is null or c.heartbeat is null or c.heartbeat < ?)" +
+        " order by b.id";
+
+    private static final String RECLAIM_SQL =
+        "update report_batch_checkpoint set owner = ?, heartbeat = ?" +
+        " where report_batch_id = ? and (heartbeat is null or heartbeat < ?)";
+
+    private static final String ADOPT_SQL =
+        "insert into report_batch_checkpoint (report_batch_id, owner, heartbeat)" +
+        " select b.id, ?, ? from report_batch b where b.id = ? and b.process_flag = 'IN_PROGRESS'" +
+        " and not exists (select 1 from report_batch_checkpoint c where c.report_batch_id = b.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    public IngestionCheckpointStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        LOG.debug("Ingestion checkpoints of this node are owned by {}", owner);
+    }
+
+    /**
+     * Start a new checkpoint, owned by this node, discarding any earlier one.
+     *
+     * @param reportBatchId the id of the reportBatch being ingested.
+     */
+    public void start(Long reportBatchId) {
+        jdbcTemplate.update(DELETE_CARRIED_SQL, reportBatchId);
+        jdbcTemplate.update(DISCARD_SQL, reportBatchId);
+        jdbcTemplate.update(START_SQL, reportBatchId, owner, Timestamp.from(Instant.now()));
+    }
+
+    /**
+     * @param reportBatchId the id of the reportBatch being ingested.
+     * @return the checkpoint of the reportBatch, if it is being ingested.
+     */
+    public Optional<IngestionCheckpoint> find(Long reportBatchId) {
+        return jdbcTemplate
+            .query(
+                FIND_SQL,
+                (rs, rowNum) ->
+                    new IngestionCheckpoint(
+                        rs.getObject(1, Long.class),
+                        rs.getLong(2),
+                        rs.getLong(3),
+                        rs.getLong(4),
+                        rs.getLong(5),
+                        rs.getLong(6),
+                        rs.getLong(7)
+                    ),
+                reportBatchId
+            )
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Move the checkpoint forward and refresh its heartbeat.
+     *
+     * @param reportBatchId the id of the reportBatch being ingested.
+     * @param checkpoint the new checkpoint.
+     * @throws IngestionCheckpointLostException if the checkpoint is no longer owned by this node.
+     */
+    public void advance(Long reportBatchId, IngestionCheckpoint checkpoint) {
+        int updated = jdbcTemplate.update(
+            ADVANCE_SQL,
+            checkpoint.moneyMarketListId(),
+            checkpoint.offset(),
+            checkpoint.recordNumber(),
+            checkpoint.rowsRead(),
+            checkpoint.dealsWritten(),
+            checkpoint.dealsCarried(),
+            checkpoint.rowsRejected(),
+            Timestamp.from(Instant.now()),
+            reportBatchId,
+            owner
+        );
+        if (updated != 1) {
+            throw new IngestionCheckpointLostException(reportBatchId);
+        }
+    }
+
+    /**
+     * Make sure this node still owns the checkpoint, and refresh its heartbeat; the checkpoint stays locked, so that
+     * no other node can reclaim it, until the transaction ends.
+     *
+     * @param reportBatchId the id of the reportBatch being ingested.
+     * @throws IngestionCheckpointLostException if the checkpoint is no longer owned by this node.
+     */
+    public void hold(Long reportBatchId) {
+        if (jdbcTemplate.update(HOLD_SQL, Timestamp.from(Instant.now()), reportBatchId, owner) != 1) {
+            throw new IngestionCheckpointLostException(reportBatchId);
+        }
+    }
+
+    /**
+     * @param heartbeatBefore the time before which a heartbeat is stale.
+     * @return the ids of the reportBatches still in progress whose checkpoint has a stale heartbeat, or which have
+     * no checkpoint at all.
+     */
+    public List<Long> findStale(Instant heartbeatBefore) {
+        return jdbcTemplate.queryForList(FIND_STALE_SQL, Long.class, Timestamp.from(heartbeatBefore));
+    }
+
+    /**
+     * Take over a checkpoint whose heartbeat has gone stale, or start one for a reportBatch left in progress without
+     * any.
+     *
+     * @param reportBatchId the id of the reportBatch being ingested.
+     * @param heartbeatBefore the time before which a heartbeat is stale.
+     * @return {@code true} if this node now owns the checkpoint.
+     * @throws org.springframework.dao.DuplicateKeyException if another node started a checkpoint for the reportBatch
+     * at the same time.
+     */
+    public boolean reclaim(Long reportBatchId, Instant heartbeatBefore) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return (
+            jdbcTemplate.update(RECLAIM_SQL, owner, now, reportBatchId, Timestamp.from(heartbeatBefore)) == 1 ||
+            jdbcTemplate.update(ADOPT_SQL, owner, now, reportBatchId) == 1
+        );
+    }
+
+    /**
+     * Remove the checkpoint of an ingestion that has ended.
+     *
+     * @param reportBatchId the id of the reportBatch that was ingested.
+     * @throws IngestionCheckpointLostException if the checkpoint is no longer owned by this node.
+     */
+    public void remove(Long reportBatchId) {
+        if (jdbcTemplate.update(DELETE_SQL, reportBatchId, owner) != 1) {
+            throw new IngestionCheckpointLostException(reportBatchId);
+        }
+        jdbcTemplate.update(DELETE_CARRIED_SQL, reportBatchId);
+    }
+
+    /**
+     * Record unchanged deals of the list being replaced, to be carried over when the ingestion completes.
+     *
+     * @param reportBatchId the id of the reportBatch being ingested.
+     * @param dealIds the ids of the deals.
+     */
+    public void carry(Long reportBatchId, List<Long> dealIds) {
+        if (!dealIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(CARRY_SQL, dealIds, dealIds.size(), (ps, dealId) -> {
+                ps.setLong(1, reportBatchId);
+                ps.setLong(2, dealId);
+            });
+        }
+    }
+
+    /**
+     * @param reportBatchId the id of the reportBatch being ingested.
+     * @return the ids of the deals recorded to be carried over.
+     */
+    public List<Long> findCarried(Long reportBatchId) {
+        return jdbcTemplate.queryForList(FIND_CARRIED_SQL, Long.class, reportBatchId);
+    }
+}
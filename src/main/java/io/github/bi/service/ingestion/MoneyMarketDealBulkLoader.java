@@ -0,0 +1,39 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import java.util.List;
+
+/**
+ * Writes validated, unsaved deals to {@code money_market_deal}.
+ * <p>
+ * The implementation is chosen with {@code application.ingestion.loader}: {@code copy} streams the rows through
+ * PostgreSQL's {@code COPY FROM STDIN}, {@code jdbc} uses JDBC batch inserts and {@code jpa} persists the entities
+ * with Hibernate's insert batching, for databases other than PostgreSQL. Implementations join the caller's
+ * transaction and assign the ids of the deals they write.
+ */
+public interface MoneyMarketDealBulkLoader {
+    /**
+     * Write the deals.
+     *
+     * @param deals the deals to write; each must reference a saved {@link io.github.bi.domain.MoneyMarketList}.
+     */
+    void load(List<MoneyMarketDeal> deals);
+}
@@ -0,0 +1,152 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * The columns of a deal file and the {@link MoneyMarketDeal} field each one is written to.
+ * <p>
+ * Header cells are matched on the field name ignoring case, spaces, underscores and hyphens, so that
+ * {@code dealNumber}, {@code deal_number} and {@code Deal Number} all resolve to {@link #DEAL_NUMBER}.
+ */
+public enum MoneyMarketDealColumn {
+    DEAL_NUMBER("dealNumber", true, (deal, value) -> deal.setDealNumber(value)),
+    TRADING_BOOK("tradingBook", false, (deal, value) -> deal.setTradingBook(value)),
+    COUNTER_PARTY_NAME("counterPartyName", false, (deal, value) -> deal.setCounterPartyName(value)),
+    FINAL_INTEREST_ACCRUAL_DATE("finalInterestAccrualDate", true, (deal, value) -> deal.setFinalInterestAccrualDate(toDate(value))),
+    COUNTER_PARTY_SIDE_TYPE("counterPartySideType", false, (deal, value) -> deal.setCounterPartySideType(value)),
+    DATE_OF_COLLECTION_STATEMENT("dateOfCollectionStatement", false, (deal, value) -> deal.setDateOfCollectionStatement(value)),
+    CURRENCY_CODE("currencyCode", false, (deal, value) -> deal.setCurrencyCode(value)),
+    PRINCIPAL_AMOUNT("principalAmount", false, (deal, value) -> deal.setPrincipalAmount(toAmount(value))),
+    INTEREST_RATE("interestRate", false, (deal, value) -> deal.setInterestRate(toAmount(value))),
+    INTEREST_ACCRUED_AMOUNT("interestAccruedAmount", false, (deal, value) -> deal.setInterestAccruedAmount(toAmount(value))),
+    TOTAL_INTEREST_AT_MATURITY("totalInterestAtMaturity", false, (deal, value) -> deal.setTotalInterestAtMaturity(toAmount(value))),
+    COUNTERPARTY_NATIONALITY("counterpartyNationality", false, (deal, value) -> deal.setCounterpartyNationality(value)),
+    END_DATE("endDate", true, (deal, value) -> deal.setEndDate(toDate(value))),
+    TREASURY_LEDGER("treasuryLedger", false, (deal, value) -> deal.setTreasuryLedger(value)),
+    DEAL_SUBTYPE("dealSubtype", false, (deal, value) -> deal.setDealSubtype(value)),
+    SHILLING_EQUIVALENT_PRINCIPAL("shillingEquivalentPrincipal", false, (deal, value) ->
+        deal.setShillingEquivalentPrincipal(toAmount(value))
+    ),
+    SHILLING_EQUIVALENT_INTEREST_ACCRUED("shillingEquivalentInterestAccrued", false, (deal, value) ->
+        deal.setShillingEquivalentInterestAccrued(toAmount(value))
+    ),
+    SHILLING_EQUIVALENT_PV_FULL("shillingEquivalentPVFull", false, (deal, value) -> deal.setShillingEquivalentPVFull(toAmount(value))),
+    COUNTERPARTY_DOMICILE("counterpartyDomicile", false, (deal, value) -> deal.setCounterpartyDomicile(value)),
+    SETTLEMENT_DATE("settlementDate", true, (deal, value) -> deal.setSettlementDate(toDate(value))),
+    TRANSACTION_COLLATERAL("transactionCollateral", false, (deal, value) -> deal.setTransactionCollateral(value)),
+    INSTITUTION_TYPE("institutionType", false, (deal, value) -> deal.setInstitutionType(value)),
+    MATURITY_DATE("maturityDate", true, (deal, value) -> deal.setMaturityDate(toDate(value))),
+    INSTITUTION_REPORT_NAME("institutionReportName", false, (deal, value) -> deal.setInstitutionReportName(value)),
+    TRANSACTION_TYPE("transactionType", false, (deal, value) -> deal.setTransactionType(value)),
+    REPORT_DATE("reportDate", false, (deal, value) -> deal.setReportDate(toDate(value)));
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+        DateTimeFormatter.ISO_LOCAL_DATE,
+        DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+        DateTimeFormatter.ofPattern("yyyy/MM/dd"),
+        DateTimeFormatter.ofPattern("d-MMM-yyyy", Locale.ENGLISH),
+        DateTimeFormatter.ofPattern("d-MMM-yy", Locale.ENGLISH)
+    );
+
+    private static final Map<String, MoneyMarketDealColumn> BY_HEADER = new HashMap<>();
+
+    static {
+        for (MoneyMarketDealColumn column : values()) {
+            BY_HEADER.put(normalise(column.fieldName), column);
+        }
+    }
+
+    private final String fieldName;
+
+    private final boolean required;
+
+    private final BiConsumer<MoneyMarketDeal, String> setter;
+
+    MoneyMarketDealColumn(String fieldName, boolean required, BiConsumer<MoneyMarketDeal, String> setter) {
+        this.fieldName = fieldName;
+        this.required = required;
+        this.setter = setter;
+    }
+
+    /**
+     * @return the column a header cell refers to, or {@code null} if the cell is not a deal field.
+     */
+    public static MoneyMarketDealColumn fromHeader(String header) {
+        return header == null ? null : BY_HEADER.get(normalise(header));
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    void apply(MoneyMarketDeal deal, String value) {
+        setter.accept(deal, value);
+    }
+
+    static LocalDate toDate(String value) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        throw new IllegalArgumentException("'" + value + "' is not a recognised date");
+    }
+
+    static BigDecimal toAmount(String value) {
+        String digits = value.replace(",", "").replace(" ", "");
+        boolean negative = digits.startsWith("(") && digits.endsWith(")");
+        if (negative) {
+            digits = digits.substring(1, digits.length() - 1);
+        }
+        try {
+            BigDecimal amount = new BigDecimal(digits);
+            return negative ? amount.negate() : amount;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + value + "' is not a number", e);
+        }
+    }
+
+    private static String normalise(String header) {
+        StringBuilder key = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+}
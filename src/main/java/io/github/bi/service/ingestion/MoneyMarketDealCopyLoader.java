@@ -0,0 +1,163 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams new deals into {@code money_market_deal} with PostgreSQL's {@code COPY FROM STDIN} in CSV format.
+ * <p>
+ * Rows are encoded straight into the driver's copy buffer, so a batch is never held as SQL or as bound
+ * parameters, and the server loads it in a single statement. Ids come from the {@link SequenceIdAllocator}.
+ * The copy runs on the connection of the caller's transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.ingestion", name = "loader", havingValue = "copy", matchIfMissing = true)
+public class MoneyMarketDealCopyLoader implements MoneyMarketDealBulkLoader {
+
+    static final String COPY_SQL = "copy money_market_deal (" + MoneyMarketDealJdbcLoader.COLUMNS + ") from stdin with (format csv)";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SequenceIdAllocator sequenceIdAllocator;
+
+    public MoneyMarketDealCopyLoader(JdbcTemplate jdbcTemplate, SequenceIdAllocator sequenceIdAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+    }
+
+    @Override
+    public void load(List<MoneyMarketDeal> deals) {
+        if (deals.isEmpty()) {
+            return;
+        }
+        long[] ids = sequenceIdAllocator.nextIds(deals.size());
+        for (int i = 0; i < ids.length; i++) {
+            deals.get(i).setId(ids[i]);
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> copy(connection.unwrap(PGConnection.class), deals));
+    }
+
+    private static long copy(PGConnection connection, List<MoneyMarketDeal> deals) throws SQLException {
+        PGCopyOutputStream copyIn = new PGCopyOutputStream(connection, COPY_SQL, BUFFER_SIZE);
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(copyIn, StandardCharsets.UTF_8), BUFFER_SIZE);
+            for (MoneyMarketDeal deal : deals) {
+                writeRow(writer, deal);
+            }
+            writer.flush();
+            return copyIn.endCopy();
+        } catch (IOException e) {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Encode one deal as a CSV line in {@link #COPY_SQL} column order. Text is always quoted, so that an unquoted
+     * empty field means {@code null} and a quoted one an empty string.
+     */
+    static void writeRow(Writer writer, MoneyMarketDeal deal) throws IOException {
+        writer.write(Long.toString(deal.getId()));
+        writeText(writer, deal.getDealNumber());
+        writeText(writer, deal.getTradingBook());
+        writeText(writer, deal.getCounterPartyName());
+        writeValue(writer, deal.getFinalInterestAccrualDate());
+        writeText(writer, deal.getCounterPartySideType());
+        writeText(writer, deal.getDateOfCollectionStatement());
+        writeText(writer, deal.getCurrencyCode());
+        writeAmount(writer, deal.getPrincipalAmount());
+        writeAmount(writer, deal.getInterestRate());
+        writeAmount(writer, deal.getInterestAccruedAmount());
+        writeAmount(writer, deal.getTotalInterestAtMaturity());
+        writeText(writer, deal.getCounterpartyNationality());
+        writeValue(writer, deal.getEndDate());
+        writeText(writer, deal.getTreasuryLedger());
+        writeText(writer, deal.getDealSubtype());
+        writeAmount(writer, deal.getShillingEquivalentPrincipal());
+        writeAmount(writer, deal.getShillingEquivalentInterestAccrued());
+        writeAmount(writer, deal.getShillingEquivalentPVFull());
+        writeText(writer, deal.getCounterpartyDomicile());
+        writeValue(writer, deal.getSettlementDate());
+        writeText(writer, deal.getTransactionCollateral());
+        writeText(writer, deal.getInstitutionType());
+        writeValue(writer, deal.getMaturityDate());
+        writeText(writer, deal.getInstitutionReportName());
+        writeText(writer, deal.getTransactionType());
+        writeValue(writer, deal.getReportDate());
+        writer.write(Boolean.TRUE.equals(deal.getActive()) ? ",t," : ",f,");
+        writer.write(Long.toString(deal.getMoneyMarketList().getId()));
+        writer.write(',');
+        if (deal.getRowHash() != null) {
+            writer.write(Long.toString(deal.getRowHash()));
+        }
+        writer.write('\n');
+    }
+
+    private static void writeText(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        if (value.indexOf('"') < 0) {
+            writer.write(value);
+        } else {
+            writer.write(value.replace("\"", "\"\""));
+        }
+        writer.write('"');
+    }
+
+    private static void writeAmount(Writer writer, BigDecimal value) throws IOException {
+        writer.write(',');
+        if (value != null) {
+            writer.write(value.toPlainString());
+        }
+    }
+
+    private static void writeValue(Writer writer, LocalDate value) throws IOException {
+        writer.write(',');
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+}
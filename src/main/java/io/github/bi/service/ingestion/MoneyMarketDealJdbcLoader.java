@@ -0,0 +1,121 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes new deals to {@code money_market_deal} with JDBC batch inserts.
+ * <p>
+ * The deals never enter the persistence context, so there is no dirty checking, no second level cache put
+ * and no per-entity flush; ids come from the {@link SequenceIdAllocator}. The caller owns the transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.ingestion", name = "loader", havingValue = "jdbc")
+public class MoneyMarketDealJdbcLoader implements MoneyMarketDealBulkLoader {
+
+    /**
+     * The columns of {@code money_market_deal} in the order the loaders write them.
+     */
+    static final String COLUMNS =
+        "id, deal_number, trading_book, counter_party_name, final_interest_accrual_date, " +
+        "counter_party_side_type, date_of_collection_statement, currency_code, principal_amount, interest_rate, " +
+        "interest_accrued_amount, total_interest_at_maturity, counterparty_nationality, end_date, treasury_ledger, deal_subtype, " +
+        "shilling_equivalent_principal, shilling_equivalent_interest_accrued, shilling_equivalent_pv_full, counterparty_domicile, " +
+        "settlement_date, transaction_collateral, institution_type, maturity_date, institution_report_name, transaction_type, " +
+        "report_date, active, money_market_list_id, row_hash";
+
+    static final String INSERT_SQL =
+        "insert into money_market_deal (" + COLUMNS + ") " +
+        "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SequenceIdAllocator sequenceIdAllocator;
+
+    public MoneyMarketDealJdbcLoader(JdbcTemplate jdbcTemplate, SequenceIdAllocator sequenceIdAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+    }
+
+    @Override
+    public void load(List<MoneyMarketDeal> deals) {
+        if (deals.isEmpty()) {
+            return;
+        }
+        long[] ids = sequenceIdAllocator.nextIds(deals.size());
+        for (int i = 0; i < ids.length; i++) {
+            deals.get(i).setId(ids[i]);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, deals, deals.size(), MoneyMarketDealJdbcLoader::bind);
+    }
+
+    static void bind(PreparedStatement ps, MoneyMarketDeal deal) throws SQLException {
+        ps.setLong(1, deal.getId());
+        ps.setString(2, deal.getDealNumber());
+        ps.setString(3, deal.getTradingBook());
+        ps.setString(4, deal.getCounterPartyName());
+        setDate(ps, 5, deal.getFinalInterestAccrualDate());
+        ps.setString(6, deal.getCounterPartySideType());
+        ps.setString(7, deal.getDateOfCollectionStatement());
+        ps.setString(8, deal.getCurrencyCode());
+        ps.setBigDecimal(9, deal.getPrincipalAmount());
+        ps.setBigDecimal(10, deal.getInterestRate());
+        ps.setBigDecimal(11, deal.getInterestAccruedAmount());
+        ps.setBigDecimal(12, deal.getTotalInterestAtMaturity());
+        ps.setString(13, deal.getCounterpartyNationality());
+        setDate(ps, 14, deal.getEndDate());
+        ps.setString(15, deal.getTreasuryLedger());
+        ps.setString(16, deal.getDealSubtype());
+        ps.setBigDecimal(17, deal.getShillingEquivalentPrincipal());
+        ps.setBigDecimal(18, deal.getShillingEquivalentInterestAccrued());
+        ps.setBigDecimal(19, deal.getShillingEquivalentPVFull());
+        ps.setString(20, deal.getCounterpartyDomicile());
+        setDate(ps, 21, deal.getSettlementDate());
+        ps.setString(22, deal.getTransactionCollateral());
+        ps.setString(23, deal.getInstitutionType());
+        setDate(ps, 24, deal.getMaturityDate());
+        ps.setString(25, deal.getInstitutionReportName());
+        ps.setString(26, deal.getTransactionType());
+        setDate(ps, 27, deal.getReportDate());
+        ps.setBoolean(28, Boolean.TRUE.equals(deal.getActive()));
+        ps.setLong(29, deal.getMoneyMarketList().getId());
+        if (deal.getRowHash() == null) {
+            ps.setNull(30, Types.BIGINT);
+        } else {
+            ps.setLong(30, deal.getRowHash());
+        }
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            ps.setNull(index, Types.DATE);
+        } else {
+            ps.setObject(index, date);
+        }
+    }
+}
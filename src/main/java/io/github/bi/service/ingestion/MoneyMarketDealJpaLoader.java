@@ -0,0 +1,57 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists new deals through Hibernate, relying on its insert batching, for databases without {@code COPY}.
+ * <p>
+ * The persistence context is flushed and cleared after every call so it never holds more than one batch.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.ingestion", name = "loader", havingValue = "jpa")
+public class MoneyMarketDealJpaLoader implements MoneyMarketDealBulkLoader {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void load(List<MoneyMarketDeal> deals) {
+        if (deals.isEmpty()) {
+            return;
+        }
+        MoneyMarketList moneyMarketList = deals.get(0).getMoneyMarketList();
+        MoneyMarketList reference = entityManager.getReference(MoneyMarketList.class, moneyMarketList.getId());
+        for (MoneyMarketDeal deal : deals) {
+            deal.setMoneyMarketList(reference);
+            entityManager.persist(deal);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // hand the deals back with the list they came with rather than a detached proxy
+        deals.forEach(deal -> deal.setMoneyMarketList(moneyMarketList));
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A 64-bit FNV-1a digest of the values of a {@link MoneyMarketDeal}, telling whether a deal in a new upload is the
+ * same as one already stored.
+ * <p>
+ * Every value read from a deal file takes part, the deal number, report date and amounts included, so a deal
+ * whose digest matches needs no write. Amounts are compared by value, {@code 100.5} matching {@code 100.50}.
+ * The list the deal belongs to and its id do not take part.
+ */
+public final class MoneyMarketDealRowHash {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash = OFFSET_BASIS;
+
+    private MoneyMarketDealRowHash() {}
+
+    /**
+     * @param deal the deal.
+     * @return the digest of its values.
+     */
+    public static long of(MoneyMarketDeal deal) {
+        return new MoneyMarketDealRowHash()
+            .add(deal.getDealNumber())
+            .add(deal.getReportDate())
+            .add(deal.getTradingBook())
+            .add(deal.getCounterPartyName())
+            .add(deal.getFinalInterestAccrualDate())
+            .add(deal.getCounterPartySideType())
+            .add(deal.getDateOfCollectionStatement())
+            .add(deal.getCurrencyCode())
+            .add(deal.getPrincipalAmount())
+            .add(deal.getInterestRate())
+            .add(deal.getInterestAccruedAmount())
+            .add(deal.getTotalInterestAtMaturity())
+            .add(deal.getCounterpartyNationality())
+            .add(deal.getEndDate())
+            .add(deal.getTreasuryLedger())
+            .add(deal.getDealSubtype())
+            .add(deal.getShillingEquivalentPrincipal())
+            .add(deal.getShillingEquivalentInterestAccrued())
+            .add(deal.getShillingEquivalentPVFull())
+            .add(deal.getCounterpartyDomicile())
+            .add(deal.getSettlementDate())
+            .add(deal.getTransactionCollateral())
+            .add(deal.getInstitutionType())
+            .add(deal.getMaturityDate())
+            .add(deal.getInstitutionReportName())
+            .add(deal.getTransactionType())
+            .add(deal.getActive() == null ? null : deal.getActive().toString())
+            .hash;
+    }
+
+    private MoneyMarketDealRowHash add(BigDecimal value) {
+        return add(value == null ? null : value.stripTrailingZeros().toPlainString());
+    }
+
+    private MoneyMarketDealRowHash add(LocalDate value) {
+        return add(value == null ? null : value.toString());
+    }
+
+    private MoneyMarketDealRowHash add(String value) {
+        if (value == null) {
+            // null and the empty string differ
+            return mix(0xff);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            mix(c >>> 8);
+            mix(c & 0xff);
+        }
+        // separates the values, so that "ab","c" and "a","bc" differ
+        return mix(0xfe).mix(0xfe);
+    }
+
+    private MoneyMarketDealRowHash mix(int octet) {
+        hash = (hash ^ octet) * PRIME;
+        return this;
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * The {@linkplain MoneyMarketDealRowHash row hashes} of the deals of one {@link io.github.bi.domain.MoneyMarketList},
+ * looked up by an ingestion to find the deals of a new upload that are already stored.
+ * <p>
+ * The hashes and ids are held in two parallel primitive arrays sorted by hash, sixteen bytes per deal, and looked
+ * up by binary search. Each stored deal matches at most one deal of the upload.
+ */
+public class MoneyMarketDealRowHashIndex {
+
+    private static final String SELECT_SQL =
+        "select row_hash, id from money_market_deal where money_market_list_id = ? and row_hash is not null order by row_hash, id";
+
+    private long[] hashes;
+
+    private long[] ids;
+
+    private int size;
+
+    MoneyMarketDealRowHashIndex(int capacity) {
+        this.hashes = new long[Math.max(capacity, 16)];
+        this.ids = new long[hashes.length];
+    }
+
+    /**
+     * Read the row hashes of the deals of a list.
+     *
+     * @param jdbcOperations the JDBC operations to read them with.
+     * @param moneyMarketListId the id of the list.
+     * @param taken the ids of deals already matched, which are left out.
+     * @return the index.
+     */
+    public static MoneyMarketDealRowHashIndex load(JdbcOperations jdbcOperations, Long moneyMarketListId, Collection<Long> taken) {
+        long[] skipped = taken.stream().mapToLong(Long::longValue).sorted().toArray();
+        MoneyMarketDealRowHashIndex index = new MoneyMarketDealRowHashIndex(1024);
+        jdbcOperations.query(
+            SELECT_SQL,
+            (RowCallbackHandler) rs -> {
+                long id = rs.getLong(2);
+                if (Arrays.binarySearch(skipped, id) < 0) {
+                    index.add(rs.getLong(1), id);
+                }
+            },
+            moneyMarketListId
+        );
+        return index;
+    }
+
+    /**
+     * Add a deal, in ascending order of hash.
+     */
+    void add(long hash, long id) {
+        if (size == hashes.length) {
+            hashes = Arrays.copyOf(hashes, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        hashes[size] = hash;
+        ids[size] = id;
+        size++;
+    }
+
+    /**
+     * Match a deal of the upload.
+     *
+     * @param hash the row hash of the deal.
+     * @return the id of a stored deal with the same hash, not matched before, or {@code -1} if there is none.
+     */
+    public long take(long hash) {
+        int i = Arrays.binarySearch(hashes, 0, size, hash);
+        if (i < 0) {
+            return -1;
+        }
+        // the search lands on any of the deals with that hash
+        while (i > 0 && hashes[i - 1] == hash) {
+            i--;
+        }
+        for (; i < size && hashes[i] == hash; i++) {
+            if (ids[i] >= 0) {
+                long id = ids[i];
+                ids[i] = -1;
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of deals in the index.
+     */
+    public int size() {
+        return size;
+    }
+}
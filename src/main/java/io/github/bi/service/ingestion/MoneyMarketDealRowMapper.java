@@ -0,0 +1,123 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maps the records of a deal file onto {@link MoneyMarketDeal} instances.
+ * <p>
+ * The header is resolved into column positions once, so mapping a row is a single pass over its cells.
+ * Unknown header cells are ignored. When the file has no report date column, every deal takes the report
+ * date of the batch it was uploaded in.
+ */
+public class MoneyMarketDealRowMapper {
+
+    private final MoneyMarketDealColumn[] columns;
+
+    private final Set<MoneyMarketDealColumn> required;
+
+    private final MoneyMarketList moneyMarketList;
+
+    private final LocalDate defaultReportDate;
+
+    /**
+     * @param header the header record of the file.
+     * @param moneyMarketList the list the deals belong to.
+     * @param defaultReportDate the report date of deals whose row does not carry one.
+     * @throws IllegalArgumentException if a required column is missing from the header.
+     */
+    public MoneyMarketDealRowMapper(String[] header, MoneyMarketList moneyMarketList, LocalDate defaultReportDate) {
+        this.columns = new MoneyMarketDealColumn[header.length];
+        Set<MoneyMarketDealColumn> present = EnumSet.noneOf(MoneyMarketDealColumn.class);
+        for (int i = 0; i < header.length; i++) {
+            columns[i] = MoneyMarketDealColumn.fromHeader(header[i]);
+            if (columns[i] != null) {
+                present.add(columns[i]);
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        this.required = EnumSet.noneOf(MoneyMarketDealColumn.class);
+        for (MoneyMarketDealColumn column : MoneyMarketDealColumn.values()) {
+            if (column.isRequired()) {
+                required.add(column);
+                if (!present.contains(column)) {
+                    missing.add(column.getFieldName());
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("The deal file has no column for " + String.join(", ", missing));
+        }
+        this.moneyMarketList = moneyMarketList;
+        this.defaultReportDate = defaultReportDate;
+    }
+
+    /**
+     * Map one record.
+     *
+     * @param record the cells of the record.
+     * @param recordNumber the number of the record in the file, used for error reporting.
+     * @return a new, unsaved deal.
+     * @throws RowMappingException if a cell cannot be converted or a required value is blank.
+     */
+    public MoneyMarketDeal map(String[] record, long recordNumber) {
+        MoneyMarketDeal deal = new MoneyMarketDeal();
+        int cells = Math.min(record.length, columns.length);
+        for (int i = 0; i < cells; i++) {
+            MoneyMarketDealColumn column = columns[i];
+            if (column == null) {
+                continue;
+            }
+            String value = record[i].strip();
+            if (value.isEmpty()) {
+                if (required.contains(column)) {
+                    throw new RowMappingException(column.getFieldName() + " is required", recordNumber);
+                }
+                continue;
+            }
+            try {
+                column.apply(deal, value);
+            } catch (IllegalArgumentException e) {
+                throw new RowMappingException(column.getFieldName() + ": " + e.getMessage(), recordNumber);
+            }
+        }
+        if (record.length < columns.length) {
+            for (int i = record.length; i < columns.length; i++) {
+                if (columns[i] != null && required.contains(columns[i])) {
+                    throw new RowMappingException(columns[i].getFieldName() + " is required", recordNumber);
+                }
+            }
+        }
+        if (deal.getReportDate() == null) {
+            deal.setReportDate(defaultReportDate);
+        }
+        // the deals become active with their list, once the whole file has been written
+        deal.setActive(false);
+        deal.setRowHash(MoneyMarketDealRowHash.of(deal));
+        deal.setMoneyMarketList(moneyMarketList);
+        return deal;
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import java.util.List;
+
+/**
+ * The outcome of parsing one {@link DealFileChunk}, with deals and rejections in file order.
+ *
+ * @param index the 0-based position of the chunk in the file.
+ * @param endOffset the offset of the first byte after the chunk in the file.
+ * @param nextRecordNumber the record number of the first record after the chunk.
+ * @param rows the number of data rows read, not counting the header.
+ * @param deals the rows that were mapped.
+ * @param rejections the rows that could not be mapped.
+ * @param parseNanos the time spent parsing and mapping the chunk.
+ */
+public record ParsedDealChunk(
+    int index,
+    long endOffset,
+    long nextRecordNumber,
+    long rows,
+    List<MoneyMarketDeal> deals,
+    List<RowMappingException> rejections,
+    long parseNanos
+) {}
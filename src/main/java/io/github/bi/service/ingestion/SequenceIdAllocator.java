@@ -0,0 +1,86 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out entity ids from the shared {@code sequence_generator} for rows written outside of Hibernate.
+ * <p>
+ * Ids are reserved in blocks the same way Hibernate's pooled optimizer does it: each {@code nextval} is taken
+ * as the upper bound of a block of {@link #BLOCK_SIZE} ids. Rows written in bulk therefore never collide with
+ * ids Hibernate assigns to entities saved through the repositories.
+ */
+@Component
+public class SequenceIdAllocator {
+
+    /**
+     * Matches the increment of {@code sequence_generator} and the default allocation size of the entities' sequence generator.
+     */
+    static final int BLOCK_SIZE = 50;
+
+    private static final String NEXT_VALUE_SQL = "select nextval('sequence_generator')";
+
+    private static final String NEXT_VALUES_SQL = "select nextval('sequence_generator') from generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private long next;
+
+    private long upperBound = -1;
+
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public synchronized long nextId() {
+        if (next > upperBound) {
+            Long hi = jdbcTemplate.queryForObject(NEXT_VALUE_SQL, Long.class);
+            upperBound = hi;
+            next = hi - BLOCK_SIZE + 1;
+        }
+        return next++;
+    }
+
+    /**
+     * Reserve ids for a whole batch of rows, fetching all the blocks it needs in one round trip.
+     *
+     * @param count the number of ids wanted.
+     * @return {@code count} unused ids.
+     */
+    public synchronized long[] nextIds(int count) {
+        long[] ids = new long[count];
+        int i = 0;
+        while (i < count && next <= upperBound) {
+            ids[i++] = next++;
+        }
+        if (i < count) {
+            int blocks = (count - i + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            for (Long hi : jdbcTemplate.queryForList(NEXT_VALUES_SQL, Long.class, blocks)) {
+                upperBound = hi;
+                next = hi - BLOCK_SIZE + 1;
+                while (i < count && next <= upperBound) {
+                    ids[i++] = next++;
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -32,6 +32,14 @@ public interface MoneyMarketDealMapper extends EntityMapper<MoneyMarketDealDTO,
     @Mapping(target = "moneyMarketList", source = "moneyMarketList", qualifiedByName = "moneyMarketListDescription")
     MoneyMarketDealDTO toDto(MoneyMarketDeal s);
 
+    @Mapping(target = "rowHash", ignore = true)
+    MoneyMarketDeal toEntity(MoneyMarketDealDTO moneyMarketDealDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "rowHash", ignore = true)
+    void partialUpdate(@MappingTarget MoneyMarketDeal entity, MoneyMarketDealDTO dto);
+
     @Named("moneyMarketListDescription")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
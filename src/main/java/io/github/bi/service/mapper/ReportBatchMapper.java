@@ -35,6 +35,7 @@ import org.mapstruct.*;
 public interface ReportBatchMapper extends EntityMapper<ReportBatchDTO, ReportBatch> {
     @Mapping(target = "uploadedBy", source = "uploadedBy", qualifiedByName = "applicationUserApplicationIdentity")
     @Mapping(target = "placeholders", source = "placeholders", qualifiedByName = "placeholderTokenSet")
+    @Mapping(target = "csvFileAttachment", ignore = true)
     ReportBatchDTO toDto(ReportBatch s);
 
     @Mapping(target = "removePlaceholder", ignore = true)
@@ -0,0 +1,159 @@
+package io.github.bi.service.pagination;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.config.ApplicationProperties;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads pages of criteria queries without an exact count, for the {@code pagination} parameter of the listings.
+ * <p>
+ * A {@link PaginationMode#SLICE} reads one entity more than the page to tell whether there is a next page, and
+ * counts nothing. A {@link PaginationMode#APPROXIMATE} page is read the same way and adds the number of rows the
+ * PostgreSQL planner estimates the table to hold, which costs nothing however large the table is. The estimate is
+ * only a total for a listing without filters: with filters, the page is returned as a slice, with no total. Tables
+ * the planner estimates to hold fewer than {@code application.pagination.exact-count-below} rows, whose estimates
+ * can be far off, are counted exactly, filtered or not, as are tables of other databases.
+ * <p>
+ * Both modes spare counting every matching entity of a large table for each page, which an
+ * {@link PaginationMode#EXACT} page does.
+ */
+@Component
+public class CriteriaPager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CriteriaPager.class);
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    private final EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationProperties.Pagination properties;
+
+    private volatile Boolean postgresql;
+
+    public CriteriaPager(EntityManager entityManager, JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getPagination();
+    }
+
+    /**
+     * Read a page as a {@link Slice}, or as a {@link org.springframework.data.domain.Page} with an approximate total.
+     * @param mode {@link PaginationMode#SLICE} or {@link PaginationMode#APPROXIMATE}.
+     * @param mapper maps the entities of the page, in order.
+     */
+    public <E, D> Slice<D> find(
+        JpaSpecificationExecutor<E> repository,
+        Class<E> type,
+        Specification<E> specification,
+        Pageable page,
+        PaginationMode mode,
+        Function<List<E>, List<D>> mapper
+    ) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = criteriaBuilder.createQuery(type);
+        Root<E> root = query.from(type);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root);
+        if (page.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(page.getSort(), root, criteriaBuilder));
+        }
+        TypedQuery<E> typedQuery = entityManager.createQuery(query);
+        if (page.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(page.getOffset()));
+            typedQuery.setMaxResults(page.getPageSize() + 1);
+        }
+        List<E> entities = typedQuery.getResultList();
+        boolean hasNext = page.isPaged() && entities.size() > page.getPageSize();
+        List<D> content = mapper.apply(hasNext ? entities.subList(0, page.getPageSize()) : entities);
+        if (mode != PaginationMode.APPROXIMATE) {
+            return new SliceImpl<>(content, page, hasNext);
+        }
+        OptionalLong estimate = estimate(type);
+        if (estimate.isEmpty() || estimate.getAsLong() < properties.getExactCountBelow()) {
+            return new PageImpl<>(content, page, repository.count(specification));
+        }
+        if (predicate != null) {
+            // the estimate is of the whole table, not of the entities matching the filters
+            return new SliceImpl<>(content, page, hasNext);
+        }
+        // the estimate must not end the listing before the page read
+        long seen = (page.isPaged() ? page.getOffset() : 0) + content.size() + (hasNext ? 1 : 0);
+        return new PageImpl<>(content, page, Math.max(estimate.getAsLong(), seen));
+    }
+
+    /**
+     * The number of rows the planner estimates the table of an entity to hold; nothing if it cannot tell.
+     */
+    private OptionalLong estimate(Class<?> type) {
+        Table table = type.getAnnotation(Table.class);
+        if (table == null || !isPostgresql()) {
+            return OptionalLong.empty();
+        }
+        try {
+            String plan = jdbcTemplate.queryForObject("explain (format json) select 1 from " + table.name(), String.class);
+            Matcher rows = PLAN_ROWS.matcher(plan == null ? "" : plan);
+            if (rows.find()) {
+                return OptionalLong.of(Long.parseLong(rows.group(1)));
+            }
+        } catch (DataAccessException e) {
+            LOG.debug("No planner estimate for {} : {}", table.name(), e.getMessage());
+        }
+        return OptionalLong.empty();
+    }
+
+    private boolean isPostgresql() {
+        if (postgresql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()
+            );
+            postgresql = "PostgreSQL".equals(product);
+        }
+        return postgresql;
+    }
+}
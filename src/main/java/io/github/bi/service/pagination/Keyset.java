@@ -0,0 +1,199 @@
+package io.github.bi.service.pagination;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+/**
+ * Keyset (seek) pagination of the entities of a repository, by one of a few properties and then by id.
+ * <p>
+ * Rather than skipping the rows of the previous pages as an offset does, a page starts right after the last entity
+ * of the previous one, with {@code (key, id) > (lastKey, lastId)}, so that every page costs the same however deep it
+ * is. No count is run: one more entity than the page holds is read to tell whether there is a next page. Only
+ * properties that are never {@code null} can be keys, since a {@code null} compares to nothing.
+ */
+public final class Keyset<E> {
+
+    static final String ID = "id";
+
+    private static final int DEFAULT_SIZE = 20;
+
+    private final Function<E, Long> id;
+
+    private final Map<String, Key<E, ?>> keys;
+
+    private Keyset(Builder<E> builder) {
+        this.id = builder.id;
+        this.keys = Map.copyOf(builder.keys);
+    }
+
+    /**
+     * @param id the id of an entity, always a key.
+     */
+    public static <E> Builder<E> builder(Function<E, Long> id) {
+        return new Builder<>(id);
+    }
+
+    /**
+     * Read a page.
+     * @param cursor the token of the cursor to the page, or an empty one for the first page.
+     * @param page the size of the page, and the order of the first page: one key, ascending or descending; by id if
+     *             it is not sorted. The order of the later pages is that of the cursor.
+     * @param mapper maps the entities of the page, in order.
+     * @throws IllegalArgumentException if the cursor is not a token of this keyset, or the order is not by one key.
+     */
+    public <D> KeysetSlice<D> find(
+        JpaSpecificationExecutor<E> repository,
+        Specification<E> specification,
+        String cursor,
+        Pageable page,
+        Function<List<E>, List<D>> mapper
+    ) {
+        KeysetCursor position = cursor.isEmpty() ? start(page.getSort()) : resume(cursor);
+        Key<E, ?> key = keys.get(position.property());
+        Specification<E> seek = position.isFirst() ? specification : specification.and(after(key, position));
+        Sort order = Sort.by(position.direction(), key.property()).and(Sort.by(position.direction(), ID));
+        int size = page.isPaged() ? page.getPageSize() : DEFAULT_SIZE;
+        List<E> entities = repository.findBy(seek, query -> query.sortBy(order).limit(size + 1).all());
+        if (entities.size() <= size) {
+            return new KeysetSlice<>(mapper.apply(entities), null);
+        }
+        E last = entities.get(size - 1);
+        String next = new KeysetCursor(key.property(), position.direction(), key.valueOf(last), id.apply(last)).encode();
+        return new KeysetSlice<>(mapper.apply(entities.subList(0, size)), next);
+    }
+
+    KeysetCursor start(Sort sort) {
+        List<Sort.Order> orders = sort.stream().toList();
+        Sort.Order first = orders.isEmpty() ? Sort.Order.asc(ID) : orders.get(0);
+        boolean byOneKey =
+            keys.containsKey(first.getProperty()) &&
+            orders.stream().skip(1).allMatch(order -> order.getProperty().equals(ID) && order.getDirection() == first.getDirection());
+        if (!byOneKey) {
+            throw new IllegalArgumentException("Cursor pages are sorted by one of " + keys.keySet() + " and then by id");
+        }
+        return new KeysetCursor(first.getProperty(), first.getDirection(), null, null);
+    }
+
+    KeysetCursor resume(String token) {
+        KeysetCursor cursor = KeysetCursor.decode(token);
+        if (!keys.containsKey(cursor.property())) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return cursor;
+    }
+
+    private Specification<E> after(Key<E, ?> key, KeysetCursor cursor) {
+        return (root, query, criteriaBuilder) ->
+            key.after(root, criteriaBuilder, cursor.direction().isAscending(), cursor.lastKey(), cursor.lastId());
+    }
+
+    /**
+     * A property entities can be paged by.
+     */
+    private record Key<E, C extends Comparable<? super C>>(String property, Function<String, C> parser, Function<E, C> getter) {
+        Predicate after(Root<E> root, CriteriaBuilder criteriaBuilder, boolean ascending, String lastKey, Long lastId) {
+            Path<Long> id = root.get(ID);
+            if (property.equals(ID)) {
+                return ascending ? criteriaBuilder.greaterThan(id, lastId) : criteriaBuilder.lessThan(id, lastId);
+            }
+            Path<C> key = root.get(property);
+            C last;
+            try {
+                last = parser.apply(lastKey);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed cursor", e);
+            }
+            // (key, id) > (last, lastId), spelt so that an index on (key, id) is scanned from last on
+            if (ascending) {
+                return criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(key, last),
+                    criteriaBuilder.or(criteriaBuilder.greaterThan(key, last), criteriaBuilder.greaterThan(id, lastId))
+                );
+            }
+            return criteriaBuilder.and(
+                criteriaBuilder.lessThanOrEqualTo(key, last),
+                criteriaBuilder.or(criteriaBuilder.lessThan(key, last), criteriaBuilder.lessThan(id, lastId))
+            );
+        }
+
+        String valueOf(E entity) {
+            return getter.apply(entity).toString();
+        }
+    }
+
+    /**
+     * Collects the keys of a keyset.
+     */
+    public static final class Builder<E> {
+
+        private final Function<E, Long> id;
+
+        private final Map<String, Key<E, ?>> keys = new LinkedHashMap<>();
+
+        private Builder(Function<E, Long> id) {
+            this.id = id;
+            keys.put(ID, new Key<>(ID, Long::valueOf, id));
+        }
+
+        /**
+         * Add a property to page by; it must never be {@code null}.
+         * @param type {@link String}, {@link LocalDate}, {@link UUID}, {@link Long} or {@link Integer}.
+         */
+        public <C extends Comparable<? super C>> Builder<E> key(String property, Class<C> type, Function<E, C> getter) {
+            keys.put(property, new Key<>(property, parser(type), getter));
+            return this;
+        }
+
+        public Keyset<E> build() {
+            return new Keyset<>(this);
+        }
+
+        private static <C> Function<String, C> parser(Class<C> type) {
+            Function<String, ?> parser;
+            if (type == String.class) {
+                parser = Function.identity();
+            } else if (type == LocalDate.class) {
+                parser = LocalDate::parse;
+            } else if (type == UUID.class) {
+                parser = UUID::fromString;
+            } else if (type == Long.class) {
+                parser = Long::valueOf;
+            } else if (type == Integer.class) {
+                parser = Integer::valueOf;
+            } else {
+                throw new IllegalArgumentException("Cannot page by a " + type.getSimpleName());
+            }
+            return parser.andThen(type::cast);
+        }
+    }
+}
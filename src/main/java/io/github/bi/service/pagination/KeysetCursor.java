@@ -0,0 +1,71 @@
+package io.github.bi.service.pagination;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Where a keyset paged listing stands: the property it is sorted by, in which direction, and the value of that
+ * property and the id of the last entity read. The first page has no last entity.
+ * <p>
+ * Clients get a cursor as an opaque token: the parts, each base64url encoded, joined by dots.
+ */
+public record KeysetCursor(String property, Sort.Direction direction, String lastKey, Long lastId) {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public String encode() {
+        return String.join(".", encode(property), encode(direction.name()), encode(lastKey), encode(lastId.toString()));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is not one {@link #encode()} gives.
+     */
+    public static KeysetCursor decode(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        try {
+            return new KeysetCursor(
+                decodePart(parts[0]),
+                Sort.Direction.valueOf(decodePart(parts[1])),
+                decodePart(parts[2]),
+                Long.valueOf(decodePart(parts[3]))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    private static String encode(String part) {
+        return ENCODER.encodeToString(part.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodePart(String part) {
+        return new String(DECODER.decode(part), StandardCharsets.UTF_8);
+    }
+}
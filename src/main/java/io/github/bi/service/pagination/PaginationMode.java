@@ -0,0 +1,38 @@
+package io.github.bi.service.pagination;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * How a page of a criteria query is read, and what is told of the entities beyond it.
+ */
+public enum PaginationMode {
+    /**
+     * The page and an exact count of the matching entities, in a second query.
+     */
+    EXACT,
+    /**
+     * The page and one more entity, to tell whether there is a next page; nothing is counted.
+     */
+    SLICE,
+    /**
+     * The page and one more entity, with an estimate of the number of entities when there are no filters; see
+     * {@link CriteriaPager}.
+     */
+    APPROXIMATE,
+}
@@ -0,0 +1,71 @@
+package io.github.bi.service.partitioning;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A range partition of {@code money_market_deal}, holding the deals reported from {@code from} (inclusive)
+ * until {@code to} (exclusive).
+ *
+ * @param name the name of the partition table.
+ * @param from the first report date of the partition.
+ * @param to the report date following the last report date of the partition.
+ */
+public record MoneyMarketDealPartition(String name, LocalDate from, LocalDate to) {
+    static final String NAME_PREFIX = "money_market_deal_p";
+
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final Pattern RANGE_BOUND = Pattern.compile("FOR VALUES FROM \\('([0-9-]+)'\\) TO \\('([0-9-]+)'\\)");
+
+    public MoneyMarketDealPartition {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The partition " + name + " ends before it starts");
+        }
+    }
+
+    /**
+     * The partition for the report dates from {@code from} until {@code to}, named after its first report date.
+     */
+    public static MoneyMarketDealPartition of(LocalDate from, LocalDate to) {
+        return new MoneyMarketDealPartition(NAME_PREFIX + NAME_FORMAT.format(from), from, to);
+    }
+
+    /**
+     * Read a partition from its bound as PostgreSQL prints it, e.g. {@code FOR VALUES FROM ('2026-10-01') TO ('2026-11-01')}.
+     *
+     * @return the partition, or empty for the default partition.
+     */
+    public static Optional<MoneyMarketDealPartition> parse(String name, String bound) {
+        Matcher matcher = RANGE_BOUND.matcher(bound);
+        if (!matcher.find()) {
+            return Optional.empty();
+        }
+        return Optional.of(new MoneyMarketDealPartition(name, LocalDate.parse(matcher.group(1)), LocalDate.parse(matcher.group(2))));
+    }
+
+    public boolean overlaps(MoneyMarketDealPartition other) {
+        return from.isBefore(other.to) && other.from.isBefore(to);
+    }
+}
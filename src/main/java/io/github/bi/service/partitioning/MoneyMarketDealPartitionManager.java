@@ -0,0 +1,375 @@
+package io.github.bi.service.partitioning;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.repository.MoneyMarketDealRepository;
+import io.github.bi.repository.search.MoneyMarketDealSearchRepository;
+import io.github.bi.service.analytics.MoneyMarketDealChanges;
+import io.github.bi.service.cache.MoneyMarketDealVersions;
+import io.github.bi.service.fiscal.FiscalCalendarService;
+import io.github.bi.service.fiscal.FiscalPeriodType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the range partitions of {@code money_market_deal} ahead of the report dates being ingested, and
+ * detaches the partitions past the retention period into the archive schema.
+ * <p>
+ * Partitions follow calendar months, or the {@link io.github.bi.domain.FiscalMonth}s when so configured; then the
+ * report dates between two fiscal months have a partition of their own, and the fiscal months of the year after the
+ * last one defined are partitioned as the year before, so that no report date is left to the default partition. A
+ * new partition takes over the deals of its range that landed in the default partition before it existed; the deals
+ * left there, which are never archived, are counted by the {@code partitioning.default.deals} gauge.
+ * <p>
+ * The daily summaries, and the fiscal roll-ups computed from them, keep counting the deals of an archived partition,
+ * as they are the history of those dates; only the {@link MoneyMarketDealChanges} of their lists are published, for
+ * what is cached of the deals. Every node runs the maintenance; an advisory lock makes the nodes take turns. Nothing
+ * is done unless the database is PostgreSQL and the table is partitioned.
+ */
+@Component
+public class MoneyMarketDealPartitionManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealPartitionManager.class);
+
+    static final String DEFAULT_PARTITION = "money_market_deal_default";
+
+    private static final long LOCK_KEY = 0x6d6d645f70617274L;
+
+    private static final String DEALS_COLLECTION_ROLE = MoneyMarketList.class.getName() + ".moneyMarketDeals";
+
+    private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final String RELKIND_SQL = "select relkind from pg_class where oid = to_regclass('money_market_deal')";
+
+    private static final String LOCK_SQL = "select 1 from (select pg_advisory_xact_lock(?)) l";
+
+    private static final String DEFAULT_PARTITION_DEALS_SQL =
+        "select count(*) as deals, min(report_date) as first_report_date, max(report_date) as last_report_date from " +
+        DEFAULT_PARTITION;
+
+    private static final String PARTITIONS_SQL =
+        "select c.relname, pg_get_expr(c.relpartbound, c.oid) from pg_inherits i join pg_class c on c.oid = i.inhrelid " +
+        "where i.inhparent = 'money_market_deal'::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final MoneyMarketDealSearchRepository moneyMarketDealSearchRepository;
+
+    private final ApplicationProperties.Partitioning properties;
+
+    private final FiscalCalendarService fiscalCalendarService;
+
+    private final MoneyMarketDealVersions moneyMarketDealVersions;
+
+    private final MoneyMarketDealRepository moneyMarketDealRepository;
+
+    private final MoneyMarketDealChanges moneyMarketDealChanges;
+
+    private final AtomicLong defaultPartitionDeals = new AtomicLong();
+
+    private volatile Boolean partitioned;
+
+    public MoneyMarketDealPartitionManager(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        EntityManagerFactory entityManagerFactory,
+        MoneyMarketDealSearchRepository moneyMarketDealSearchRepository,
+        ApplicationProperties applicationProperties,
+        FiscalCalendarService fiscalCalendarService,
+        MoneyMarketDealVersions moneyMarketDealVersions,
+        MoneyMarketDealRepository moneyMarketDealRepository,
+        MoneyMarketDealChanges moneyMarketDealChanges,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.moneyMarketDealSearchRepository = moneyMarketDealSearchRepository;
+        this.properties = applicationProperties.getPartitioning();
+        this.fiscalCalendarService = fiscalCalendarService;
+        this.moneyMarketDealVersions = moneyMarketDealVersions;
+        this.moneyMarketDealRepository = moneyMarketDealRepository;
+        this.moneyMarketDealChanges = moneyMarketDealChanges;
+        Gauge.builder("partitioning.default.deals", defaultPartitionDeals, AtomicLong::get)
+            .description("Deals in the default partition of money_market_deal, which are never archived")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${application.partitioning.maintenance-interval:PT6H}")
+    public void maintainPartitions() {
+        if (!properties.isEnabled() || !isPartitioned()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<MoneyMarketDealPartition> wanted = wantedPartitions(today);
+        for (MoneyMarketDealPartition partition : missing(findPartitions(), wanted)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> createPartition(partition));
+            } catch (RuntimeException e) {
+                LOG.warn("Could not create the partition {} of money_market_deal", partition.name(), e);
+            }
+        }
+        countDefaultPartitionDeals();
+        for (MoneyMarketDealPartition partition : expired(findPartitions(), today, properties.getRetentionMonths())) {
+            try {
+                archive(partition);
+            } catch (RuntimeException e) {
+                LOG.warn("Could not archive the partition {} of money_market_deal", partition.name(), e);
+            }
+        }
+    }
+
+    /**
+     * Detach a partition into the archive schema, and drop what is cached and indexed of its deals.
+     */
+    void archive(MoneyMarketDealPartition partition) {
+        transactionTemplate.executeWithoutResult(status -> archivePartition(partition));
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictEntityData(MoneyMarketDeal.class);
+        cache.evictCollectionData(DEALS_COLLECTION_ROLE);
+        moneyMarketDealSearchRepository.deleteFromIndexByReportDateRange(partition.from(), partition.to());
+        moneyMarketDealVersions.changedAll();
+    }
+
+    /**
+     * The partitions to hold the current month and the configured number of months ahead.
+     */
+    List<MoneyMarketDealPartition> wantedPartitions(LocalDate today) {
+        if (properties.getAlignment() == ApplicationProperties.Partitioning.Alignment.CALENDAR_MONTH) {
+            return calendarMonths(today, properties.getMonthsAhead());
+        }
+        LocalDate from = today.withDayOfMonth(1);
+        LocalDate until = from.plusMonths(properties.getMonthsAhead() + 1L);
+        // the year before too, to be repeated when the months ahead are not defined yet
+        List<MoneyMarketDealPartition> defined = fiscalCalendarService
+            .calendar()
+            .overlapping(FiscalPeriodType.MONTH, from.minusYears(1), until)
+            .stream()
+            .map(month -> MoneyMarketDealPartition.of(month.startDate(), month.endDate().plusDays(1)))
+            .toList();
+        if (defined.isEmpty()) {
+            LOG.warn("No fiscal months are defined from {}: the partitions of money_market_deal follow calendar months", from);
+            return calendarMonths(today, properties.getMonthsAhead());
+        }
+        return fiscalMonths(defined, from, until);
+    }
+
+    /**
+     * Partitions for every report date from {@code from} until at least {@code until}, following the fiscal months:
+     * the report dates between two fiscal months have a partition until the next one, and past the last fiscal month
+     * the fiscal months of the year before it are repeated, a year on.
+     *
+     * @param defined the fiscal months, not empty.
+     */
+    static List<MoneyMarketDealPartition> fiscalMonths(List<MoneyMarketDealPartition> defined, LocalDate from, LocalDate until) {
+        List<MoneyMarketDealPartition> months = defined.stream().sorted(Comparator.comparing(MoneyMarketDealPartition::from)).toList();
+        LocalDate last = months.get(months.size() - 1).to();
+        List<MoneyMarketDealPartition> lastYear = months.stream().filter(month -> !month.from().isBefore(last.minusYears(1))).toList();
+        // from the start of the month holding the first day, or from the end of the month before it
+        LocalDate start = months
+            .stream()
+            .filter(month -> !month.from().isAfter(from))
+            .map(month -> month.to().isAfter(from) ? month.from() : month.to())
+            .reduce((earlier, later) -> later)
+            .orElse(from);
+        List<MoneyMarketDealPartition> partitions = new ArrayList<>();
+        for (int years = 0; start.isBefore(until); years++) {
+            for (MoneyMarketDealPartition month : years == 0 ? months : repeated(lastYear, years)) {
+                if (!month.to().isAfter(start)) {
+                    continue;
+                }
+                if (month.from().isAfter(start)) {
+                    partitions.add(MoneyMarketDealPartition.of(start, month.from()));
+                    start = month.from();
+                }
+                if (!start.isBefore(until)) {
+                    break;
+                }
+                partitions.add(MoneyMarketDealPartition.of(start, month.to()));
+                start = month.to();
+            }
+        }
+        return partitions;
+    }
+
+    private static List<MoneyMarketDealPartition> repeated(List<MoneyMarketDealPartition> months, int years) {
+        return months
+            .stream()
+            .map(month -> MoneyMarketDealPartition.of(month.from().plusYears(years), month.to().plusYears(years)))
+            .toList();
+    }
+
+    static List<MoneyMarketDealPartition> calendarMonths(LocalDate today, int monthsAhead) {
+        LocalDate month = today.withDayOfMonth(1);
+        List<MoneyMarketDealPartition> partitions = new ArrayList<>(monthsAhead + 1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            partitions.add(MoneyMarketDealPartition.of(month, month.plusMonths(1)));
+            month = month.plusMonths(1);
+        }
+        return partitions;
+    }
+
+    /**
+     * The wanted partitions that overlap neither an existing partition nor a wanted partition before them.
+     */
+    static List<MoneyMarketDealPartition> missing(List<MoneyMarketDealPartition> existing, List<MoneyMarketDealPartition> wanted) {
+        List<MoneyMarketDealPartition> taken = new ArrayList<>(existing);
+        List<MoneyMarketDealPartition> missing = new ArrayList<>();
+        for (MoneyMarketDealPartition partition : wanted) {
+            if (taken.stream().noneMatch(partition::overlaps)) {
+                missing.add(partition);
+                taken.add(partition);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * The existing partitions that end before the first day of the month {@code retentionMonths} before today's.
+     */
+    static List<MoneyMarketDealPartition> expired(List<MoneyMarketDealPartition> existing, LocalDate today, int retentionMonths) {
+        if (retentionMonths <= 0) {
+            return List.of();
+        }
+        LocalDate cutoff = today.withDayOfMonth(1).minusMonths(retentionMonths);
+        return existing.stream().filter(partition -> !partition.to().isAfter(cutoff)).toList();
+    }
+
+    private boolean isPartitioned() {
+        Boolean result = partitioned;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                return metaData.getDatabaseProductName();
+            });
+            result = "PostgreSQL".equals(product) && "p".equals(jdbcTemplate.queryForObject(RELKIND_SQL, String.class));
+            if (!result) {
+                LOG.info("money_market_deal is not a partitioned table; its partitions are not maintained");
+            }
+            partitioned = result;
+        }
+        return result;
+    }
+
+    private void countDefaultPartitionDeals() {
+        try {
+            jdbcTemplate.query(DEFAULT_PARTITION_DEALS_SQL, rs -> {
+                long deals = rs.getLong("deals");
+                defaultPartitionDeals.set(deals);
+                if (deals > 0) {
+                    LOG.warn(
+                        "{} deals reported from {} to {} are in the default partition of money_market_deal, and will not be archived",
+                        deals,
+                        rs.getObject("first_report_date", LocalDate.class),
+                        rs.getObject("last_report_date", LocalDate.class)
+                    );
+                }
+            });
+        } catch (RuntimeException e) {
+            LOG.warn("Could not count the deals in the default partition of money_market_deal", e);
+        }
+    }
+
+    private List<MoneyMarketDealPartition> findPartitions() {
+        return jdbcTemplate
+            .query(PARTITIONS_SQL, (rs, rowNum) -> MoneyMarketDealPartition.parse(rs.getString(1), rs.getString(2)))
+            .stream()
+            .flatMap(Optional::stream)
+            .toList();
+    }
+
+    private void createPartition(MoneyMarketDealPartition partition) {
+        jdbcTemplate.queryForObject(LOCK_SQL, Integer.class, LOCK_KEY);
+        if (findPartitions().stream().anyMatch(partition::overlaps)) {
+            return;
+        }
+        String name = quote(partition.name());
+        jdbcTemplate.execute("create table " + name + " (like money_market_deal including defaults)");
+        int moved = jdbcTemplate.update(
+            "insert into " + name + " select * from " + DEFAULT_PARTITION + " where report_date >= ? and report_date < ?",
+            partition.from(),
+            partition.to()
+        );
+        jdbcTemplate.update(
+            "delete from " + DEFAULT_PARTITION + " where report_date >= ? and report_date < ?",
+            partition.from(),
+            partition.to()
+        );
+        jdbcTemplate.execute(
+            "alter table money_market_deal attach partition " + name +
+            " for values from ('" + partition.from() + "') to ('" + partition.to() + "')"
+        );
+        LOG.info(
+            "Created the partition {} of money_market_deal for {} to {}, moving {} deals",
+            name,
+            partition.from(),
+            partition.to(),
+            moved
+        );
+    }
+
+    private void archivePartition(MoneyMarketDealPartition partition) {
+        String schema = properties.getArchiveSchema();
+        if (!SCHEMA_NAME.matcher(schema).matches()) {
+            throw new IllegalStateException("Invalid archive schema name: " + schema);
+        }
+        jdbcTemplate.queryForObject(LOCK_SQL, Integer.class, LOCK_KEY);
+        if (!findPartitions().contains(partition)) {
+            return;
+        }
+        // the summaries keep the history of the archived deals, only what is cached of them goes stale
+        moneyMarketDealRepository
+            .findMoneyMarketListIdsByReportDateRange(partition.from(), partition.to())
+            .forEach(moneyMarketDealChanges::changed);
+        String name = quote(partition.name());
+        jdbcTemplate.execute("create schema if not exists " + quote(schema));
+        jdbcTemplate.execute("alter table money_market_deal detach partition " + name);
+        jdbcTemplate.execute("alter table " + name + " set schema " + quote(schema));
+        LOG.info("Archived the partition {} of money_market_deal for {} to {} into {}", name, partition.from(), partition.to(), schema);
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+}
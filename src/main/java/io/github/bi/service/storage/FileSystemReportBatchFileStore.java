@@ -0,0 +1,93 @@
+package io.github.bi.service.storage;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.config.ApplicationProperties;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ReportBatchFileStore} keeping files in a local directory, {@code application.file-store.directory}.
+ * <p>
+ * Files are spread over sub-directories named after the first two characters of their identifier. A file is
+ * written to a temporary name and moved into place, so readers never see a partially written file. In a
+ * cluster, the directory must be shared by all nodes.
+ */
+@Component
+public class FileSystemReportBatchFileStore implements ReportBatchFileStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileSystemReportBatchFileStore.class);
+
+    private final Path directory;
+
+    public FileSystemReportBatchFileStore(ApplicationProperties applicationProperties) {
+        this(Path.of(applicationProperties.getFileStore().getDirectory()));
+    }
+
+    FileSystemReportBatchFileStore(Path directory) {
+        this.directory = directory.toAbsolutePath();
+        LOG.debug("Report batch files are stored in {}", this.directory);
+    }
+
+    @Override
+    public long write(UUID fileIdentifier, InputStream content) throws IOException {
+        Path target = resolve(fileIdentifier);
+        Files.createDirectories(target.getParent());
+        Path temporary = Files.createTempFile(target.getParent(), fileIdentifier.toString(), ".part");
+        try {
+            long size = Files.copy(content, temporary, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return size;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public InputStream open(UUID fileIdentifier) throws IOException {
+        return Files.newInputStream(resolve(fileIdentifier));
+    }
+
+    @Override
+    public long size(UUID fileIdentifier) throws IOException {
+        return Files.size(resolve(fileIdentifier));
+    }
+
+    @Override
+    public boolean exists(UUID fileIdentifier) {
+        return Files.isRegularFile(resolve(fileIdentifier));
+    }
+
+    @Override
+    public void delete(UUID fileIdentifier) throws IOException {
+        Files.deleteIfExists(resolve(fileIdentifier));
+    }
+
+    private Path resolve(UUID fileIdentifier) {
+        String name = fileIdentifier.toString();
+        return directory.resolve(name.substring(0, 2)).resolve(name);
+    }
+}
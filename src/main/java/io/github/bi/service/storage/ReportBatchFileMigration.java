@@ -0,0 +1,102 @@
+package io.github.bi.service.storage;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves files still held in the legacy {@code report_batch.csv_file_attachment} column into the
+ * {@link ReportBatchFileStore} once the application has started.
+ * <p>
+ * Each file is streamed from the column into the store and the column is then cleared, one batch at a time,
+ * so the migration can be interrupted and resumed and never holds more than one file in memory.
+ */
+@Component
+public class ReportBatchFileMigration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportBatchFileMigration.class);
+
+    private static final String PENDING_SQL = "select id from report_batch where csv_file_attachment is not null";
+
+    private static final String READ_SQL = "select file_identifier, csv_file_attachment from report_batch where id = ? for update";
+
+    private static final String CLEAR_SQL = "update report_batch set csv_file_attachment = null where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReportBatchFileStore reportBatchFileStore;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ReportBatchFileMigration(
+        JdbcTemplate jdbcTemplate,
+        ReportBatchFileStore reportBatchFileStore,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reportBatchFileStore = reportBatchFileStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        List<Long> pending = jdbcTemplate.queryForList(PENDING_SQL, Long.class);
+        if (pending.isEmpty()) {
+            return;
+        }
+        LOG.info("Moving {} report batch files to the file store", pending.size());
+        for (Long id : pending) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> moveFile(id));
+            } catch (RuntimeException e) {
+                LOG.warn("Could not move the file of ReportBatch {} to the file store", id, e);
+            }
+        }
+    }
+
+    private void moveFile(Long id) {
+        jdbcTemplate.query(
+            READ_SQL,
+            rs -> {
+                UUID fileIdentifier = rs.getObject(1, UUID.class);
+                try (InputStream content = rs.getBinaryStream(2)) {
+                    if (content != null) {
+                        reportBatchFileStore.write(fileIdentifier, content);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            },
+            id
+        );
+        jdbcTemplate.update(CLEAR_SQL, id);
+    }
+}
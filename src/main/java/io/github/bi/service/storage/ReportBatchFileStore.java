@@ -0,0 +1,73 @@
+package io.github.bi.service.storage;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Holds the uploaded files of {@link io.github.bi.domain.ReportBatch}es, keyed by their {@code fileIdentifier}.
+ * <p>
+ * Files are kept out of the {@code report_batch} row, so reading, caching or indexing a batch never loads its
+ * payload. Content is written and read as streams and is never held in memory as a whole.
+ */
+public interface ReportBatchFileStore {
+    /**
+     * Store a file, replacing any file already stored under the identifier.
+     *
+     * @param fileIdentifier the fileIdentifier of the reportBatch.
+     * @param content the content of the file; it is read to the end but not closed.
+     * @return the size of the stored file in bytes.
+     * @throws IOException if the file cannot be written.
+     */
+    long write(UUID fileIdentifier, InputStream content) throws IOException;
+
+    /**
+     * Open a stored file for reading.
+     *
+     * @param fileIdentifier the fileIdentifier of the reportBatch.
+     * @return the content of the file, to be closed by the caller.
+     * @throws java.nio.file.NoSuchFileException if no file is stored under the identifier.
+     * @throws IOException if the file cannot be opened.
+     */
+    InputStream open(UUID fileIdentifier) throws IOException;
+
+    /**
+     * @param fileIdentifier the fileIdentifier of the reportBatch.
+     * @return the size of the stored file in bytes.
+     * @throws java.nio.file.NoSuchFileException if no file is stored under the identifier.
+     * @throws IOException if the file cannot be read.
+     */
+    long size(UUID fileIdentifier) throws IOException;
+
+    /**
+     * @param fileIdentifier the fileIdentifier of the reportBatch.
+     * @return whether a file is stored under the identifier.
+     */
+    boolean exists(UUID fileIdentifier);
+
+    /**
+     * Remove a stored file, if there is one.
+     *
+     * @param fileIdentifier the fileIdentifier of the reportBatch.
+     * @throws IOException if the file cannot be removed.
+     */
+    void delete(UUID fileIdentifier) throws IOException;
+}
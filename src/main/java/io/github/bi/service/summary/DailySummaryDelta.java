@@ -0,0 +1,163 @@
+package io.github.bi.service.summary;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.repository.MoneyMarketDealRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The change a set of deal writes makes to the {@link io.github.bi.domain.MoneyMarketDealDailySummary}s, per report
+ * date and treasury ledger.
+ * <p>
+ * A summary counts the deals flagged {@code active}, and totals their shilling equivalents; missing amounts count as
+ * zero and a blank ledger is the same as no ledger. Entries are kept in key order so that the summaries they update
+ * are always locked in the same order.
+ */
+public final class DailySummaryDelta {
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::reportDate).thenComparing(
+        Key::ledger,
+        Comparator.nullsFirst(Comparator.naturalOrder())
+    );
+
+    private final Map<Key, Entry> entries = new TreeMap<>(KEY_ORDER);
+
+    /**
+     * Count a deal that is written.
+     */
+    public DailySummaryDelta add(MoneyMarketDeal deal) {
+        return apply(deal, 1);
+    }
+
+    /**
+     * Uncount a deal as it was before it is changed or deleted.
+     */
+    public DailySummaryDelta subtract(MoneyMarketDeal deal) {
+        return apply(deal, -1);
+    }
+
+    /**
+     * Count, or uncount, every deal of the given totals.
+     */
+    public DailySummaryDelta add(Collection<MoneyMarketDealRepository.DailyTotals> totals, boolean subtract) {
+        int sign = subtract ? -1 : 1;
+        for (MoneyMarketDealRepository.DailyTotals total : totals) {
+            add(
+                total.getReportDate(),
+                total.getLedger(),
+                sign * total.getNumberOfDeals(),
+                negateIf(subtract, total.getTotalPrincipal()),
+                negateIf(subtract, total.getInterestAccrued()),
+                negateIf(subtract, total.getTotalPVFull())
+            );
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return entries().isEmpty();
+    }
+
+    /**
+     * The non-zero changes, in key order.
+     */
+    public List<Entry> entries() {
+        return entries.values().stream().filter(entry -> !entry.isZero()).toList();
+    }
+
+    private DailySummaryDelta apply(MoneyMarketDeal deal, int sign) {
+        if (!Boolean.TRUE.equals(deal.getActive()) || deal.getReportDate() == null) {
+            return this;
+        }
+        boolean subtract = sign < 0;
+        add(
+            deal.getReportDate(),
+            deal.getTreasuryLedger(),
+            sign,
+            negateIf(subtract, deal.getShillingEquivalentPrincipal()),
+            negateIf(subtract, deal.getShillingEquivalentInterestAccrued()),
+            negateIf(subtract, deal.getShillingEquivalentPVFull())
+        );
+        return this;
+    }
+
+    private void add(
+        LocalDate reportDate,
+        String ledger,
+        long numberOfDeals,
+        BigDecimal totalPrincipal,
+        BigDecimal interestAccrued,
+        BigDecimal totalPVFull
+    ) {
+        Key key = new Key(reportDate, ledger == null || ledger.isBlank() ? null : ledger);
+        entries.merge(
+            key,
+            new Entry(key.reportDate(), key.ledger(), numberOfDeals, totalPrincipal, interestAccrued, totalPVFull),
+            Entry::plus
+        );
+    }
+
+    private static BigDecimal negateIf(boolean negate, BigDecimal amount) {
+        if (amount == null) {
+            return BigDecimal.ZERO;
+        }
+        return negate ? amount.negate() : amount;
+    }
+
+    private record Key(LocalDate reportDate, String ledger) {}
+
+    /**
+     * The change to the summary of one report date and ledger.
+     */
+    public record Entry(
+        LocalDate reportDate,
+        String ledger,
+        long numberOfDeals,
+        BigDecimal totalPrincipal,
+        BigDecimal interestAccrued,
+        BigDecimal totalPVFull
+    ) {
+        Entry plus(Entry other) {
+            return new Entry(
+                reportDate,
+                ledger,
+                numberOfDeals + other.numberOfDeals,
+                totalPrincipal.add(other.totalPrincipal),
+                interestAccrued.add(other.interestAccrued),
+                totalPVFull.add(other.totalPVFull)
+            );
+        }
+
+        boolean isZero() {
+            return (
+                numberOfDeals == 0 &&
+                totalPrincipal.signum() == 0 &&
+                interestAccrued.signum() == 0 &&
+                totalPVFull.signum() == 0
+            );
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.bi.service.summary;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDealDailySummary;
+import io.github.bi.repository.MoneyMarketDealDailySummaryRepository;
+import io.github.bi.repository.MoneyMarketDealRepository;
+import io.github.bi.repository.search.MoneyMarketDealDailySummarySearchRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Applies {@link DailySummaryDelta}s to the {@link MoneyMarketDealDailySummary}s in the transaction writing the deals,
+ * so the summaries never need to be recomputed from the deals.
+ * <p>
+ * Each summary touched is locked until the transaction ends. A summary that does not exist yet is inserted first,
+ * the unique index on report date and ledger settling concurrent inserts. The summaries are re-indexed once the
+ * transaction has committed. The fiscal roll-ups of the days touched are refreshed in the same transaction.
+ */
+@Component
+public class MoneyMarketDealDailySummaryUpdater {
+
+    private static final String INSERT_IF_ABSENT_SQL =
+        "insert into money_market_deal_daily_summary " +
+        "(id, report_date, ledger, number_of_deals, total_principal, interest_accrued, total_pv_full) " +
+        "values (nextval('sequence_generator'), ?, ?, 0, 0, 0, 0) on conflict do nothing";
+
+    private final MoneyMarketDealDailySummaryRepository moneyMarketDealDailySummaryRepository;
+
+    private final MoneyMarketDealRepository moneyMarketDealRepository;
+
+    private final MoneyMarketDealDailySummarySearchRepository moneyMarketDealDailySummarySearchRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final MoneyMarketDealFiscalRollUpUpdater moneyMarketDealFiscalRollUpUpdater;
+
+    public MoneyMarketDealDailySummaryUpdater(
+        MoneyMarketDealDailySummaryRepository moneyMarketDealDailySummaryRepository,
+        MoneyMarketDealRepository moneyMarketDealRepository,
+        MoneyMarketDealDailySummarySearchRepository moneyMarketDealDailySummarySearchRepository,
+        JdbcTemplate jdbcTemplate,
+        MoneyMarketDealFiscalRollUpUpdater moneyMarketDealFiscalRollUpUpdater
+    ) {
+        this.moneyMarketDealDailySummaryRepository = moneyMarketDealDailySummaryRepository;
+        this.moneyMarketDealRepository = moneyMarketDealRepository;
+        this.moneyMarketDealDailySummarySearchRepository = moneyMarketDealDailySummarySearchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.moneyMarketDealFiscalRollUpUpdater = moneyMarketDealFiscalRollUpUpdater;
+    }
+
+    /**
+     * Add the delta to the summaries. Must be called in the transaction writing the deals.
+     */
+    public void apply(DailySummaryDelta delta) {
+        List<DailySummaryDelta.Entry> entries = delta.entries();
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<MoneyMarketDealDailySummary> updated = new ArrayList<>(entries.size());
+        for (DailySummaryDelta.Entry entry : entries) {
+            MoneyMarketDealDailySummary summary = moneyMarketDealDailySummaryRepository
+                .findOneForUpdateByReportDateAndLedger(entry.reportDate(), entry.ledger())
+                .orElseGet(() -> {
+                    jdbcTemplate.update(INSERT_IF_ABSENT_SQL, entry.reportDate(), entry.ledger());
+                    return moneyMarketDealDailySummaryRepository
+                        .findOneForUpdateByReportDateAndLedger(entry.reportDate(), entry.ledger())
+                        .orElseThrow();
+                });
+            summary.setNumberOfDeals(Math.toIntExact(valueOf(summary.getNumberOfDeals()) + entry.numberOfDeals()));
+            summary.setTotalPrincipal(valueOf(summary.getTotalPrincipal()).add(entry.totalPrincipal()));
+            summary.setInterestAccrued(valueOf(summary.getInterestAccrued()).add(entry.interestAccrued()));
+            summary.setTotalPVFull(valueOf(summary.getTotalPVFull()).add(entry.totalPVFull()));
+            updated.add(summary);
+        }
+        // the roll-ups are computed in SQL from the summaries, which have to be written first
+        moneyMarketDealDailySummaryRepository.flush();
+        moneyMarketDealFiscalRollUpUpdater.refresh(entries);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    updated.forEach(moneyMarketDealDailySummarySearchRepository::index);
+                }
+            }
+        );
+    }
+
+    /**
+     * Uncount the active deals of a list. Must be called before the deals are deleted, in the same transaction.
+     */
+    public void removeDealsOf(Long moneyMarketListId) {
+        apply(new DailySummaryDelta().add(moneyMarketDealRepository.sumByMoneyMarketListIdAndActive(moneyMarketListId, true), true));
+    }
+
+    /**
+     * Count, or uncount, the deals of a list about to be flagged {@code active}, or inactive, in bulk. Must be
+     * called before the flags are updated, in the same transaction.
+     */
+    public void changeActiveOf(Long moneyMarketListId, boolean active) {
+        apply(new DailySummaryDelta().add(moneyMarketDealRepository.sumByMoneyMarketListIdAndActive(moneyMarketListId, !active), !active));
+    }
+
+    private static long valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static BigDecimal valueOf(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+}
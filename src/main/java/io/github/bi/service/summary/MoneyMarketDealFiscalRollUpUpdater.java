@@ -0,0 +1,182 @@
+package io.github.bi.service.summary;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDealDailySummary;
+import io.github.bi.service.fiscal.FiscalCalendar;
+import io.github.bi.service.fiscal.FiscalCalendarService;
+import io.github.bi.service.fiscal.FiscalPeriod;
+import io.github.bi.service.fiscal.FiscalPeriodType;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Folds the {@link MoneyMarketDealDailySummary}s of each fiscal month, quarter and year into one roll-up per ledger,
+ * kept in the table {@code money_market_deal_fiscal_roll_up}: the averages over the days reported, the summary of the
+ * last day reported and the peak principal.
+ * <p>
+ * Averages and peaks cannot be adjusted by a delta, so a roll-up is recomputed from the summaries of its period, and
+ * only the periods and ledgers whose summaries changed are. A period that is created, changed or deleted has all
+ * its roll-ups recomputed once the transaction doing so commits, as its dates decide which summaries it holds. Roll-ups
+ * of a fiscal year are frozen once the year is {@code CLOSED}; later changes to its summaries or periods leave them as
+ * they are.
+ */
+@Component
+public class MoneyMarketDealFiscalRollUpUpdater {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealFiscalRollUpUpdater.class);
+
+    /**
+     * Serializes refreshes of the same period, keyed apart from the partition manager's lock.
+     */
+    private static final long LOCK_KEY = 0x4d4d_4653_0000_0000L;
+
+    private static final String LOCK_SQL = "select 1 from (select pg_advisory_xact_lock(?)) l";
+
+    private static final String DELETE_SQL =
+        "delete from money_market_deal_fiscal_roll_up where period_type = ? and period_id = ? and not frozen " +
+        "and (? or ledger is not distinct from cast(? as varchar))";
+
+    private static final String FREEZE_SQL = "update money_market_deal_fiscal_roll_up set frozen = true where fiscal_year_id = ?";
+
+    private static final String PERIODS_OF_YEAR_SQL = "select p.id from %s p where p.%s = ?";
+
+    /**
+     * Rolls up the summaries of a period, for one ledger or all; ledgers whose roll-up is frozen are left out, and so
+     * is a period of a closed fiscal year unless it is being frozen.
+     */
+    private static final String INSERT_SQL =
+        "insert into money_market_deal_fiscal_roll_up (id, period_type, period_id, fiscal_year_id, period_code, start_date, " +
+        "end_date, ledger, days_reported, average_principal, average_interest_accrued, average_pv_full, closing_report_date, " +
+        "closing_number_of_deals, closing_principal, closing_interest_accrued, closing_pv_full, peak_principal, " +
+        "peak_report_date, frozen) " +
+        "select nextval('sequence_generator'), '%1$s', p.id, p.%4$s, p.%3$s, p.start_date, p.end_date, s.ledger, count(*), " +
+        "round(avg(s.total_principal), 2), round(avg(s.interest_accrued), 2), round(avg(s.total_pv_full), 2), " +
+        "max(s.report_date), " +
+        "(array_agg(s.number_of_deals order by s.report_date desc))[1], " +
+        "(array_agg(s.total_principal order by s.report_date desc))[1], " +
+        "(array_agg(s.interest_accrued order by s.report_date desc))[1], " +
+        "(array_agg(s.total_pv_full order by s.report_date desc))[1], " +
+        "max(s.total_principal), " +
+        "(array_agg(s.report_date order by s.total_principal desc nulls last, s.report_date desc))[1], " +
+        "false " +
+        "from %2$s p " +
+        "join fiscal_year y on y.id = p.%4$s " +
+        "join money_market_deal_daily_summary s on s.report_date between p.start_date and p.end_date " +
+        "where p.id = ? and s.number_of_deals > 0 " +
+        "and (? or s.ledger is not distinct from cast(? as varchar)) " +
+        "and (? or y.fiscal_year_status is distinct from 'CLOSED') " +
+        "and not exists (select 1 from money_market_deal_fiscal_roll_up r " +
+        "where r.period_type = '%1$s' and r.period_id = p.id and r.ledger is not distinct from s.ledger) " +
+        "group by p.id, p.%4$s, p.%3$s, p.start_date, p.end_date, s.ledger";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final FiscalCalendarService fiscalCalendarService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public MoneyMarketDealFiscalRollUpUpdater(
+        JdbcTemplate jdbcTemplate,
+        FiscalCalendarService fiscalCalendarService,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fiscalCalendarService = fiscalCalendarService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Recompute the roll-ups of every fiscal period containing a summary that changed. Must be called in the
+     * transaction changing the summaries, once the changes are flushed.
+     */
+    public void refresh(Collection<DailySummaryDelta.Entry> changed) {
+        // periods are locked in one order, so that concurrent refreshes cannot deadlock
+        TreeSet<Refresh> refreshes = new TreeSet<>(Refresh.ORDER);
+        FiscalCalendar calendar = fiscalCalendarService.calendar();
+        for (DailySummaryDelta.Entry entry : changed) {
+            for (FiscalPeriodType type : FiscalPeriodType.values()) {
+                for (FiscalPeriod period : calendar.containing(type, entry.reportDate())) {
+                    refreshes.add(new Refresh(type, period.id(), entry.ledger()));
+                }
+            }
+        }
+        refreshes.forEach(refresh -> refresh(refresh.type(), refresh.periodId(), false, refresh.ledger(), false));
+    }
+
+    /**
+     * Recompute the roll-ups of a period for every ledger, in a transaction of its own once the current transaction,
+     * which creates, changes or deletes the period, commits. Frozen roll-ups are left as they are.
+     */
+    public void refreshAfterCommit(FiscalPeriodType type, Long periodId) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        int rollUps = transactionTemplate.execute(status -> refresh(type, periodId, true, null, false));
+                        LOG.debug("Recomputed {} fiscal roll-ups of {} {}", rollUps, type, periodId);
+                    } catch (RuntimeException e) {
+                        LOG.warn("Could not recompute the fiscal roll-ups of {} {}", type, periodId, e);
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Recompute the roll-ups of every period of a fiscal year a last time, and freeze them. Must be called in the
+     * transaction closing the year.
+     */
+    public void freeze(Long fiscalYearId) {
+        int rollUps = 0;
+        for (FiscalPeriodType type : FiscalPeriodType.values()) {
+            String sql = String.format(PERIODS_OF_YEAR_SQL, type.table(), type.fiscalYearColumn());
+            for (Long periodId : jdbcTemplate.queryForList(sql, Long.class, fiscalYearId)) {
+                rollUps += refresh(type, periodId, true, null, true);
+            }
+        }
+        int frozen = jdbcTemplate.update(FREEZE_SQL, fiscalYearId);
+        LOG.info("Froze {} fiscal roll-ups of FiscalYear {}, {} of them recomputed", frozen, fiscalYearId, rollUps);
+    }
+
+    private int refresh(FiscalPeriodType type, Long periodId, boolean allLedgers, String ledger, boolean closing) {
+        jdbcTemplate.queryForObject(LOCK_SQL, Integer.class, LOCK_KEY + type.ordinal() * (1L << 40) + periodId);
+        jdbcTemplate.update(DELETE_SQL, type.name(), periodId, allLedgers, ledger);
+        String sql = String.format(INSERT_SQL, type.name(), type.table(), type.codeColumn(), type.fiscalYearColumn());
+        return jdbcTemplate.update(sql, periodId, allLedgers, ledger, closing);
+    }
+
+    private record Refresh(FiscalPeriodType type, Long periodId, String ledger) {
+        static final Comparator<Refresh> ORDER = Comparator.comparing(Refresh::type)
+            .thenComparing(Refresh::periodId)
+            .thenComparing(Refresh::ledger, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+}
@@ -23,6 +23,7 @@ import io.github.bi.service.DealerQueryService;
 import io.github.bi.service.DealerService;
 import io.github.bi.service.criteria.DealerCriteria;
 import io.github.bi.service.dto.DealerDTO;
+import io.github.bi.service.pagination.PaginationMode;
 import io.github.bi.web.rest.errors.BadRequestAlertException;
 import io.github.bi.web.rest.errors.ElasticsearchExceptionMapper;
 import jakarta.validation.Valid;
@@ -37,6 +38,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -164,14 +166,23 @@ public class DealerResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of dealers in body.
+     * @param pagination {@code exact}, the default, {@code slice} or {@code approximate}; see {@link PaginationMode}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of dealers in body,
+     * or with status {@code 400 (Bad Request)} if the pagination is unknown.
      */
     @GetMapping("")
     public ResponseEntity<List<DealerDTO>> getAllDealers(
         DealerCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "pagination", defaultValue = "exact") String pagination
     ) {
         LOG.debug("REST request to get Dealers by criteria: {}", criteria);
+        PaginationMode mode = SlicePaginationUtil.paginationMode(pagination, ENTITY_NAME);
+        if (mode != PaginationMode.EXACT) {
+            Slice<DealerDTO> slice = dealerQueryService.findByCriteria(criteria, pageable, mode);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
 
         Page<DealerDTO> page = dealerQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -0,0 +1,82 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.MoneyMarketDealAggregateService;
+import io.github.bi.service.analytics.MoneyMarketDealDimension;
+import io.github.bi.service.analytics.MoneyMarketDealMeasure;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import io.github.bi.service.dto.MoneyMarketDealAggregateDTO;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for aggregating {@link io.github.bi.domain.MoneyMarketDeal}s in the database.
+ */
+@RestController
+@RequestMapping("/api/money-market-deals")
+public class MoneyMarketDealAggregateResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealAggregateResource.class);
+
+    private static final String ENTITY_NAME = "moneyMarketBiMoneyMarketDeal";
+
+    private final MoneyMarketDealAggregateService moneyMarketDealAggregateService;
+
+    public MoneyMarketDealAggregateResource(MoneyMarketDealAggregateService moneyMarketDealAggregateService) {
+        this.moneyMarketDealAggregateService = moneyMarketDealAggregateService;
+    }
+
+    /**
+     * {@code GET  /money-market-deals/aggregates} : aggregate the moneyMarketDeals.
+     *
+     * @param criteria the criteria which the aggregated entities should match.
+     * @param groupBy the dimensions to group by, e.g. {@code treasuryLedger}, {@code currencyCode}, {@code reportDate}.
+     * @param measure the measures to compute, e.g. {@code count}, {@code sumPrincipal}, {@code weightedInterestRate}; all of them if none.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of groups in body,
+     * or with status {@code 400 (Bad Request)} if a dimension or a measure is unknown.
+     */
+    @GetMapping("/aggregates")
+    public ResponseEntity<List<MoneyMarketDealAggregateDTO>> aggregateMoneyMarketDeals(
+        MoneyMarketDealCriteria criteria,
+        @RequestParam(value = "groupBy", required = false) List<String> groupBy,
+        @RequestParam(value = "measure", required = false) List<String> measure
+    ) {
+        LOG.debug("REST request to aggregate MoneyMarketDeals by criteria: {}, groupBy: {}, measure: {}", criteria, groupBy, measure);
+        List<MoneyMarketDealDimension> dimensions = parse(groupBy, MoneyMarketDealDimension::fromPropertyName);
+        List<MoneyMarketDealMeasure> measures = parse(measure, MoneyMarketDealMeasure::fromPropertyName);
+        return ResponseEntity.ok().body(moneyMarketDealAggregateService.aggregateByCriteria(criteria, dimensions, measures));
+    }
+
+    private static <T> List<T> parse(List<String> names, Function<String, T> parser) {
+        if (names == null) {
+            return List.of();
+        }
+        try {
+            return names.stream().map(parser).distinct().toList();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "unknownaggregate");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.MoneyMarketDealConcentrationService;
+import io.github.bi.service.dto.MoneyMarketDealConcentrationDTO;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the counterparty concentration of the {@link io.github.bi.domain.MoneyMarketDeal}s of a report date.
+ */
+@RestController
+@RequestMapping("/api/money-market-deals")
+public class MoneyMarketDealConcentrationResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealConcentrationResource.class);
+
+    private static final String ENTITY_NAME = "moneyMarketBiMoneyMarketDeal";
+
+    private static final int MAX_TOP = 1000;
+
+    private final MoneyMarketDealConcentrationService moneyMarketDealConcentrationService;
+
+    public MoneyMarketDealConcentrationResource(MoneyMarketDealConcentrationService moneyMarketDealConcentrationService) {
+        this.moneyMarketDealConcentrationService = moneyMarketDealConcentrationService;
+    }
+
+    /**
+     * {@code GET  /money-market-deals/counterparty-concentration} : get the largest counterparties of a report date by
+     * shilling equivalent principal, with the share of the top ten and the Herfindahl index of all counterparties.
+     *
+     * @param reportDate the report date.
+     * @param top the number of counterparties to list, 10 if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the concentration in body,
+     * or with status {@code 400 (Bad Request)} if the number of counterparties is not between 1 and 1000.
+     */
+    @GetMapping("/counterparty-concentration")
+    public ResponseEntity<MoneyMarketDealConcentrationDTO> getMoneyMarketDealConcentration(
+        @RequestParam("reportDate") LocalDate reportDate,
+        @RequestParam(value = "top", defaultValue = "10") int top
+    ) {
+        LOG.debug("REST request to get the {} largest counterparties of : {}", top, reportDate);
+        if (top < 1 || top > MAX_TOP) {
+            throw new BadRequestAlertException("Between 1 and " + MAX_TOP + " counterparties can be listed", ENTITY_NAME, "invalidtop");
+        }
+        return ResponseEntity.ok().body(moneyMarketDealConcentrationService.find(reportDate, top));
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.analytics.MoneyMarketDealCube;
+import io.github.bi.service.analytics.MoneyMarketDealCubeStore;
+import io.github.bi.service.analytics.MoneyMarketDealDimension;
+import io.github.bi.service.dto.MoneyMarketDealCubeCellDTO;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for slicing and rolling up the deal cube of an active {@link io.github.bi.domain.MoneyMarketList}.
+ */
+@RestController
+@RequestMapping("/api/money-market-lists")
+public class MoneyMarketDealCubeResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealCubeResource.class);
+
+    private static final String ENTITY_NAME = "moneyMarketBiMoneyMarketDeal";
+
+    private final MoneyMarketDealCubeStore moneyMarketDealCubeStore;
+
+    public MoneyMarketDealCubeResource(MoneyMarketDealCubeStore moneyMarketDealCubeStore) {
+        this.moneyMarketDealCubeStore = moneyMarketDealCubeStore;
+    }
+
+    /**
+     * {@code GET  /money-market-lists/:id/deal-cube} : roll the deal cube of a list up to some of its dimensions.
+     * <p>
+     * Drilling down is rolling up to one more dimension, sliced on the value of the cell drilled into: e.g.
+     * {@code ?groupBy=treasuryLedger&groupBy=currencyCode&treasuryLedger=PLACEMENTS}.
+     *
+     * @param id the id of the active moneyMarketList.
+     * @param groupBy the dimensions to keep: {@code treasuryLedger}, {@code currencyCode}, {@code dealSubtype},
+     * {@code institutionType} or {@code counterpartyDomicile}; none for the grand total.
+     * @param parameters the values each dimension is restricted to, as repeated parameters named after the dimension.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the cells in body,
+     * or with status {@code 400 (Bad Request)} if a dimension is not one of the cube,
+     * or with status {@code 404 (Not Found)} if the moneyMarketList is not active.
+     */
+    @GetMapping("/{id}/deal-cube")
+    public ResponseEntity<List<MoneyMarketDealCubeCellDTO>> rollUpMoneyMarketDealCube(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "groupBy", required = false) List<String> groupBy,
+        @RequestParam MultiValueMap<String, String> parameters
+    ) {
+        LOG.debug("REST request to roll up the deal cube of MoneyMarketList : {} by {}, sliced by {}", id, groupBy, parameters);
+        List<MoneyMarketDealDimension> dimensions;
+        Map<MoneyMarketDealDimension, List<String>> slice = new LinkedHashMap<>();
+        try {
+            dimensions = groupBy == null ? List.of() : groupBy.stream().map(MoneyMarketDealDimension::fromPropertyName).distinct().toList();
+            for (MoneyMarketDealDimension dimension : MoneyMarketDealCube.DIMENSIONS) {
+                List<String> values = parameters.get(dimension.propertyName());
+                if (values != null) {
+                    slice.put(dimension, values);
+                }
+            }
+            Optional<List<MoneyMarketDealCubeCellDTO>> cells = moneyMarketDealCubeStore
+                .find(id)
+                .map(cube -> cube.rollUp(dimensions, slice));
+            return ResponseUtil.wrapOrNotFound(cells);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "unknownaggregate");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.MoneyMarketListService;
+import io.github.bi.service.export.MoneyMarketDealExportFormat;
+import io.github.bi.service.export.MoneyMarketDealExporter;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for exporting {@link io.github.bi.domain.MoneyMarketDeal}s as a file, streamed as the deals are read.
+ */
+@RestController
+@RequestMapping("/api/money-market-deals")
+public class MoneyMarketDealExportResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealExportResource.class);
+
+    private static final String ENTITY_NAME = "moneyMarketBiMoneyMarketDeal";
+
+    private final MoneyMarketDealExporter moneyMarketDealExporter;
+
+    private final MoneyMarketListService moneyMarketListService;
+
+    public MoneyMarketDealExportResource(MoneyMarketDealExporter moneyMarketDealExporter, MoneyMarketListService moneyMarketListService) {
+        this.moneyMarketDealExporter = moneyMarketDealExporter;
+        this.moneyMarketListService = moneyMarketListService;
+    }
+
+    /**
+     * {@code GET  /money-market-deals/export} : export the deals of a list, or the active deals of a report date.
+     *
+     * @param format {@code csv} or {@code ndjson}.
+     * @param moneyMarketListId the id of the moneyMarketList to export the deals of.
+     * @param reportDate the report date to export the active deals of.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the file in body,
+     * or with status {@code 400 (Bad Request)} if the format is not known or not exactly one of a list and a report
+     * date is given, or with status {@code 404 (Not Found)} if the moneyMarketList does not exist.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMoneyMarketDeals(
+        @RequestParam(value = "format", defaultValue = "csv") String format,
+        @RequestParam(value = "moneyMarketListId", required = false) Long moneyMarketListId,
+        @RequestParam(value = "reportDate", required = false) LocalDate reportDate
+    ) {
+        LOG.debug("REST request to export the MoneyMarketDeals of MoneyMarketList : {}, report date : {}", moneyMarketListId, reportDate);
+        MoneyMarketDealExportFormat exportFormat;
+        try {
+            exportFormat = MoneyMarketDealExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown export format " + format, ENTITY_NAME, "unknownformat");
+        }
+        if ((moneyMarketListId == null) == (reportDate == null)) {
+            throw new BadRequestAlertException("Either a moneyMarketListId or a reportDate is required", ENTITY_NAME, "exportscope");
+        }
+        String fileName;
+        StreamingResponseBody body;
+        if (moneyMarketListId != null) {
+            if (moneyMarketListService.findOne(moneyMarketListId).isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            fileName = "money-market-deals-list-" + moneyMarketListId;
+            body = out -> moneyMarketDealExporter.exportMoneyMarketList(moneyMarketListId, exportFormat, out);
+        } else {
+            fileName = "money-market-deals-" + reportDate;
+            body = out -> moneyMarketDealExporter.exportReportDate(reportDate, exportFormat, out);
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.mediaType()))
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName + "." + exportFormat.extension()).build().toString()
+            )
+            .body(body);
+    }
+}
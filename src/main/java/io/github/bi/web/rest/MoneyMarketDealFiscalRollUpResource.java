@@ -0,0 +1,74 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.MoneyMarketDealFiscalRollUpService;
+import io.github.bi.service.dto.MoneyMarketDealFiscalRollUpDTO;
+import io.github.bi.service.fiscal.FiscalPeriodType;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for reading the fiscal period roll-ups of the {@link io.github.bi.domain.MoneyMarketDealDailySummary}s.
+ */
+@RestController
+@RequestMapping("/api/money-market-deal-fiscal-roll-ups")
+public class MoneyMarketDealFiscalRollUpResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealFiscalRollUpResource.class);
+
+    private static final String ENTITY_NAME = "moneyMarketBiMoneyMarketDealDailySummary";
+
+    private final MoneyMarketDealFiscalRollUpService moneyMarketDealFiscalRollUpService;
+
+    public MoneyMarketDealFiscalRollUpResource(MoneyMarketDealFiscalRollUpService moneyMarketDealFiscalRollUpService) {
+        this.moneyMarketDealFiscalRollUpService = moneyMarketDealFiscalRollUpService;
+    }
+
+    /**
+     * {@code GET  /money-market-deal-fiscal-roll-ups} : get the roll-ups of the months, quarters or the whole of a
+     * fiscal year.
+     *
+     * @param fiscalYearId the id of the fiscal year.
+     * @param periodType {@code month}, {@code quarter} or {@code year}.
+     * @param ledger the ledger to get the roll-ups of; all ledgers if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the roll-ups in body,
+     * or with status {@code 400 (Bad Request)} if the period type is not known.
+     */
+    @GetMapping("")
+    public ResponseEntity<List<MoneyMarketDealFiscalRollUpDTO>> getMoneyMarketDealFiscalRollUps(
+        @RequestParam("fiscalYearId") Long fiscalYearId,
+        @RequestParam(value = "periodType", defaultValue = "month") String periodType,
+        @RequestParam(value = "ledger", required = false) String ledger
+    ) {
+        LOG.debug("REST request to get the {} deal roll-ups of FiscalYear : {}", periodType, fiscalYearId);
+        FiscalPeriodType type;
+        try {
+            type = FiscalPeriodType.valueOf(periodType.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown fiscal period type " + periodType, ENTITY_NAME, "unknownperiodtype");
+        }
+        return ResponseEntity.ok().body(moneyMarketDealFiscalRollUpService.findAll(fiscalYearId, type, ledger));
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.advisor.MoneyMarketDealIndexAdvisor;
+import io.github.bi.service.dto.MoneyMarketDealIndexAdviceDTO;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint {@code /management/indexadvisor}, telling how the indexes of the deals serve the filters deal
+ * listings are queried by, which are missing and which are unused.
+ */
+@Component
+@Endpoint(id = "indexadvisor")
+public class MoneyMarketDealIndexAdvisorEndpoint {
+
+    private final MoneyMarketDealIndexAdvisor moneyMarketDealIndexAdvisor;
+
+    public MoneyMarketDealIndexAdvisorEndpoint(MoneyMarketDealIndexAdvisor moneyMarketDealIndexAdvisor) {
+        this.moneyMarketDealIndexAdvisor = moneyMarketDealIndexAdvisor;
+    }
+
+    /**
+     * {@code GET  /management/indexadvisor} : the filters recorded, with the index serving them best or the index to add.
+     */
+    @ReadOperation
+    public MoneyMarketDealIndexAdviceDTO indexAdvice() {
+        return moneyMarketDealIndexAdvisor.report();
+    }
+
+    /**
+     * {@code DELETE  /management/indexadvisor} : forget the filters recorded so far, e.g. once an index is added.
+     */
+    @DeleteOperation
+    public void resetIndexAdvice() {
+        moneyMarketDealIndexAdvisor.reset();
+    }
+}
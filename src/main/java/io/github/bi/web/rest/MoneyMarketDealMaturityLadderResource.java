@@ -0,0 +1,68 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.analytics.MoneyMarketDealMaturityLadderStore;
+import io.github.bi.service.dto.MoneyMarketDealMaturityBucketDTO;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for the maturity ladder of an active {@link io.github.bi.domain.MoneyMarketList}.
+ */
+@RestController
+@RequestMapping("/api/money-market-lists")
+public class MoneyMarketDealMaturityLadderResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealMaturityLadderResource.class);
+
+    private final MoneyMarketDealMaturityLadderStore moneyMarketDealMaturityLadderStore;
+
+    public MoneyMarketDealMaturityLadderResource(MoneyMarketDealMaturityLadderStore moneyMarketDealMaturityLadderStore) {
+        this.moneyMarketDealMaturityLadderStore = moneyMarketDealMaturityLadderStore;
+    }
+
+    /**
+     * {@code GET  /money-market-lists/:id/maturity-ladder} : get the maturity buckets of the active deals of a list,
+     * per currency and ledger.
+     *
+     * @param id the id of the active moneyMarketList.
+     * @param currencyCode the currency to get the buckets of; all currencies if absent.
+     * @param treasuryLedger the ledger to get the buckets of; all ledgers if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the buckets in body,
+     * or with status {@code 404 (Not Found)} if the moneyMarketList is not active.
+     */
+    @GetMapping("/{id}/maturity-ladder")
+    public ResponseEntity<List<MoneyMarketDealMaturityBucketDTO>> getMoneyMarketDealMaturityLadder(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "currencyCode", required = false) String currencyCode,
+        @RequestParam(value = "treasuryLedger", required = false) String treasuryLedger
+    ) {
+        LOG.debug("REST request to get the maturity ladder of MoneyMarketList : {}", id);
+        Optional<List<MoneyMarketDealMaturityBucketDTO>> buckets = moneyMarketDealMaturityLadderStore
+            .find(id)
+            .map(ladder -> ladder.buckets(currencyCode, treasuryLedger));
+        return ResponseUtil.wrapOrNotFound(buckets);
+    }
+}
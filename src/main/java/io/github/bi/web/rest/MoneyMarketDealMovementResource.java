@@ -0,0 +1,131 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bi.service.MoneyMarketDealMovementService;
+import io.github.bi.service.analytics.MoneyMarketDealMovement;
+import io.github.bi.service.dto.MoneyMarketDealMovementTotalDTO;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for comparing the deals of a {@link io.github.bi.domain.MoneyMarketList} with those of an earlier one.
+ */
+@RestController
+@RequestMapping("/api/money-market-lists")
+public class MoneyMarketDealMovementResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealMovementResource.class);
+
+    private static final String ENTITY_NAME = "moneyMarketBiMoneyMarketDeal";
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final MoneyMarketDealMovementService moneyMarketDealMovementService;
+
+    private final ObjectMapper objectMapper;
+
+    public MoneyMarketDealMovementResource(MoneyMarketDealMovementService moneyMarketDealMovementService, ObjectMapper objectMapper) {
+        this.moneyMarketDealMovementService = moneyMarketDealMovementService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@code GET  /money-market-lists/:id/movements/totals} : count the deals of a list new, matured, rolled, amended
+     * or unchanged since an earlier list, with the change in their amounts.
+     *
+     * @param id the id of the moneyMarketList.
+     * @param since the id of the earlier moneyMarketList.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the totals in body,
+     * or with status {@code 404 (Not Found)} if a moneyMarketList does not exist.
+     */
+    @GetMapping("/{id}/movements/totals")
+    public ResponseEntity<List<MoneyMarketDealMovementTotalDTO>> getMoneyMarketDealMovementTotals(
+        @PathVariable("id") Long id,
+        @RequestParam("since") Long since
+    ) {
+        LOG.debug("REST request to get the deal movement totals of MoneyMarketList : {} since MoneyMarketList : {}", id, since);
+        return ResponseUtil.wrapOrNotFound(moneyMarketDealMovementService.compare(since, id, movement -> {}));
+    }
+
+    /**
+     * {@code GET  /money-market-lists/:id/movements} : stream the movement of every deal of a list since an earlier
+     * list, in deal number order, one JSON object per line.
+     *
+     * @param id the id of the moneyMarketList.
+     * @param since the id of the earlier moneyMarketList.
+     * @param movements the movements to stream: {@code new}, {@code matured}, {@code rolled}, {@code amended} or
+     * {@code unchanged}; all but {@code unchanged} if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the movements in body,
+     * or with status {@code 400 (Bad Request)} if a movement is not known,
+     * or with status {@code 404 (Not Found)} if a moneyMarketList does not exist.
+     */
+    @GetMapping("/{id}/movements")
+    public ResponseEntity<StreamingResponseBody> getMoneyMarketDealMovements(
+        @PathVariable("id") Long id,
+        @RequestParam("since") Long since,
+        @RequestParam(value = "movement", required = false) List<String> movements
+    ) {
+        LOG.debug("REST request to get the deal movements of MoneyMarketList : {} since MoneyMarketList : {}", id, since);
+        Set<MoneyMarketDealMovement> wanted = EnumSet.complementOf(EnumSet.of(MoneyMarketDealMovement.UNCHANGED));
+        if (movements != null && !movements.isEmpty()) {
+            wanted = EnumSet.noneOf(MoneyMarketDealMovement.class);
+            for (String movement : movements) {
+                try {
+                    wanted.add(MoneyMarketDealMovement.valueOf(movement.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new BadRequestAlertException("Unknown deal movement " + movement, ENTITY_NAME, "unknownmovement");
+                }
+            }
+        }
+        if (!moneyMarketDealMovementService.exist(since, id)) {
+            return ResponseEntity.notFound().build();
+        }
+        Set<String> streamed = wanted.stream().map(Enum::name).collect(Collectors.toSet());
+        StreamingResponseBody body = out ->
+            moneyMarketDealMovementService.compare(since, id, movement -> {
+                if (streamed.contains(movement.movement())) {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(movement));
+                        out.write('\n');
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException(e);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.MoneyMarketListService;
+import io.github.bi.service.dto.MoneyMarketDealParquetFileDTO;
+import io.github.bi.service.export.MoneyMarketDealParquetExporter;
+import io.github.bi.service.fiscal.FiscalPeriodType;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for writing the {@link io.github.bi.domain.MoneyMarketDeal}s of active lists to Parquet files in the
+ * export directory.
+ */
+@RestController
+@RequestMapping("/api/money-market-deals")
+public class MoneyMarketDealParquetExportResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealParquetExportResource.class);
+
+    private static final String ENTITY_NAME = "moneyMarketBiMoneyMarketDeal";
+
+    private final MoneyMarketDealParquetExporter moneyMarketDealParquetExporter;
+
+    private final MoneyMarketListService moneyMarketListService;
+
+    public MoneyMarketDealParquetExportResource(
+        MoneyMarketDealParquetExporter moneyMarketDealParquetExporter,
+        MoneyMarketListService moneyMarketListService
+    ) {
+        this.moneyMarketDealParquetExporter = moneyMarketDealParquetExporter;
+        this.moneyMarketListService = moneyMarketListService;
+    }
+
+    /**
+     * {@code POST  /money-market-deals/parquet-exports} : write the Parquet file of an active list, or those of the
+     * active lists of the report dates of a fiscal period. Files already written are skipped unless overwritten.
+     *
+     * @param moneyMarketListId the id of the moneyMarketList to write the file of.
+     * @param fiscalPeriodType {@code month}, {@code quarter} or {@code year}, with a fiscal period id.
+     * @param fiscalPeriodId the id of the fiscal period to write the files of.
+     * @param overwrite whether to write files that exist again.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the files in body,
+     * or with status {@code 400 (Bad Request)} if not exactly one of a list and a fiscal period is given, the period
+     * type is not known or the list is not active, or with status {@code 404 (Not Found)} if the moneyMarketList or
+     * the fiscal period does not exist.
+     */
+    @PostMapping("/parquet-exports")
+    public ResponseEntity<List<MoneyMarketDealParquetFileDTO>> exportMoneyMarketDealsToParquet(
+        @RequestParam(value = "moneyMarketListId", required = false) Long moneyMarketListId,
+        @RequestParam(value = "fiscalPeriodType", defaultValue = "month") String fiscalPeriodType,
+        @RequestParam(value = "fiscalPeriodId", required = false) Long fiscalPeriodId,
+        @RequestParam(value = "overwrite", defaultValue = "false") boolean overwrite
+    ) {
+        LOG.debug(
+            "REST request to write the Parquet files of MoneyMarketList : {}, fiscal period : {} {}",
+            moneyMarketListId,
+            fiscalPeriodType,
+            fiscalPeriodId
+        );
+        if ((moneyMarketListId == null) == (fiscalPeriodId == null)) {
+            throw new BadRequestAlertException("Either a moneyMarketListId or a fiscalPeriodId is required", ENTITY_NAME, "exportscope");
+        }
+        if (moneyMarketListId != null) {
+            if (moneyMarketListService.findOne(moneyMarketListId).isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            Optional<MoneyMarketDealParquetFileDTO> file = moneyMarketDealParquetExporter.exportMoneyMarketList(
+                moneyMarketListId,
+                overwrite
+            );
+            if (file.isEmpty()) {
+                throw new BadRequestAlertException("Only the deals of an active list are exported", ENTITY_NAME, "listnotactive");
+            }
+            return ResponseEntity.ok().body(List.of(file.orElseThrow()));
+        }
+        FiscalPeriodType type;
+        try {
+            type = FiscalPeriodType.valueOf(fiscalPeriodType.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown fiscal period type " + fiscalPeriodType, ENTITY_NAME, "unknownperiodtype");
+        }
+        return ResponseUtil.wrapOrNotFound(moneyMarketDealParquetExporter.exportFiscalPeriod(type, fiscalPeriodId, overwrite));
+    }
+}
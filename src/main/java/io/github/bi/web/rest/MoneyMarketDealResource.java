@@ -23,6 +23,8 @@ import io.github.bi.service.MoneyMarketDealQueryService;
 import io.github.bi.service.MoneyMarketDealService;
 import io.github.bi.service.criteria.MoneyMarketDealCriteria;
 import io.github.bi.service.dto.MoneyMarketDealDTO;
+import io.github.bi.service.pagination.KeysetSlice;
+import io.github.bi.service.pagination.PaginationMode;
 import io.github.bi.web.rest.errors.BadRequestAlertException;
 import io.github.bi.web.rest.errors.ElasticsearchExceptionMapper;
 import jakarta.validation.Valid;
@@ -37,6 +39,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -166,17 +169,43 @@ public class MoneyMarketDealResource {
 
     /**
      * {@code GET  /money-market-deals} : get all the moneyMarketDeals.
+     * <p>
+     * With a {@code cursor}, empty for the first page, pages are read by keyset rather than by offset: each page
+     * takes as long however deep it is, and the {@code Link} header gives the next page instead of a total count.
+     * A {@code cursor} takes precedence over the {@code pagination}.
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of moneyMarketDeals in body.
+     * @param cursor the cursor to the page, for keyset pagination.
+     * @param pagination {@code exact}, the default, {@code slice} or {@code approximate}; see {@link PaginationMode}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of moneyMarketDeals in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is malformed or its pages cannot be sorted so, or if the
+     * pagination is unknown.
      */
     @GetMapping("")
     public ResponseEntity<List<MoneyMarketDealDTO>> getAllMoneyMarketDeals(
         MoneyMarketDealCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "pagination", defaultValue = "exact") String pagination
     ) {
         LOG.debug("REST request to get MoneyMarketDeals by criteria: {}", criteria);
+        if (cursor != null) {
+            KeysetSlice<MoneyMarketDealDTO> slice;
+            try {
+                slice = moneyMarketDealQueryService.findByCriteria(criteria, cursor, pageable);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badcursor");
+            }
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.content());
+        }
+        PaginationMode mode = SlicePaginationUtil.paginationMode(pagination, ENTITY_NAME);
+        if (mode != PaginationMode.EXACT) {
+            Slice<MoneyMarketDealDTO> slice = moneyMarketDealQueryService.findByCriteria(criteria, pageable, mode);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
 
         Page<MoneyMarketDealDTO> page = moneyMarketDealQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -0,0 +1,72 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.MoneyMarketDealQueryService;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import io.github.bi.service.dto.MoneyMarketDealRowDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * REST controller for listing {@link io.github.bi.domain.MoneyMarketDeal}s read straight into rows, without
+ * loading entities.
+ */
+@RestController
+@RequestMapping("/api/money-market-deals")
+public class MoneyMarketDealRowResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketDealRowResource.class);
+
+    private final MoneyMarketDealQueryService moneyMarketDealQueryService;
+
+    public MoneyMarketDealRowResource(MoneyMarketDealQueryService moneyMarketDealQueryService) {
+        this.moneyMarketDealQueryService = moneyMarketDealQueryService;
+    }
+
+    /**
+     * {@code GET  /money-market-deals/rows} : get all the moneyMarketDeals, as rows.
+     * <p>
+     * Takes the same criteria and pagination as {@code GET /money-market-deals}, and returns the same properties,
+     * for listings which only show the deals.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of moneyMarketDeals in body.
+     */
+    @GetMapping("/rows")
+    public ResponseEntity<List<MoneyMarketDealRowDTO>> getAllMoneyMarketDealRows(
+        MoneyMarketDealCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get MoneyMarketDeal rows by criteria: {}", criteria);
+
+        Page<MoneyMarketDealRowDTO> page = moneyMarketDealQueryService.findRowsByCriteria(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+}
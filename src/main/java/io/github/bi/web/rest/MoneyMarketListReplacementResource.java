@@ -0,0 +1,76 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.MoneyMarketListReplacementService;
+import io.github.bi.service.dto.MoneyMarketListDTO;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for replacing a {@link io.github.bi.domain.MoneyMarketList} with the list of a corrected file.
+ */
+@RestController
+@RequestMapping("/api/money-market-lists")
+public class MoneyMarketListReplacementResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MoneyMarketListReplacementResource.class);
+
+    private static final String ENTITY_NAME = "moneyMarketBiMoneyMarketList";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final MoneyMarketListReplacementService moneyMarketListReplacementService;
+
+    public MoneyMarketListReplacementResource(MoneyMarketListReplacementService moneyMarketListReplacementService) {
+        this.moneyMarketListReplacementService = moneyMarketListReplacementService;
+    }
+
+    /**
+     * {@code POST  /money-market-lists/:id/replaces/:replacedId} : make the "id" moneyMarketList replace the
+     * "replacedId" moneyMarketList.
+     *
+     * @param id the id of the replacement moneyMarketList.
+     * @param replacedId the id of the moneyMarketList being replaced.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the replacement moneyMarketListDTO,
+     * or with status {@code 400 (Bad Request)} if the lists cannot be swapped.
+     */
+    @PostMapping("/{id}/replaces/{replacedId}")
+    public ResponseEntity<MoneyMarketListDTO> replaceMoneyMarketList(
+        @PathVariable("id") Long id,
+        @PathVariable("replacedId") Long replacedId
+    ) {
+        LOG.debug("REST request to replace MoneyMarketList : {} with MoneyMarketList : {}", replacedId, id);
+        MoneyMarketListDTO result;
+        try {
+            result = moneyMarketListReplacementService.replace(replacedId, id);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "notreplaceable");
+        }
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+}
@@ -23,6 +23,8 @@ import io.github.bi.service.MoneyMarketUploadNotificationQueryService;
 import io.github.bi.service.MoneyMarketUploadNotificationService;
 import io.github.bi.service.criteria.MoneyMarketUploadNotificationCriteria;
 import io.github.bi.service.dto.MoneyMarketUploadNotificationDTO;
+import io.github.bi.service.pagination.KeysetSlice;
+import io.github.bi.service.pagination.PaginationMode;
 import io.github.bi.web.rest.errors.BadRequestAlertException;
 import io.github.bi.web.rest.errors.ElasticsearchExceptionMapper;
 import jakarta.validation.Valid;
@@ -37,6 +39,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -178,17 +181,47 @@ public class MoneyMarketUploadNotificationResource {
 
     /**
      * {@code GET  /money-market-upload-notifications} : get all the moneyMarketUploadNotifications.
+     * <p>
+     * With a {@code cursor}, empty for the first page, pages are read by keyset rather than by offset: each page
+     * takes as long however deep it is, and the {@code Link} header gives the next page instead of a total count.
+     * A {@code cursor} takes precedence over the {@code pagination}.
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of moneyMarketUploadNotifications in body.
+     * @param cursor the cursor to the page, for keyset pagination.
+     * @param pagination {@code exact}, the default, {@code slice} or {@code approximate}; see {@link PaginationMode}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of moneyMarketUploadNotifications in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is malformed or its pages cannot be sorted so, or if the
+     * pagination is unknown.
      */
     @GetMapping("")
     public ResponseEntity<List<MoneyMarketUploadNotificationDTO>> getAllMoneyMarketUploadNotifications(
         MoneyMarketUploadNotificationCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "pagination", defaultValue = "exact") String pagination
     ) {
         LOG.debug("REST request to get MoneyMarketUploadNotifications by criteria: {}", criteria);
+        if (cursor != null) {
+            KeysetSlice<MoneyMarketUploadNotificationDTO> slice;
+            try {
+                slice = moneyMarketUploadNotificationQueryService.findByCriteria(criteria, cursor, pageable);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badcursor");
+            }
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.content());
+        }
+        PaginationMode mode = SlicePaginationUtil.paginationMode(pagination, ENTITY_NAME);
+        if (mode != PaginationMode.EXACT) {
+            Slice<MoneyMarketUploadNotificationDTO> slice = moneyMarketUploadNotificationQueryService.findByCriteria(
+                criteria,
+                pageable,
+                mode
+            );
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
 
         Page<MoneyMarketUploadNotificationDTO> page = moneyMarketUploadNotificationQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -0,0 +1,73 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.ReportBatchIngestionService;
+import io.github.bi.service.dto.ReportBatchIngestionSummaryDTO;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for ingesting the deal file of a {@link io.github.bi.domain.ReportBatch}.
+ */
+@RestController
+@RequestMapping("/api/report-batches")
+public class ReportBatchIngestionResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportBatchIngestionResource.class);
+
+    private static final String ENTITY_NAME = "moneyMarketBiReportBatch";
+
+    private final ReportBatchIngestionService reportBatchIngestionService;
+
+    public ReportBatchIngestionResource(ReportBatchIngestionService reportBatchIngestionService) {
+        this.reportBatchIngestionService = reportBatchIngestionService;
+    }
+
+    /**
+     * {@code POST  /report-batches/:id/ingestion} : ingest the deal file of the "id" reportBatch.
+     *
+     * @param id the id of the reportBatch to ingest.
+     * @param wait whether to ingest in the request thread and return the outcome.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} once the ingestion has been started,
+     * or with status {@code 200 (OK)} and with body the outcome when {@code wait} is set,
+     * or with status {@code 400 (Bad Request)} if the reportBatch is missing or has already been claimed.
+     */
+    @PostMapping("/{id}/ingestion")
+    public ResponseEntity<ReportBatchIngestionSummaryDTO> ingestReportBatch(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "wait", defaultValue = "false") boolean wait
+    ) {
+        LOG.debug("REST request to ingest ReportBatch : {}", id);
+        if (wait) {
+            try {
+                return ResponseEntity.ok(reportBatchIngestionService.ingest(id));
+            } catch (IllegalStateException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "notclaimable");
+            }
+        }
+        if (!reportBatchIngestionService.submit(id)) {
+            throw new BadRequestAlertException("ReportBatch cannot be claimed for ingestion", ENTITY_NAME, "notclaimable");
+        }
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -23,23 +23,32 @@ import io.github.bi.service.ReportBatchQueryService;
 import io.github.bi.service.ReportBatchService;
 import io.github.bi.service.criteria.ReportBatchCriteria;
 import io.github.bi.service.dto.ReportBatchDTO;
+import io.github.bi.service.pagination.PaginationMode;
+import io.github.bi.service.storage.ReportBatchFileStore;
 import io.github.bi.web.rest.errors.BadRequestAlertException;
 import io.github.bi.web.rest.errors.ElasticsearchExceptionMapper;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -65,14 +74,18 @@ public class ReportBatchResource {
 
     private final ReportBatchQueryService reportBatchQueryService;
 
+    private final ReportBatchFileStore reportBatchFileStore;
+
     public ReportBatchResource(
         ReportBatchService reportBatchService,
         ReportBatchRepository reportBatchRepository,
-        ReportBatchQueryService reportBatchQueryService
+        ReportBatchQueryService reportBatchQueryService,
+        ReportBatchFileStore reportBatchFileStore
     ) {
         this.reportBatchService = reportBatchService;
         this.reportBatchRepository = reportBatchRepository;
         this.reportBatchQueryService = reportBatchQueryService;
+        this.reportBatchFileStore = reportBatchFileStore;
     }
 
     /**
@@ -168,14 +181,23 @@ public class ReportBatchResource {
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of reportBatches in body.
+     * @param pagination {@code exact}, the default, {@code slice} or {@code approximate}; see {@link PaginationMode}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of reportBatches in body,
+     * or with status {@code 400 (Bad Request)} if the pagination is unknown.
      */
     @GetMapping("")
     public ResponseEntity<List<ReportBatchDTO>> getAllReportBatches(
         ReportBatchCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "pagination", defaultValue = "exact") String pagination
     ) {
         LOG.debug("REST request to get ReportBatches by criteria: {}", criteria);
+        PaginationMode mode = SlicePaginationUtil.paginationMode(pagination, ENTITY_NAME);
+        if (mode != PaginationMode.EXACT) {
+            Slice<ReportBatchDTO> slice = reportBatchQueryService.findByCriteria(criteria, pageable, mode);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
 
         Page<ReportBatchDTO> page = reportBatchQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -207,6 +229,37 @@ public class ReportBatchResource {
         return ResponseUtil.wrapOrNotFound(reportBatchDTO);
     }
 
+    /**
+     * {@code GET  /report-batches/:id/file} : download the file of the "id" reportBatch.
+     *
+     * @param id the id of the reportBatch whose file to download.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with the file streamed as body,
+     * or with status {@code 404 (Not Found)} if there is no such reportBatch or file.
+     * @throws IOException if the file cannot be read.
+     */
+    @GetMapping("/{id}/file")
+    public ResponseEntity<StreamingResponseBody> downloadReportBatchFile(@PathVariable("id") Long id) throws IOException {
+        LOG.debug("REST request to download the file of ReportBatch : {}", id);
+        Optional<ReportBatchDTO> reportBatchDTO = reportBatchService
+            .findOne(id)
+            .filter(reportBatch -> reportBatchFileStore.exists(reportBatch.getFileIdentifier()));
+        if (reportBatchDTO.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        UUID fileIdentifier = reportBatchDTO.get().getFileIdentifier();
+        String contentType = reportBatchDTO.get().getCsvFileAttachmentContentType();
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream file = reportBatchFileStore.open(fileIdentifier)) {
+                file.transferTo(outputStream);
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(contentType == null ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType(contentType))
+            .contentLength(reportBatchFileStore.size(fileIdentifier))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileIdentifier + ".csv").build().toString())
+            .body(body);
+    }
+
     /**
      * {@code DELETE  /report-batches/:id} : delete the "id" reportBatch.
      *
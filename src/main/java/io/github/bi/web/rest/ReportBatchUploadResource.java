@@ -0,0 +1,151 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.ReportBatchIngestionService;
+import io.github.bi.service.ReportBatchUploadService;
+import io.github.bi.service.dto.ReportBatchDTO;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for uploading the deal file of a new {@link io.github.bi.domain.ReportBatch}.
+ * <p>
+ * The file is sent either as the raw {@code text/csv} body of the request or as the {@code file} part of a
+ * {@code multipart/form-data} request, and is streamed to the report batch file store rather than decoded
+ * from a JSON body.
+ */
+@RestController
+@RequestMapping("/api/report-batches")
+public class ReportBatchUploadResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportBatchUploadResource.class);
+
+    private static final String ENTITY_NAME = "moneyMarketBiReportBatch";
+
+    private static final String TEXT_CSV = "text/csv";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final ReportBatchUploadService reportBatchUploadService;
+
+    private final ReportBatchIngestionService reportBatchIngestionService;
+
+    public ReportBatchUploadResource(
+        ReportBatchUploadService reportBatchUploadService,
+        ReportBatchIngestionService reportBatchIngestionService
+    ) {
+        this.reportBatchUploadService = reportBatchUploadService;
+        this.reportBatchIngestionService = reportBatchIngestionService;
+    }
+
+    /**
+     * {@code POST  /report-batches/upload} : Create a new reportBatch from a {@code text/csv} request body.
+     *
+     * @param content the deal file.
+     * @param reportDate the report date of the reportBatch.
+     * @param description the description of the reportBatch.
+     * @param ingest whether to start ingesting the file once it is stored.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new reportBatchDTO,
+     * or with status {@code 200 (OK)} and with body the existing reportBatchDTO if the file has been uploaded before,
+     * unless the ingestion of that reportBatch failed.
+     * @throws IOException if the file cannot be read or stored.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping(value = "/upload", consumes = TEXT_CSV)
+    public ResponseEntity<ReportBatchDTO> uploadReportBatch(
+        InputStream content,
+        @RequestParam("reportDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reportDate,
+        @RequestParam("description") String description,
+        @RequestParam(value = "ingest", defaultValue = "true") boolean ingest
+    ) throws IOException, URISyntaxException {
+        LOG.debug("REST request to upload a ReportBatch file for {} : {}", reportDate, description);
+        return create(content, TEXT_CSV, reportDate, description, ingest);
+    }
+
+    /**
+     * {@code POST  /report-batches/upload} : Create a new reportBatch from the {@code file} part of a multipart request.
+     *
+     * @param file the deal file.
+     * @param reportDate the report date of the reportBatch.
+     * @param description the description of the reportBatch.
+     * @param ingest whether to start ingesting the file once it is stored.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new reportBatchDTO,
+     * or with status {@code 200 (OK)} and with body the existing reportBatchDTO if the file has been uploaded before,
+     * unless the ingestion of that reportBatch failed.
+     * @throws IOException if the file cannot be read or stored.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ReportBatchDTO> uploadReportBatchPart(
+        @RequestPart("file") MultipartFile file,
+        @RequestParam("reportDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reportDate,
+        @RequestParam("description") String description,
+        @RequestParam(value = "ingest", defaultValue = "true") boolean ingest
+    ) throws IOException, URISyntaxException {
+        LOG.debug("REST request to upload ReportBatch file {} for {} : {}", file.getOriginalFilename(), reportDate, description);
+        String contentType = file.getContentType() == null ? TEXT_CSV : file.getContentType();
+        try (InputStream content = file.getInputStream()) {
+            return create(content, contentType, reportDate, description, ingest);
+        }
+    }
+
+    private ResponseEntity<ReportBatchDTO> create(
+        InputStream content,
+        String contentType,
+        LocalDate reportDate,
+        String description,
+        boolean ingest
+    ) throws IOException, URISyntaxException {
+        ReportBatchUploadService.Upload upload;
+        try {
+            upload = reportBatchUploadService.upload(content, contentType, reportDate, description);
+        } catch (IllegalStateException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "nouploader");
+        }
+        ReportBatchDTO reportBatchDTO = upload.reportBatch();
+        if (ingest) {
+            // a duplicate is only ingested if its earlier ingestion never started
+            reportBatchIngestionService.submit(reportBatchDTO.getId());
+        }
+        if (upload.duplicate()) {
+            String alert = applicationName + "." + ENTITY_NAME + ".duplicate";
+            return ResponseEntity.ok()
+                .headers(HeaderUtil.createAlert(applicationName, alert, reportBatchDTO.getId().toString()))
+                .body(reportBatchDTO);
+        }
+        return ResponseEntity.created(new URI("/api/report-batches/" + reportBatchDTO.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, reportBatchDTO.getId().toString()))
+            .body(reportBatchDTO);
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.service.pagination.PaginationMode;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import java.util.Locale;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Headers of a listing read with a {@code pagination} mode other than {@code exact}.
+ * <p>
+ * An {@code approximate} page with a total has the headers {@link PaginationUtil} gives, with
+ * {@code X-Total-Count-Approximate} telling that the total is an estimate. A {@code slice}, and an {@code approximate}
+ * page without a total, have {@code Link}s to the next and previous pages only, and {@code X-Has-Next-Page} instead
+ * of a total count.
+ */
+final class SlicePaginationUtil {
+
+    static final String HEADER_HAS_NEXT_PAGE = "X-Has-Next-Page";
+
+    static final String HEADER_TOTAL_COUNT_APPROXIMATE = "X-Total-Count-Approximate";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * @param pagination {@code exact}, {@code slice} or {@code approximate}, in any case.
+     * @throws BadRequestAlertException if the mode is not one of these.
+     */
+    static PaginationMode paginationMode(String pagination, String entityName) {
+        try {
+            return PaginationMode.valueOf(pagination.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown pagination " + pagination, entityName, "unknownpagination");
+        }
+    }
+
+    /**
+     * @param uriBuilder the URI of the current page; the other pages have the same parameters, with their page number.
+     */
+    static HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<?> slice) {
+        if (slice instanceof Page<?> page) {
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+            headers.add(HEADER_TOTAL_COUNT_APPROXIMATE, Boolean.TRUE.toString());
+            return headers;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HEADER_HAS_NEXT_PAGE, Boolean.toString(slice.hasNext()));
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            link.append(link(uriBuilder, slice.getNumber() + 1, slice.getSize(), "next"));
+        }
+        if (slice.hasPrevious()) {
+            if (!link.isEmpty()) {
+                link.append(',');
+            }
+            link.append(link(uriBuilder, slice.getNumber() - 1, slice.getSize(), "prev"));
+        }
+        if (!link.isEmpty()) {
+            headers.add(HttpHeaders.LINK, link.toString());
+        }
+        return headers;
+    }
+
+    private static String link(UriComponentsBuilder uriBuilder, int page, int size, String rel) {
+        String uri = uriBuilder.replaceQueryParam("page", page).replaceQueryParam("size", size).toUriString();
+        return "<" + uri + ">; rel=\"" + rel + "\"";
+    }
+}
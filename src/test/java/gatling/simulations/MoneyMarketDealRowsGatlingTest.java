@@ -0,0 +1,100 @@
+package gatling.simulations;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.rampUsers;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.header;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Performance test of a listing of MoneyMarketDeals, read as entities and read as rows.
+ * <p>
+ * The same users page through the same deals twice, first from {@code /api/money-market-deals} then from
+ * {@code /api/money-market-deals/rows}, so that the response times of the two requests can be compared in one
+ * report. Load deals first; {@code -Dsize} sets the page size and {@code -Dpages} the number of pages read.
+ *
+ * @see <a href="https://github.com/jhipster/generator-jhipster/tree/v8.11.0/generators/gatling#logging-tips">Logging tips</a>
+ */
+public class MoneyMarketDealRowsGatlingTest extends Simulation {
+
+    String baseURL = Optional.ofNullable(System.getProperty("baseURL")).orElse("http://localhost:8575");
+
+    int size = Integer.getInteger("size", 100);
+
+    int pages = Integer.getInteger("pages", 20);
+
+    HttpProtocolBuilder httpConf = http
+        .baseUrl(baseURL)
+        .acceptHeader("*/*")
+        .acceptEncodingHeader("gzip, deflate")
+        .connectionHeader("keep-alive")
+        .userAgentHeader("Mozilla/5.0 (Macintosh; Intel Mac OS X 10.10; rv:33.0) Gecko/20100101 Firefox/33.0");
+
+    Map<String, String> headersHttpAuthentication = Map.of("Content-Type", "application/json", "Accept", "application/json");
+
+    Map<String, String> headersHttpAuthenticated = Map.of("Accept", "application/json", "Authorization", "#{access_token}");
+
+    ChainBuilder authenticate = exec(
+        http("Authentication")
+            .post("/api/authenticate")
+            .headers(headersHttpAuthentication)
+            .body(StringBody("{\"username\":\"admin\", \"password\":\"admin\"}"))
+            .asJson()
+            .check(header("Authorization").saveAs("access_token"))
+    ).exitHereIfFailed();
+
+    ScenarioBuilder entities = scenario("List MoneyMarketDeals as entities")
+        .exec(authenticate)
+        .exec(pageThrough("/api/money-market-deals"));
+
+    ScenarioBuilder rows = scenario("List MoneyMarketDeals as rows").exec(authenticate).exec(pageThrough("/api/money-market-deals/rows"));
+
+    ChainBuilder pageThrough(String path) {
+        return exec(session -> session.set("page", 0))
+            .repeat(pages)
+            .on(
+                exec(
+                    http("Get a page of " + path)
+                        .get("/services/moneymarketbi" + path + "?sort=dealNumber&size=" + size + "&page=#{page}")
+                        .headers(headersHttpAuthenticated)
+                        .check(status().is(200))
+                ).exec(session -> session.set("page", session.getInt("page") + 1))
+            );
+    }
+
+    {
+        int users = Integer.getInteger("users", 20);
+        Duration ramp = Duration.ofMinutes(Integer.getInteger("ramp", 1));
+        setUp(entities.injectOpen(rampUsers(users).during(ramp)).andThen(rows.injectOpen(rampUsers(users).during(ramp)))).protocols(
+            httpConf
+        );
+    }
+}
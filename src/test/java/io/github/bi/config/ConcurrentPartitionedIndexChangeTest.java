@@ -0,0 +1,51 @@
+package io.github.bi.config;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentPartitionedIndexChangeTest {
+
+    @Test
+    void shouldNameTheIndexOfAPartitionAfterTheIndexAndThePartition() {
+        assertThat(
+            ConcurrentPartitionedIndexChange.partitionIndexName(
+                "ix_money_market_deal__list_active",
+                "money_market_deal",
+                "money_market_deal_p20261001"
+            )
+        ).isEqualTo("ix_money_market_deal__list_active_p20261001");
+        assertThat(
+            ConcurrentPartitionedIndexChange.partitionIndexName("ix_money_market_deal__list_active", "money_market_deal", "archived")
+        ).isEqualTo("ix_money_market_deal__list_active_archived");
+    }
+
+    @Test
+    void shouldCutTheIndexNameToFitAnIdentifier() {
+        String name = ConcurrentPartitionedIndexChange.partitionIndexName(
+            "ix_money_market_deal__report_date_active_ledger_currency",
+            "money_market_deal",
+            "money_market_deal_default"
+        );
+
+        assertThat(name).hasSize(63).startsWith("ix_money_market_deal__report_date_active_ledger_").endsWith("_default");
+    }
+}
@@ -78,12 +78,12 @@ public class ReportBatchAsserts {
             .satisfies(a -> assertThat(a.getDescription()).as("check description").isEqualTo(expected.getDescription()))
             .satisfies(a -> assertThat(a.getFileIdentifier()).as("check fileIdentifier").isEqualTo(expected.getFileIdentifier()))
             .satisfies(a -> assertThat(a.getProcessFlag()).as("check processFlag").isEqualTo(expected.getProcessFlag()))
-            .satisfies(a -> assertThat(a.getCsvFileAttachment()).as("check csvFileAttachment").isEqualTo(expected.getCsvFileAttachment()))
             .satisfies(a ->
                 assertThat(a.getCsvFileAttachmentContentType())
                     .as("check csvFileAttachment contenty type")
                     .isEqualTo(expected.getCsvFileAttachmentContentType())
-            );
+            )
+            .satisfies(a -> assertThat(a.getFileChecksum()).as("check fileChecksum").isEqualTo(expected.getFileChecksum()));
     }
 
     /**
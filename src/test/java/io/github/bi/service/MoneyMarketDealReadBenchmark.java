@@ -0,0 +1,255 @@
+package io.github.bi.service;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.mockito.Mockito.mock;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.config.PostgreSqlTestContainer;
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.domain.enumeration.reportBatchStatus;
+import io.github.bi.repository.MoneyMarketDealRepository;
+import io.github.bi.service.advisor.MoneyMarketDealIndexAdvisor;
+import io.github.bi.service.cache.MoneyMarketDealQueryCache;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import io.github.bi.service.mapper.MoneyMarketDealMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Latency of a page of deals by criteria, read as entities mapped to DTOs and read straight into rows.
+ * <p>
+ * Both benchmarks read the same page of {@link #ROWS} deals of one list, filtered by currency and sorted by deal
+ * number, through {@link MoneyMarketDealQueryService} against PostgreSQL in a container, each in its own read-only
+ * transaction. The second-level cache is off, as in the tests, so the entity path is a lower bound: its cache puts
+ * come on top in production. The number of entities each path leaves in the persistence context is printed when the
+ * trial starts. Run {@link #main} from the test classpath after {@code ./mvnw test-compile}, with Docker running.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class MoneyMarketDealReadBenchmark {
+
+    static final int ROWS = 50_000;
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2025, 3, 31);
+
+    private static final String[] CURRENCIES = { "KES", "USD", "EUR", "GBP" };
+
+    @Param({ "20", "1000" })
+    private int pageSize;
+
+    private PostgreSqlTestContainer database;
+
+    private HikariDataSource dataSource;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    private MoneyMarketDealQueryService moneyMarketDealQueryService;
+
+    private final MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+
+    private Pageable page;
+
+    @Setup(Level.Trial)
+    public void start() {
+        database = new PostgreSqlTestContainer();
+        database.afterPropertiesSet();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(database.getTestContainer().getJdbcUrl());
+        dataSource.setUsername(database.getTestContainer().getUsername());
+        dataSource.setPassword(database.getTestContainer().getPassword());
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(MoneyMarketDeal.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(
+            Map.of(
+                "hibernate.hbm2ddl.auto",
+                "create",
+                "hibernate.physical_naming_strategy",
+                CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy",
+                SpringImplicitNamingStrategy.class.getName(),
+                "hibernate.cache.use_second_level_cache",
+                "false",
+                "hibernate.jdbc.batch_size",
+                Integer.toString(BATCH_SIZE),
+                "hibernate.order_inserts",
+                "true"
+            )
+        );
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> seed(entityManager));
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+
+        MoneyMarketDealRepository moneyMarketDealRepository = new JpaRepositoryFactory(entityManager).getRepository(
+            MoneyMarketDealRepository.class
+        );
+        // every read goes to the database
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getQueryCache().setEnabled(false);
+        moneyMarketDealQueryService = new MoneyMarketDealQueryService(
+            moneyMarketDealRepository,
+            Mappers.getMapper(MoneyMarketDealMapper.class),
+            null,
+            null,
+            entityManager,
+            new MoneyMarketDealIndexAdvisor(new JdbcTemplate(dataSource), applicationProperties),
+            new MoneyMarketDealQueryCache(mock(HazelcastInstance.class), null, applicationProperties)
+        );
+
+        StringFilter currencyCode = new StringFilter();
+        currencyCode.setIn(List.of("KES", "USD"));
+        criteria.setCurrencyCode(currencyCode);
+        page = PageRequest.of(1, pageSize, Sort.by("dealNumber"));
+
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            moneyMarketDealQueryService.findRowsByCriteria(criteria, page);
+            int afterRows = session.getStatistics().getEntityCount();
+            moneyMarketDealQueryService.findByCriteria(criteria, page);
+            System.out.printf(
+                "%nEntities in the persistence context after a page of %d deals: %d as rows, %d as entities%n",
+                pageSize,
+                afterRows,
+                session.getStatistics().getEntityCount() - afterRows
+            );
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        entityManagerFactory.close();
+        dataSource.close();
+        database.destroy();
+    }
+
+    @Benchmark
+    public Object readEntities() {
+        return readOnlyTransactionTemplate.execute(status -> moneyMarketDealQueryService.findByCriteria(criteria, page));
+    }
+
+    @Benchmark
+    public Object readRows() {
+        return readOnlyTransactionTemplate.execute(status -> moneyMarketDealQueryService.findRowsByCriteria(criteria, page));
+    }
+
+    private static void seed(EntityManager entityManager) {
+        MoneyMarketList moneyMarketList = new MoneyMarketList()
+            .reportDate(REPORT_DATE)
+            .uploadTimeStamp(ZonedDateTime.now())
+            .status(reportBatchStatus.ACTIVE)
+            .description("Deals of " + REPORT_DATE)
+            .active(true);
+        entityManager.persist(moneyMarketList);
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(deal(i, moneyMarketList));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                moneyMarketList = entityManager.getReference(MoneyMarketList.class, moneyMarketList.getId());
+            }
+        }
+    }
+
+    private static MoneyMarketDeal deal(int i, MoneyMarketList moneyMarketList) {
+        BigDecimal principal = BigDecimal.valueOf(1_000_000L + i * 37L, 2);
+        return new MoneyMarketDeal()
+            .dealNumber(String.format("MM-%07d", i))
+            .tradingBook("BANKING")
+            .counterPartyName("COUNTERPARTY " + i % 500)
+            .finalInterestAccrualDate(REPORT_DATE.plusDays(i % 365))
+            .currencyCode(CURRENCIES[i % CURRENCIES.length])
+            .principalAmount(principal)
+            .interestRate(BigDecimal.valueOf(900 + i % 400, 2))
+            .interestAccruedAmount(BigDecimal.valueOf(i % 10_000, 2))
+            .counterpartyNationality("KE")
+            .endDate(REPORT_DATE.plusDays(i % 365))
+            .treasuryLedger("PLACEMENTS")
+            .dealSubtype(i % 2 == 0 ? "CALL" : "FIXED")
+            .shillingEquivalentPrincipal(principal)
+            .shillingEquivalentInterestAccrued(BigDecimal.valueOf(i % 10_000, 2))
+            .shillingEquivalentPVFull(principal)
+            .counterpartyDomicile(i % 3 == 0 ? "FOREIGN" : "LOCAL")
+            .settlementDate(REPORT_DATE.minusDays(i % 60))
+            .institutionType("BANK")
+            .maturityDate(REPORT_DATE.plusDays(i % 365))
+            .reportDate(REPORT_DATE)
+            .active(true)
+            .moneyMarketList(moneyMarketList);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MoneyMarketDealReadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.bi.service.advisor;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import io.github.bi.service.dto.MoneyMarketDealIndexAdviceDTO.FilterShapeAdvice;
+import io.github.bi.service.dto.MoneyMarketDealIndexAdviceDTO.IndexUsage;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealIndexAdvisorTest {
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2025, 3, 31);
+
+    private static final IndexUsage REPORT_DATE_ACTIVE_LEDGER = btree(
+        "ix_money_market_deal__report_date_active_ledger_currency",
+        "report_date",
+        "active",
+        "treasury_ledger",
+        "currency_code"
+    );
+
+    private static final IndexUsage REPORT_DATE_BRIN = new IndexUsage(
+        "ix_money_market_deal__report_date_brin",
+        "brin",
+        List.of("report_date"),
+        "",
+        0,
+        0,
+        true
+    );
+
+    @Test
+    void shapesCriteriaByFilteredPropertiesOnly() {
+        MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+        criteria.reportDate().setEquals(REPORT_DATE);
+        criteria.maturityDate().setGreaterThan(REPORT_DATE);
+        criteria.counterPartyName().setContains("BANK");
+        criteria.currencyCode().setNotEquals("KES");
+        MoneyMarketDealCriteria other = new MoneyMarketDealCriteria();
+        other.reportDate().setEquals(REPORT_DATE.plusDays(1));
+        other.maturityDate().setGreaterThan(REPORT_DATE.plusDays(1));
+        other.counterPartyName().setContains("FUND");
+        other.currencyCode().setNotEquals("USD");
+
+        FilterShape shape = FilterShape.of(criteria);
+
+        assertThat(shape).isEqualTo(FilterShape.of(other));
+        assertThat(shape).hasToString("counterPartyName pattern, currencyCode negation, maturityDate range, reportDate equality");
+        assertThat(FilterShape.of(new MoneyMarketDealCriteria()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void servesEqualitiesThenOneRangeFromTheLeadingColumns() {
+        List<String> equalities = List.of("report_date", "active");
+
+        assertThat(MoneyMarketDealIndexAdvisor.served(REPORT_DATE_ACTIVE_LEDGER, equalities, "treasury_ledger")).isEqualTo(3);
+        assertThat(MoneyMarketDealIndexAdvisor.served(REPORT_DATE_ACTIVE_LEDGER, List.of("active"), null)).isZero();
+        assertThat(MoneyMarketDealIndexAdvisor.served(REPORT_DATE_ACTIVE_LEDGER, List.of(), "report_date")).isEqualTo(1);
+        assertThat(MoneyMarketDealIndexAdvisor.served(REPORT_DATE_BRIN, List.of(), "report_date")).isEqualTo(1);
+    }
+
+    @Test
+    void suggestsAnIndexForSlowQueriesOnly() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getIndexAdvisor().setSlowQuery(Duration.ofMillis(100));
+        applicationProperties.getIndexAdvisor().setMinSamples(2);
+        MoneyMarketDealIndexAdvisor advisor = new MoneyMarketDealIndexAdvisor(null, applicationProperties);
+        MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+        criteria.reportDate().setEquals(REPORT_DATE);
+        criteria.dealSubtype().setIn(List.of("CALL"));
+        criteria.maturityDate().setLessThan(REPORT_DATE);
+        FilterShape shape = FilterShape.of(criteria);
+        MoneyMarketDealIndexAdvisor.Latencies slow = new MoneyMarketDealIndexAdvisor.Latencies();
+        slow.add(Duration.ofMillis(150).toNanos());
+        slow.add(Duration.ofMillis(250).toNanos());
+        MoneyMarketDealIndexAdvisor.Latencies fast = new MoneyMarketDealIndexAdvisor.Latencies();
+        fast.add(Duration.ofMillis(5).toNanos());
+        fast.add(Duration.ofMillis(5).toNanos());
+
+        FilterShapeAdvice advice = advisor.advise(shape, slow, List.of(REPORT_DATE_ACTIVE_LEDGER, REPORT_DATE_BRIN));
+
+        assertThat(advice.queries()).isEqualTo(2);
+        assertThat(advice.meanMillis()).isEqualTo(200.0);
+        assertThat(advice.maxMillis()).isEqualTo(250.0);
+        assertThat(advice.bestIndex()).isEqualTo(REPORT_DATE_ACTIVE_LEDGER.name());
+        assertThat(advice.indexedFilters()).isEqualTo(1);
+        assertThat(advice.indexableFilters()).isEqualTo(3);
+        assertThat(advice.suggestedIndex()).isEqualTo("create index on money_market_deal (deal_subtype, report_date, maturity_date)");
+        assertThat(advisor.advise(shape, fast, List.of(REPORT_DATE_ACTIVE_LEDGER)).suggestedIndex()).isNull();
+    }
+
+    private static IndexUsage btree(String name, String... columns) {
+        return new IndexUsage(name, "btree", List.of(columns), "", 1, 0, false);
+    }
+}
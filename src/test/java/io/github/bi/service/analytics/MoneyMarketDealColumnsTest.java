@@ -0,0 +1,188 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import io.github.bi.service.dto.MoneyMarketDealAggregateDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealColumnsTest {
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2025, 3, 31);
+
+    private static final List<MoneyMarketDealMeasure> SUMS = List.of(
+        MoneyMarketDealMeasure.COUNT,
+        MoneyMarketDealMeasure.SUM_PRINCIPAL,
+        MoneyMarketDealMeasure.AVG_PRINCIPAL,
+        MoneyMarketDealMeasure.WEIGHTED_INTEREST_RATE
+    );
+
+    private final MoneyMarketDealColumns columns = MoneyMarketDealColumns.builder(7L, REPORT_DATE)
+        .add(deal("PLACEMENTS", "KES", "100.00", "10.00", LocalDate.of(2025, 4, 30)))
+        .add(deal("PLACEMENTS", "USD", "300.00", "12.00", LocalDate.of(2025, 6, 30)))
+        .add(deal("BORROWINGS", "KES", "50.25", null, null))
+        .add(deal(null, "KES", null, "9.00", LocalDate.of(2025, 5, 31)))
+        .build();
+
+    @Test
+    void shouldAggregateGroupsLikeTheDatabase() {
+        List<MoneyMarketDealAggregateDTO> rows = columns
+            .aggregate(null, List.of(MoneyMarketDealDimension.TREASURY_LEDGER, MoneyMarketDealDimension.REPORT_DATE), SUMS)
+            .orElseThrow();
+
+        assertThat(rows).extracting(row -> row.dimensions().get("treasuryLedger")).containsExactly("BORROWINGS", "PLACEMENTS", null);
+        assertThat(rows).extracting(row -> row.dimensions().get("reportDate")).containsOnly(REPORT_DATE);
+        MoneyMarketDealAggregateDTO placements = rows.get(1);
+        assertThat(placements.measures().get("count")).isEqualTo(2L);
+        assertThat(placements.measures().get("sumPrincipal")).isEqualTo(new BigDecimal("400.00"));
+        assertThat(placements.measures().get("avgPrincipal")).isEqualTo(new BigDecimal("200.00"));
+        // weighted by the shilling equivalent principal, equal to the principal here: (10 * 100 + 12 * 300) / 400
+        assertThat(placements.measures().get("weightedInterestRate")).isEqualTo(new BigDecimal("11.500000"));
+        MoneyMarketDealAggregateDTO withoutLedger = rows.get(2);
+        assertThat(withoutLedger.measures().get("count")).isEqualTo(1L);
+        assertThat(withoutLedger.measures().get("sumPrincipal")).isNull();
+        assertThat(rows.get(0).measures().get("weightedInterestRate")).isNull();
+    }
+
+    @Test
+    void shouldFilterOnDimensionsDatesAndAmounts() {
+        MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+        criteria.currencyCode().setIn(List.of("KES"));
+        criteria.treasuryLedger().setContains("place");
+        assertThat(count(criteria)).isEqualTo(1L);
+
+        criteria = new MoneyMarketDealCriteria();
+        criteria.maturityDate().setGreaterThan(LocalDate.of(2025, 4, 30));
+        assertThat(count(criteria)).isEqualTo(2L);
+
+        criteria = new MoneyMarketDealCriteria();
+        criteria.maturityDate().setSpecified(false);
+        assertThat(count(criteria)).isEqualTo(1L);
+
+        criteria = new MoneyMarketDealCriteria();
+        criteria.principalAmount().setGreaterThanOrEqual(new BigDecimal("100"));
+        criteria.principalAmount().setLessThan(new BigDecimal("300.00"));
+        assertThat(count(criteria)).isEqualTo(1L);
+
+        criteria = new MoneyMarketDealCriteria();
+        criteria.treasuryLedger().setNotEquals("PLACEMENTS");
+        // like the database, a missing ledger is not different from PLACEMENTS
+        assertThat(count(criteria)).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldApplyTheConditionsTheDatabaseApplies() {
+        MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+        criteria.currencyCode().setEquals("KES");
+        criteria.currencyCode().setNotEquals("KES");
+        // an equals is the only condition applied
+        assertThat(count(criteria)).isEqualTo(3L);
+
+        criteria = new MoneyMarketDealCriteria();
+        criteria.principalAmount().setIn(List.of(new BigDecimal("100.00"), new BigDecimal("300.00")));
+        criteria.principalAmount().setGreaterThan(new BigDecimal("200.00"));
+        assertThat(count(criteria)).isEqualTo(2L);
+
+        criteria = new MoneyMarketDealCriteria();
+        criteria.treasuryLedger().setNotIn(List.of("BORROWINGS"));
+        criteria.treasuryLedger().setNotEquals("PLACEMENTS");
+        // only the first condition of a string filter is applied
+        assertThat(count(criteria)).isEqualTo(2L);
+
+        criteria = new MoneyMarketDealCriteria();
+        criteria.principalAmount().setGreaterThan(new BigDecimal("60.00"));
+        criteria.principalAmount().setNotEquals(new BigDecimal("300.00"));
+        // but every condition of a range filter
+        assertThat(count(criteria)).isEqualTo(1L);
+
+        criteria = new MoneyMarketDealCriteria();
+        criteria.treasuryLedger();
+        assertThat(count(criteria)).isEqualTo(4L);
+    }
+
+    @Test
+    void shouldLeaveLikeWildcardsToTheDatabase() {
+        MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+        criteria.treasuryLedger().setContains("PLACE_");
+
+        assertThat(columns.aggregate(criteria, List.of(), SUMS)).isEmpty();
+    }
+
+    @Test
+    void shouldMatchNoDealOfAnotherList() {
+        MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+        criteria.moneyMarketListId().setEquals(8L);
+
+        List<MoneyMarketDealAggregateDTO> rows = columns.aggregate(criteria, List.of(), SUMS).orElseThrow();
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).measures().get("count")).isEqualTo(0L);
+        assertThat(rows.get(0).measures().get("sumPrincipal")).isNull();
+    }
+
+    @Test
+    void shouldLeaveFiltersItDoesNotHoldToTheDatabase() {
+        MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+        criteria.dealNumber().setEquals("MM-1");
+        assertThat(columns.aggregate(criteria, List.of(), SUMS)).isEmpty();
+
+        criteria = new MoneyMarketDealCriteria();
+        criteria.principalAmount().setEquals(new BigDecimal("100.005"));
+        assertThat(columns.aggregate(criteria, List.of(), SUMS)).isEmpty();
+    }
+
+    @Test
+    void shouldLeaveOverflowingSumsToTheDatabase() {
+        MoneyMarketDealColumns large = MoneyMarketDealColumns.builder(7L, REPORT_DATE)
+            .add(deal("PLACEMENTS", "KES", "90000000000000000", null, null))
+            .add(deal("PLACEMENTS", "KES", "90000000000000000", null, null))
+            .build();
+
+        Optional<List<MoneyMarketDealAggregateDTO>> rows = large.aggregate(null, List.of(), List.of(MoneyMarketDealMeasure.SUM_PRINCIPAL));
+
+        assertThat(rows).isEmpty();
+    }
+
+    private long count(MoneyMarketDealCriteria criteria) {
+        List<MoneyMarketDealAggregateDTO> rows = columns
+            .aggregate(criteria, List.of(), List.of(MoneyMarketDealMeasure.COUNT))
+            .orElseThrow();
+        return (Long) rows.get(0).measures().get("count");
+    }
+
+    private static MoneyMarketDeal deal(String ledger, String currency, String principal, String rate, LocalDate maturityDate) {
+        BigDecimal amount = principal == null ? null : new BigDecimal(principal);
+        return new MoneyMarketDeal()
+            .active(true)
+            .treasuryLedger(ledger)
+            .currencyCode(currency)
+            .principalAmount(amount)
+            .shillingEquivalentPrincipal(amount)
+            .interestRate(rate == null ? null : new BigDecimal(rate))
+            .maturityDate(maturityDate)
+            .reportDate(REPORT_DATE);
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.bi.service.dto.MoneyMarketDealConcentrationDTO;
+import io.github.bi.service.dto.MoneyMarketDealCounterpartyExposureDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealConcentrationTest {
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2025, 3, 31);
+
+    @Test
+    void listsTheLargestCounterpartiesLargestFirst() {
+        MoneyMarketDealConcentration concentration = new MoneyMarketDealConcentration(REPORT_DATE, 2);
+        for (int i = 1; i <= 20; i++) {
+            concentration.add("Bank " + i, "LOCAL", "BANK", i, new BigDecimal(i * 10));
+        }
+
+        MoneyMarketDealConcentrationDTO result = concentration.result();
+
+        assertThat(result.topCounterparties())
+            .extracting(MoneyMarketDealCounterpartyExposureDTO::counterPartyName)
+            .containsExactly("Bank 20", "Bank 19");
+        assertThat(result.numberOfCounterparties()).isEqualTo(20);
+        assertThat(result.totalPrincipal()).isEqualByComparingTo("2100");
+        // banks 11 to 20 hold 1550 of 2100
+        assertThat(result.topTenShare()).isEqualByComparingTo("0.738095");
+        assertThat(result.topCounterparties().get(0).share()).isEqualByComparingTo("0.095238");
+    }
+
+    @Test
+    void measuresTheHerfindahlIndexInPercentSquared() {
+        MoneyMarketDealConcentration even = new MoneyMarketDealConcentration(REPORT_DATE, 10);
+        for (int i = 0; i < 4; i++) {
+            even.add("Bank " + i, "LOCAL", "BANK", 1, new BigDecimal("250.00"));
+        }
+        MoneyMarketDealConcentration single = new MoneyMarketDealConcentration(REPORT_DATE, 10).add(
+            "Bank",
+            "LOCAL",
+            "BANK",
+            3,
+            new BigDecimal("1000.00")
+        );
+
+        assertThat(even.result().herfindahlIndex()).isEqualByComparingTo("2500");
+        assertThat(single.result().herfindahlIndex()).isEqualByComparingTo("10000");
+        assertThat(single.result().topTenShare()).isEqualByComparingTo("1");
+    }
+
+    @Test
+    void leavesOutCounterpartiesWithoutExposure() {
+        MoneyMarketDealConcentrationDTO result = new MoneyMarketDealConcentration(REPORT_DATE, 10)
+            .add("Bank A", "LOCAL", "BANK", 1, new BigDecimal("100.00"))
+            .add("Bank B", "LOCAL", "BANK", 1, BigDecimal.ZERO)
+            .add("Bank C", "LOCAL", "BANK", 1, new BigDecimal("-5.00"))
+            .add("Bank D", "LOCAL", "BANK", 1, null)
+            .result();
+
+        assertThat(result.numberOfCounterparties()).isEqualTo(1);
+        assertThat(result.topCounterparties()).hasSize(1);
+    }
+
+    @Test
+    void measuresNothingWithoutCounterparties() {
+        MoneyMarketDealConcentrationDTO result = new MoneyMarketDealConcentration(REPORT_DATE, 10).result();
+
+        assertThat(result.topCounterparties()).isEmpty();
+        assertThat(result.herfindahlIndex()).isEqualByComparingTo("0");
+        assertThatThrownBy(() -> new MoneyMarketDealConcentration(REPORT_DATE, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.bi.service.dto.MoneyMarketDealCubeCellDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealCubeTest {
+
+    private final MoneyMarketDealCube cube = MoneyMarketDealCube.builder(7L, LocalDate.of(2025, 3, 31))
+        .add(cell("PLACEMENTS", "KES", "CALL", "BANK", "LOCAL"), 2, amount("100.00"), amount("1.00"), amount("101.00"))
+        .add(cell("PLACEMENTS", "USD", "CALL", "BANK", "FOREIGN"), 1, amount("300.00"), amount("3.00"), amount("303.00"))
+        .add(cell("BORROWINGS", "KES", "FIXED", "BANK", "LOCAL"), 4, amount("50.25"), null, amount("50.25"))
+        .add(cell(null, "KES", "FIXED", "BANK", "LOCAL"), 1, null, null, null)
+        .build();
+
+    @Test
+    void shouldRollUpToTheKeptDimensions() {
+        List<MoneyMarketDealCubeCellDTO> cells = cube.rollUp(List.of(MoneyMarketDealDimension.CURRENCY_CODE), Map.of());
+
+        assertThat(cells).extracting(cell -> cell.dimensions().get("currencyCode")).containsExactly("KES", "USD");
+        assertThat(cells.get(0).numberOfDeals()).isEqualTo(7L);
+        assertThat(cells.get(0).totalPrincipal()).isEqualTo(new BigDecimal("150.25"));
+        assertThat(cells.get(0).interestAccrued()).isEqualTo(new BigDecimal("1.00"));
+    }
+
+    @Test
+    void shouldDrillDownIntoASlice() {
+        List<MoneyMarketDealCubeCellDTO> cells = cube.rollUp(
+            List.of(MoneyMarketDealDimension.TREASURY_LEDGER, MoneyMarketDealDimension.COUNTERPARTY_DOMICILE),
+            Map.of(MoneyMarketDealDimension.CURRENCY_CODE, List.of("KES"))
+        );
+
+        assertThat(cells)
+            .extracting(cell -> Arrays.asList(cell.dimensions().get("treasuryLedger"), cell.dimensions().get("counterpartyDomicile")))
+            .containsExactly(Arrays.asList("BORROWINGS", "LOCAL"), Arrays.asList("PLACEMENTS", "LOCAL"), Arrays.asList(null, "LOCAL"));
+    }
+
+    @Test
+    void shouldRollUpToAGrandTotal() {
+        List<MoneyMarketDealCubeCellDTO> cells = cube.rollUp(List.of(), Map.of());
+
+        assertThat(cells).hasSize(1);
+        assertThat(cells.get(0).numberOfDeals()).isEqualTo(8L);
+        assertThat(cells.get(0).totalPVFull()).isEqualTo(new BigDecimal("454.25"));
+
+        List<MoneyMarketDealCubeCellDTO> empty = cube.rollUp(List.of(), Map.of(MoneyMarketDealDimension.CURRENCY_CODE, List.of("EUR")));
+        assertThat(empty.get(0).numberOfDeals()).isZero();
+        assertThat(empty.get(0).totalPrincipal()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void shouldMergeCellsWithTheSameValues() {
+        MoneyMarketDealCube merged = MoneyMarketDealCube.builder(7L, LocalDate.of(2025, 3, 31))
+            .add(cell("PLACEMENTS", "KES", "CALL", "BANK", "LOCAL"), 1, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE)
+            .add(cell("PLACEMENTS", "KES", "CALL", "BANK", "LOCAL"), 1, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE)
+            .build();
+
+        assertThat(merged.size()).isEqualTo(1);
+        assertThat(merged.rollUp(List.of(), Map.of()).get(0).totalPrincipal()).isEqualTo(new BigDecimal("2.00"));
+    }
+
+    @Test
+    void shouldRejectDimensionsOutsideTheCube() {
+        assertThatThrownBy(() -> cube.rollUp(List.of(MoneyMarketDealDimension.REPORT_DATE), Map.of())).isInstanceOf(
+            IllegalArgumentException.class
+        );
+    }
+
+    private static BigDecimal amount(String amount) {
+        return new BigDecimal(amount);
+    }
+
+    private static List<String> cell(String ledger, String currency, String subtype, String institutionType, String domicile) {
+        return Arrays.asList(ledger, currency, subtype, institutionType, domicile);
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.bi.service.dto.MoneyMarketDealMaturityBucketDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealMaturityLadderTest {
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2025, 3, 31);
+
+    private static final List<Period> BUCKETS = List.of(Period.ofDays(1), Period.ofWeeks(1), Period.ofMonths(1));
+
+    private final MoneyMarketDealMaturityLadder ladder = MoneyMarketDealMaturityLadder.builder(7L, REPORT_DATE, BUCKETS)
+        .add("KES", "PLACEMENTS", REPORT_DATE.minusDays(3), amount("10.00"), amount("10.10"))
+        .add("KES", "PLACEMENTS", REPORT_DATE.plusDays(1), amount("20.00"), amount("20.20"))
+        .add("KES", "PLACEMENTS", REPORT_DATE.plusDays(2), amount("30.00"), null)
+        .add("KES", "PLACEMENTS", REPORT_DATE.plusDays(7), amount("40.00"), amount("40.40"))
+        .add("KES", "PLACEMENTS", LocalDate.of(2025, 4, 30), amount("50.00"), amount("50.50"))
+        .add("KES", "PLACEMENTS", LocalDate.of(2025, 5, 1), amount("60.00"), amount("60.60"))
+        .add("USD", "BORROWINGS", REPORT_DATE.plusDays(5), amount("5.25"), amount("5.25"))
+        .add(null, "BORROWINGS", REPORT_DATE.plusDays(5), null, null)
+        .build();
+
+    @Test
+    void bucketsDealsByMaturityFromTheReportDate() {
+        List<MoneyMarketDealMaturityBucketDTO> buckets = ladder.buckets("KES", null);
+
+        assertThat(buckets).extracting(MoneyMarketDealMaturityBucketDTO::bucket).containsExactly("P1D", "P7D", "P1M", ">P1M");
+        assertThat(buckets).extracting(MoneyMarketDealMaturityBucketDTO::numberOfDeals).containsExactly(2L, 2L, 1L, 1L);
+        assertThat(buckets)
+            .extracting(MoneyMarketDealMaturityBucketDTO::totalPrincipal)
+            .containsExactly(amount("30.00"), amount("70.00"), amount("50.00"), amount("60.00"));
+        assertThat(buckets.get(1).totalPVFull()).isEqualTo(amount("40.40"));
+    }
+
+    @Test
+    void boundsEachBucketByMaturityDates() {
+        List<MoneyMarketDealMaturityBucketDTO> buckets = ladder.buckets("KES", "PLACEMENTS");
+
+        assertThat(buckets.get(0).maturingFrom()).isNull();
+        assertThat(buckets.get(0).maturingUntil()).isEqualTo(LocalDate.of(2025, 4, 1));
+        assertThat(buckets.get(1).maturingFrom()).isEqualTo(LocalDate.of(2025, 4, 2));
+        assertThat(buckets.get(2).maturingUntil()).isEqualTo(LocalDate.of(2025, 4, 30));
+        assertThat(buckets.get(3).maturingFrom()).isEqualTo(LocalDate.of(2025, 5, 1));
+        assertThat(buckets.get(3).maturingUntil()).isNull();
+    }
+
+    @Test
+    void listsEveryBucketOfEachCurrencyAndLedger() {
+        List<MoneyMarketDealMaturityBucketDTO> buckets = ladder.buckets(null, null);
+
+        assertThat(buckets).hasSize(12);
+        assertThat(buckets)
+            .extracting(MoneyMarketDealMaturityBucketDTO::currencyCode)
+            .containsSequence("KES", "USD")
+            .endsWith((String) null);
+        assertThat(ladder.buckets(null, "BORROWINGS"))
+            .filteredOn(bucket -> bucket.numberOfDeals() > 0)
+            .extracting(MoneyMarketDealMaturityBucketDTO::bucket)
+            .containsExactly("P7D", "P7D");
+    }
+
+    @Test
+    void rejectsBucketsThatDoNotIncrease() {
+        assertThatThrownBy(() -> MoneyMarketDealMaturityLadder.builder(7L, REPORT_DATE, List.of(Period.ofMonths(1), Period.ofDays(30))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BigDecimal amount(String value) {
+        return new BigDecimal(value);
+    }
+}
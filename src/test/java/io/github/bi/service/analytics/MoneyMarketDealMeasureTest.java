@@ -0,0 +1,49 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealMeasureTest {
+
+    @Test
+    void shouldFindDimensionsAndMeasuresByTheirApiName() {
+        assertThat(MoneyMarketDealDimension.fromPropertyName("treasuryLedger")).isEqualTo(MoneyMarketDealDimension.TREASURY_LEDGER);
+        assertThat(MoneyMarketDealDimension.fromPropertyName("reportDate")).isEqualTo(MoneyMarketDealDimension.REPORT_DATE);
+        assertThat(MoneyMarketDealMeasure.fromPropertyName("weightedInterestRate")).isEqualTo(
+            MoneyMarketDealMeasure.WEIGHTED_INTEREST_RATE
+        );
+        assertThatThrownBy(() -> MoneyMarketDealDimension.fromPropertyName("dealNumber")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MoneyMarketDealMeasure.fromPropertyName("max")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRoundComputedValuesToTheScaleOfTheMeasure() {
+        assertThat(MoneyMarketDealMeasure.COUNT.normalize(12L)).isEqualTo(12L);
+        assertThat(MoneyMarketDealMeasure.AVG_PRINCIPAL.normalize(1234.5678d)).isEqualTo(new BigDecimal("1234.57"));
+        assertThat(MoneyMarketDealMeasure.WEIGHTED_INTEREST_RATE.normalize(new BigDecimal("7.123456789"))).isEqualTo(
+            new BigDecimal("7.123457")
+        );
+        assertThat(MoneyMarketDealMeasure.SUM_PRINCIPAL.normalize(null)).isNull();
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.bi.service.dto.MoneyMarketDealMovementDTO;
+import io.github.bi.service.dto.MoneyMarketDealMovementTotalDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealMovementMergeTest {
+
+    private static final LocalDate SETTLED = LocalDate.of(2025, 3, 1);
+
+    private static final LocalDate MATURING = LocalDate.of(2025, 4, 1);
+
+    @Test
+    void classifiesDealsByDealNumber() {
+        List<MoneyMarketDealPosition> previous = List.of(
+            position("A1", MATURING, "KES", "100.00", "5.00", "1.00"),
+            position("A2", MATURING, "KES", "200.00", "5.00", "2.00"),
+            position("A3", MATURING, "KES", "300.00", "5.00", "3.00"),
+            position("A4", MATURING, "KES", "400.00", "5.00", "4.00")
+        );
+        List<MoneyMarketDealPosition> current = List.of(
+            position("A0", MATURING, "KES", "50.00", "5.00", "0.50"),
+            position("A2", MATURING.plusMonths(1), "KES", "200.00", "5.00", "0.10"),
+            position("A3", MATURING, "KES", "350.00", "5.00", "3.50"),
+            position("A4", MATURING, "KES", "400.0", "5.000", "4.40")
+        );
+        List<MoneyMarketDealMovementDTO> movements = new ArrayList<>();
+
+        List<MoneyMarketDealMovementTotalDTO> totals = MoneyMarketDealMovementMerge.merge(
+            previous.iterator(),
+            current.iterator(),
+            movements::add
+        );
+
+        assertThat(movements).extracting(MoneyMarketDealMovementDTO::dealNumber).containsExactly("A0", "A1", "A2", "A3", "A4");
+        assertThat(movements)
+            .extracting(MoneyMarketDealMovementDTO::movement)
+            .containsExactly("NEW", "MATURED", "ROLLED", "AMENDED", "UNCHANGED");
+        assertThat(movements.get(1).principalDelta()).isEqualByComparingTo("-100.00");
+        assertThat(movements.get(2).previousMaturityDate()).isEqualTo(MATURING);
+        assertThat(movements.get(2).maturityDate()).isEqualTo(MATURING.plusMonths(1));
+        assertThat(movements.get(4).interestAccruedDelta()).isEqualByComparingTo("0.40");
+        assertThat(totals)
+            .extracting(MoneyMarketDealMovementTotalDTO::numberOfDeals)
+            .containsExactly(1L, 1L, 1L, 1L, 1L);
+        assertThat(totals.get(3).principalDelta()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void pairsRepeatedDealNumbersInTurn() {
+        List<MoneyMarketDealPosition> previous = List.of(
+            position("B1", MATURING, "KES", "10.00", "5.00", "1.00"),
+            position("B1", MATURING, "KES", "10.00", "5.00", "1.00")
+        );
+        List<MoneyMarketDealPosition> current = List.of(position("B1", MATURING, "KES", "10.00", "5.00", "1.00"));
+        List<MoneyMarketDealMovementDTO> movements = new ArrayList<>();
+
+        MoneyMarketDealMovementMerge.merge(previous.iterator(), current.iterator(), movements::add);
+
+        assertThat(movements).extracting(MoneyMarketDealMovementDTO::movement).containsExactly("UNCHANGED", "MATURED");
+    }
+
+    @Test
+    void totalsEveryMovementOfEmptyLists() {
+        List<MoneyMarketDealPosition> none = List.of();
+
+        List<MoneyMarketDealMovementTotalDTO> totals = MoneyMarketDealMovementMerge.merge(none.iterator(), none.iterator(), movement -> {});
+
+        assertThat(totals).hasSize(MoneyMarketDealMovement.values().length).allMatch(total -> total.numberOfDeals() == 0);
+    }
+
+    @Test
+    void rejectsListsNotSortedByDealNumber() {
+        List<MoneyMarketDealPosition> unsorted = List.of(
+            position("C2", MATURING, "KES", "10.00", "5.00", "1.00"),
+            position("C1", MATURING, "KES", "10.00", "5.00", "1.00")
+        );
+
+        List<MoneyMarketDealPosition> none = List.of();
+
+        assertThatThrownBy(() -> MoneyMarketDealMovementMerge.merge(unsorted.iterator(), none.iterator(), movement -> {}))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static MoneyMarketDealPosition position(
+        String dealNumber,
+        LocalDate maturityDate,
+        String currencyCode,
+        String principal,
+        String interestRate,
+        String interestAccrued
+    ) {
+        return new MoneyMarketDealPosition(
+            dealNumber,
+            SETTLED,
+            maturityDate,
+            currencyCode,
+            "Counterparty",
+            new BigDecimal(principal),
+            new BigDecimal(interestRate),
+            new BigDecimal(principal),
+            new BigDecimal(interestAccrued),
+            new BigDecimal(principal)
+        );
+    }
+}
@@ -0,0 +1,164 @@
+package io.github.bi.service.analytics;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Latency of a deal aggregate over the deals of one list, from {@link MoneyMarketDealColumns} and from entities.
+ * <p>
+ * Both benchmarks group {@link #ROWS} deals by ledger and currency, over the deals maturing after a date, and total
+ * their principal. The entity benchmark works on {@link MoneyMarketDeal}s already in memory, which is what the JPA
+ * path holds once a query has returned, so it is a lower bound for that path: the database round trip and the
+ * hydration of the entities come on top. The heap taken by each representation is printed when the trial starts.
+ * Run {@link #main} from the test classpath after {@code ./mvnw test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MoneyMarketDealSnapshotBenchmark {
+
+    static final int ROWS = 500_000;
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2025, 3, 31);
+
+    private static final String[] LEDGERS = { "PLACEMENTS", "BORROWINGS", "REPOS", "REVERSE REPOS", "INTERBANK" };
+
+    private static final String[] CURRENCIES = { "KES", "USD", "EUR", "GBP", "UGX", "TZS" };
+
+    private static final LocalDate MATURING_AFTER = REPORT_DATE.plusDays(90);
+
+    private final List<MoneyMarketDealDimension> dimensions = List.of(
+        MoneyMarketDealDimension.TREASURY_LEDGER,
+        MoneyMarketDealDimension.CURRENCY_CODE
+    );
+
+    private final List<MoneyMarketDealMeasure> measures = List.of(MoneyMarketDealMeasure.COUNT, MoneyMarketDealMeasure.SUM_PRINCIPAL);
+
+    private final MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+
+    private List<MoneyMarketDeal> deals;
+
+    private MoneyMarketDealColumns columns;
+
+    @Setup(Level.Trial)
+    public void load() {
+        criteria.maturityDate().setGreaterThan(MATURING_AFTER);
+        long before = usedHeap();
+        deals = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            deals.add(deal(i));
+        }
+        long entities = usedHeap() - before;
+        before = usedHeap();
+        MoneyMarketDealColumns.Builder builder = MoneyMarketDealColumns.builder(1L, REPORT_DATE);
+        deals.forEach(builder::add);
+        columns = builder.build();
+        long snapshot = usedHeap() - before;
+        System.out.printf(
+            "%nHeap used by %d deals: %d MiB as entities, %d MiB as columns (estimated %d MiB)%n",
+            ROWS,
+            entities >> 20,
+            snapshot >> 20,
+            columns.estimatedBytes() >> 20
+        );
+    }
+
+    @Benchmark
+    public Object aggregateColumns() {
+        return columns.aggregate(criteria, dimensions, measures).orElseThrow();
+    }
+
+    @Benchmark
+    public Object aggregateEntities() {
+        Map<List<String>, BigDecimal[]> groups = new HashMap<>();
+        for (MoneyMarketDeal deal : deals) {
+            if (deal.getMaturityDate() == null || !deal.getMaturityDate().isAfter(MATURING_AFTER)) {
+                continue;
+            }
+            BigDecimal[] totals = groups.computeIfAbsent(List.of(deal.getTreasuryLedger(), deal.getCurrencyCode()), key ->
+                new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO }
+            );
+            totals[0] = totals[0].add(BigDecimal.ONE);
+            if (deal.getPrincipalAmount() != null) {
+                totals[1] = totals[1].add(deal.getPrincipalAmount());
+            }
+        }
+        return groups;
+    }
+
+    private static MoneyMarketDeal deal(int i) {
+        BigDecimal principal = BigDecimal.valueOf(1_000_000L + i * 37L, 2);
+        return new MoneyMarketDeal()
+            .dealNumber("MM-" + i)
+            .active(true)
+            .treasuryLedger(LEDGERS[i % LEDGERS.length])
+            .currencyCode(CURRENCIES[i % CURRENCIES.length])
+            .dealSubtype(i % 2 == 0 ? "CALL" : "FIXED")
+            .institutionType("BANK")
+            .counterpartyNationality("KE")
+            .counterpartyDomicile(i % 3 == 0 ? "FOREIGN" : "LOCAL")
+            .principalAmount(principal)
+            .interestRate(BigDecimal.valueOf(900 + i % 400, 2))
+            .shillingEquivalentPrincipal(principal)
+            .shillingEquivalentInterestAccrued(BigDecimal.valueOf(i % 10_000, 2))
+            .shillingEquivalentPVFull(principal)
+            .settlementDate(REPORT_DATE.minusDays(i % 60))
+            .maturityDate(REPORT_DATE.plusDays(i % 365))
+            .endDate(REPORT_DATE.plusDays(i % 365))
+            .reportDate(REPORT_DATE);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MoneyMarketDealSnapshotBenchmark.class.getSimpleName()).build()).run();
+    }
+}
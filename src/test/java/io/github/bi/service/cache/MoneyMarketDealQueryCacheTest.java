@@ -0,0 +1,204 @@
+package io.github.bi.service.cache;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import io.github.bi.config.ApplicationProperties;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.repository.MoneyMarketListRepository;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import io.github.bi.service.dto.MoneyMarketDealDTO;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+class MoneyMarketDealQueryCacheTest {
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2025, 3, 31);
+
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by("dealNumber"));
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private MoneyMarketDealVersions moneyMarketDealVersions;
+
+    private MoneyMarketDealQueryCache moneyMarketDealQueryCache;
+
+    @BeforeEach
+    void setUp() {
+        IMap<Object, Object> versions = map();
+        IMap<Object, Object> results = map();
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        when(hazelcastInstance.getMap(MoneyMarketDealVersions.VERSIONS)).thenReturn(versions);
+        when(hazelcastInstance.getMap(MoneyMarketDealQueryCache.RESULTS)).thenReturn(results);
+        MoneyMarketListRepository moneyMarketListRepository = mock(MoneyMarketListRepository.class);
+        when(moneyMarketListRepository.findById(1L)).thenReturn(Optional.of(new MoneyMarketList().id(1L).reportDate(REPORT_DATE)));
+        when(moneyMarketListRepository.findById(2L)).thenReturn(Optional.of(new MoneyMarketList().id(2L).reportDate(REPORT_DATE)));
+        moneyMarketDealVersions = new MoneyMarketDealVersions(hazelcastInstance, moneyMarketListRepository);
+        moneyMarketDealQueryCache = new MoneyMarketDealQueryCache(hazelcastInstance, moneyMarketDealVersions, new ApplicationProperties());
+    }
+
+    @Test
+    void criteriaFilteringTheSameWayHaveTheSameCanonicalForm() {
+        MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+        criteria.currencyCode().setIn(List.of("USD", "KES", "USD"));
+        criteria.reportDate().setEquals(REPORT_DATE);
+        MoneyMarketDealCriteria same = new MoneyMarketDealCriteria();
+        same.reportDate().setEquals(REPORT_DATE);
+        same.currencyCode().setIn(List.of("KES", "USD"));
+        // a filter without conditions filters nothing
+        same.dealNumber();
+        MoneyMarketDealCriteria other = new MoneyMarketDealCriteria();
+        other.currencyCode().setIn(List.of("KES", "USD"));
+        other.reportDate().setGreaterThanOrEqual(REPORT_DATE);
+
+        assertThat(MoneyMarketDealQueryCache.canonical(same)).isEqualTo(MoneyMarketDealQueryCache.canonical(criteria));
+        assertThat(MoneyMarketDealQueryCache.canonical(other)).isNotEqualTo(MoneyMarketDealQueryCache.canonical(criteria));
+        assertThat(MoneyMarketDealQueryCache.canonical(new MoneyMarketDealCriteria())).isEmpty();
+    }
+
+    @Test
+    void scopesAreTheListsElseTheReportDatesFilteredOn() {
+        MoneyMarketDealCriteria byList = new MoneyMarketDealCriteria();
+        byList.moneyMarketListId().setIn(List.of(2L, 1L, 2L));
+        byList.reportDate().setEquals(REPORT_DATE);
+        MoneyMarketDealCriteria byReportDate = new MoneyMarketDealCriteria();
+        byReportDate.reportDate().setEquals(REPORT_DATE);
+        MoneyMarketDealCriteria byRange = new MoneyMarketDealCriteria();
+        byRange.reportDate().setLessThan(REPORT_DATE);
+
+        assertThat(MoneyMarketDealQueryCache.scopes(byList, 32)).containsExactly("list:2", "list:1");
+        assertThat(MoneyMarketDealQueryCache.scopes(byList, 1)).containsExactly("reportDate:" + REPORT_DATE);
+        assertThat(MoneyMarketDealQueryCache.scopes(byReportDate, 32)).containsExactly("reportDate:" + REPORT_DATE);
+        assertThat(MoneyMarketDealQueryCache.scopes(byRange, 32)).containsExactly(MoneyMarketDealVersions.ALL_DEALS);
+    }
+
+    @Test
+    void resultsAreCachedUntilDealsTheyMayHoldAreWritten() {
+        MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+        criteria.moneyMarketListId().setEquals(1L);
+
+        assertThat(page(criteria).getTotalElements()).isEqualTo(1);
+        assertThat(page(criteria).getContent()).extracting(MoneyMarketDealDTO::getId).containsExactly(1L);
+        assertThat(queries).hasValue(1);
+
+        moneyMarketDealVersions.changed(2L);
+        page(criteria);
+        assertThat(queries).hasValue(1);
+
+        moneyMarketDealVersions.changed(1L);
+        page(criteria);
+        assertThat(queries).hasValue(2);
+
+        MoneyMarketDealCriteria byReportDate = new MoneyMarketDealCriteria();
+        byReportDate.reportDate().setEquals(REPORT_DATE);
+        page(byReportDate);
+        moneyMarketDealVersions.changed(2L);
+        page(byReportDate);
+        assertThat(queries).hasValue(4);
+
+        page(criteria);
+        moneyMarketDealVersions.changedAll();
+        page(criteria);
+        assertThat(queries).hasValue(5);
+    }
+
+    @Test
+    void resultsOfAReportDateAreDroppedWhenADealOfAListOfAnotherDateMovesToIt() {
+        LocalDate movedTo = REPORT_DATE.plusDays(1);
+        MoneyMarketDealCriteria byReportDate = new MoneyMarketDealCriteria();
+        byReportDate.reportDate().setEquals(movedTo);
+
+        page(byReportDate);
+        moneyMarketDealVersions.changed(1L);
+        page(byReportDate);
+        assertThat(queries).hasValue(1);
+
+        // a deal of list 1 edited from the date of its list to another
+        moneyMarketDealVersions.changed(1L, REPORT_DATE);
+        moneyMarketDealVersions.changed(1L, movedTo);
+        page(byReportDate);
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void countsAreCachedApartFromPages() {
+        MoneyMarketDealCriteria criteria = new MoneyMarketDealCriteria();
+
+        assertThat(moneyMarketDealQueryCache.count(criteria, () -> queries.incrementAndGet() * 10L)).isEqualTo(10);
+        assertThat(moneyMarketDealQueryCache.count(criteria, () -> queries.incrementAndGet() * 10L)).isEqualTo(10);
+        page(criteria);
+        assertThat(queries).hasValue(2);
+
+        moneyMarketDealVersions.changed(null);
+        assertThat(moneyMarketDealQueryCache.count(criteria, () -> queries.incrementAndGet() * 10L)).isEqualTo(30);
+    }
+
+    private Page<MoneyMarketDealDTO> page(MoneyMarketDealCriteria criteria) {
+        return moneyMarketDealQueryCache.page(criteria, PAGE, () -> {
+            queries.incrementAndGet();
+            MoneyMarketDealDTO deal = new MoneyMarketDealDTO();
+            deal.setId(1L);
+            return new PageImpl<>(List.of(deal), PAGE, 1);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> IMap<K, V> map() {
+        Map<K, V> entries = new ConcurrentHashMap<>();
+        IMap<K, V> map = mock(IMap.class);
+        when(map.get(any())).thenAnswer(invocation -> entries.get(invocation.getArgument(0)));
+        when(map.getAll(any())).thenAnswer(invocation -> {
+            Map<K, V> found = new HashMap<>();
+            for (K key : (Set<K>) invocation.getArgument(0)) {
+                if (entries.containsKey(key)) {
+                    found.put(key, entries.get(key));
+                }
+            }
+            return found;
+        });
+        when(map.merge(any(), any(), any())).thenAnswer(invocation ->
+            entries.merge(invocation.getArgument(0), invocation.getArgument(1), (BiFunction<V, V, V>) invocation.getArgument(2))
+        );
+        doAnswer(invocation -> entries.put(invocation.getArgument(0), invocation.getArgument(1)))
+            .when(map)
+            .set(any(), any());
+        return map;
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.bi.service.export;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bi.service.ingestion.MoneyMarketDealColumn;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealExporterTest {
+
+    @Test
+    void namesColumnsAsHibernateDoes() {
+        assertThat(MoneyMarketDealExporter.columnName("dealNumber")).isEqualTo("deal_number");
+        assertThat(MoneyMarketDealExporter.columnName("counterPartyName")).isEqualTo("counter_party_name");
+        assertThat(MoneyMarketDealExporter.columnName("shillingEquivalentPVFull")).isEqualTo("shilling_equivalent_pv_full");
+        assertThat(MoneyMarketDealExporter.columnName(MoneyMarketDealColumn.DATE_OF_COLLECTION_STATEMENT.getFieldName())).isEqualTo(
+            "date_of_collection_statement"
+        );
+    }
+
+    @Test
+    void quotesCsvCellsOnlyWhenNeeded() throws IOException {
+        assertThat(cell("PLACEMENTS")).isEqualTo("PLACEMENTS");
+        assertThat(cell("Bank, Ltd")).isEqualTo("\"Bank, Ltd\"");
+        assertThat(cell("The \"Bank\"")).isEqualTo("\"The \"\"Bank\"\"\"");
+        assertThat(cell("two\nlines")).isEqualTo("\"two\nlines\"");
+        assertThat(cell(null)).isEmpty();
+    }
+
+    private static String cell(String value) throws IOException {
+        StringWriter writer = new StringWriter();
+        MoneyMarketDealExporter.writeCsvCell(writer, value);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,163 @@
+package io.github.bi.service.export;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Map;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MoneyMarketDealParquetFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesColumnsWithLogicalTypes() throws Exception {
+        MessageType schema = MoneyMarketDealParquetFile.schema(metaData());
+
+        assertThat(schema.getType("id").getRepetition()).isEqualTo(Type.Repetition.REQUIRED);
+        assertThat(schema.getType("id").asPrimitiveType().getPrimitiveTypeName()).isEqualTo(PrimitiveTypeName.INT64);
+        assertThat(schema.getType("currency_code").getLogicalTypeAnnotation()).isEqualTo(LogicalTypeAnnotation.stringType());
+        assertThat(schema.getType("principal_amount").getLogicalTypeAnnotation()).isEqualTo(LogicalTypeAnnotation.decimalType(2, 21));
+        assertThat(schema.getType("principal_amount").asPrimitiveType().getPrimitiveTypeName()).isEqualTo(
+            PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY
+        );
+        assertThat(schema.getType("principal_amount").asPrimitiveType().getTypeLength()).isEqualTo(9);
+        assertThat(schema.getType("interest_rate").asPrimitiveType().getPrimitiveTypeName()).isEqualTo(PrimitiveTypeName.INT32);
+        assertThat(schema.getType("maturity_date").getLogicalTypeAnnotation()).isEqualTo(LogicalTypeAnnotation.dateType());
+        assertThat(schema.getType("active").asPrimitiveType().getPrimitiveTypeName()).isEqualTo(PrimitiveTypeName.BOOLEAN);
+    }
+
+    @Test
+    void writesRowsThatReadBack() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        ResultSetMetaData metaData = metaData();
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getLong(1)).thenReturn(1L, 2L, 3L);
+        when(resultSet.getString(2)).thenReturn("KES", "KES", null);
+        when(resultSet.getBigDecimal(3)).thenReturn(new BigDecimal("1500000.50"), new BigDecimal("-25.10"), null);
+        when(resultSet.getBigDecimal(4)).thenReturn(new BigDecimal("12.5"), new BigDecimal("9.75"), null);
+        when(resultSet.getObject(5, LocalDate.class)).thenReturn(LocalDate.of(2025, 6, 30), null, null);
+        when(resultSet.getBoolean(6)).thenReturn(true, false, false);
+        // after the id and the active flag of each row
+        when(resultSet.wasNull()).thenReturn(false, false, false, false, false, true);
+        Path file = directory.resolve("deals.parquet");
+
+        long rows = MoneyMarketDealParquetFile.write(
+            resultSet,
+            new LocalOutputFile(file),
+            CompressionCodecName.SNAPPY,
+            Map.of("report_date", "2025-06-30")
+        );
+
+        assertThat(rows).isEqualTo(3);
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file))) {
+            assertThat(reader.getRecordCount()).isEqualTo(3);
+            assertThat(reader.getFileMetaData().getKeyValueMetaData()).containsEntry("report_date", "2025-06-30");
+            ColumnChunkMetaData currencyCodes = reader.getRowGroups().get(0).getColumns().get(1);
+            assertThat(currencyCodes.getEncodings()).containsAnyOf(Encoding.PLAIN_DICTIONARY, Encoding.RLE_DICTIONARY);
+
+            MessageType schema = reader.getFileMetaData().getSchema();
+            PageReadStore rowGroup = reader.readNextRowGroup();
+            RecordReader<Group> records = new ColumnIOFactory()
+                .getColumnIO(schema)
+                .getRecordReader(rowGroup, new GroupRecordConverter(schema));
+            Group first = records.read();
+            assertThat(first.getLong("id", 0)).isEqualTo(1L);
+            assertThat(first.getString("currency_code", 0)).isEqualTo("KES");
+            assertThat(principal(first)).isEqualByComparingTo("1500000.50");
+            assertThat(first.getInteger("interest_rate", 0)).isEqualTo(1250);
+            assertThat(first.getInteger("maturity_date", 0)).isEqualTo((int) LocalDate.of(2025, 6, 30).toEpochDay());
+            assertThat(first.getBoolean("active", 0)).isTrue();
+            Group second = records.read();
+            assertThat(principal(second)).isEqualByComparingTo("-25.10");
+            assertThat(second.getFieldRepetitionCount("maturity_date")).isZero();
+            Group third = records.read();
+            assertThat(third.getFieldRepetitionCount("currency_code")).isZero();
+            assertThat(third.getFieldRepetitionCount("principal_amount")).isZero();
+            assertThat(third.getFieldRepetitionCount("active")).isZero();
+        }
+    }
+
+    @Test
+    void signExtendsFixedLengthDecimals() {
+        assertThat(MoneyMarketDealParquetFile.bytesFor(9)).isEqualTo(4);
+        assertThat(MoneyMarketDealParquetFile.bytesFor(18)).isEqualTo(8);
+        assertThat(MoneyMarketDealParquetFile.bytesFor(21)).isEqualTo(9);
+        assertThat(MoneyMarketDealParquetFile.fixedLength(new BigDecimal("-1"), 2, 4)).containsExactly(0xff, 0xff, 0xff, 0x9c);
+        assertThat(MoneyMarketDealParquetFile.fixedLength(new BigDecimal("1.5"), 2, 4)).containsExactly(0, 0, 0, 150);
+        assertThatThrownBy(() -> MoneyMarketDealParquetFile.fixedLength(new BigDecimal("1.005"), 2, 4)).isInstanceOf(
+            ArithmeticException.class
+        );
+    }
+
+    private static BigDecimal principal(Group deal) {
+        return new BigDecimal(new BigInteger(deal.getBinary("principal_amount", 0).getBytes()), 2);
+    }
+
+    private static ResultSetMetaData metaData() throws Exception {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(6);
+        column(metaData, 1, "id", Types.BIGINT, ResultSetMetaData.columnNoNulls);
+        column(metaData, 2, "currency_code", Types.VARCHAR, ResultSetMetaData.columnNullable);
+        column(metaData, 3, "principal_amount", Types.NUMERIC, ResultSetMetaData.columnNullable);
+        when(metaData.getPrecision(3)).thenReturn(21);
+        when(metaData.getScale(3)).thenReturn(2);
+        column(metaData, 4, "interest_rate", Types.NUMERIC, ResultSetMetaData.columnNullable);
+        when(metaData.getPrecision(4)).thenReturn(5);
+        when(metaData.getScale(4)).thenReturn(2);
+        column(metaData, 5, "maturity_date", Types.DATE, ResultSetMetaData.columnNullable);
+        column(metaData, 6, "active", Types.BIT, ResultSetMetaData.columnNullable);
+        return metaData;
+    }
+
+    private static void column(ResultSetMetaData metaData, int index, String name, int type, int nullable) throws Exception {
+        when(metaData.getColumnLabel(index)).thenReturn(name);
+        when(metaData.getColumnType(index)).thenReturn(type);
+        when(metaData.isNullable(index)).thenReturn(nullable);
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.bi.service.fiscal;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FiscalCalendarTest {
+
+    private final FiscalCalendar calendar = FiscalCalendar.builder()
+        .add(month(3L, "2025-03", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)))
+        .add(month(1L, "2025-01", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)))
+        .add(month(2L, "2025-02", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28)))
+        .add(month(5L, "2025-05", LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 31)))
+        .add(month(9L, "undated", null, LocalDate.of(2025, 5, 31)))
+        .add(new FiscalPeriod(FiscalPeriodType.QUARTER, 11L, "2025-Q1", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), 21L))
+        .add(new FiscalPeriod(FiscalPeriodType.YEAR, 21L, "2025", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), 21L))
+        .build();
+
+    @Test
+    void findsThePeriodOfEachTypeContainingADate() {
+        LocalDate date = LocalDate.of(2025, 2, 28);
+
+        assertThat(calendar.find(FiscalPeriodType.MONTH, date)).map(FiscalPeriod::id).contains(2L);
+        assertThat(calendar.find(FiscalPeriodType.QUARTER, date)).map(FiscalPeriod::code).contains("2025-Q1");
+        assertThat(calendar.find(FiscalPeriodType.YEAR, date)).map(FiscalPeriod::fiscalYearId).contains(21L);
+    }
+
+    @Test
+    void findsPeriodsOnTheirFirstAndLastDays() {
+        assertThat(calendar.find(FiscalPeriodType.MONTH, LocalDate.of(2025, 3, 1))).map(FiscalPeriod::id).contains(3L);
+        assertThat(calendar.find(FiscalPeriodType.MONTH, LocalDate.of(2025, 3, 31))).map(FiscalPeriod::id).contains(3L);
+    }
+
+    @Test
+    void findsNothingOutsideThePeriods() {
+        assertThat(calendar.find(FiscalPeriodType.MONTH, LocalDate.of(2024, 12, 31))).isEmpty();
+        assertThat(calendar.find(FiscalPeriodType.MONTH, LocalDate.of(2025, 4, 15))).isEmpty();
+        assertThat(calendar.find(FiscalPeriodType.MONTH, LocalDate.of(2025, 6, 1))).isEmpty();
+        assertThat(calendar.find(FiscalPeriodType.QUARTER, LocalDate.of(2025, 4, 1))).isEmpty();
+        assertThat(calendar.size(FiscalPeriodType.MONTH)).isEqualTo(4);
+    }
+
+    @Test
+    void findsEveryOverlappingPeriodInOrder() {
+        FiscalCalendar overlapping = FiscalCalendar.builder()
+            .add(month(1L, "long", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30)))
+            .add(month(2L, "short", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28)))
+            .add(month(3L, "later", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)))
+            .build();
+
+        assertThat(overlapping.containing(FiscalPeriodType.MONTH, LocalDate.of(2025, 3, 15)))
+            .extracting(FiscalPeriod::id)
+            .containsExactly(1L, 3L);
+        assertThat(overlapping.find(FiscalPeriodType.MONTH, LocalDate.of(2025, 3, 15))).map(FiscalPeriod::id).contains(3L);
+        assertThat(overlapping.find(FiscalPeriodType.MONTH, LocalDate.of(2025, 5, 15))).map(FiscalPeriod::id).contains(1L);
+    }
+
+    @Test
+    void listsThePeriodsOverlappingARange() {
+        List<FiscalPeriod> months = calendar.overlapping(FiscalPeriodType.MONTH, LocalDate.of(2025, 1, 15), LocalDate.of(2025, 3, 1));
+
+        assertThat(months).extracting(FiscalPeriod::id).containsExactly(1L, 2L);
+    }
+
+    private static FiscalPeriod month(Long id, String code, LocalDate startDate, LocalDate endDate) {
+        return new FiscalPeriod(FiscalPeriodType.MONTH, id, code, startDate, endDate, 21L);
+    }
+}
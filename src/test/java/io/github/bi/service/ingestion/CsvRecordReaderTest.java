@@ -0,0 +1,82 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class CsvRecordReaderTest {
+
+    private static CsvRecordReader reader(String content) {
+        return CsvRecordReader.of(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldReadPlainRecords() throws IOException {
+        try (CsvRecordReader reader = reader("a,b,c\n1,2,3\n")) {
+            assertThat(reader.readRecord()).containsExactly("a", "b", "c");
+            assertThat(reader.readRecord()).containsExactly("1", "2", "3");
+            assertThat(reader.getRecordNumber()).isEqualTo(2);
+            assertThat(reader.readRecord()).isNull();
+        }
+    }
+
+    @Test
+    void shouldReadQuotedCellsAndCrLf() throws IOException {
+        try (CsvRecordReader reader = reader("\uFEFFname,amount\r\n\"Acme, Ltd\",\"1,000\"\r\n\"say \"\"hi\"\"\",\"line\nbreak\"")) {
+            assertThat(reader.readRecord()).containsExactly("name", "amount");
+            assertThat(reader.readRecord()).containsExactly("Acme, Ltd", "1,000");
+            assertThat(reader.readRecord()).containsExactly("say \"hi\"", "line\nbreak");
+            assertThat(reader.readRecord()).isNull();
+        }
+    }
+
+    @Test
+    void shouldSkipBlankLinesButCountThem() throws IOException {
+        try (CsvRecordReader reader = reader("a\n\n\nb\n")) {
+            reader.readRecord();
+            assertThat(reader.readRecord()).containsExactly("b");
+            assertThat(reader.getRecordNumber()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void shouldKeepEmptyCells() throws IOException {
+        try (CsvRecordReader reader = reader(",x,\n")) {
+            assertThat(reader.readRecord()).containsExactly("", "x", "");
+        }
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuote() {
+        assertThatThrownBy(() -> {
+            try (CsvRecordReader reader = reader("a\n\"open")) {
+                reader.readRecord();
+                reader.readRecord();
+            }
+        })
+            .isInstanceOf(CsvFormatException.class)
+            .satisfies(e -> assertThat(((CsvFormatException) e).getRecordNumber()).isEqualTo(2));
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DealFileParserTest {
+
+    private static final String HEADER = "Deal Number,Counter Party Name,Final Interest Accrual Date,End Date,Settlement Date,Maturity Date\n";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final DealFileParser parser = new DealFileParser(4, 64, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        parser.destroy();
+    }
+
+    @Test
+    void shouldParseChunksInFileOrderWithFileRecordNumbers() throws IOException {
+        StringBuilder file = new StringBuilder(HEADER);
+        for (int i = 0; i < 200; i++) {
+            if (i % 50 == 7) {
+                // rejected: the accrual date is not a date
+                file.append("MM-").append(i).append(",Acme,never,2025-03-31,2025-03-31,2025-03-31\n");
+            } else if (i % 50 == 13) {
+                // the quoted name spans two lines
+                file.append("MM-").append(i).append(",\"Acme\nHoldings\",2025-03-31,2025-03-31,2025-03-31,2025-03-31\n");
+            } else {
+                file.append("MM-").append(i).append(",\"Acme, Ltd\",2025-03-31,2025-03-31,2025-03-31,2025-03-31\n");
+            }
+            if (i == 100) {
+                file.append('\n');
+            }
+        }
+
+        List<MoneyMarketDeal> deals = new ArrayList<>();
+        List<RowMappingException> rejections = new ArrayList<>();
+        List<Integer> chunkIndexes = new ArrayList<>();
+        int chunks = parser.parse(stream(file.toString()), new MoneyMarketList().id(1L), LocalDate.of(2025, 3, 31), chunk -> {
+            chunkIndexes.add(chunk.index());
+            deals.addAll(chunk.deals());
+            rejections.addAll(chunk.rejections());
+        });
+
+        assertThat(chunks).isGreaterThan(10).isEqualTo(chunkIndexes.size());
+        assertThat(chunkIndexes).isSorted();
+        assertThat(deals).hasSize(196);
+        assertThat(deals).extracting(MoneyMarketDeal::getDealNumber).startsWith("MM-0", "MM-1").endsWith("MM-199");
+        assertThat(deals.get(12).getCounterPartyName()).isEqualTo("Acme\nHoldings");
+        // record 1 is the header and rows are records 2 onwards, the blank line after MM-100 taking a number
+        assertThat(rejections).extracting(RowMappingException::getRecordNumber).containsExactly(9L, 59L, 110L, 160L);
+        assertThat(meterRegistry.get("ingestion.chunk.parse").timer().count()).isEqualTo(chunks);
+    }
+
+    @Test
+    void shouldResumeFromTheEndOfAParsedChunk() throws IOException {
+        StringBuilder file = new StringBuilder(HEADER);
+        for (int i = 0; i < 100; i++) {
+            if (i == 60) {
+                // rejected: the accrual date is not a date
+                file.append("MM-").append(i).append(",Acme,never,2025-03-31,2025-03-31,2025-03-31\n");
+            } else {
+                file.append("MM-").append(i).append(",\"Acme\nHoldings\",2025-03-31,2025-03-31,2025-03-31,2025-03-31\n");
+            }
+        }
+        List<ParsedDealChunk> parsed = new ArrayList<>();
+        parser.parse(stream(file.toString()), new MoneyMarketList().id(1L), null, parsed::add);
+        int resumeAfter = parsed.size() / 3;
+        ParsedDealChunk checkpoint = parsed.get(resumeAfter);
+        long rowsBefore = parsed.subList(0, resumeAfter + 1).stream().mapToLong(ParsedDealChunk::rows).sum();
+
+        List<MoneyMarketDeal> deals = new ArrayList<>();
+        List<RowMappingException> rejections = new ArrayList<>();
+        parser.parse(
+            stream(file.toString()),
+            checkpoint.endOffset(),
+            checkpoint.nextRecordNumber(),
+            new MoneyMarketList().id(1L),
+            null,
+            chunk -> {
+                deals.addAll(chunk.deals());
+                rejections.addAll(chunk.rejections());
+            }
+        );
+
+        assertThat(deals).hasSize(99 - (int) rowsBefore);
+        assertThat(deals.get(0).getDealNumber()).isEqualTo("MM-" + rowsBefore);
+        assertThat(deals).extracting(MoneyMarketDeal::getDealNumber).endsWith("MM-99");
+        assertThat(rejections).extracting(RowMappingException::getRecordNumber).containsExactly(62L);
+    }
+
+    @Test
+    void shouldCutChunksAroundQuotesInUnquotedFields() throws IOException {
+        StringBuilder file = new StringBuilder(HEADER);
+        for (int i = 0; i < 100; i++) {
+            if (i % 10 == 3) {
+                // a quote inside an unquoted field is a plain character
+                file.append("MM-").append(i).append(",Acme 5\" Ltd,2025-03-31,2025-03-31,2025-03-31,2025-03-31\n");
+            } else {
+                file.append("MM-").append(i).append(",\"Acme\nHoldings\",2025-03-31,2025-03-31,2025-03-31,2025-03-31\n");
+            }
+        }
+
+        List<MoneyMarketDeal> deals = new ArrayList<>();
+        List<RowMappingException> rejections = new ArrayList<>();
+        int chunks = parser.parse(stream(file.toString()), new MoneyMarketList().id(1L), LocalDate.of(2025, 3, 31), chunk -> {
+            deals.addAll(chunk.deals());
+            rejections.addAll(chunk.rejections());
+        });
+
+        assertThat(chunks).isGreaterThan(10);
+        assertThat(rejections).isEmpty();
+        assertThat(deals).hasSize(100);
+        assertThat(deals).extracting(MoneyMarketDeal::getDealNumber).startsWith("MM-0", "MM-1").endsWith("MM-99");
+        assertThat(deals.get(3).getCounterPartyName()).isEqualTo("Acme 5\" Ltd");
+        assertThat(deals.get(4).getCounterPartyName()).isEqualTo("Acme\nHoldings");
+    }
+
+    @Test
+    void shouldCutChunksOnCrLfWithFileRecordNumbers() throws IOException {
+        StringBuilder file = new StringBuilder("\uFEFF").append(HEADER.replace("\n", "\r\n"));
+        for (int i = 0; i < 100; i++) {
+            if (i % 50 == 7) {
+                // rejected: the accrual date is not a date
+                file.append("MM-").append(i).append(",Acme,never,2025-03-31,2025-03-31,2025-03-31\r\n");
+            } else if (i % 50 == 13) {
+                // the quoted name spans two lines
+                file.append("MM-").append(i).append(",\"Acme\r\nHoldings\",2025-03-31,2025-03-31,2025-03-31,2025-03-31\r\n");
+            } else {
+                file.append("MM-").append(i).append(",\"Acme, Ltd\",2025-03-31,2025-03-31,2025-03-31,2025-03-31\r\n");
+            }
+            if (i == 30) {
+                // a blank line ended by a lone carriage return
+                file.append('\r');
+            }
+        }
+
+        List<MoneyMarketDeal> deals = new ArrayList<>();
+        List<RowMappingException> rejections = new ArrayList<>();
+        int chunks = parser.parse(stream(file.toString()), new MoneyMarketList().id(1L), LocalDate.of(2025, 3, 31), chunk -> {
+            deals.addAll(chunk.deals());
+            rejections.addAll(chunk.rejections());
+        });
+
+        assertThat(chunks).isGreaterThan(10);
+        assertThat(deals).hasSize(98);
+        assertThat(deals).extracting(MoneyMarketDeal::getDealNumber).startsWith("MM-0", "MM-1").endsWith("MM-99");
+        assertThat(deals.get(12).getCounterPartyName()).isEqualTo("Acme\r\nHoldings");
+        // a CRLF ends one record, and the blank line after MM-30 takes a number
+        assertThat(rejections).extracting(RowMappingException::getRecordNumber).containsExactly(9L, 60L);
+    }
+
+    @Test
+    void shouldReportMalformedChunk() {
+        String file = HEADER + "MM-1,Acme,2025-03-31,2025-03-31,2025-03-31,2025-03-31\n" + "MM-2,\"Acme,2025-03-31\n";
+
+        assertThatThrownBy(() -> parser.parse(stream(file), new MoneyMarketList().id(1L), null, chunk -> {}))
+            .isInstanceOf(CsvFormatException.class)
+            .satisfies(e -> assertThat(((CsvFormatException) e).getRecordNumber()).isEqualTo(3));
+    }
+
+    @Test
+    void shouldRejectEmptyFile() {
+        assertThatThrownBy(() -> parser.parse(stream(""), new MoneyMarketList().id(1L), null, chunk -> {})).isInstanceOf(
+            CsvFormatException.class
+        );
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealCopyLoaderTest {
+
+    @Test
+    void shouldEncodeRowInColumnOrder() throws IOException {
+        MoneyMarketDeal deal = new MoneyMarketDeal()
+            .id(1051L)
+            .dealNumber("MM-001")
+            .counterPartyName("Acme \"Holdings\", Ltd")
+            .tradingBook("")
+            .finalInterestAccrualDate(LocalDate.of(2025, 3, 31))
+            .principalAmount(new BigDecimal("1E+6"))
+            .reportDate(LocalDate.of(2025, 3, 31))
+            .active(true)
+            .rowHash(-42L)
+            .moneyMarketList(new MoneyMarketList().id(7L));
+        StringWriter writer = new StringWriter();
+
+        MoneyMarketDealCopyLoader.writeRow(writer, deal);
+
+        String[] fields = writer.toString().split(",", -1);
+        assertThat(fields).hasSize(MoneyMarketDealJdbcLoader.COLUMNS.split(",").length + 1);
+        assertThat(writer.toString()).startsWith("1051,\"MM-001\",\"\",\"Acme \"\"Holdings\"\", Ltd\",2025-03-31,,,,1000000,");
+        assertThat(writer.toString()).endsWith(",2025-03-31,t,7,-42\n");
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import io.github.bi.domain.MoneyMarketList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Throughput of the read side of deal file ingestion: parsing and mapping rows in parallel chunks.
+ * <p>
+ * The score is in rows per second for each number of parser workers, which shows the speed-up of the parallel
+ * parse over a single worker. The peak heap used while the benchmark ran is printed at the end of each trial;
+ * it should not grow with {@link #ROWS}. Run {@link #main} from the test classpath after {@code ./mvnw test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class MoneyMarketDealIngestionBenchmark {
+
+    static final int ROWS = 100_000;
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    private static final String HEADER =
+        "Deal Number,Trading Book,Counter Party Name,Final Interest Accrual Date,Currency Code,Principal Amount,Interest Rate," +
+        "Interest Accrued Amount,End Date,Treasury Ledger,Deal Subtype,Shilling Equivalent Principal,Settlement Date," +
+        "Institution Type,Maturity Date,Report Date\n";
+
+    @Param({ "1", "4", "16" })
+    private int workers;
+
+    private byte[] file;
+
+    private DealFileParser parser;
+
+    private final MoneyMarketList moneyMarketList = new MoneyMarketList().id(1L);
+
+    @Setup(Level.Trial)
+    public void writeFile() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < ROWS; i++) {
+            csv
+                .append("MM-")
+                .append(i)
+                .append(",BANKING,\"Counterparty ")
+                .append(i % 500)
+                .append(", Ltd\",2025-03-31,KES,\"")
+                .append(1_000_000 + i)
+                .append(".25\",11.5,3401.10,2025-03-31,PLACEMENTS,CALL,")
+                .append(1_000_000 + i)
+                .append(",2025-01-02,BANK,2026-01-02,2025-03-31\n");
+        }
+        file = csv.toString().getBytes(StandardCharsets.UTF_8);
+        parser = new DealFileParser(workers, CHUNK_SIZE, new SimpleMeterRegistry());
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportPeakHeap() {
+        parser.destroy();
+        long peak = ManagementFactory.getMemoryPoolMXBeans()
+            .stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .mapToLong(pool -> pool.getPeakUsage().getUsed())
+            .sum();
+        System.out.printf("%nPeak heap used: %d MiB (file %d MiB)%n", peak >> 20, file.length >> 20);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void parseAndMap(Blackhole blackhole) throws IOException {
+        parser.parse(new ByteArrayInputStream(file), moneyMarketList, LocalDate.of(2025, 3, 31), blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MoneyMarketDealIngestionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
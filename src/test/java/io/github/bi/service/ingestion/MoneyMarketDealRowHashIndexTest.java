@@ -0,0 +1,45 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealRowHashIndexTest {
+
+    @Test
+    void shouldMatchEachStoredDealOnce() {
+        MoneyMarketDealRowHashIndex index = new MoneyMarketDealRowHashIndex(2);
+        index.add(-5L, 10L);
+        index.add(3L, 11L);
+        index.add(3L, 12L);
+        index.add(3L, 13L);
+        index.add(9L, 14L);
+
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.take(3L)).isEqualTo(11L);
+        assertThat(index.take(3L)).isEqualTo(12L);
+        assertThat(index.take(3L)).isEqualTo(13L);
+        assertThat(index.take(3L)).isEqualTo(-1L);
+        assertThat(index.take(-5L)).isEqualTo(10L);
+        assertThat(index.take(4L)).isEqualTo(-1L);
+        assertThat(index.take(9L)).isEqualTo(14L);
+    }
+}
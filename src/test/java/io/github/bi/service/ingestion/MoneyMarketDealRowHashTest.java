@@ -0,0 +1,64 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealRowHashTest {
+
+    @Test
+    void shouldIgnoreListIdAndScaleOfAmounts() {
+        MoneyMarketDeal deal = deal().id(1L).principalAmount(new BigDecimal("100.5")).moneyMarketList(new MoneyMarketList().id(7L));
+        MoneyMarketDeal same = deal().id(2L).principalAmount(new BigDecimal("100.50")).moneyMarketList(new MoneyMarketList().id(8L));
+
+        assertThat(MoneyMarketDealRowHash.of(same)).isEqualTo(MoneyMarketDealRowHash.of(deal));
+    }
+
+    @Test
+    void shouldTellChangedValuesApart() {
+        long hash = MoneyMarketDealRowHash.of(deal());
+
+        assertThat(MoneyMarketDealRowHash.of(deal().principalAmount(new BigDecimal("100.51")))).isNotEqualTo(hash);
+        assertThat(MoneyMarketDealRowHash.of(deal().reportDate(LocalDate.of(2025, 4, 1)))).isNotEqualTo(hash);
+        assertThat(MoneyMarketDealRowHash.of(deal().tradingBook(""))).isNotEqualTo(hash);
+        // the same characters split differently between two values
+        assertThat(MoneyMarketDealRowHash.of(deal().dealNumber("MM-00").tradingBook("1"))).isNotEqualTo(
+            MoneyMarketDealRowHash.of(deal().dealNumber("MM-0").tradingBook("01"))
+        );
+    }
+
+    private static MoneyMarketDeal deal() {
+        return new MoneyMarketDeal()
+            .dealNumber("MM-001")
+            .counterPartyName("Acme")
+            .finalInterestAccrualDate(LocalDate.of(2025, 3, 31))
+            .endDate(LocalDate.of(2025, 6, 30))
+            .settlementDate(LocalDate.of(2025, 3, 31))
+            .maturityDate(LocalDate.of(2025, 6, 30))
+            .principalAmount(new BigDecimal("100.5"))
+            .reportDate(LocalDate.of(2025, 3, 31))
+            .active(true);
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealRowMapperTest {
+
+    private static final String[] HEADER = {
+        "Deal Number",
+        "Final Interest Accrual Date",
+        "END_DATE",
+        "settlementDate",
+        "Maturity Date",
+        "Principal Amount",
+        "Unknown Column",
+    };
+
+    private static final LocalDate BATCH_DATE = LocalDate.of(2025, 3, 31);
+
+    private final MoneyMarketList moneyMarketList = new MoneyMarketList().id(7L);
+
+    @Test
+    void shouldMapRecord() {
+        MoneyMarketDealRowMapper mapper = new MoneyMarketDealRowMapper(HEADER, moneyMarketList, BATCH_DATE);
+
+        MoneyMarketDeal deal = mapper.map(
+            new String[] { " MM-001 ", "2025-03-31", "31/03/2025", "2025/01/02", "2-Jan-2026", "(1,250,000.50)", "ignored" },
+            2
+        );
+
+        assertThat(deal.getDealNumber()).isEqualTo("MM-001");
+        assertThat(deal.getFinalInterestAccrualDate()).isEqualTo(BATCH_DATE);
+        assertThat(deal.getEndDate()).isEqualTo(BATCH_DATE);
+        assertThat(deal.getSettlementDate()).isEqualTo(LocalDate.of(2025, 1, 2));
+        assertThat(deal.getMaturityDate()).isEqualTo(LocalDate.of(2026, 1, 2));
+        assertThat(deal.getPrincipalAmount()).isEqualByComparingTo(new BigDecimal("-1250000.50"));
+        assertThat(deal.getReportDate()).isEqualTo(BATCH_DATE);
+        assertThat(deal.getActive()).isFalse();
+        assertThat(deal.getMoneyMarketList()).isSameAs(moneyMarketList);
+    }
+
+    @Test
+    void shouldRejectHeaderWithoutRequiredColumns() {
+        assertThatThrownBy(() -> new MoneyMarketDealRowMapper(new String[] { "Deal Number" }, moneyMarketList, BATCH_DATE))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("maturityDate");
+    }
+
+    @Test
+    void shouldRejectBlankRequiredValue() {
+        MoneyMarketDealRowMapper mapper = new MoneyMarketDealRowMapper(HEADER, moneyMarketList, BATCH_DATE);
+
+        assertThatThrownBy(() -> mapper.map(new String[] { "", "2025-03-31", "2025-03-31", "2025-03-31", "2025-03-31" }, 5))
+            .isInstanceOf(RowMappingException.class)
+            .satisfies(e -> assertThat(((RowMappingException) e).getRecordNumber()).isEqualTo(5));
+    }
+
+    @Test
+    void shouldRejectUnparseableCell() {
+        MoneyMarketDealRowMapper mapper = new MoneyMarketDealRowMapper(HEADER, moneyMarketList, BATCH_DATE);
+
+        assertThatThrownBy(() -> mapper.map(new String[] { "MM-002", "not a date", "2025-03-31", "2025-03-31", "2025-03-31" }, 3))
+            .isInstanceOf(RowMappingException.class)
+            .hasMessageContaining("finalInterestAccrualDate");
+    }
+}
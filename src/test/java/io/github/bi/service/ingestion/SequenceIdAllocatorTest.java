@@ -0,0 +1,50 @@
+package io.github.bi.service.ingestion;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class SequenceIdAllocatorTest {
+
+    @Test
+    void shouldHandOutWholeBlocksBelowEachSequenceValue() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(2))).thenReturn(List.of(1100L, 1300L));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1400L);
+        SequenceIdAllocator allocator = new SequenceIdAllocator(jdbcTemplate);
+
+        long[] ids = allocator.nextIds(60);
+
+        assertThat(ids[0]).isEqualTo(1051L);
+        assertThat(ids[49]).isEqualTo(1100L);
+        assertThat(ids[50]).isEqualTo(1251L);
+        assertThat(ids[59]).isEqualTo(1260L);
+        // the rest of the second block is used before the sequence is read again
+        assertThat(allocator.nextIds(40)).startsWith(1261L).endsWith(1300L);
+        assertThat(allocator.nextId()).isEqualTo(1351L);
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.bi.service.pagination;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.bi.domain.MoneyMarketDeal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+class KeysetTest {
+
+    private final Keyset<MoneyMarketDeal> keyset = Keyset.builder(MoneyMarketDeal::getId)
+        .key("reportDate", LocalDate.class, MoneyMarketDeal::getReportDate)
+        .build();
+
+    @Test
+    void encodesCursorsAsOpaqueTokens() {
+        KeysetCursor cursor = new KeysetCursor("dealNumber", Sort.Direction.DESC, "MM.001/a b", 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_.-]+");
+        assertThat(KeysetCursor.decode(token)).isEqualTo(cursor);
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("a.b.c.d")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void startsByOneKeyThenById() {
+        assertThat(keyset.start(Sort.unsorted())).isEqualTo(new KeysetCursor("id", Sort.Direction.ASC, null, null));
+        assertThat(keyset.start(Sort.by(Sort.Direction.DESC, "reportDate", "id"))).isEqualTo(
+            new KeysetCursor("reportDate", Sort.Direction.DESC, null, null)
+        );
+        assertThatThrownBy(() -> keyset.start(Sort.by("currencyCode"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> keyset.start(Sort.by("reportDate", "dealNumber"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> keyset.resume(new KeysetCursor("currencyCode", Sort.Direction.ASC, "KES", 1L).encode())).isInstanceOf(
+            IllegalArgumentException.class
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readsOneMoreThanThePageToFindTheNextCursor() {
+        JpaSpecificationExecutor<MoneyMarketDeal> repository = mock(JpaSpecificationExecutor.class);
+        List<MoneyMarketDeal> deals = List.of(deal(7L, "2025-06-30"), deal(9L, "2025-06-30"), deal(3L, "2025-07-01"));
+        when(repository.findBy(any(Specification.class), any())).thenReturn(deals, deals.subList(0, 2));
+        PageRequest page = PageRequest.of(0, 2, Sort.by("reportDate"));
+
+        KeysetSlice<Long> first = keyset.find(repository, Specification.where(null), "", page, this::ids);
+
+        assertThat(first.content()).containsExactly(7L, 9L);
+        assertThat(KeysetCursor.decode(first.nextCursor())).isEqualTo(
+            new KeysetCursor("reportDate", Sort.Direction.ASC, "2025-06-30", 9L)
+        );
+
+        KeysetSlice<Long> last = keyset.find(repository, Specification.where(null), first.nextCursor(), page, this::ids);
+
+        assertThat(last.content()).hasSize(2);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    private List<Long> ids(List<MoneyMarketDeal> deals) {
+        return deals.stream().map(MoneyMarketDeal::getId).toList();
+    }
+
+    private static MoneyMarketDeal deal(Long id, String reportDate) {
+        MoneyMarketDeal deal = new MoneyMarketDeal();
+        deal.setId(id);
+        deal.setReportDate(LocalDate.parse(reportDate));
+        return deal;
+    }
+}
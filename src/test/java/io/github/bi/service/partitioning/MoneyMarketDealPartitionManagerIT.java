@@ -0,0 +1,163 @@
+package io.github.bi.service.partitioning;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bi.IntegrationTest;
+import io.github.bi.domain.enumeration.FiscalYearStatusType;
+import io.github.bi.service.FiscalYearService;
+import io.github.bi.service.dto.FiscalYearDTO;
+import io.github.bi.service.fiscal.FiscalCalendarService;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for archiving the partitions of {@code money_market_deal} with the
+ * {@link MoneyMarketDealPartitionManager}.
+ * <p>
+ * The partition, its deals and the summaries are committed, as a partition cannot be detached in the transaction of
+ * the test.
+ */
+@IntegrationTest
+class MoneyMarketDealPartitionManagerIT {
+
+    private static final MoneyMarketDealPartition PARTITION = MoneyMarketDealPartition.of(
+        LocalDate.of(1906, 3, 1),
+        LocalDate.of(1906, 4, 1)
+    );
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(1906, 3, 15);
+
+    private static final String LEDGER = "AAAAAAAAAA";
+
+    private static final String ARCHIVE_SCHEMA = "archive";
+
+    private static final String SUMMARIES_SQL =
+        "select ledger, number_of_deals, total_principal from money_market_deal_daily_summary where report_date = ?";
+
+    private static final String ROLL_UPS_SQL =
+        "select period_type, ledger, days_reported, average_principal, closing_number_of_deals from money_market_deal_fiscal_roll_up " +
+        "where fiscal_year_id = ? order by period_type, ledger";
+
+    @Autowired
+    private MoneyMarketDealPartitionManager moneyMarketDealPartitionManager;
+
+    @Autowired
+    private FiscalYearService fiscalYearService;
+
+    @Autowired
+    private FiscalCalendarService fiscalCalendarService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Long moneyMarketListId;
+
+    private FiscalYearDTO fiscalYear;
+
+    @BeforeEach
+    void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        moneyMarketListId = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(
+                "create table " + PARTITION.name() + " partition of money_market_deal for values from ('" + PARTITION.from() +
+                "') to ('" + PARTITION.to() + "')"
+            );
+            Long listId = jdbcTemplate.queryForObject(
+                "insert into money_market_list (id, report_date, upload_time_stamp, status, active) " +
+                "values (nextval('sequence_generator'), ?, ?, 'ACTIVE', true) returning id",
+                Long.class,
+                REPORT_DATE,
+                Timestamp.from(Instant.now())
+            );
+            jdbcTemplate.update(
+                "insert into money_market_deal (id, deal_number, final_interest_accrual_date, end_date, settlement_date, maturity_date, " +
+                "report_date, active, treasury_ledger, shilling_equivalent_principal, money_market_list_id) " +
+                "values (nextval('sequence_generator'), 'MM-1', ?, ?, ?, ?, ?, true, ?, 100.00, ?)",
+                REPORT_DATE,
+                REPORT_DATE,
+                REPORT_DATE,
+                REPORT_DATE,
+                REPORT_DATE,
+                LEDGER,
+                listId
+            );
+            jdbcTemplate.update(
+                "insert into money_market_deal_daily_summary (id, report_date, ledger, number_of_deals, total_principal, " +
+                "interest_accrued, total_pv_full) values (nextval('sequence_generator'), ?, ?, 1, 100.00, 0, 0)",
+                REPORT_DATE,
+                LEDGER
+            );
+            return listId;
+        });
+        FiscalYearDTO year = new FiscalYearDTO();
+        year.setFiscalYearCode("FY1906");
+        year.setStartDate(LocalDate.of(1906, 1, 1));
+        year.setEndDate(LocalDate.of(1906, 12, 31));
+        year.setFiscalYearStatus(FiscalYearStatusType.OPEN);
+        fiscalYear = transactionTemplate.execute(status -> fiscalYearService.save(year));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("drop table if exists " + ARCHIVE_SCHEMA + "." + PARTITION.name());
+            jdbcTemplate.execute("drop table if exists " + PARTITION.name());
+            jdbcTemplate.update("delete from money_market_list where id = ?", moneyMarketListId);
+            jdbcTemplate.update("delete from money_market_deal_fiscal_roll_up where fiscal_year_id = ?", fiscalYear.getId());
+            jdbcTemplate.update("delete from fiscal_year where id = ?", fiscalYear.getId());
+            jdbcTemplate.update("delete from money_market_deal_daily_summary where report_date = ?", REPORT_DATE);
+        });
+        fiscalCalendarService.changed();
+    }
+
+    @Test
+    void archivingAPartitionKeepsTheSummariesAndRollUpsOfItsDeals() {
+        List<Map<String, Object>> summaries = jdbcTemplate.queryForList(SUMMARIES_SQL, REPORT_DATE);
+        List<Map<String, Object>> rollUps = jdbcTemplate.queryForList(ROLL_UPS_SQL, fiscalYear.getId());
+        assertThat(summaries).singleElement().satisfies(summary -> assertThat(summary).containsEntry("number_of_deals", 1));
+        assertThat(rollUps).isNotEmpty();
+
+        moneyMarketDealPartitionManager.archive(PARTITION);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from money_market_deal where report_date = ?", Long.class, REPORT_DATE))
+            .isZero();
+        assertThat(
+            jdbcTemplate.queryForObject("select count(*) from " + ARCHIVE_SCHEMA + "." + PARTITION.name(), Long.class)
+        ).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForList(SUMMARIES_SQL, REPORT_DATE)).isEqualTo(summaries);
+        assertThat(jdbcTemplate.queryForList(ROLL_UPS_SQL, fiscalYear.getId())).isEqualTo(rollUps);
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.bi.service.partitioning;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MoneyMarketDealPartitionManagerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 11, 17);
+
+    @Test
+    void shouldReadRangeBoundsAndSkipTheDefaultPartition() {
+        assertThat(MoneyMarketDealPartition.parse("money_market_deal_p20261001", "FOR VALUES FROM ('2026-10-01') TO ('2026-11-01')"))
+            .contains(MoneyMarketDealPartition.of(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 1)));
+        assertThat(MoneyMarketDealPartition.parse(MoneyMarketDealPartitionManager.DEFAULT_PARTITION, "DEFAULT")).isEmpty();
+    }
+
+    @Test
+    void shouldWantTheCurrentMonthAndTheMonthsAhead() {
+        List<MoneyMarketDealPartition> partitions = MoneyMarketDealPartitionManager.calendarMonths(TODAY, 2);
+
+        assertThat(partitions).containsExactly(
+            MoneyMarketDealPartition.of(LocalDate.of(2026, 11, 1), LocalDate.of(2026, 12, 1)),
+            MoneyMarketDealPartition.of(LocalDate.of(2026, 12, 1), LocalDate.of(2027, 1, 1)),
+            MoneyMarketDealPartition.of(LocalDate.of(2027, 1, 1), LocalDate.of(2027, 2, 1))
+        );
+        assertThat(partitions.get(1).name()).isEqualTo("money_market_deal_p20261201");
+    }
+
+    @Test
+    void shouldPartitionTheReportDatesBetweenFiscalMonths() {
+        MoneyMarketDealPartition october = MoneyMarketDealPartition.of(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 26));
+        MoneyMarketDealPartition november = MoneyMarketDealPartition.of(LocalDate.of(2026, 11, 5), LocalDate.of(2026, 12, 1));
+
+        MoneyMarketDealPartition between = MoneyMarketDealPartition.of(LocalDate.of(2026, 10, 26), LocalDate.of(2026, 11, 5));
+        List<MoneyMarketDealPartition> defined = List.of(november, october);
+
+        assertThat(MoneyMarketDealPartitionManager.fiscalMonths(defined, LocalDate.of(2026, 10, 1), LocalDate.of(2026, 12, 1)))
+            .containsExactly(october, between, november);
+        // from a day between two fiscal months, the gap starts where the month before ends
+        assertThat(MoneyMarketDealPartitionManager.fiscalMonths(defined, LocalDate.of(2026, 11, 1), LocalDate.of(2026, 12, 1)))
+            .containsExactly(between, november);
+    }
+
+    @Test
+    void shouldRepeatTheLastFiscalYearPastTheLastFiscalMonth() {
+        List<MoneyMarketDealPartition> defined = List.of(
+            MoneyMarketDealPartition.of(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 5, 1)),
+            MoneyMarketDealPartition.of(LocalDate.of(2026, 5, 1), LocalDate.of(2026, 9, 1)),
+            MoneyMarketDealPartition.of(LocalDate.of(2026, 9, 1), LocalDate.of(2027, 1, 1))
+        );
+
+        assertThat(MoneyMarketDealPartitionManager.fiscalMonths(defined, LocalDate.of(2026, 11, 1), LocalDate.of(2027, 6, 1)))
+            .containsExactly(
+                MoneyMarketDealPartition.of(LocalDate.of(2026, 9, 1), LocalDate.of(2027, 1, 1)),
+                MoneyMarketDealPartition.of(LocalDate.of(2027, 1, 1), LocalDate.of(2027, 5, 1)),
+                MoneyMarketDealPartition.of(LocalDate.of(2027, 5, 1), LocalDate.of(2027, 9, 1))
+            );
+    }
+
+    @Test
+    void shouldOnlyCreatePartitionsThatOverlapNoExistingPartition() {
+        List<MoneyMarketDealPartition> existing = List.of(
+            MoneyMarketDealPartition.of(LocalDate.of(2026, 11, 1), LocalDate.of(2026, 12, 1)),
+            // a fiscal month left over from a different alignment
+            MoneyMarketDealPartition.of(LocalDate.of(2026, 12, 1), LocalDate.of(2026, 12, 26))
+        );
+
+        assertThat(MoneyMarketDealPartitionManager.missing(existing, MoneyMarketDealPartitionManager.calendarMonths(TODAY, 3)))
+            .containsExactly(
+                MoneyMarketDealPartition.of(LocalDate.of(2027, 1, 1), LocalDate.of(2027, 2, 1)),
+                MoneyMarketDealPartition.of(LocalDate.of(2027, 2, 1), LocalDate.of(2027, 3, 1))
+            );
+    }
+
+    @Test
+    void shouldExpirePartitionsEndingBeforeTheRetentionPeriod() {
+        MoneyMarketDealPartition august = MoneyMarketDealPartition.of(LocalDate.of(2026, 8, 1), LocalDate.of(2026, 9, 1));
+        MoneyMarketDealPartition september = MoneyMarketDealPartition.of(LocalDate.of(2026, 9, 1), LocalDate.of(2026, 10, 1));
+        MoneyMarketDealPartition october = MoneyMarketDealPartition.of(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 1));
+        List<MoneyMarketDealPartition> existing = List.of(august, september, october);
+
+        assertThat(MoneyMarketDealPartitionManager.expired(existing, TODAY, 1)).containsExactly(august, september);
+        assertThat(MoneyMarketDealPartitionManager.expired(existing, TODAY, 2)).containsExactly(august);
+        assertThat(MoneyMarketDealPartitionManager.expired(existing, TODAY, 0)).isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.bi.service.storage;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSystemReportBatchFileStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldWriteReadAndDeleteFile() throws IOException {
+        FileSystemReportBatchFileStore store = new FileSystemReportBatchFileStore(directory);
+        UUID fileIdentifier = UUID.randomUUID();
+        byte[] content = "Deal Number\nMM-001\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(store.write(fileIdentifier, new ByteArrayInputStream(content))).isEqualTo(content.length);
+
+        assertThat(store.exists(fileIdentifier)).isTrue();
+        assertThat(store.size(fileIdentifier)).isEqualTo(content.length);
+        try (InputStream stored = store.open(fileIdentifier)) {
+            assertThat(stored.readAllBytes()).isEqualTo(content);
+        }
+        assertThat(directory.resolve(fileIdentifier.toString().substring(0, 2))).isDirectoryContaining(
+            path -> path.getFileName().toString().equals(fileIdentifier.toString())
+        );
+
+        store.delete(fileIdentifier);
+        assertThat(store.exists(fileIdentifier)).isFalse();
+        assertThatThrownBy(() -> store.open(fileIdentifier)).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void shouldReplaceExistingFile() throws IOException {
+        FileSystemReportBatchFileStore store = new FileSystemReportBatchFileStore(directory);
+        UUID fileIdentifier = UUID.randomUUID();
+
+        store.write(fileIdentifier, new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+        store.write(fileIdentifier, new ByteArrayInputStream(new byte[] { 4 }));
+
+        try (InputStream stored = store.open(fileIdentifier)) {
+            assertThat(stored.readAllBytes()).containsExactly(4);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.bi.service.summary;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bi.domain.MoneyMarketDeal;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DailySummaryDeltaTest {
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2026, 10, 16);
+
+    @Test
+    void shouldSumActiveDealsPerReportDateAndLedger() {
+        DailySummaryDelta delta = new DailySummaryDelta()
+            .add(deal("TREASURY", "100.00", "1.50", "101.50"))
+            .add(deal("TREASURY", "50.00", null, "50.00"))
+            .add(deal("", "10.00", "0.10", "10.10"))
+            .add(deal(null, "20.00", "0.20", "20.20"))
+            .add(deal("TREASURY", "999.00", "9.99", "999.00").active(false));
+
+        assertThat(delta.entries()).containsExactly(
+            new DailySummaryDelta.Entry(REPORT_DATE, null, 2, new BigDecimal("30.00"), new BigDecimal("0.30"), new BigDecimal("30.30")),
+            new DailySummaryDelta.Entry(
+                REPORT_DATE,
+                "TREASURY",
+                2,
+                new BigDecimal("150.00"),
+                new BigDecimal("1.50"),
+                new BigDecimal("151.50")
+            )
+        );
+    }
+
+    @Test
+    void shouldApplyTheDifferenceBetweenTheOldAndTheNewDeal() {
+        DailySummaryDelta delta = new DailySummaryDelta()
+            .subtract(deal("TREASURY", "100.00", "1.50", "101.50"))
+            .add(deal("TREASURY", "120.00", "1.50", "121.50"));
+
+        assertThat(delta.entries()).containsExactly(
+            new DailySummaryDelta.Entry(
+                REPORT_DATE,
+                "TREASURY",
+                0,
+                new BigDecimal("20.00"),
+                new BigDecimal("0.00"),
+                new BigDecimal("20.00")
+            )
+        );
+    }
+
+    @Test
+    void shouldMoveADealBetweenLedgers() {
+        DailySummaryDelta delta = new DailySummaryDelta()
+            .subtract(deal("BANKING", "100.00", "1.50", "101.50"))
+            .add(deal("TREASURY", "100.00", "1.50", "101.50"));
+
+        List<DailySummaryDelta.Entry> entries = delta.entries();
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(0).ledger()).isEqualTo("BANKING");
+        assertThat(entries.get(0).numberOfDeals()).isEqualTo(-1);
+        assertThat(entries.get(0).totalPrincipal()).isEqualByComparingTo("-100");
+        assertThat(entries.get(1).ledger()).isEqualTo("TREASURY");
+        assertThat(entries.get(1).numberOfDeals()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBeEmptyWhenNothingCountedChanges() {
+        DailySummaryDelta delta = new DailySummaryDelta()
+            .subtract(deal("TREASURY", "100.00", "1.50", "101.50"))
+            .add(deal("TREASURY", "100.00", "1.50", "101.50"));
+
+        assertThat(delta.isEmpty()).isTrue();
+    }
+
+    private static MoneyMarketDeal deal(String ledger, String principal, String interestAccrued, String pvFull) {
+        return new MoneyMarketDeal()
+            .reportDate(REPORT_DATE)
+            .treasuryLedger(ledger)
+            .shillingEquivalentPrincipal(new BigDecimal(principal))
+            .shillingEquivalentInterestAccrued(interestAccrued == null ? null : new BigDecimal(interestAccrued))
+            .shillingEquivalentPVFull(new BigDecimal(pvFull))
+            .active(true);
+    }
+}
@@ -0,0 +1,273 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.github.bi.IntegrationTest;
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.domain.enumeration.reportBatchStatus;
+import io.github.bi.service.MoneyMarketDealAggregateService;
+import io.github.bi.service.analytics.MoneyMarketDealColumns;
+import io.github.bi.service.analytics.MoneyMarketDealDimension;
+import io.github.bi.service.analytics.MoneyMarketDealSnapshotStore;
+import io.github.bi.service.criteria.MoneyMarketDealCriteria;
+import io.github.bi.service.dto.MoneyMarketDealAggregateDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link MoneyMarketDealAggregateResource} REST controller, and for the
+ * {@link MoneyMarketDealAggregateService} answering from the {@link MoneyMarketDealSnapshotStore} or from the database.
+ * <p>
+ * The deals are written in committed transactions, as the snapshot of a list is read in a transaction of its own.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class MoneyMarketDealAggregateResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/money-market-deals/aggregates";
+
+    private static final List<MoneyMarketDealDimension> GROUPS = List.of(
+        MoneyMarketDealDimension.TREASURY_LEDGER,
+        MoneyMarketDealDimension.CURRENCY_CODE
+    );
+
+    @Autowired
+    private MoneyMarketDealAggregateService moneyMarketDealAggregateService;
+
+    @Autowired
+    private MoneyMarketDealSnapshotStore moneyMarketDealSnapshotStore;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restMoneyMarketDealAggregateMockMvc;
+
+    private TransactionTemplate transactionTemplate;
+
+    private MoneyMarketList moneyMarketList;
+
+    @BeforeEach
+    void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        moneyMarketList = transactionTemplate.execute(status -> {
+            MoneyMarketList list = MoneyMarketListResourceIT.createEntity().status(reportBatchStatus.ACTIVE).active(true);
+            em.persist(list);
+            persistDeal(list, "PLACEMENTS", "KES", "100.00", "10.00");
+            persistDeal(list, "PLACEMENTS", "USD", "300.00", "12.00");
+            persistDeal(list, "BORROWINGS", "KES", "50.25", null);
+            persistDeal(list, null, "KES", null, "9.00");
+            return list;
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from money_market_deal where money_market_list_id = ?", moneyMarketList.getId());
+            jdbcTemplate.update("delete from money_market_list where id = ?", moneyMarketList.getId());
+        });
+        moneyMarketDealSnapshotStore.changed(moneyMarketList.getId());
+    }
+
+    @Test
+    void aggregateMoneyMarketDealsByDimensions() throws Exception {
+        // the list is selected with in, so that the database answers
+        restMoneyMarketDealAggregateMockMvc
+            .perform(
+                get(
+                    ENTITY_API_URL +
+                    "?moneyMarketListId.in={id}&groupBy=treasuryLedger&groupBy=currencyCode" +
+                    "&measure=count&measure=sumPrincipal&measure=weightedInterestRate",
+                    moneyMarketList.getId()
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$", hasSize(4)))
+            .andExpect(jsonPath("$.[0].dimensions.treasuryLedger").value("BORROWINGS"))
+            .andExpect(jsonPath("$.[0].dimensions.currencyCode").value("KES"))
+            .andExpect(jsonPath("$.[0].measures.count").value(1))
+            .andExpect(jsonPath("$.[0].measures.sumPrincipal").value(50.25))
+            .andExpect(jsonPath("$.[0].measures.weightedInterestRate").value(nullValue()))
+            .andExpect(jsonPath("$.[0].measures.avgPrincipal").doesNotExist())
+            .andExpect(jsonPath("$.[1].dimensions.treasuryLedger").value("PLACEMENTS"))
+            .andExpect(jsonPath("$.[1].dimensions.currencyCode").value("KES"))
+            .andExpect(jsonPath("$.[1].measures.weightedInterestRate").value(10.0))
+            .andExpect(jsonPath("$.[2].dimensions.currencyCode").value("USD"))
+            .andExpect(jsonPath("$.[2].measures.sumPrincipal").value(300.0))
+            // deals without a ledger make a group of their own, last
+            .andExpect(jsonPath("$.[3].dimensions.treasuryLedger").value(nullValue()))
+            .andExpect(jsonPath("$.[3].measures.count").value(1))
+            .andExpect(jsonPath("$.[3].measures.sumPrincipal").value(nullValue()));
+    }
+
+    @Test
+    void aggregateMoneyMarketDealsWithoutDimensions() throws Exception {
+        restMoneyMarketDealAggregateMockMvc
+            .perform(get(ENTITY_API_URL + "?moneyMarketListId.in={id}", moneyMarketList.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].dimensions").isEmpty())
+            .andExpect(jsonPath("$.[0].measures.count").value(4))
+            .andExpect(jsonPath("$.[0].measures.sumPrincipal").value(450.25))
+            .andExpect(jsonPath("$.[0].measures.avgPrincipal").value(150.08))
+            .andExpect(jsonPath("$.[0].measures.sumShillingEquivalentPrincipal").value(450.25))
+            .andExpect(jsonPath("$.[0].measures.avgShillingEquivalentPrincipal").value(150.08))
+            .andExpect(jsonPath("$.[0].measures.sumShillingEquivalentInterestAccrued").exists())
+            .andExpect(jsonPath("$.[0].measures.sumShillingEquivalentPVFull").exists())
+            // weighted by the shilling equivalent principal of the deals with a rate: (10 * 100 + 12 * 300) / 400
+            .andExpect(jsonPath("$.[0].measures.weightedInterestRate").value(11.5));
+    }
+
+    @Test
+    void aggregateMoneyMarketDealsMatchingTheCriteria() throws Exception {
+        restMoneyMarketDealAggregateMockMvc
+            .perform(
+                get(
+                    ENTITY_API_URL +
+                    "?moneyMarketListId.in={id}&treasuryLedger.equals=PLACEMENTS&groupBy=currencyCode&groupBy=currencyCode&measure=count",
+                    moneyMarketList.getId()
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$.[*].dimensions.currencyCode").value(contains("KES", "USD")))
+            .andExpect(jsonPath("$.[*].measures.count").value(contains(1, 1)))
+            .andExpect(jsonPath("$.[0].dimensions.treasuryLedger").doesNotExist());
+    }
+
+    @Test
+    void aggregateMoneyMarketDealsByAnUnknownDimensionOrMeasure() throws Exception {
+        restMoneyMarketDealAggregateMockMvc
+            .perform(get(ENTITY_API_URL + "?groupBy=dealNumber"))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().string("X-moneyMarketBiApp-error", "error.unknownaggregate"));
+        restMoneyMarketDealAggregateMockMvc
+            .perform(get(ENTITY_API_URL + "?groupBy=treasuryLedger&measure=max"))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().string("X-moneyMarketBiApp-error", "error.unknownaggregate"));
+    }
+
+    @Test
+    void aggregatesFromTheSnapshotMatchTheDatabase() {
+        await().atMost(10, TimeUnit.SECONDS).until(() -> moneyMarketDealSnapshotStore.find(moneyMarketList.getId()).isPresent());
+
+        assertBothPathsAgree(criteria -> {});
+        assertBothPathsAgree(criteria -> criteria.treasuryLedger());
+        assertBothPathsAgree(criteria -> {
+            criteria.treasuryLedger().setEquals("PLACEMENTS");
+            criteria.treasuryLedger().setNotEquals("PLACEMENTS");
+        });
+        assertBothPathsAgree(criteria -> {
+            criteria.currencyCode().setIn(List.of("KES"));
+            criteria.currencyCode().setContains("USD");
+        });
+        assertBothPathsAgree(criteria -> {
+            criteria.treasuryLedger().setNotIn(List.of("BORROWINGS"));
+            criteria.treasuryLedger().setNotEquals("PLACEMENTS");
+        });
+        assertBothPathsAgree(criteria -> {
+            criteria.treasuryLedger().setContains("bor");
+            criteria.treasuryLedger().setSpecified(false);
+        });
+        assertBothPathsAgree(criteria -> {
+            criteria.principalAmount().setEquals(new BigDecimal("100.00"));
+            criteria.principalAmount().setGreaterThan(new BigDecimal("200.00"));
+        });
+        assertBothPathsAgree(criteria -> {
+            criteria.principalAmount().setGreaterThan(new BigDecimal("60.00"));
+            criteria.principalAmount().setNotEquals(new BigDecimal("300.00"));
+        });
+        assertBothPathsAgree(criteria -> criteria.principalAmount().setSpecified(false));
+        assertBothPathsAgree(criteria -> {
+            criteria.active().setEquals(true);
+            criteria.active().setSpecified(false);
+        });
+    }
+
+    /**
+     * The criteria select the list by {@code equals}, which the snapshot answers, and by {@code in}, which is left to
+     * the database.
+     */
+    private void assertBothPathsAgree(Consumer<MoneyMarketDealCriteria> filter) {
+        MoneyMarketDealCriteria cached = new MoneyMarketDealCriteria();
+        cached.moneyMarketListId().setEquals(moneyMarketList.getId());
+        filter.accept(cached);
+        MoneyMarketDealCriteria uncached = new MoneyMarketDealCriteria();
+        uncached.moneyMarketListId().setIn(List.of(moneyMarketList.getId()));
+        filter.accept(uncached);
+
+        MoneyMarketDealColumns snapshot = moneyMarketDealSnapshotStore.find(moneyMarketList.getId()).orElseThrow();
+        assertThat(snapshot.aggregate(cached, GROUPS, List.of())).as("answered from the snapshot: %s", cached).isPresent();
+        List<MoneyMarketDealAggregateDTO> fromSnapshot = moneyMarketDealAggregateService.aggregateByCriteria(cached, GROUPS, List.of());
+        List<MoneyMarketDealAggregateDTO> fromDatabase = moneyMarketDealAggregateService.aggregateByCriteria(uncached, GROUPS, List.of());
+        assertThat(fromSnapshot)
+            .as("aggregates of %s", cached)
+            .usingRecursiveFieldByFieldElementComparator(
+                RecursiveComparisonConfiguration.builder().withComparatorForType(BigDecimal::compareTo, BigDecimal.class).build()
+            )
+            .containsExactlyElementsOf(fromDatabase);
+    }
+
+    private void persistDeal(MoneyMarketList list, String ledger, String currency, String principal, String rate) {
+        BigDecimal amount = principal == null ? null : new BigDecimal(principal);
+        MoneyMarketDeal deal = MoneyMarketDealResourceIT.createEntity(em)
+            .reportDate(list.getReportDate())
+            .active(true)
+            .treasuryLedger(ledger)
+            .currencyCode(currency)
+            .principalAmount(amount)
+            .shillingEquivalentPrincipal(amount)
+            .interestRate(rate == null ? null : new BigDecimal(rate));
+        deal.setMoneyMarketList(list);
+        em.persist(deal);
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.github.bi.IntegrationTest;
+import io.github.bi.domain.enumeration.FiscalYearStatusType;
+import io.github.bi.service.FiscalQuarterService;
+import io.github.bi.service.FiscalYearService;
+import io.github.bi.service.dto.FiscalQuarterDTO;
+import io.github.bi.service.dto.FiscalYearDTO;
+import io.github.bi.service.fiscal.FiscalCalendarService;
+import io.github.bi.service.fiscal.FiscalPeriodType;
+import io.github.bi.service.mapper.FiscalYearMapper;
+import io.github.bi.service.summary.DailySummaryDelta;
+import io.github.bi.service.summary.MoneyMarketDealFiscalRollUpUpdater;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link MoneyMarketDealFiscalRollUpResource} REST controller, and for the roll-ups the
+ * {@link MoneyMarketDealFiscalRollUpUpdater} keeps as summaries and fiscal periods change.
+ * <p>
+ * The periods are written in committed transactions, as the roll-ups of a period are recomputed once its transaction
+ * commits.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class MoneyMarketDealFiscalRollUpResourceIT {
+
+    private static final LocalDate START_DATE = LocalDate.of(1904, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(1904, 12, 31);
+
+    private static final String LEDGER = "AAAAAAAAAA";
+
+    private static final String ENTITY_API_URL = "/api/money-market-deal-fiscal-roll-ups";
+
+    private static final String INSERT_SUMMARY_SQL =
+        "insert into money_market_deal_daily_summary (id, report_date, ledger, number_of_deals, total_principal, " +
+        "interest_accrued, total_pv_full) values (nextval('sequence_generator'), ?, ?, 1, ?, 0, 0)";
+
+    @Autowired
+    private FiscalYearService fiscalYearService;
+
+    @Autowired
+    private FiscalQuarterService fiscalQuarterService;
+
+    @Autowired
+    private FiscalYearMapper fiscalYearMapper;
+
+    @Autowired
+    private FiscalCalendarService fiscalCalendarService;
+
+    @Autowired
+    private MoneyMarketDealFiscalRollUpUpdater moneyMarketDealFiscalRollUpUpdater;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restMoneyMarketDealFiscalRollUpMockMvc;
+
+    private TransactionTemplate transactionTemplate;
+
+    private FiscalYearDTO fiscalYear;
+
+    private FiscalQuarterDTO fiscalQuarter;
+
+    @BeforeEach
+    void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            insertSummary(LocalDate.of(1904, 1, 15), "100.00");
+            insertSummary(LocalDate.of(1904, 2, 15), "300.00");
+        });
+        fiscalYear = transactionTemplate.execute(status ->
+            fiscalYearService.save(
+                fiscalYearMapper.toDto(
+                    FiscalYearResourceIT.createEntity()
+                        .fiscalYearCode("FY1904")
+                        .startDate(START_DATE)
+                        .endDate(END_DATE)
+                        .fiscalYearStatus(FiscalYearStatusType.OPEN)
+                )
+            )
+        );
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from money_market_deal_fiscal_roll_up where fiscal_year_id = ?", fiscalYear.getId());
+            if (fiscalQuarter != null) {
+                jdbcTemplate.update("delete from fiscal_quarter where id = ?", fiscalQuarter.getId());
+            }
+            jdbcTemplate.update("delete from fiscal_year where id = ?", fiscalYear.getId());
+            jdbcTemplate.update("delete from money_market_deal_daily_summary where report_date between ? and ?", START_DATE, END_DATE);
+        });
+        fiscalCalendarService.changed();
+    }
+
+    @Test
+    void creatingAPeriodRollsUpItsSummaries() throws Exception {
+        getRollUps("year")
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].periodId").value(fiscalYear.getId().intValue()))
+            .andExpect(jsonPath("$.[0].ledger").value(LEDGER))
+            .andExpect(jsonPath("$.[0].daysReported").value(2))
+            .andExpect(jsonPath("$.[0].averagePrincipal").value(200.0))
+            .andExpect(jsonPath("$.[0].closingReportDate").value("1904-02-15"))
+            .andExpect(jsonPath("$.[0].peakPrincipal").value(300.0))
+            .andExpect(jsonPath("$.[0].frozen").value(false));
+
+        fiscalQuarter = saveQuarter(LocalDate.of(1904, 1, 31));
+
+        getRollUps("quarter")
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].periodId").value(fiscalQuarter.getId().intValue()))
+            .andExpect(jsonPath("$.[0].daysReported").value(1))
+            .andExpect(jsonPath("$.[0].averagePrincipal").value(100.0));
+    }
+
+    @Test
+    void changingTheDatesOfAPeriodRecomputesItsRollUps() throws Exception {
+        fiscalQuarter = saveQuarter(LocalDate.of(1904, 1, 31));
+
+        fiscalQuarter.setEndDate(LocalDate.of(1904, 3, 31));
+        transactionTemplate.execute(status -> fiscalQuarterService.update(fiscalQuarter));
+
+        getRollUps("quarter")
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].endDate").value("1904-03-31"))
+            .andExpect(jsonPath("$.[0].daysReported").value(2))
+            .andExpect(jsonPath("$.[0].averagePrincipal").value(200.0));
+    }
+
+    @Test
+    void refreshingTwiceLeavesOneRollUpPerPeriodAndLedger() throws Exception {
+        fiscalQuarter = saveQuarter(LocalDate.of(1904, 3, 31));
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .until(() -> fiscalCalendarService.findById(FiscalPeriodType.QUARTER, fiscalQuarter.getId()).isPresent());
+        List<DailySummaryDelta.Entry> changed = List.of(
+            new DailySummaryDelta.Entry(LocalDate.of(1904, 2, 15), LEDGER, 1, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO)
+        );
+
+        for (int i = 0; i < 2; i++) {
+            transactionTemplate.executeWithoutResult(status -> moneyMarketDealFiscalRollUpUpdater.refresh(changed));
+            transactionTemplate.executeWithoutResult(status ->
+                moneyMarketDealFiscalRollUpUpdater.refreshAfterCommit(FiscalPeriodType.YEAR, fiscalYear.getId())
+            );
+        }
+
+        getRollUps("quarter").andExpect(jsonPath("$", hasSize(1))).andExpect(jsonPath("$.[0].daysReported").value(2));
+        getRollUps("year").andExpect(jsonPath("$", hasSize(1))).andExpect(jsonPath("$.[0].averagePrincipal").value(200.0));
+    }
+
+    @Test
+    void closingTheYearFreezesItsRollUps() throws Exception {
+        fiscalQuarter = saveQuarter(LocalDate.of(1904, 3, 31));
+
+        FiscalYearDTO closing = new FiscalYearDTO();
+        closing.setId(fiscalYear.getId());
+        closing.setFiscalYearStatus(FiscalYearStatusType.CLOSED);
+        transactionTemplate.execute(status -> fiscalYearService.partialUpdate(closing));
+
+        getRollUps("year").andExpect(jsonPath("$.[*].frozen").value(contains(true)));
+        getRollUps("quarter").andExpect(jsonPath("$.[*].frozen").value(contains(true)));
+
+        // later summaries and period changes leave them as they are
+        transactionTemplate.executeWithoutResult(status -> insertSummary(LocalDate.of(1904, 3, 15), "900.00"));
+        fiscalQuarter.setEndDate(LocalDate.of(1904, 3, 30));
+        transactionTemplate.execute(status -> fiscalQuarterService.update(fiscalQuarter));
+
+        getRollUps("quarter")
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].daysReported").value(2))
+            .andExpect(jsonPath("$.[0].averagePrincipal").value(200.0));
+        assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from money_market_deal_fiscal_roll_up where fiscal_year_id = ? and not frozen",
+                Integer.class,
+                fiscalYear.getId()
+            )
+        ).isZero();
+    }
+
+    private FiscalQuarterDTO saveQuarter(LocalDate endDate) {
+        FiscalQuarterDTO quarter = new FiscalQuarterDTO();
+        quarter.setQuarterNumber(1);
+        quarter.setStartDate(START_DATE);
+        quarter.setEndDate(endDate);
+        quarter.setFiscalQuarterCode("FY1904-Q1");
+        quarter.setFiscalYear(fiscalYear);
+        return transactionTemplate.execute(status -> fiscalQuarterService.save(quarter));
+    }
+
+    private void insertSummary(LocalDate reportDate, String totalPrincipal) {
+        jdbcTemplate.update(INSERT_SUMMARY_SQL, reportDate, LEDGER, new BigDecimal(totalPrincipal));
+    }
+
+    private ResultActions getRollUps(String periodType) throws Exception {
+        return restMoneyMarketDealFiscalRollUpMockMvc
+            .perform(get(ENTITY_API_URL + "?fiscalYearId={id}&periodType={type}", fiscalYear.getId(), periodType))
+            .andExpect(status().isOk());
+    }
+}
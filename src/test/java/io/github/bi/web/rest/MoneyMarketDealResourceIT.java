@@ -24,12 +24,14 @@ import static io.github.bi.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.bi.IntegrationTest;
+import io.github.bi.config.ApplicationProperties;
 import io.github.bi.domain.MoneyMarketDeal;
 import io.github.bi.domain.MoneyMarketList;
 import io.github.bi.repository.MoneyMarketDealRepository;
@@ -47,6 +49,7 @@ import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import org.assertj.core.util.IterableUtil;
+import org.hibernate.Session;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -61,7 +64,10 @@ import org.springframework.data.util.Streamable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Integration tests for the {@link MoneyMarketDealResource} REST controller.
@@ -196,6 +202,15 @@ class MoneyMarketDealResourceIT {
     @Autowired
     private MockMvc restMoneyMarketDealMockMvc;
 
+    @Autowired
+    private MoneyMarketDealService moneyMarketDealService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     private MoneyMarketDeal moneyMarketDeal;
 
     private MoneyMarketDeal insertedMoneyMarketDeal;
@@ -553,6 +568,98 @@ class MoneyMarketDealResourceIT {
             .andExpect(jsonPath("$.[*].active").value(hasItem(DEFAULT_ACTIVE)));
     }
 
+    @Test
+    @Transactional
+    void getAllMoneyMarketDealsByCursor() throws Exception {
+        // Initialize the database
+        insertedMoneyMarketDeal = moneyMarketDealRepository.saveAndFlush(moneyMarketDeal);
+        Long id = moneyMarketDeal.getId();
+
+        restMoneyMarketDealMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&size=1&sort=reportDate,desc&id.greaterThanOrEqual=" + id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(id.intValue()))
+            .andExpect(header().doesNotExist("X-Total-Count"));
+
+        restMoneyMarketDealMockMvc.perform(get(ENTITY_API_URL + "?cursor=&sort=currencyCode")).andExpect(status().isBadRequest());
+        restMoneyMarketDealMockMvc.perform(get(ENTITY_API_URL + "?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllMoneyMarketDealsWithoutExactCount() throws Exception {
+        // Initialize the database
+        insertedMoneyMarketDeal = moneyMarketDealRepository.saveAndFlush(moneyMarketDeal);
+        Long id = moneyMarketDeal.getId();
+
+        restMoneyMarketDealMockMvc
+            .perform(get(ENTITY_API_URL + "?pagination=slice&size=1&sort=id,desc&id.greaterThanOrEqual=" + id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(id.intValue()))
+            .andExpect(header().string("X-Has-Next-Page", "false"))
+            .andExpect(header().doesNotExist("X-Total-Count"));
+
+        restMoneyMarketDealMockMvc
+            .perform(get(ENTITY_API_URL + "?pagination=approximate&sort=id,desc&id.greaterThanOrEqual=" + id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(id.intValue()))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(header().string("X-Total-Count-Approximate", "true"));
+
+        restMoneyMarketDealMockMvc.perform(get(ENTITY_API_URL + "?pagination=none")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllMoneyMarketDealsWithAnApproximateCountOfALargeTable() throws Exception {
+        // Initialize the database
+        insertedMoneyMarketDeal = moneyMarketDealRepository.saveAndFlush(moneyMarketDeal);
+        Long id = moneyMarketDeal.getId();
+        ApplicationProperties.Pagination pagination = applicationProperties.getPagination();
+        long exactCountBelow = pagination.getExactCountBelow();
+        pagination.setExactCountBelow(0);
+        try {
+            // the planner estimate of the table is a total only without filters
+            restMoneyMarketDealMockMvc
+                .perform(get(ENTITY_API_URL + "?pagination=approximate&size=1&sort=id,desc"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Total-Count"))
+                .andExpect(header().string("X-Total-Count-Approximate", "true"));
+
+            restMoneyMarketDealMockMvc
+                .perform(get(ENTITY_API_URL + "?pagination=approximate&sort=id,desc&id.greaterThanOrEqual=" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id").value(id.intValue()))
+                .andExpect(header().string("X-Has-Next-Page", "false"))
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(header().doesNotExist("X-Total-Count-Approximate"));
+        } finally {
+            pagination.setExactCountBelow(exactCountBelow);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllMoneyMarketDealRows() throws Exception {
+        // Initialize the database
+        insertedMoneyMarketDeal = moneyMarketDealRepository.saveAndFlush(moneyMarketDeal);
+        Long id = moneyMarketDeal.getId();
+        em.clear();
+
+        restMoneyMarketDealMockMvc
+            .perform(get(ENTITY_API_URL + "/rows?sort=id,desc&id.equals=" + id))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(id.intValue()))
+            .andExpect(jsonPath("$.[0].dealNumber").value(DEFAULT_DEAL_NUMBER))
+            .andExpect(jsonPath("$.[0].principalAmount").value(sameNumber(DEFAULT_PRINCIPAL_AMOUNT)))
+            .andExpect(jsonPath("$.[0].reportDate").value(DEFAULT_REPORT_DATE.toString()))
+            .andExpect(jsonPath("$.[0].moneyMarketList.id").value(moneyMarketDeal.getMoneyMarketList().getId().intValue()));
+
+        // the rows are read without loading any entity
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllMoneyMarketDealsWithEagerRelationshipsIsEnabled() throws Exception {
         when(moneyMarketDealServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -570,6 +677,78 @@ class MoneyMarketDealResourceIT {
         verify(moneyMarketDealRepositoryMock, times(1)).findAll(any(Pageable.class));
     }
 
+    @Test
+    @Transactional
+    void getAllMoneyMarketDealsOfAReportDateAfterTheDealMovedToAnother() throws Exception {
+        // committed, and listed in read-only transactions, so that the listings are cached
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readOnlyTransaction.setReadOnly(true);
+        LocalDate listReportDate = LocalDate.of(1902, 2, 28);
+        LocalDate movedReportDate = LocalDate.of(1903, 3, 31);
+        MoneyMarketDealDTO savedMoneyMarketDealDTO = newTransaction.execute(status -> {
+            MoneyMarketList moneyMarketList = MoneyMarketListResourceIT.createEntity().reportDate(listReportDate);
+            em.persist(moneyMarketList);
+            MoneyMarketDeal deal = createEntity(em).reportDate(listReportDate);
+            deal.setMoneyMarketList(moneyMarketList);
+            return moneyMarketDealService.save(moneyMarketDealMapper.toDto(deal));
+        });
+        int id = savedMoneyMarketDealDTO.getId().intValue();
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    restMoneyMarketDealMockMvc
+                        .perform(get(ENTITY_API_URL + "?reportDate.equals=" + listReportDate))
+                        .andExpect(jsonPath("$.[*].id").value(hasItem(id)));
+                    restMoneyMarketDealMockMvc
+                        .perform(get(ENTITY_API_URL + "?reportDate.equals=" + movedReportDate))
+                        .andExpect(jsonPath("$.[*].id").value(not(hasItem(id))));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            // the deal keeps its list, whose report date does not change
+            MoneyMarketDealDTO moved = new MoneyMarketDealDTO();
+            moved.setId(savedMoneyMarketDealDTO.getId());
+            moved.setReportDate(movedReportDate);
+            newTransaction.executeWithoutResult(status -> {
+                try {
+                    restMoneyMarketDealMockMvc
+                        .perform(
+                            patch(ENTITY_API_URL_ID, moved.getId())
+                                .contentType("application/merge-patch+json")
+                                .content(om.writeValueAsBytes(moved))
+                        )
+                        .andExpect(status().isOk());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    restMoneyMarketDealMockMvc
+                        .perform(get(ENTITY_API_URL + "?reportDate.equals=" + movedReportDate))
+                        .andExpect(jsonPath("$.[*].id").value(hasItem(id)));
+                    restMoneyMarketDealMockMvc
+                        .perform(get(ENTITY_API_URL + "?reportDate.equals=" + listReportDate))
+                        .andExpect(jsonPath("$.[*].id").value(not(hasItem(id))));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            newTransaction.executeWithoutResult(status -> {
+                moneyMarketDealService.delete(savedMoneyMarketDealDTO.getId());
+                em.remove(em.find(MoneyMarketList.class, savedMoneyMarketDealDTO.getMoneyMarketList().getId()));
+            });
+        }
+    }
+
     @Test
     @Transactional
     void getMoneyMarketDeal() throws Exception {
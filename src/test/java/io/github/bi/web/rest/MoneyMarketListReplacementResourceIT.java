@@ -0,0 +1,184 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.github.bi.IntegrationTest;
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.domain.enumeration.reportBatchStatus;
+import io.github.bi.repository.MoneyMarketDealRepository;
+import io.github.bi.repository.MoneyMarketListRepository;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link MoneyMarketListReplacementResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class MoneyMarketListReplacementResourceIT {
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2025, 3, 31);
+    private static final LocalDate OTHER_REPORT_DATE = LocalDate.of(2025, 4, 30);
+
+    private static final String ENTITY_API_URL = "/api/money-market-lists/{id}/replaces/{replacedId}";
+
+    @Autowired
+    private MoneyMarketListRepository moneyMarketListRepository;
+
+    @Autowired
+    private MoneyMarketDealRepository moneyMarketDealRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restMoneyMarketListReplacementMockMvc;
+
+    private MoneyMarketList replaced;
+
+    private MoneyMarketList replacement;
+
+    private MoneyMarketDeal replacedDeal;
+
+    private MoneyMarketDeal replacementDeal;
+
+    @BeforeEach
+    void initTest() {
+        replaced = MoneyMarketListResourceIT.createEntity().reportDate(REPORT_DATE).status(reportBatchStatus.ACTIVE).active(true);
+        replacement = MoneyMarketListResourceIT.createEntity().reportDate(REPORT_DATE).status(reportBatchStatus.ACTIVE).active(false);
+    }
+
+    @Test
+    @Transactional
+    void replaceMoneyMarketList() throws Exception {
+        persistListsWithADealEach();
+
+        restMoneyMarketListReplacementMockMvc
+            .perform(post(ENTITY_API_URL, replacement.getId(), replaced.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.id").value(replacement.getId().intValue()))
+            .andExpect(jsonPath("$.status").value(reportBatchStatus.ACTIVE.toString()))
+            .andExpect(jsonPath("$.active").value(true));
+
+        em.flush();
+        em.clear();
+        MoneyMarketList persistedReplaced = moneyMarketListRepository.findById(replaced.getId()).orElseThrow();
+        assertThat(persistedReplaced.getStatus()).isEqualTo(reportBatchStatus.REPLACED);
+        assertThat(persistedReplaced.getActive()).isFalse();
+        assertThat(moneyMarketListRepository.findById(replacement.getId()).orElseThrow().getActive()).isTrue();
+        assertThat(moneyMarketDealRepository.findById(replacedDeal.getId()).orElseThrow().getActive()).isFalse();
+        assertThat(moneyMarketDealRepository.findById(replacementDeal.getId()).orElseThrow().getActive()).isTrue();
+    }
+
+    @Test
+    @Transactional
+    void replaceMoneyMarketListWithItself() throws Exception {
+        persistListsWithADealEach();
+
+        assertNotReplaceable(replaced.getId(), replaced.getId());
+    }
+
+    @Test
+    @Transactional
+    void replaceNonExistingMoneyMarketList() throws Exception {
+        persistListsWithADealEach();
+
+        assertNotReplaceable(Long.MAX_VALUE, replacement.getId());
+        assertNotReplaceable(replaced.getId(), Long.MAX_VALUE);
+    }
+
+    @Test
+    @Transactional
+    void replaceMoneyMarketListWithACancelledList() throws Exception {
+        replacement.setStatus(reportBatchStatus.CANCELLED);
+        persistListsWithADealEach();
+
+        assertNotReplaceable(replaced.getId(), replacement.getId());
+    }
+
+    @Test
+    @Transactional
+    void replaceMoneyMarketListAlreadyReplaced() throws Exception {
+        replaced.status(reportBatchStatus.REPLACED).setActive(false);
+        persistListsWithADealEach();
+
+        assertNotReplaceable(replaced.getId(), replacement.getId());
+    }
+
+    @Test
+    @Transactional
+    void replaceInactiveMoneyMarketList() throws Exception {
+        replaced.setActive(false);
+        persistListsWithADealEach();
+
+        assertNotReplaceable(replaced.getId(), replacement.getId());
+    }
+
+    @Test
+    @Transactional
+    void replaceMoneyMarketListWithAListOfAnotherReportDate() throws Exception {
+        replacement.setReportDate(OTHER_REPORT_DATE);
+        persistListsWithADealEach();
+
+        assertNotReplaceable(replaced.getId(), replacement.getId());
+    }
+
+    private void persistListsWithADealEach() {
+        em.persist(replaced);
+        em.persist(replacement);
+        replacedDeal = MoneyMarketDealResourceIT.createEntity(em).reportDate(replaced.getReportDate()).active(true);
+        replacedDeal.setMoneyMarketList(replaced);
+        em.persist(replacedDeal);
+        replacementDeal = MoneyMarketDealResourceIT.createEntity(em).reportDate(replacement.getReportDate()).active(false);
+        replacementDeal.setMoneyMarketList(replacement);
+        em.persist(replacementDeal);
+        em.flush();
+    }
+
+    private void assertNotReplaceable(Long replacedId, Long replacementId) throws Exception {
+        restMoneyMarketListReplacementMockMvc
+            .perform(post(ENTITY_API_URL, replacementId, replacedId))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().string("X-moneyMarketBiApp-error", "error.notreplaceable"));
+
+        // nothing was flipped
+        em.flush();
+        em.clear();
+        assertThat(moneyMarketListRepository.findById(replacement.getId()).orElseThrow().getActive()).isEqualTo(replacement.getActive());
+        assertThat(moneyMarketDealRepository.findById(replacedDeal.getId()).orElseThrow().getActive()).isEqualTo(replacedDeal.getActive());
+        assertThat(moneyMarketDealRepository.findById(replacementDeal.getId()).orElseThrow().getActive()).isEqualTo(
+            replacementDeal.getActive()
+        );
+    }
+}
@@ -440,7 +440,7 @@ class MoneyMarketUploadNotificationResourceIT {
         MoneyMarketList moneyMarketList;
         if (TestUtil.findAll(em, MoneyMarketList.class).isEmpty()) {
             moneyMarketUploadNotificationRepository.saveAndFlush(moneyMarketUploadNotification);
-            moneyMarketList = MoneyMarketListResourceIT.createEntity(em);
+            moneyMarketList = MoneyMarketListResourceIT.createEntity();
         } else {
             moneyMarketList = TestUtil.findAll(em, MoneyMarketList.class).get(0);
         }
@@ -0,0 +1,278 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import io.github.bi.IntegrationTest;
+import io.github.bi.domain.MoneyMarketDeal;
+import io.github.bi.domain.MoneyMarketList;
+import io.github.bi.domain.ReportBatch;
+import io.github.bi.domain.enumeration.FileProcessFlag;
+import io.github.bi.domain.enumeration.reportBatchStatus;
+import io.github.bi.repository.ReportBatchRepository;
+import io.github.bi.service.ReportBatchIngestionService;
+import io.github.bi.service.ingestion.IngestionCheckpoint;
+import io.github.bi.service.ingestion.IngestionCheckpointLostException;
+import io.github.bi.service.ingestion.IngestionCheckpointStore;
+import io.github.bi.service.storage.ReportBatchFileStore;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link IngestionCheckpointStore}, and the resumption of orphaned ingestions by the
+ * {@link ReportBatchIngestionService}.
+ * <p>
+ * The checkpoints are committed, as they would be by the nodes running the ingestions; a second store stands for a
+ * node that died.
+ */
+@IntegrationTest
+class ReportBatchIngestionIT {
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(1901, 1, 31);
+
+    private static final String HEADER = "Deal Number,Counter Party Name,Final Interest Accrual Date,End Date,Settlement Date,Maturity Date\n";
+
+    private static final String ROW = "%s,Acme,1901-01-31,1901-01-31,1901-01-31,1901-01-31\n";
+
+    private static final Duration HEARTBEAT_TIMEOUT = Duration.ofMinutes(5);
+
+    @Autowired
+    private IngestionCheckpointStore ingestionCheckpointStore;
+
+    @Autowired
+    private ReportBatchIngestionService reportBatchIngestionService;
+
+    @Autowired
+    private ReportBatchRepository reportBatchRepository;
+
+    @Autowired
+    private ReportBatchFileStore reportBatchFileStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private IngestionCheckpointStore deadNode;
+
+    private ReportBatch reportBatch;
+
+    @BeforeEach
+    void initTest() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        deadNode = new IngestionCheckpointStore(jdbcTemplate);
+        reportBatch = transactionTemplate.execute(status -> {
+            ReportBatch batch = ReportBatchResourceIT.createEntity(em)
+                .reportDate(REPORT_DATE)
+                .fileIdentifier(UUID.randomUUID())
+                .processFlag(FileProcessFlag.IN_PROGRESS);
+            em.persist(batch);
+            return batch;
+        });
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        Long reportBatchId = reportBatch.getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from money_market_upload_notification where report_batch_id = ?", reportBatchId);
+            jdbcTemplate.update(
+                "delete from money_market_deal where money_market_list_id in (select id from money_market_list where report_batch_id = ?)",
+                reportBatchId
+            );
+            jdbcTemplate.update("delete from money_market_list where report_batch_id = ?", reportBatchId);
+            jdbcTemplate.update("delete from money_market_deal_daily_summary where report_date = ?", REPORT_DATE);
+            jdbcTemplate.update("delete from report_batch_carried_deal where report_batch_id = ?", reportBatchId);
+            jdbcTemplate.update("delete from report_batch_checkpoint where report_batch_id = ?", reportBatchId);
+            jdbcTemplate.update("delete from report_batch where id = ?", reportBatchId);
+        });
+        reportBatchFileStore.delete(reportBatch.getFileIdentifier());
+    }
+
+    @Test
+    void claimStartsACheckpointOnlyTheClaimingNodeHolds() {
+        transactionTemplate.executeWithoutResult(status -> ingestionCheckpointStore.start(reportBatch.getId()));
+
+        assertThat(ingestionCheckpointStore.find(reportBatch.getId())).hasValueSatisfying(checkpoint ->
+            assertThat(checkpoint.isStarted()).isFalse()
+        );
+        transactionTemplate.executeWithoutResult(status -> ingestionCheckpointStore.hold(reportBatch.getId()));
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> deadNode.hold(reportBatch.getId()))).isInstanceOf(
+            IngestionCheckpointLostException.class
+        );
+    }
+
+    @Test
+    void staleCheckpointIsReclaimedByOneNodeOnly() {
+        transactionTemplate.executeWithoutResult(status -> deadNode.start(reportBatch.getId()));
+        Instant heartbeatBefore = Instant.now().minus(HEARTBEAT_TIMEOUT);
+
+        // the heartbeat is fresh
+        assertThat(ingestionCheckpointStore.findStale(heartbeatBefore)).doesNotContain(reportBatch.getId());
+        assertThat(reclaim(ingestionCheckpointStore, heartbeatBefore)).isFalse();
+
+        stopHeartbeat();
+
+        assertThat(ingestionCheckpointStore.findStale(heartbeatBefore)).contains(reportBatch.getId());
+        assertThat(reclaim(ingestionCheckpointStore, heartbeatBefore)).isTrue();
+        IngestionCheckpointStore otherNode = new IngestionCheckpointStore(jdbcTemplate);
+        assertThat(reclaim(otherNode, heartbeatBefore)).isFalse();
+        assertThat(ingestionCheckpointStore.findStale(heartbeatBefore)).doesNotContain(reportBatch.getId());
+    }
+
+    @Test
+    void reportBatchInProgressWithoutCheckpointIsReclaimedByOneNodeOnly() {
+        Instant heartbeatBefore = Instant.now().minus(HEARTBEAT_TIMEOUT);
+
+        assertThat(ingestionCheckpointStore.findStale(heartbeatBefore)).contains(reportBatch.getId());
+        assertThat(reclaim(ingestionCheckpointStore, heartbeatBefore)).isTrue();
+        assertThat(reclaim(new IngestionCheckpointStore(jdbcTemplate), heartbeatBefore)).isFalse();
+        assertThat(ingestionCheckpointStore.findStale(heartbeatBefore)).doesNotContain(reportBatch.getId());
+        transactionTemplate.executeWithoutResult(status -> ingestionCheckpointStore.hold(reportBatch.getId()));
+    }
+
+    @Test
+    void losingNodeIsRefused() {
+        Long reportBatchId = reportBatch.getId();
+        transactionTemplate.executeWithoutResult(status -> deadNode.start(reportBatchId));
+        stopHeartbeat();
+        Instant heartbeatBefore = Instant.now().minus(HEARTBEAT_TIMEOUT);
+        assertThat(reclaim(ingestionCheckpointStore, heartbeatBefore)).isTrue();
+
+        IngestionCheckpoint checkpoint = new IngestionCheckpoint(null, 100, 3, 2, 2, 0, 0);
+        assertThatThrownBy(() ->
+            transactionTemplate.executeWithoutResult(status -> deadNode.advance(reportBatchId, checkpoint))
+        ).isInstanceOf(IngestionCheckpointLostException.class);
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> deadNode.hold(reportBatchId))).isInstanceOf(
+            IngestionCheckpointLostException.class
+        );
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> deadNode.remove(reportBatchId))).isInstanceOf(
+            IngestionCheckpointLostException.class
+        );
+
+        // the checkpoint is left as the winning node found it
+        assertThat(ingestionCheckpointStore.find(reportBatchId)).hasValueSatisfying(found -> assertThat(found.isStarted()).isFalse());
+        transactionTemplate.executeWithoutResult(status -> ingestionCheckpointStore.remove(reportBatchId));
+        assertThat(ingestionCheckpointStore.find(reportBatchId)).isEmpty();
+    }
+
+    @Test
+    void orphanedIngestionResumesFromTheLastFlushedOffset() throws IOException {
+        Long reportBatchId = reportBatch.getId();
+        String flushed = HEADER + ROW.formatted("MM-1") + ROW.formatted("MM-2");
+        byte[] file = (flushed + ROW.formatted("MM-3") + ROW.formatted("MM-4")).getBytes(StandardCharsets.UTF_8);
+        reportBatchFileStore.write(reportBatch.getFileIdentifier(), new ByteArrayInputStream(file));
+
+        // the dead node had committed the first two deals, records 2 and 3 of the file, before it stopped
+        Long moneyMarketListId = transactionTemplate.execute(status -> {
+            deadNode.start(reportBatchId);
+            MoneyMarketList moneyMarketList = new MoneyMarketList()
+                .reportDate(REPORT_DATE)
+                .uploadTimeStamp(ZonedDateTime.now())
+                .status(reportBatchStatus.ACTIVE)
+                .active(false)
+                .reportBatch(em.find(ReportBatch.class, reportBatchId));
+            em.persist(moneyMarketList);
+            for (String dealNumber : new String[] { "MM-1", "MM-2" }) {
+                MoneyMarketDeal deal = MoneyMarketDealResourceIT.createEntity(em)
+                    .dealNumber(dealNumber)
+                    .reportDate(REPORT_DATE)
+                    .active(false);
+                deal.setMoneyMarketList(moneyMarketList);
+                em.persist(deal);
+            }
+            em.flush();
+            long offset = flushed.getBytes(StandardCharsets.UTF_8).length;
+            deadNode.advance(reportBatchId, new IngestionCheckpoint(moneyMarketList.getId(), offset, 4, 2, 2, 0, 0));
+            return moneyMarketList.getId();
+        });
+        stopHeartbeat();
+
+        reportBatchIngestionService.resumeOrphanedIngestions();
+
+        await()
+            .atMost(30, TimeUnit.SECONDS)
+            .untilAsserted(() ->
+                assertThat(reportBatchRepository.findById(reportBatchId)).hasValueSatisfying(batch ->
+                    assertThat(batch.getProcessFlag()).isEqualTo(FileProcessFlag.PROCESSED)
+                )
+            );
+        assertThat(
+            jdbcTemplate.queryForList(
+                "select deal_number from money_market_deal where money_market_list_id = ?",
+                String.class,
+                moneyMarketListId
+            )
+        ).containsExactlyInAnyOrder("MM-1", "MM-2", "MM-3", "MM-4");
+        // the deals written by both nodes become active, and are counted, only as the list is activated
+        assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from money_market_deal where money_market_list_id = ? and active",
+                Long.class,
+                moneyMarketListId
+            )
+        ).isEqualTo(4L);
+        assertThat(
+            jdbcTemplate.queryForObject(
+                "select coalesce(sum(number_of_deals), 0) from money_market_deal_daily_summary where report_date = ?",
+                Long.class,
+                REPORT_DATE
+            )
+        ).isEqualTo(4L);
+        assertThat(ingestionCheckpointStore.find(reportBatchId)).isEmpty();
+    }
+
+    private boolean reclaim(IngestionCheckpointStore node, Instant heartbeatBefore) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> node.reclaim(reportBatch.getId(), heartbeatBefore)));
+    }
+
+    private void stopHeartbeat() {
+        jdbcTemplate.update(
+            "update report_batch_checkpoint set heartbeat = ? where report_batch_id = ?",
+            Timestamp.from(Instant.now().minus(1, ChronoUnit.DAYS)),
+            reportBatch.getId()
+        );
+    }
+}
@@ -40,6 +40,7 @@ import io.github.bi.repository.search.ReportBatchSearchRepository;
 import io.github.bi.service.ReportBatchService;
 import io.github.bi.service.dto.ReportBatchDTO;
 import io.github.bi.service.mapper.ReportBatchMapper;
+import io.github.bi.service.storage.ReportBatchFileStore;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -47,7 +48,6 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
@@ -68,7 +68,11 @@ import org.springframework.data.util.Streamable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Integration tests for the {@link ReportBatchResource} REST controller.
@@ -138,6 +142,15 @@ class ReportBatchResourceIT {
     @Autowired
     private MockMvc restReportBatchMockMvc;
 
+    @Autowired
+    private ReportBatchService reportBatchService;
+
+    @Autowired
+    private ReportBatchFileStore reportBatchFileStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private ReportBatch reportBatch;
 
     private ReportBatch insertedReportBatch;
@@ -157,7 +170,6 @@ class ReportBatchResourceIT {
             .description(DEFAULT_DESCRIPTION)
             .fileIdentifier(DEFAULT_FILE_IDENTIFIER)
             .processFlag(DEFAULT_PROCESS_FLAG)
-            .csvFileAttachment(DEFAULT_CSV_FILE_ATTACHMENT)
             .csvFileAttachmentContentType(DEFAULT_CSV_FILE_ATTACHMENT_CONTENT_TYPE);
         // Add required entity
         ApplicationUser applicationUser;
@@ -187,7 +199,6 @@ class ReportBatchResourceIT {
             .description(UPDATED_DESCRIPTION)
             .fileIdentifier(UPDATED_FILE_IDENTIFIER)
             .processFlag(UPDATED_PROCESS_FLAG)
-            .csvFileAttachment(UPDATED_CSV_FILE_ATTACHMENT)
             .csvFileAttachmentContentType(UPDATED_CSV_FILE_ATTACHMENT_CONTENT_TYPE);
         // Add required entity
         ApplicationUser applicationUser;
@@ -414,8 +425,7 @@ class ReportBatchResourceIT {
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)))
             .andExpect(jsonPath("$.[*].fileIdentifier").value(hasItem(DEFAULT_FILE_IDENTIFIER.toString())))
             .andExpect(jsonPath("$.[*].processFlag").value(hasItem(DEFAULT_PROCESS_FLAG.toString())))
-            .andExpect(jsonPath("$.[*].csvFileAttachmentContentType").value(hasItem(DEFAULT_CSV_FILE_ATTACHMENT_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].csvFileAttachment").value(hasItem(Base64.getEncoder().encodeToString(DEFAULT_CSV_FILE_ATTACHMENT))));
+            .andExpect(jsonPath("$.[*].csvFileAttachmentContentType").value(hasItem(DEFAULT_CSV_FILE_ATTACHMENT_CONTENT_TYPE)));
     }
 
     @SuppressWarnings({ "unchecked" })
@@ -454,8 +464,7 @@ class ReportBatchResourceIT {
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION))
             .andExpect(jsonPath("$.fileIdentifier").value(DEFAULT_FILE_IDENTIFIER.toString()))
             .andExpect(jsonPath("$.processFlag").value(DEFAULT_PROCESS_FLAG.toString()))
-            .andExpect(jsonPath("$.csvFileAttachmentContentType").value(DEFAULT_CSV_FILE_ATTACHMENT_CONTENT_TYPE))
-            .andExpect(jsonPath("$.csvFileAttachment").value(Base64.getEncoder().encodeToString(DEFAULT_CSV_FILE_ATTACHMENT)));
+            .andExpect(jsonPath("$.csvFileAttachmentContentType").value(DEFAULT_CSV_FILE_ATTACHMENT_CONTENT_TYPE));
     }
 
     @Test
@@ -887,8 +896,7 @@ class ReportBatchResourceIT {
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)))
             .andExpect(jsonPath("$.[*].fileIdentifier").value(hasItem(DEFAULT_FILE_IDENTIFIER.toString())))
             .andExpect(jsonPath("$.[*].processFlag").value(hasItem(DEFAULT_PROCESS_FLAG.toString())))
-            .andExpect(jsonPath("$.[*].csvFileAttachmentContentType").value(hasItem(DEFAULT_CSV_FILE_ATTACHMENT_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].csvFileAttachment").value(hasItem(Base64.getEncoder().encodeToString(DEFAULT_CSV_FILE_ATTACHMENT))));
+            .andExpect(jsonPath("$.[*].csvFileAttachmentContentType").value(hasItem(DEFAULT_CSV_FILE_ATTACHMENT_CONTENT_TYPE)));
 
         // Check, that the count call also returns 1
         restReportBatchMockMvc
@@ -924,6 +932,108 @@ class ReportBatchResourceIT {
         restReportBatchMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void downloadReportBatchFile() throws Exception {
+        // Create the ReportBatch with its file in the JSON body
+        ReportBatchDTO reportBatchDTO = reportBatchMapper.toDto(reportBatch);
+        reportBatchDTO.setCsvFileAttachment(DEFAULT_CSV_FILE_ATTACHMENT);
+        var returnedReportBatchDTO = om.readValue(
+            restReportBatchMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(reportBatchDTO)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            ReportBatchDTO.class
+        );
+        insertedReportBatch = reportBatchMapper.toEntity(returnedReportBatchDTO);
+        assertThat(returnedReportBatchDTO.getCsvFileAttachment()).isNull();
+
+        // Download the file from the store
+        MvcResult download = restReportBatchMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/file", returnedReportBatchDTO.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restReportBatchMockMvc
+            .perform(asyncDispatch(download))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_CSV_FILE_ATTACHMENT_CONTENT_TYPE))
+            .andExpect(content().bytes(DEFAULT_CSV_FILE_ATTACHMENT));
+    }
+
+    @Test
+    @Transactional
+    void createReportBatchWithFileRolledBack() throws Exception {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Create the ReportBatch with its file in the JSON body, in a transaction that rolls back
+        ReportBatchDTO savedReportBatchDTO = newTransaction.execute(status -> {
+            ReportBatchDTO reportBatchDTO = reportBatchMapper.toDto(createEntity(em));
+            reportBatchDTO.setCsvFileAttachment(DEFAULT_CSV_FILE_ATTACHMENT);
+            ReportBatchDTO saved = reportBatchService.save(reportBatchDTO);
+            assertThat(reportBatchFileStore.exists(saved.getFileIdentifier())).isTrue();
+            status.setRollbackOnly();
+            return saved;
+        });
+        reportBatchSearchRepository.deleteFromIndexById(savedReportBatchDTO.getId());
+
+        // The file is stored under an identifier of its own, and removed with the batch
+        assertThat(savedReportBatchDTO.getFileIdentifier()).isNotEqualTo(DEFAULT_FILE_IDENTIFIER);
+        assertThat(reportBatchFileStore.exists(savedReportBatchDTO.getFileIdentifier())).isFalse();
+        assertThat(reportBatchRepository.findById(savedReportBatchDTO.getId())).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void updateReportBatchFileOnlyReplacesTheFileOnCommit() throws Exception {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ReportBatchDTO createdReportBatchDTO = newTransaction.execute(status -> {
+            ReportBatchDTO reportBatchDTO = reportBatchMapper.toDto(createEntity(em));
+            reportBatchDTO.setCsvFileAttachment(DEFAULT_CSV_FILE_ATTACHMENT);
+            return reportBatchService.save(reportBatchDTO);
+        });
+        UUID committedFileIdentifier = createdReportBatchDTO.getFileIdentifier();
+
+        try {
+            // An update rolled back leaves the committed file as it was
+            ReportBatchDTO rolledBackReportBatchDTO = newTransaction.execute(status -> {
+                createdReportBatchDTO.setCsvFileAttachment(UPDATED_CSV_FILE_ATTACHMENT);
+                ReportBatchDTO updated = reportBatchService.update(createdReportBatchDTO);
+                status.setRollbackOnly();
+                return updated;
+            });
+            assertThat(rolledBackReportBatchDTO.getFileIdentifier()).isNotEqualTo(committedFileIdentifier);
+            assertThat(reportBatchFileStore.exists(rolledBackReportBatchDTO.getFileIdentifier())).isFalse();
+            try (var file = reportBatchFileStore.open(committedFileIdentifier)) {
+                assertThat(file.readAllBytes()).isEqualTo(DEFAULT_CSV_FILE_ATTACHMENT);
+            }
+
+            // An update committed removes the file the batch pointed to
+            createdReportBatchDTO.setFileIdentifier(committedFileIdentifier);
+            ReportBatchDTO updatedReportBatchDTO = newTransaction.execute(status -> {
+                createdReportBatchDTO.setCsvFileAttachment(UPDATED_CSV_FILE_ATTACHMENT);
+                return reportBatchService.update(createdReportBatchDTO);
+            });
+            assertThat(reportBatchFileStore.exists(committedFileIdentifier)).isFalse();
+            try (var file = reportBatchFileStore.open(updatedReportBatchDTO.getFileIdentifier())) {
+                assertThat(file.readAllBytes()).isEqualTo(UPDATED_CSV_FILE_ATTACHMENT);
+            }
+        } finally {
+            newTransaction.executeWithoutResult(status -> reportBatchService.delete(createdReportBatchDTO.getId()));
+        }
+    }
+
+    @Test
+    @Transactional
+    void downloadMissingReportBatchFile() throws Exception {
+        insertedReportBatch = reportBatchRepository.saveAndFlush(reportBatch);
+
+        restReportBatchMockMvc.perform(get(ENTITY_API_URL_ID + "/file", reportBatch.getId())).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void putExistingReportBatch() throws Exception {
@@ -946,7 +1056,6 @@ class ReportBatchResourceIT {
             .description(UPDATED_DESCRIPTION)
             .fileIdentifier(UPDATED_FILE_IDENTIFIER)
             .processFlag(UPDATED_PROCESS_FLAG)
-            .csvFileAttachment(UPDATED_CSV_FILE_ATTACHMENT)
             .csvFileAttachmentContentType(UPDATED_CSV_FILE_ATTACHMENT_CONTENT_TYPE);
         ReportBatchDTO reportBatchDTO = reportBatchMapper.toDto(updatedReportBatch);
 
@@ -1061,7 +1170,6 @@ class ReportBatchResourceIT {
             .uploadTimeStamp(UPDATED_UPLOAD_TIME_STAMP)
             .active(UPDATED_ACTIVE)
             .processFlag(UPDATED_PROCESS_FLAG)
-            .csvFileAttachment(UPDATED_CSV_FILE_ATTACHMENT)
             .csvFileAttachmentContentType(UPDATED_CSV_FILE_ATTACHMENT_CONTENT_TYPE);
 
         restReportBatchMockMvc
@@ -1101,7 +1209,6 @@ class ReportBatchResourceIT {
             .description(UPDATED_DESCRIPTION)
             .fileIdentifier(UPDATED_FILE_IDENTIFIER)
             .processFlag(UPDATED_PROCESS_FLAG)
-            .csvFileAttachment(UPDATED_CSV_FILE_ATTACHMENT)
             .csvFileAttachmentContentType(UPDATED_CSV_FILE_ATTACHMENT_CONTENT_TYPE);
 
         restReportBatchMockMvc
@@ -1232,8 +1339,7 @@ class ReportBatchResourceIT {
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)))
             .andExpect(jsonPath("$.[*].fileIdentifier").value(hasItem(DEFAULT_FILE_IDENTIFIER.toString())))
             .andExpect(jsonPath("$.[*].processFlag").value(hasItem(DEFAULT_PROCESS_FLAG.toString())))
-            .andExpect(jsonPath("$.[*].csvFileAttachmentContentType").value(hasItem(DEFAULT_CSV_FILE_ATTACHMENT_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].csvFileAttachment").value(hasItem(Base64.getEncoder().encodeToString(DEFAULT_CSV_FILE_ATTACHMENT))));
+            .andExpect(jsonPath("$.[*].csvFileAttachmentContentType").value(hasItem(DEFAULT_CSV_FILE_ATTACHMENT_CONTENT_TYPE)));
     }
 
     protected long getRepositoryCount() {
@@ -0,0 +1,226 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bi.IntegrationTest;
+import io.github.bi.domain.ApplicationUser;
+import io.github.bi.domain.ReportBatch;
+import io.github.bi.domain.enumeration.FileProcessFlag;
+import io.github.bi.repository.ReportBatchRepository;
+import io.github.bi.repository.search.ReportBatchSearchRepository;
+import io.github.bi.service.dto.ReportBatchDTO;
+import io.github.bi.service.storage.ReportBatchFileStore;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ReportBatchUploadResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(ReportBatchUploadResourceIT.UPLOADER)
+class ReportBatchUploadResourceIT {
+
+    static final String UPLOADER = "report-batch-uploader";
+
+    private static final LocalDate REPORT_DATE = LocalDate.of(2025, 3, 31);
+
+    private static final String DESCRIPTION = "AAAAAAAAAA";
+
+    private static final byte[] CONTENT = "dealNumber,currencyCode\nMM-1,KES\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final String ENTITY_API_URL = "/api/report-batches/upload";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ReportBatchRepository reportBatchRepository;
+
+    @Autowired
+    private ReportBatchSearchRepository reportBatchSearchRepository;
+
+    @Autowired
+    private ReportBatchFileStore reportBatchFileStore;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restReportBatchUploadMockMvc;
+
+    private ApplicationUser applicationUser;
+
+    private final List<ReportBatchDTO> uploaded = new ArrayList<>();
+
+    @BeforeEach
+    void initTest() {
+        applicationUser = ApplicationUserResourceIT.createEntity(em).applicationIdentity(UPLOADER);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        for (ReportBatchDTO reportBatch : uploaded) {
+            reportBatchFileStore.delete(reportBatch.getFileIdentifier());
+            reportBatchSearchRepository.deleteFromIndexById(reportBatch.getId());
+        }
+        uploaded.clear();
+    }
+
+    @Test
+    @Transactional
+    void uploadReportBatch() throws Exception {
+        em.persist(applicationUser);
+        long databaseSizeBeforeUpload = reportBatchRepository.count();
+
+        ReportBatchDTO reportBatch = read(
+            upload()
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.reportDate").value(REPORT_DATE.toString()))
+                .andExpect(jsonPath("$.description").value(DESCRIPTION))
+                .andExpect(jsonPath("$.processFlag").value(FileProcessFlag.PENDING.toString()))
+                .andExpect(jsonPath("$.fileChecksum").value(checksum(CONTENT)))
+                .andExpect(jsonPath("$.uploadedBy.id").value(applicationUser.getId().intValue()))
+        );
+
+        assertThat(reportBatchRepository.count()).isEqualTo(databaseSizeBeforeUpload + 1);
+        try (InputStream stored = reportBatchFileStore.open(reportBatch.getFileIdentifier())) {
+            assertThat(stored.readAllBytes()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    @Transactional
+    void uploadReportBatchAsCsvBody() throws Exception {
+        em.persist(applicationUser);
+
+        read(
+            restReportBatchUploadMockMvc
+                .perform(
+                    post(ENTITY_API_URL)
+                        .contentType("text/csv")
+                        .content(CONTENT)
+                        .param("reportDate", REPORT_DATE.toString())
+                        .param("description", DESCRIPTION)
+                        .param("ingest", "false")
+                )
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.fileChecksum").value(checksum(CONTENT)))
+        );
+    }
+
+    @Test
+    @Transactional
+    void uploadDuplicateReportBatch() throws Exception {
+        em.persist(applicationUser);
+        long databaseSizeBeforeUpload = reportBatchRepository.count();
+        ReportBatchDTO reportBatch = read(upload().andExpect(status().isCreated()));
+
+        ReportBatchDTO duplicate = om.readValue(
+            upload()
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-moneyMarketBiApp-alert", "moneyMarketBiApp.moneyMarketBiReportBatch.duplicate"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            ReportBatchDTO.class
+        );
+
+        assertThat(duplicate.getId()).isEqualTo(reportBatch.getId());
+        assertThat(duplicate.getFileIdentifier()).isEqualTo(reportBatch.getFileIdentifier());
+        assertThat(reportBatchRepository.count()).isEqualTo(databaseSizeBeforeUpload + 1);
+        assertThat(reportBatchFileStore.exists(reportBatch.getFileIdentifier())).isTrue();
+    }
+
+    @Test
+    @Transactional
+    void uploadReportBatchOfAFailedIngestion() throws Exception {
+        em.persist(applicationUser);
+        ReportBatchDTO failed = read(upload().andExpect(status().isCreated()));
+        em.flush();
+        reportBatchRepository.transitionProcessFlag(failed.getId(), List.of(FileProcessFlag.PENDING), FileProcessFlag.FAILED);
+        em.flush();
+        em.clear();
+
+        ReportBatchDTO reportBatch = read(upload().andExpect(status().isCreated()));
+
+        assertThat(reportBatch.getId()).isNotEqualTo(failed.getId());
+        em.flush();
+        em.clear();
+        ReportBatch persistedFailed = reportBatchRepository.findById(failed.getId()).orElseThrow();
+        assertThat(persistedFailed.getProcessFlag()).isEqualTo(FileProcessFlag.FAILED);
+        assertThat(persistedFailed.getFileChecksum()).isNull();
+        assertThat(reportBatchRepository.findOneByFileChecksum(checksum(CONTENT)).map(ReportBatch::getId)).contains(reportBatch.getId());
+        assertThat(reportBatchFileStore.exists(failed.getFileIdentifier())).isTrue();
+    }
+
+    @Test
+    @Transactional
+    void uploadReportBatchWithoutApplicationUser() throws Exception {
+        long databaseSizeBeforeUpload = reportBatchRepository.count();
+
+        upload().andExpect(status().isBadRequest()).andExpect(header().string("X-moneyMarketBiApp-error", "error.nouploader"));
+
+        assertThat(reportBatchRepository.count()).isEqualTo(databaseSizeBeforeUpload);
+    }
+
+    private ResultActions upload() throws Exception {
+        return restReportBatchUploadMockMvc.perform(
+            multipart(ENTITY_API_URL)
+                .file(new MockMultipartFile("file", "deals.csv", "text/csv", CONTENT))
+                .param("reportDate", REPORT_DATE.toString())
+                .param("description", DESCRIPTION)
+                .param("ingest", "false")
+        );
+    }
+
+    private ReportBatchDTO read(ResultActions resultActions) throws Exception {
+        ReportBatchDTO reportBatch = om.readValue(resultActions.andReturn().getResponse().getContentAsString(), ReportBatchDTO.class);
+        uploaded.add(reportBatch);
+        return reportBatch;
+    }
+
+    private static String checksum(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.bi.web.rest;
+
+/*-
+ * Money Market Bi - BI Microservice for Money Market Bi deals is part of the Granular Bi System
+ * Copyright © 2025 Edwin Njeru (mailnjeru@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.bi.service.pagination.PaginationMode;
+import io.github.bi.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+class SlicePaginationUtilTest {
+
+    private static final String BASE_URL = "/api/dealers";
+
+    @Test
+    void parsesPaginationModes() {
+        assertThat(SlicePaginationUtil.paginationMode("exact", "dealer")).isEqualTo(PaginationMode.EXACT);
+        assertThat(SlicePaginationUtil.paginationMode("Slice", "dealer")).isEqualTo(PaginationMode.SLICE);
+        assertThat(SlicePaginationUtil.paginationMode("APPROXIMATE", "dealer")).isEqualTo(PaginationMode.APPROXIMATE);
+        assertThatThrownBy(() -> SlicePaginationUtil.paginationMode("none", "dealer")).isInstanceOf(BadRequestAlertException.class);
+    }
+
+    @Test
+    void linksSlicesWithoutTotal() {
+        SliceImpl<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true);
+
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(BASE_URL + "?sort=id");
+
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(uriBuilder, slice);
+
+        assertThat(headers.getFirst(SlicePaginationUtil.HEADER_HAS_NEXT_PAGE)).isEqualTo("true");
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(
+            "<" + BASE_URL + "?sort=id&page=2&size=2>; rel=\"next\",<" + BASE_URL + "?sort=id&page=0&size=2>; rel=\"prev\""
+        );
+        assertThat(headers.containsKey("X-Total-Count")).isFalse();
+    }
+
+    @Test
+    void linksNothingFromASingleSlice() {
+        SliceImpl<String> slice = new SliceImpl<>(List.of("a"), PageRequest.of(0, 2), false);
+
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(UriComponentsBuilder.fromUriString(BASE_URL), slice);
+
+        assertThat(headers.getFirst(SlicePaginationUtil.HEADER_HAS_NEXT_PAGE)).isEqualTo("false");
+        assertThat(headers.containsKey(HttpHeaders.LINK)).isFalse();
+    }
+
+    @Test
+    void flagsApproximateTotals() {
+        PageImpl<String> page = new PageImpl<>(List.of("a", "b"), PageRequest.of(0, 2), 1_000_000);
+
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(UriComponentsBuilder.fromUriString(BASE_URL), page);
+
+        assertThat(headers.getFirst("X-Total-Count")).isEqualTo("1000000");
+        assertThat(headers.getFirst(SlicePaginationUtil.HEADER_TOTAL_COUNT_APPROXIMATE)).isEqualTo("true");
+    }
+}